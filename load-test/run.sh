@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Builds route-service and zone-service, then runs the load test against both in one JVM.
+# Settings are passed as system properties, for example
+#
+#   ./run.sh -Dloadtest.rate=200 -Dloadtest.duration=60s -Dloadtest.mix=create=50,list=50
+#
+# Works offline once the Maven dependencies are in the local repository (MAVEN_ARGS=-o).
+set -euo pipefail
+cd "$(dirname "$0")"
+
+for service in ../route-service ../zone-service .; do
+    (cd "$service" && mvn -q compile dependency:build-classpath \
+        -Dmdep.outputFile=target/loadtest.classpath -Dmdep.includeScope=test)
+done
+
+exec java "$@" -cp "target/classes:$(cat target/loadtest.classpath)" com.wastewise.loadtest.LoadTestApplication
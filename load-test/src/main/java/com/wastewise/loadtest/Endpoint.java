@@ -0,0 +1,23 @@
+package com.wastewise.loadtest;
+
+/**
+ * Operations in a traffic mix, named as in loadtest.mix.
+ */
+public enum Endpoint {
+
+    /** POST /routes/create for a random seeded zone. */
+    CREATE,
+
+    /** PUT /routes/update/{routeId} of a random known route, changing its estimated time. */
+    UPDATE,
+
+    /** GET /routes/page of a random zone (one keyset page). */
+    LIST,
+
+    /** GET /zones/{zoneId}/exists on Zone Service. */
+    EXISTS;
+
+    public String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,145 @@
+package com.wastewise.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint results of a load test run. Latencies of successful (2xx) requests are
+ * recorded in microseconds; other statuses and exceptions are counted as errors.
+ */
+public final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Duration duration;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    public LatencyReport(Duration duration) {
+        this.duration = duration;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    void recordCompleted(Endpoint endpoint, int status, long latencyNanos) {
+        Stats s = stats.get(endpoint);
+        if (status >= 200 && status < 300) {
+            s.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        } else {
+            s.error(String.valueOf(status));
+        }
+    }
+
+    void recordFailed(Endpoint endpoint, Exception ex) {
+        stats.get(endpoint).error(ex.getClass().getSimpleName());
+    }
+
+    void recordDropped(Endpoint endpoint) {
+        stats.get(endpoint).dropped.increment();
+    }
+
+    public Histogram latency(Endpoint endpoint) {
+        return stats.get(endpoint).latency;
+    }
+
+    public long successes(Endpoint endpoint) {
+        return stats.get(endpoint).latency.getTotalCount();
+    }
+
+    public long errors(Endpoint endpoint) {
+        return stats.get(endpoint).errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long dropped(Endpoint endpoint) {
+        return stats.get(endpoint).dropped.sum();
+    }
+
+    /**
+     * Errors and dropped requests as a share of all requests scheduled in the measured window.
+     */
+    public double errorRate() {
+        long failed = 0;
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            long unsuccessful = errors(endpoint) + dropped(endpoint);
+            failed += unsuccessful;
+            total += unsuccessful + successes(endpoint);
+        }
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    public double throughput(Endpoint endpoint) {
+        return successes(endpoint) / (duration.toNanos() / 1e9);
+    }
+
+    /**
+     * Latency at the given percentile in milliseconds.
+     */
+    public double percentileMillis(Endpoint endpoint, double percentile) {
+        return latency(endpoint).getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Prints one line per endpoint that received traffic.
+     */
+    public void print(PrintStream out) {
+        out.printf("%-8s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Stats s = stats.get(endpoint);
+            if (successes(endpoint) + errors(endpoint) + dropped(endpoint) == 0) {
+                continue;
+            }
+            out.printf("%-8s %9d %7d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.key(), successes(endpoint), errors(endpoint), dropped(endpoint), throughput(endpoint),
+                    percentileMillis(endpoint, 50), percentileMillis(endpoint, 99),
+                    percentileMillis(endpoint, 99.9), s.latency.getMaxValue() / MICROS_PER_MILLI);
+            if (!s.errors.isEmpty()) {
+                Map<String, Long> byKind = new TreeMap<>();
+                s.errors.forEach((kind, count) -> byKind.put(kind, count.sum()));
+                out.printf("%-8s errors by status: %s%n", "", byKind);
+            }
+        }
+    }
+
+    /**
+     * Writes summary.txt and one HdrHistogram percentile distribution (values in ms)
+     * per endpoint, e.g. create.hgrm, to the directory.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            print(summary);
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (successes(endpoint) == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.key() + ".hgrm")))) {
+                latency(endpoint).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        private void error(String kind) {
+            errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.wastewise.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.wastewise.loadtest.ServiceLauncher.RunningService;
+
+/**
+ * End-to-end load test of Route Service and Zone Service on one machine, without network,
+ * MySQL or Eureka. Both services are booted in this JVM against in-memory H2 databases in
+ * MySQL mode. Eureka is replaced by Spring Cloud's static discovery client, which points
+ * each service's Feign client at the other one's port. An open-loop traffic mix then runs
+ * against both, and the latencies are reported per endpoint; the process exits with 1 when
+ * the error rate or a p99 exceeds its limit. Started by run.sh; settings are in LoadTestConfig.
+ */
+public final class LoadTestApplication {
+
+    private static final String ROUTE_SERVICE_MAIN = "com.wastewise.routeservice.RouteServiceApplication";
+    private static final String ZONE_SERVICE_MAIN = "com.wastewise.zoneservice.ZoneServiceApplication";
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.from(System.getProperties());
+        if (config.mix().includes(Endpoint.UPDATE) && config.routesPerZone() == 0) {
+            throw new IllegalArgumentException("Updates need seeded routes; set loadtest.routes-per-zone above 0");
+        }
+        int routePort = ServiceLauncher.freePort();
+        int zonePort = ServiceLauncher.freePort();
+
+        LatencyReport report;
+        try (RunningService zoneService = ServiceLauncher.start("zone-service", config.zoneServiceDir(),
+                ZONE_SERVICE_MAIN, serviceArguments(config, "zone-service", zonePort, "loadtest_zones",
+                        "spring.cloud.discovery.client.simple.instances[ROUTE-SERVICE][0].uri=http://localhost:" + routePort));
+             RunningService routeService = ServiceLauncher.start("route-service", config.routeServiceDir(),
+                ROUTE_SERVICE_MAIN, serviceArguments(config, "route-service", routePort, "loadtest_routes",
+                        "spring.cloud.discovery.client.simple.instances[zone-service][0].uri=http://localhost:" + zonePort))) {
+            ServiceWorkload workload = new ServiceWorkload(routePort, zonePort);
+            workload.seed(config.zones(), config.routesPerZone());
+            System.out.printf("Seeded %d zones and %d routes; %s requests/s of %s, %s warmup, %s measured, %s threads%n",
+                    config.zones(), workload.routeCount(), config.rate(), config.mix(), config.warmup(),
+                    config.duration(), config.virtualThreads() ? "virtual" : "platform");
+
+            report = new OpenLoopDriver(config.mix(), config.rate(), config.maxInFlight(), config.seed())
+                    .run(workload, config.warmup(), config.duration());
+        }
+
+        Path directory = config.output().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        report.write(directory);
+        report.print(System.out);
+        System.out.println("Report and HdrHistogram percentile distributions written to " + directory.toAbsolutePath());
+
+        List<String> violations = violations(config, report);
+        violations.forEach(v -> System.out.println("FAILED: " + v));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    static List<String> violations(LoadTestConfig config, LatencyReport report) {
+        List<String> violations = new ArrayList<>();
+        if (report.errorRate() > config.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f above %.4f", report.errorRate(), config.maxErrorRate()));
+        }
+        if (config.maxP99Millis() > 0) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                double p99 = report.percentileMillis(endpoint, 99);
+                if (p99 > config.maxP99Millis()) {
+                    violations.add(String.format("%s p99 %.2f ms above %.2f ms", endpoint.key(), p99, config.maxP99Millis()));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static List<String> serviceArguments(LoadTestConfig config, String service, int port, String database,
+                                                 String discovery) {
+        List<String> properties = List.of(
+                "server.port=" + port,
+                "spring.main.banner-mode=off",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.threads.virtual.enabled=" + config.virtualThreads(),
+                // Static discovery instead of Eureka
+                "eureka.client.enabled=false",
+                discovery,
+                "logging.level.root=WARN",
+                "logging.level.com.wastewise.routeservice=WARN",
+                "logging.level.com.wastewise.zoneservice=WARN",
+                "logging.level.org.springframework.web=WARN",
+                // Threads the Feign load balancer leaves behind are reported as leaks when Tomcat stops
+                "logging.level.org.apache.catalina.loader.WebappClassLoaderBase=ERROR",
+                "logging.pattern.console=%d{HH:mm:ss} %-5level [" + service + "] %logger{36} - %msg%n");
+        return properties.stream().map(p -> "--" + p).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.wastewise.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Load test settings, read from loadtest.* system properties (e.g. -Dloadtest.rate=200).
+ *
+ * @param rate             requests per second across all endpoints
+ * @param warmup           time at full rate before measuring starts
+ * @param duration         measured time
+ * @param mix              endpoint weights
+ * @param zones            zones created before the run
+ * @param routesPerZone    routes created in each zone before the run
+ * @param maxInFlight      outstanding requests above which new requests are dropped
+ * @param virtualThreads   spring.threads.virtual.enabled for both services
+ * @param poolSize         connection pool size of each service
+ * @param seed             seed of the endpoint sequence
+ * @param output           directory for the report
+ * @param maxErrorRate     share of errors and drops above which the run fails
+ * @param maxP99Millis     p99 of any endpoint above which the run fails, 0 for no limit
+ * @param routeServiceDir  route-service project directory
+ * @param zoneServiceDir   zone-service project directory
+ */
+record LoadTestConfig(double rate, Duration warmup, Duration duration, TrafficMix mix, int zones, int routesPerZone,
+                      int maxInFlight, boolean virtualThreads, int poolSize, long seed, Path output,
+                      double maxErrorRate, double maxP99Millis, Path routeServiceDir, Path zoneServiceDir) {
+
+    static LoadTestConfig from(Properties properties) {
+        return new LoadTestConfig(
+                Double.parseDouble(properties.getProperty("loadtest.rate", "50")),
+                duration(properties.getProperty("loadtest.warmup", "10s")),
+                duration(properties.getProperty("loadtest.duration", "30s")),
+                TrafficMix.parse(properties.getProperty("loadtest.mix", "create=10,update=20,list=40,exists=30")),
+                Integer.parseInt(properties.getProperty("loadtest.zones", "10")),
+                Integer.parseInt(properties.getProperty("loadtest.routes-per-zone", "10")),
+                Integer.parseInt(properties.getProperty("loadtest.max-in-flight", "512")),
+                Boolean.parseBoolean(properties.getProperty("loadtest.virtual-threads", "false")),
+                Integer.parseInt(properties.getProperty("loadtest.pool-size", "20")),
+                Long.parseLong(properties.getProperty("loadtest.seed", "42")),
+                Path.of(properties.getProperty("loadtest.output", "target/loadtest")),
+                Double.parseDouble(properties.getProperty("loadtest.max-error-rate", "0.01")),
+                Double.parseDouble(properties.getProperty("loadtest.max-p99-ms", "0")),
+                Path.of(properties.getProperty("loadtest.route-service.dir", "../route-service")),
+                Path.of(properties.getProperty("loadtest.zone-service.dir", "../zone-service")));
+    }
+
+    /**
+     * Parses durations written as 500ms, 30s or 2m.
+     */
+    static Duration duration(String value) {
+        String text = value.trim();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        throw new IllegalArgumentException("Expected a duration such as 500ms, 30s or 2m but got '" + value + "'");
+    }
+}
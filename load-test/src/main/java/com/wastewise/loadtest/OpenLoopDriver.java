@@ -0,0 +1,97 @@
+package com.wastewise.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed rate, whether or not earlier ones have completed (open loop).
+ * Each request has an intended start time on the schedule, and its latency is measured
+ * from that time, so time spent queued behind a slow service counts against it instead of
+ * silently lowering the offered load (coordinated omission).
+ *
+ * Requests run on virtual threads. Once maxInFlight requests are outstanding, further
+ * requests are not sent and are counted as dropped.
+ */
+public final class OpenLoopDriver {
+
+    /**
+     * Performs one request and returns its HTTP status.
+     */
+    @FunctionalInterface
+    public interface Workload {
+        int call(Endpoint endpoint) throws Exception;
+    }
+
+    private final TrafficMix mix;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final long seed;
+
+    public OpenLoopDriver(TrafficMix mix, double ratePerSecond, int maxInFlight, long seed) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the schedule for warmup plus duration and returns the results of the requests
+     * scheduled after the warmup. Returns once every sent request has completed.
+     */
+    public LatencyReport run(Workload workload, Duration warmup, Duration duration) {
+        LatencyReport report = new LatencyReport(duration);
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            for (long i = 0; ; i++) {
+                long intended = start + (long) (i * intervalNanos);
+                if (intended - end >= 0) {
+                    break;
+                }
+                waitUntil(intended);
+                Endpoint endpoint = mix.next(random);
+                boolean measured = intended - measureFrom >= 0;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        report.recordDropped(endpoint);
+                    }
+                    continue;
+                }
+                requests.execute(() -> {
+                    try {
+                        int status = workload.call(endpoint);
+                        if (measured) {
+                            report.recordCompleted(endpoint, status, System.nanoTime() - intended);
+                        }
+                    } catch (Exception ex) {
+                        if (measured) {
+                            report.recordFailed(endpoint, ex);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return report;
+    }
+
+    private static void waitUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.wastewise.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots a service in this JVM from its build output: target/classes plus the dependency
+ * classpath that run.sh writes to target/loadtest.classpath. Every service gets its own
+ * class loader under the platform class loader, so two Spring Boot applications with
+ * different dependencies and their own application.properties run side by side.
+ */
+final class ServiceLauncher {
+
+    static final String CLASSPATH_FILE = "target/loadtest.classpath";
+
+    private ServiceLauncher() {
+    }
+
+    /**
+     * Starts the application and returns once it is serving. Arguments are passed as
+     * command-line arguments, so they override the service's application.properties.
+     */
+    static RunningService start(String name, Path serviceDirectory, String mainClass, List<String> args)
+            throws Exception {
+        Path classes = serviceDirectory.resolve("target/classes");
+        Path classpath = serviceDirectory.resolve(CLASSPATH_FILE);
+        if (!Files.isDirectory(classes) || !Files.isRegularFile(classpath)) {
+            throw new IllegalStateException(name + " is not built in " + serviceDirectory.toAbsolutePath()
+                    + "; start the load test with load-test/run.sh");
+        }
+        List<URL> urls = new ArrayList<>();
+        urls.add(classes.toUri().toURL());
+        for (String entry : Files.readString(classpath).trim().split(File.pathSeparator)) {
+            if (!entry.isBlank()) {
+                urls.add(Path.of(entry).toUri().toURL());
+            }
+        }
+
+        URLClassLoader loader = new URLClassLoader(name, urls.toArray(URL[]::new), ClassLoader.getPlatformClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        // Spring Boot resolves its factories and resources through the context class loader
+        thread.setContextClassLoader(loader);
+        try {
+            // Each Tomcat would install its URL handler factory, which the JVM accepts only once
+            loader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable").invoke(null);
+            Class<?> application = loader.loadClass(mainClass);
+            Class<?> builderType = loader.loadClass("org.springframework.boot.builder.SpringApplicationBuilder");
+            Object builder = builderType.getConstructor(Class[].class).newInstance((Object) new Class<?>[] {application});
+            // RunningService.close() stops the service; a JVM shutdown hook would run after its
+            // class loader is closed and fail to load classes. Defaults, so args can still override.
+            builderType.getMethod("registerShutdownHook", boolean.class).invoke(builder, false);
+            builderType.getMethod("properties", String[].class)
+                    .invoke(builder, (Object) new String[] {"logging.register-shutdown-hook=false"});
+            Object context = builderType.getMethod("run", String[].class)
+                    .invoke(builder, (Object) args.toArray(String[]::new));
+            return new RunningService(name, loader, (AutoCloseable) context);
+        } catch (InvocationTargetException ex) {
+            loader.close();
+            throw new IllegalStateException(name + " failed to start", ex.getCause());
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * A free local port, chosen up front so each service can be told where the other one listens.
+     */
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A started service; closing it closes the application context and its class loader.
+     */
+    record RunningService(String name, URLClassLoader loader, AutoCloseable context) implements AutoCloseable {
+
+        @Override
+        public void close() throws Exception {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                context.close();
+            } finally {
+                thread.setContextClassLoader(previous);
+                loader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.wastewise.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The requests behind each endpoint of the traffic mix, sent to the running services.
+ * seed() creates the zones and a first set of routes; created routes join the pool that
+ * updates pick from.
+ */
+final class ServiceWorkload implements OpenLoopDriver.Workload {
+
+    private static final String ZONES_API = "/wastewise/admin/zones";
+    private static final String ROUTES_API = "/wastewise/admin/routes";
+    private static final Pattern ZONE_ID = Pattern.compile("\"zoneId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ROUTE_ID = Pattern.compile("\"routeId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String PICKUP_POINTS = "Market Square,Station Road,Library";
+    private static final int MIN_ESTIMATED_TIME = 30;
+    private static final int ESTIMATED_TIME_RANGE = 570;
+    private static final int PAGE_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String routeService;
+    private final String zoneService;
+    private final List<String> zoneIds = new ArrayList<>();
+    private final List<KnownRoute> routes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong routeNumber = new AtomicLong();
+
+    ServiceWorkload(int routeServicePort, int zoneServicePort) {
+        this.routeService = "http://localhost:" + routeServicePort + ROUTES_API;
+        this.zoneService = "http://localhost:" + zoneServicePort + ZONES_API;
+    }
+
+    /**
+     * Creates the zones, then routesPerZone routes in each, one request at a time.
+     */
+    void seed(int zones, int routesPerZone) throws Exception {
+        long run = System.currentTimeMillis();
+        for (int i = 1; i <= zones; i++) {
+            String body = "{\"zoneName\":\"Load Zone " + run + "-" + i + "\",\"areaCoverage\":1000}";
+            HttpResponse<String> response = send(post(zoneService + "/create", body));
+            zoneIds.add(extract(ZONE_ID, response, 201));
+        }
+        for (String zoneId : zoneIds) {
+            for (int i = 0; i < routesPerZone; i++) {
+                int status = createRoute(zoneId);
+                if (status != 201) {
+                    throw new IllegalStateException("Seeding a route in " + zoneId + " returned " + status);
+                }
+            }
+        }
+    }
+
+    int routeCount() {
+        return routes.size();
+    }
+
+    @Override
+    public int call(Endpoint endpoint) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String zoneId = zoneIds.get(random.nextInt(zoneIds.size()));
+        return switch (endpoint) {
+            case CREATE -> createRoute(zoneId);
+            case UPDATE -> updateRoute(routes.get(random.nextInt(routes.size())));
+            case LIST -> send(get(routeService + "/page?zoneId=" + zoneId + "&size=" + PAGE_SIZE)).statusCode();
+            case EXISTS -> send(get(zoneService + "/" + zoneId + "/exists")).statusCode();
+        };
+    }
+
+    private int createRoute(String zoneId) throws Exception {
+        String routeName = "Load Route " + routeNumber.incrementAndGet();
+        String body = "{\"zoneId\":\"" + zoneId + "\",\"routeName\":\"" + routeName + "\","
+                + "\"pickupPoints\":\"" + PICKUP_POINTS + "\",\"estimatedTime\":" + MIN_ESTIMATED_TIME + "}";
+        HttpResponse<String> response = send(post(routeService + "/create", body));
+        if (response.statusCode() == 201) {
+            routes.add(new KnownRoute(extract(ROUTE_ID, response, 201), routeName));
+        }
+        return response.statusCode();
+    }
+
+    private int updateRoute(KnownRoute route) throws Exception {
+        // A new estimated time on every update, so the service never answers "no changes"
+        int estimatedTime = MIN_ESTIMATED_TIME + 1 + route.updates.getAndIncrement() % ESTIMATED_TIME_RANGE;
+        String body = "{\"routeName\":\"" + route.routeName + "\",\"pickupPoints\":\"" + PICKUP_POINTS + "\","
+                + "\"estimatedTime\":" + estimatedTime + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(routeService + "/update/" + route.routeId))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return send(request).statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String extract(Pattern pattern, HttpResponse<String> response, int expectedStatus) {
+        Matcher matcher = pattern.matcher(response.body());
+        if (response.statusCode() != expectedStatus || !matcher.find()) {
+            throw new IllegalStateException(response.request().uri() + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private record KnownRoute(String routeId, String routeName, AtomicInteger updates) {
+        private KnownRoute(String routeId, String routeName) {
+            this(routeId, routeName, new AtomicInteger());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.wastewise.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of the endpoints, parsed from "create=10,update=20,list=40,exists=30".
+ * Endpoints left out get weight 0.
+ */
+public final class TrafficMix {
+
+    private final Map<Endpoint, Integer> weights;
+    private final Endpoint[] endpoints;
+    private final int[] cumulative;
+    private final int total;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.weights = weights;
+        this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+        this.cumulative = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    public static TrafficMix parse(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight but got '" + part.trim() + "'");
+            }
+            Endpoint endpoint;
+            try {
+                endpoint = Endpoint.valueOf(pair[0].trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown endpoint '" + pair[0].trim() + "' in traffic mix");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + endpoint.key());
+            }
+            if (weight > 0) {
+                weights.put(endpoint, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix '" + mix + "' has no endpoint with a positive weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * Picks an endpoint with probability proportional to its weight.
+     */
+    public Endpoint next(RandomGenerator random) {
+        int roll = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    public boolean includes(Endpoint endpoint) {
+        return weights.containsKey(endpoint);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        weights.forEach((endpoint, weight) -> {
+            if (!text.isEmpty()) {
+                text.append(',');
+            }
+            text.append(endpoint.key()).append('=').append(weight);
+        });
+        return text.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.wastewise.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenLoopDriverTest {
+
+    private static final TrafficMix LIST_ONLY = TrafficMix.parse("list=1");
+
+    @Test
+    @DisplayName("Requests follow the schedule and only those after the warmup are measured")
+    void run_sendsAtTheConfiguredRate() {
+        LatencyReport report = new OpenLoopDriver(LIST_ONLY, 200, 100, 1)
+                .run(endpoint -> 200, Duration.ofMillis(250), Duration.ofMillis(500));
+
+        assertThat(report.successes(Endpoint.LIST)).isEqualTo(100);
+        assertThat(report.errors(Endpoint.LIST)).isZero();
+        assertThat(report.throughput(Endpoint.LIST)).isEqualTo(200.0);
+    }
+
+    @Test
+    @DisplayName("A stalled service does not slow the schedule; waiting counts as latency")
+    void run_measuresFromTheIntendedStart() {
+        CountDownLatch stall = new CountDownLatch(1);
+        LatencyReport report = new OpenLoopDriver(LIST_ONLY, 100, 1000, 1).run(endpoint -> {
+            if (stall.getCount() > 0) {
+                // The first request holds the service for 300 ms; later ones queue behind it
+                stall.countDown();
+                Thread.sleep(300);
+            }
+            return 200;
+        }, Duration.ZERO, Duration.ofMillis(500));
+
+        assertThat(report.successes(Endpoint.LIST)).isEqualTo(50);
+        assertThat(report.latency(Endpoint.LIST).getMaxValue()).isGreaterThanOrEqualTo(300_000);
+    }
+
+    @Test
+    @DisplayName("Error statuses, exceptions and requests over the in-flight limit are counted, not timed")
+    void run_countsErrorsAndDrops() {
+        LatencyReport failing = new OpenLoopDriver(TrafficMix.parse("create=1"), 100, 100, 1).run(endpoint -> {
+            throw new IOException("connection refused");
+        }, Duration.ZERO, Duration.ofMillis(200));
+        LatencyReport blocked = new OpenLoopDriver(TrafficMix.parse("exists=1"), 100, 1, 1).run(endpoint -> {
+            Thread.sleep(1000);
+            return 503;
+        }, Duration.ZERO, Duration.ofMillis(200));
+
+        assertThat(failing.errors(Endpoint.CREATE)).isEqualTo(20);
+        assertThat(failing.successes(Endpoint.CREATE)).isZero();
+        assertThat(blocked.errors(Endpoint.EXISTS)).isEqualTo(1);
+        assertThat(blocked.dropped(Endpoint.EXISTS)).isEqualTo(19);
+        assertThat(blocked.errorRate()).isEqualTo(1.0);
+    }
+}
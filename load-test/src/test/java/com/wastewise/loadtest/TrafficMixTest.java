@@ -0,0 +1,45 @@
+package com.wastewise.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TrafficMixTest {
+
+    @Test
+    @DisplayName("Endpoints are picked in proportion to their weights")
+    void next_followsWeights() {
+        TrafficMix mix = TrafficMix.parse("create=10, list=30, exists=60");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Endpoint, Integer> picks = new EnumMap<>(Endpoint.class);
+        for (int i = 0; i < 100_000; i++) {
+            picks.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertThat(picks).doesNotContainKey(Endpoint.UPDATE);
+        assertThat(picks.get(Endpoint.CREATE) / 100_000.0).isCloseTo(0.1, within(0.01));
+        assertThat(picks.get(Endpoint.LIST) / 100_000.0).isCloseTo(0.3, within(0.01));
+        assertThat(picks.get(Endpoint.EXISTS) / 100_000.0).isCloseTo(0.6, within(0.01));
+        assertThat(mix.includes(Endpoint.UPDATE)).isFalse();
+        assertThat(mix).hasToString("create=10,list=30,exists=60");
+    }
+
+    @Test
+    @DisplayName("Unknown endpoints and mixes without traffic are rejected")
+    void parse_rejectsInvalidMixes() {
+        assertThatThrownBy(() -> TrafficMix.parse("create=10,delete=5"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("delete");
+        assertThatThrownBy(() -> TrafficMix.parse("create=0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TrafficMix.parse("create"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
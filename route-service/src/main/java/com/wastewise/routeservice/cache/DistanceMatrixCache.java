@@ -0,0 +1,240 @@
+package com.wastewise.routeservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wastewise.routeservice.optimization.OffHeapDistanceMatrix;
+import com.wastewise.routeservice.optimization.ZoneDistanceMatrix;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DistanceMatrixCache
+ * ------------------------------------------------------------------------------
+ * Per-zone cache of off-heap distance matrices over all pickup-point coordinates.
+ * - Matrices live in direct buffers; the cache is bounded by their total byte size
+ *   and drops the least valuable zones first.
+ * - If a directory is configured, matrices are written to memory-mapped files and
+ *   reused after a restart as long as the zone's coordinates are unchanged.
+ * - A zone's entry (and file) is invalidated after any of its routes changes.
+ * - Zones without coordinates, or whose matrix alone would exceed the byte budget,
+ *   are cached as empty so callers fall back to per-route matrices without
+ *   querying the zone's coordinates again.
+ * Meters: "cache.*" with cache=distanceMatrix, plus route.distance.matrix.bytes,
+ * route.distance.matrix.hit.ratio and route.distance.matrix.loads{source}.
+ * ------------------------------------------------------------------------------
+ */
+@Component
+@Slf4j
+public class DistanceMatrixCache {
+
+    public static final String CACHE_NAME = "distanceMatrix";
+
+    private static final long FILE_MAGIC = 0x5757_444D_5831_0001L; // "WWDMX1" + version
+    private static final int HEADER_BYTES = 24;
+    private static final String FILE_SUFFIX = ".dmx";
+    private static final Pattern SAFE_ZONE_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    // Empty entries still weigh something, so they stay evictable
+    private static final int EMPTY_ENTRY_WEIGHT = 1;
+
+    private final RouteRepository routeRepository;
+    private final Path directory;
+    private final long maxBytes;
+    private final Cache<String, Optional<ZoneDistanceMatrix>> cache;
+    private final Counter computedLoads;
+    private final Counter fileLoads;
+
+    @Autowired
+    public DistanceMatrixCache(RouteRepository routeRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${route.distance-matrix.max-size:256MB}") DataSize maxSize,
+                               @Value("${route.distance-matrix.directory:}") String directory) {
+        this(routeRepository, meterRegistry, maxSize, directory, ForkJoinPool.commonPool());
+    }
+
+    DistanceMatrixCache(RouteRepository routeRepository, MeterRegistry meterRegistry, DataSize maxSize,
+                        String directory, Executor executor) {
+        this.routeRepository = routeRepository;
+        this.directory = (directory == null || directory.isBlank()) ? null : Path.of(directory);
+        this.maxBytes = maxSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String zoneId, Optional<ZoneDistanceMatrix> matrix) -> matrix
+                        .map(m -> (int) Math.min(Integer.MAX_VALUE, m.byteSize()))
+                        .orElse(EMPTY_ENTRY_WEIGHT))
+                .executor(executor)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("route.distance.matrix.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Off-heap bytes held by cached distance matrices")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("route.distance.matrix.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of distance matrix lookups served from the cache")
+                .register(meterRegistry);
+        this.computedLoads = Counter.builder("route.distance.matrix.loads").tag("source", "computed").register(meterRegistry);
+        this.fileLoads = Counter.builder("route.distance.matrix.loads").tag("source", "file").register(meterRegistry);
+    }
+
+    /**
+     * Returns the zone's matrix, building (or mapping) it on a miss.
+     *
+     * @param zoneId the zone ID
+     * @return the matrix, or null if the zone has no coordinates, more than
+     *         {@link OffHeapDistanceMatrix#MAX_SIZE} distinct points or a matrix
+     *         larger than route.distance-matrix.max-size
+     */
+    public ZoneDistanceMatrix get(String zoneId) {
+        return cache.get(zoneId, this::load).orElse(null);
+    }
+
+    /**
+     * Drops the zone's matrix and its file.
+     *
+     * @param zoneId the zone ID
+     */
+    public void invalidate(String zoneId) {
+        log.debug("Invalidating distance matrix of zone: {}", zoneId);
+        cache.invalidate(zoneId);
+        Path file = fileOf(zoneId);
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete distance matrix file {}", file, ex);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the zone once the current transaction commits, or right away without one,
+     * so a concurrent reload cannot cache coordinates that are about to change.
+     *
+     * @param zoneId the zone ID
+     */
+    public void invalidateAfterCommit(String zoneId) {
+        AfterCommit.run(() -> invalidate(zoneId));
+    }
+
+    private Optional<ZoneDistanceMatrix> load(String zoneId) {
+        List<Object[]> coordinates = routeRepository.findZoneCoordinates(zoneId);
+        int size = coordinates.size();
+        if (size == 0 || size > OffHeapDistanceMatrix.MAX_SIZE || OffHeapDistanceMatrix.byteSize(size) > maxBytes) {
+            // Built anyway, such a matrix would be evicted right away
+            log.debug("Not caching distance matrix of zone {} with {} points", zoneId, size);
+            return Optional.empty();
+        }
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            latitudes[i] = (Double) coordinates.get(i)[0];
+            longitudes[i] = (Double) coordinates.get(i)[1];
+        }
+
+        Path file = fileOf(zoneId);
+        OffHeapDistanceMatrix matrix = file == null
+                ? computeInMemory(latitudes, longitudes)
+                : loadOrWrite(file, latitudes, longitudes);
+        log.info("Loaded distance matrix of zone {}: {} points, {} bytes", zoneId, size, matrix.byteSize());
+        return Optional.of(new ZoneDistanceMatrix(latitudes, longitudes, matrix));
+    }
+
+    private OffHeapDistanceMatrix computeInMemory(double[] latitudes, double[] longitudes) {
+        computedLoads.increment();
+        return OffHeapDistanceMatrix.compute(latitudes, longitudes);
+    }
+
+    /**
+     * Maps an up-to-date file if there is one, otherwise computes the matrix into a new file.
+     * The file is written under a temporary name and moved into place once complete.
+     */
+    private OffHeapDistanceMatrix loadOrWrite(Path file, double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        long fingerprint = fingerprint(latitudes, longitudes);
+        long fileBytes = HEADER_BYTES + OffHeapDistanceMatrix.byteSize(size);
+        try {
+            if (Files.exists(file) && Files.size(file) == fileBytes) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes);
+                    mapped.order(ByteOrder.LITTLE_ENDIAN);
+                    if (mapped.getLong(0) == FILE_MAGIC && mapped.getInt(8) == size && mapped.getLong(16) == fingerprint) {
+                        fileLoads.increment();
+                        return OffHeapDistanceMatrix.wrap(size, mapped.slice(HEADER_BYTES, (int) (fileBytes - HEADER_BYTES)));
+                    }
+                }
+            }
+
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            OffHeapDistanceMatrix matrix;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+                mapped.order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong(0, FILE_MAGIC)
+                        .putInt(8, size)
+                        .putLong(16, fingerprint);
+                ByteBuffer data = mapped.slice(HEADER_BYTES, (int) (fileBytes - HEADER_BYTES));
+                matrix = OffHeapDistanceMatrix.compute(latitudes, longitudes, data);
+                mapped.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            computedLoads.increment();
+            return matrix;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not use distance matrix file {}, keeping the matrix in memory only", file, ex);
+            return computeInMemory(latitudes, longitudes);
+        }
+    }
+
+    private Path fileOf(String zoneId) {
+        if (directory == null || !SAFE_ZONE_ID.matcher(zoneId).matches()) {
+            return null;
+        }
+        return directory.resolve(zoneId + FILE_SUFFIX);
+    }
+
+    /**
+     * 64-bit hash of the coordinates, so a file is only reused for the exact same points.
+     */
+    private static long fingerprint(double[] latitudes, double[] longitudes) {
+        long hash = latitudes.length;
+        for (int i = 0; i < latitudes.length; i++) {
+            hash = mix(hash ^ Double.doubleToLongBits(latitudes[i]));
+            hash = mix(hash ^ Double.doubleToLongBits(longitudes[i]));
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,167 @@
+package com.wastewise.routeservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.wastewise.routeservice.exception.custom.ZoneServiceUnavailableException;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.payload.RestResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneExistenceCache
+ * ------------------------------------------------------------------------------
+ * Local, bounded cache of zone-service existence checks.
+ * - Existing zones are kept for the configured TTL.
+ * - Missing zones are kept only briefly, so a newly created zone becomes usable fast.
+ * - Entries can be evicted explicitly when zone-service deletes a zone.
+ * - Misses call zone-service on a virtual thread, outside any cache lock, so a
+ *   caller can do other work meanwhile; concurrent misses share one call.
+ * - Every check has a deadline; an unanswered check fails instead of blocking.
+ * Hit, miss and eviction counts are published as "cache.*" meters with cache=zoneExistence.
+ * ------------------------------------------------------------------------------
+ */
+@Component
+@Slf4j
+public class ZoneExistenceCache {
+
+    public static final String CACHE_NAME = "zoneExistence";
+
+    private final ZoneClient zoneClient;
+    private final AsyncCache<String, Boolean> cache;
+    private final Executor lookupExecutor;
+    private final long checkTimeoutNanos;
+
+    @Autowired
+    public ZoneExistenceCache(ZoneClient zoneClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${route.zone-cache.max-size:10000}") long maxSize,
+                              @Value("${route.zone-cache.ttl:5m}") Duration ttl,
+                              @Value("${route.zone-cache.negative-ttl:30s}") Duration negativeTtl,
+                              @Value("${route.zone-cache.check-timeout:2s}") Duration checkTimeout) {
+        this(zoneClient, maxSize, ttl, negativeTtl, checkTimeout, Ticker.systemTicker(),
+                Executors.newVirtualThreadPerTaskExecutor());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    ZoneExistenceCache(ZoneClient zoneClient, long maxSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this(zoneClient, maxSize, ttl, negativeTtl, Duration.ofSeconds(2), ticker, Runnable::run);
+    }
+
+    ZoneExistenceCache(ZoneClient zoneClient, long maxSize, Duration ttl, Duration negativeTtl,
+                       Duration checkTimeout, Ticker ticker, Executor lookupExecutor) {
+        this.zoneClient = zoneClient;
+        this.lookupExecutor = lookupExecutor;
+        this.checkTimeoutNanos = checkTimeout.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExistenceExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Checks whether a zone exists, calling zone-service only on a cache miss.
+     * Failed calls are not cached.
+     *
+     * @param zoneId the zone ID
+     * @return true if the zone exists
+     * @throws ZoneServiceUnavailableException if zone-service does not answer in time
+     */
+    public boolean exists(String zoneId) {
+        return await(zoneId, existsAsync(zoneId));
+    }
+
+    /**
+     * Starts a zone check and returns at once; a cached answer is already complete.
+     * The returned future fails with a TimeoutException once the check timeout has
+     * passed, without affecting other callers waiting for the same lookup.
+     *
+     * @param zoneId the zone ID
+     * @return future of whether the zone exists; read it with {@link #await}
+     */
+    public CompletableFuture<Boolean> existsAsync(String zoneId) {
+        CompletableFuture<Boolean> lookup = cache.get(zoneId,
+                (key, executor) -> CompletableFuture.supplyAsync(() -> fetch(key), lookupExecutor));
+        return lookup.isDone() ? lookup : lookup.copy().orTimeout(checkTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Waits for a check started with {@link #existsAsync} and unwraps its failure.
+     *
+     * @throws ZoneServiceUnavailableException if the check timed out
+     */
+    public static boolean await(String zoneId, CompletableFuture<Boolean> check) {
+        try {
+            return check.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                throw new ZoneServiceUnavailableException(zoneId);
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops the cached entry of one zone.
+     *
+     * @param zoneId the zone ID
+     */
+    public void evict(String zoneId) {
+        log.info("Evicting zone existence entry for zone: {}", zoneId);
+        cache.synchronous().invalidate(zoneId);
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void evictAll() {
+        log.info("Evicting all zone existence entries");
+        cache.synchronous().invalidateAll();
+    }
+
+    private Boolean fetch(String zoneId) {
+        RestResponse<Boolean> response = zoneClient.existsByZoneId(zoneId);
+        return response != null && Boolean.TRUE.equals(response.getData());
+    }
+
+    /**
+     * Gives positive and negative answers different lifetimes.
+     */
+    private record ExistenceExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, Boolean> {
+
+        @Override
+        public long expireAfterCreate(String zoneId, Boolean exists, long currentTime) {
+            return exists ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String zoneId, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(zoneId, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String zoneId, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.wastewise.routeservice.constant;
 
+import java.util.regex.Pattern;
+
 /**
  * Centralized constants used throughout the Route Service application.
  */
@@ -11,18 +13,94 @@ public class RouteConstants {
 
     // Base API endpoint
     public static final String BASE_ROUTE_API = "/wastewise/admin/routes";
+    public static final String ZONE_CACHE_API = BASE_ROUTE_API + "/cache/zones";
 
     // Success messages
     public static final String ROUTE_CREATED_MSG = "New route created with ID";
     public static final String ROUTE_UPDATED_MSG = "Route updated successfully";
     public static final String ROUTE_DELETED_MSG = "Route deleted successfully";
+    public static final String ZONE_ROUTES_BATCH_DELETED_MSG = "Batch of zone routes deleted";
     public static final String ROUTE_RETRIEVED_MSG = "Route retrieved successfully";
     public static final String ROUTES_LISTED_MSG = "Routes retrieved successfully";
+    public static final String ZONE_CACHE_EVICTED_MSG = "Zone existence cache entry evicted";
+    public static final String ZONE_CACHE_CLEARED_MSG = "Zone existence cache cleared";
+    public static final String BULK_ROUTES_PROCESSED_MSG = "Bulk route creation processed";
+    public static final String ROUTE_OPTIMIZED_MSG = "Route optimized successfully";
+    public static final String ZONE_ROUTES_OPTIMIZED_MSG = "Zone routes optimized successfully";
+    public static final String ZONE_PARTITION_PLANNED_MSG = "Zone partition proposal computed (dry run, nothing saved)";
+    public static final String ROUTE_STATS_MSG = "Route statistics retrieved successfully";
+    public static final String NEARBY_ROUTES_MSG = "Nearby routes retrieved successfully";
 
     // Validation and error messages
     public static final String ROUTE_NOT_FOUND_MSG = "Route with ID %s not found.";
     public static final String DUPLICATE_ROUTE_MSG = "Route with name '%s' already exists in this zone '%s'.";
     public static final String NO_CHANGES_MSG = "No changes detected for route with ID %s";
+    public static final String ROUTE_VERSION_CONFLICT_MSG = "Route with ID %s was changed since version %d; reload it and retry.";
+    public static final String CONCURRENT_UPDATE_MSG = "The resource was changed by another request; reload it and retry.";
     public static final String INVALID_ROUTE_DETAILS_MSG = "Invalid route details: %s";
     public static final String ZONE_NOT_FOUND_MSG = "Zone with ID '%s' does not exist.";
+    public static final String ZONE_CHECK_TIMEOUT_MSG = "Zone '%s' could not be verified in time; retry later.";
+    public static final String INVALID_CURSOR_MSG = "cursor is malformed or does not match sort '%s'";
+    public static final String INVALID_SORT_MSG = "unsupported sort '%s', expected one of routeId, zoneId, estimatedTime";
+    public static final String PATCH_VERSION_REQUIRED_MSG = "version is required";
+    public static final String MISSING_ROUTE_FIELDS_MSG = "zoneId, routeName and pickupPoints are required";
+    public static final String BULK_SIZE_EXCEEDED_MSG = "bulk request must contain between 1 and %d routes";
+    public static final String INVALID_PAGE_SIZE_MSG = "page size must be at least 1";
+    public static final String INVALID_DIRECTION_MSG = "unsupported direction '%s', expected asc or desc";
+    public static final String MISSING_COORDINATES_MSG = "route %s has pickup points without coordinates";
+    public static final String TOO_MANY_STOPS_MSG = "route %s has %d pickup points; at most %d can be optimized";
+    public static final String INVALID_LOCATION_MSG = "lat must be within [-90, 90] and lon within [-180, 180]";
+    public static final String INVALID_RADIUS_MSG = "radius must be greater than 0 and at most %d metres";
+    public static final String INVALID_NEARBY_LIMIT_MSG = "limit and k must be between 1 and %d";
+    public static final String INVALID_DELETE_BATCH_MSG = "limit must be between 1 and %d";
+    public static final String ZONE_IDS_SIZE_MSG = "zoneIds must contain between 1 and %d non-blank zone IDs";
+    public static final String MALFORMED_ZONE_ID_MSG = "zone ID '%s' is malformed; expected Z followed by digits";
+    public static final String PARTITION_TARGET_MSG = "exactly one of routes or maxMinutes must be given";
+    public static final String INVALID_PARTITION_ROUTES_MSG = "routes must be between 1 and %d";
+    public static final String INVALID_PARTITION_MINUTES_MSG = "maxMinutes must be at least 1 and allow at most %d routes";
+    public static final String NO_ZONE_POINTS_MSG = "zone %s has no pickup points to partition";
+    public static final String INVALID_PICKUP_POINT_MSG = "pickup point %d must have a label without ',' and coordinates within range";
+
+    // Zone IDs as issued by zone-service; zone_id columns are VARCHAR(10)
+    public static final Pattern ZONE_ID_PATTERN = Pattern.compile("Z\\d{3,9}");
+
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Bulk creation; keep BULK_BATCH_SIZE in line with hibernate.jdbc.batch_size
+    public static final int MAX_BULK_SIZE = 5000;
+    public static final int BULK_BATCH_SIZE = 500;
+
+    // Zone decommissioning; one batch is one short transaction
+    public static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+    // Multi-zone route ID lookup; keeps the SQL IN list within common driver limits
+    public static final int MAX_ZONE_IDS_PER_LOOKUP = 1000;
+
+    // Pickup points
+    public static final int PICKUP_POINT_BATCH_SIZE = 100;
+    public static final int MAX_PICKUP_POINT_LABEL_LENGTH = 100;
+
+    // Stop-sequence optimization. A route whose zone matrix does not cover every stop gets an
+    // on-heap matrix of stops squared doubles: 200 MB at MAX_OPTIMIZE_STOPS
+    public static final int OPTIMIZER_MAX_PASSES = 50;
+    public static final int MAX_OPTIMIZE_STOPS = 5000;
+
+    // Zone partitioning
+    public static final int MAX_PARTITION_ROUTES = 500;
+    public static final int PARTITION_MAX_ITERATIONS = 100;
+    public static final double PARTITION_BALANCE_TOLERANCE = 0.05;
+
+    // Nearby route queries
+    public static final int MAX_NEARBY_RADIUS_METERS = 50_000;
+    public static final int DEFAULT_NEARBY_LIMIT = 50;
+    public static final int MAX_NEARBY_RESULTS = 500;
+
+    // Unique index on route(zone_id, route_name); case-insensitive, accent-sensitive through the column collation
+    public static final String ROUTE_NAME_UNIQUE_CONSTRAINT = "uk_route_zone_name";
+
+    // Export
+    public static final int EXPORT_FETCH_SIZE = 1000;
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
 }
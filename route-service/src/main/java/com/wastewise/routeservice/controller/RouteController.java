@@ -1,23 +1,44 @@
 package com.wastewise.routeservice.controller;
 
 import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.dto.BulkRouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.BulkRouteCreationResponseDTO;
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
 import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePageResponseDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
 import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
 import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.dto.ZoneRouteIdsRequestDTO;
+import com.wastewise.routeservice.dto.ZoneRouteStatsDTO;
 import com.wastewise.routeservice.payload.RestResponse;
 import com.wastewise.routeservice.service.RouteService;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.ResourceVersion;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for managing route APIs.
@@ -28,6 +49,8 @@ import java.util.Map;
 public class RouteController {
 
     private final RouteService routeService;
+    private final RouteStatsService routeStatsService;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(RouteController.class);
 
     /**
@@ -49,6 +72,26 @@ public class RouteController {
         );
     }
 
+    /**
+     * Create many routes in one call.
+     *
+     * @param request Routes to create
+     * @return Response with one result per requested route
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<RestResponse<Object>> createRoutes(@Valid @RequestBody BulkRouteCreationRequestDTO request) {
+        logger.info("Received request to create {} routes in bulk",
+                request.getRoutes() == null ? 0 : request.getRoutes().size());
+        BulkRouteCreationResponseDTO response = routeService.createRoutes(request.getRoutes());
+        logger.info("Bulk creation: {} created, {} failed", response.getCreated(), response.getFailed());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.BULK_ROUTES_PROCESSED_MSG)
+                        .data(response)
+                        .build()
+        );
+    }
+
     /**
      * Update an existing route.
      *
@@ -70,12 +113,35 @@ public class RouteController {
                                 "routeName", updated.getRouteName(),
                                 "zoneId", updated.getZoneId(),
                                 "pickupPoints", updated.getPickupPoints(),
-                                "estimatedTime", updated.getEstimatedTime()
+                                "estimatedTime", updated.getEstimatedTime(),
+                                "version", updated.getVersion()
                         ))
                         .build()
         );
     }
 
+    /**
+     * Update only the given fields of a route.
+     * The request carries the version it is based on; a stale version gets 409.
+     *
+     * @param routeId Route ID to update
+     * @param request Changed fields and the expected version
+     * @return Response with the updated route and its new version
+     */
+    @PatchMapping("/update/{routeId}")
+    public ResponseEntity<RestResponse<Object>> patchRoute(@PathVariable String routeId,
+                                                           @RequestBody RoutePatchRequestDTO request) {
+        logger.info("Received request to patch route with ID: {}", routeId);
+        RouteResponseDTO updated = routeService.patchRoute(routeId, request);
+        logger.info("Route patched successfully with ID: {}, now at version {}", routeId, updated.getVersion());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ROUTE_UPDATED_MSG)
+                        .data(updated)
+                        .build()
+        );
+    }
+
     /**
      * Delete a route by ID.
      *
@@ -95,14 +161,43 @@ public class RouteController {
         );
     }
 
+    /**
+     * Delete the next batch of a zone's routes.
+     * Used by Zone Service to decommission a zone; call repeatedly until 0 routes are deleted.
+     *
+     * @param zoneId Zone ID
+     * @param limit  maximum number of routes to delete in this call
+     * @return Number of routes deleted
+     */
+    @DeleteMapping("/zone/{zoneId}/batch")
+    public ResponseEntity<RestResponse<Object>> deleteZoneRoutesBatch(@PathVariable String zoneId,
+                                                                      @RequestParam(defaultValue = "500") int limit) {
+        logger.info("Received request to delete up to {} routes of zone {}", limit, zoneId);
+        int deleted = routeService.deleteRoutesBatch(zoneId, limit);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ZONE_ROUTES_BATCH_DELETED_MSG)
+                        .data(deleted)
+                        .build()
+        );
+    }
+
     /**
      * Get list of all routes.
+     * Answers 304 without loading routes when If-None-Match carries the current ETag.
      *
-     * @return List of route responses
+     * @param request current request, for the conditional headers
+     * @return List of route responses, or null once a 304 has been set
      */
     @GetMapping("/list")
-    public ResponseEntity<RestResponse<Object>> getAllRoutes() {
+    public ResponseEntity<RestResponse<Object>> getAllRoutes(WebRequest request) {
         logger.info("Received request to fetch all routes");
+        // Version is read before the data, so a 200 never carries a newer tag than its body
+        ResourceVersion version = routeService.getAllRoutesVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            logger.info("Route list not modified");
+            return null;
+        }
         List<RouteResponseDTO> routes = routeService.getAllRoutes();
         logger.info("Returning {} routes", routes.size());
         return ResponseEntity.ok(
@@ -113,15 +208,164 @@ public class RouteController {
         );
     }
 
+    /**
+     * Get one keyset-paginated slice of routes.
+     *
+     * @param zoneId    optional zone filter
+     * @param sortBy    routeId (default), zoneId or estimatedTime
+     * @param direction asc (default) or desc
+     * @param size      page size, capped at {@link RouteConstants#MAX_PAGE_SIZE}
+     * @param cursor    nextCursor of the previous page
+     * @return Page of route responses
+     */
+    @GetMapping("/page")
+    public ResponseEntity<RestResponse<Object>> getRoutesPage(@RequestParam(required = false) String zoneId,
+                                                              @RequestParam(required = false) String sortBy,
+                                                              @RequestParam(required = false) String direction,
+                                                              @RequestParam(required = false) Integer size,
+                                                              @RequestParam(required = false) String cursor) {
+        logger.info("Received request to fetch routes page for zone: {}", zoneId);
+        RoutePageResponseDTO page = routeService.getRoutesPage(zoneId, sortBy, direction, size, cursor);
+        logger.info("Returning {} routes, hasNext: {}", page.getSize(), page.isHasNext());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ROUTES_LISTED_MSG)
+                        .data(page)
+                        .build()
+        );
+    }
+
+    /**
+     * Export all routes as newline-delimited JSON, one route per line.
+     * Rows are written as they are read from the database cursor, so memory use
+     * is constant and the first bytes are sent before the query completes.
+     *
+     * @param acceptEncoding gzip-compresses the body when it accepts gzip
+     * @return Streaming NDJSON body
+     */
+    @GetMapping(value = "/export", produces = RouteConstants.NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportRoutes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        logger.info("Received request to export all routes");
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ObjectWriter writer = objectMapper.writerFor(RouteResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, true) : outputStream;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                long exported = routeService.streamAllRoutes(route -> writeLine(writer, generator, route, written[0]++));
+                logger.info("Exported {} routes", exported);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(RouteConstants.NDJSON_MEDIA_TYPE));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Writes one NDJSON line; flushes after the first row and then once per fetch batch.
+     */
+    private void writeLine(ObjectWriter writer, JsonGenerator generator, RouteResponseDTO route, long index) {
+        try {
+            writer.writeValue(generator, route);
+            generator.writeRaw('\n');
+            if (index % RouteConstants.EXPORT_FETCH_SIZE == 0) {
+                generator.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the routes passing within a radius of a location, closest first.
+     *
+     * @param lat    latitude of the location
+     * @param lon    longitude of the location
+     * @param radius radius in metres, at most {@link RouteConstants#MAX_NEARBY_RADIUS_METERS}
+     * @param limit  maximum number of routes, {@link RouteConstants#DEFAULT_NEARBY_LIMIT} by default
+     * @return Nearby routes with the distance to their closest pickup point
+     */
+    @GetMapping("/near")
+    public ResponseEntity<RestResponse<Object>> getRoutesNear(@RequestParam double lat,
+                                                              @RequestParam double lon,
+                                                              @RequestParam double radius,
+                                                              @RequestParam(required = false) Integer limit) {
+        logger.info("Received request to fetch routes within {} m of ({}, {})", radius, lat, lon);
+        List<NearbyRouteDTO> routes = routeService.findRoutesNear(lat, lon, radius, limit);
+        logger.info("Returning {} nearby routes", routes.size());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.NEARBY_ROUTES_MSG)
+                        .data(routes)
+                        .build()
+        );
+    }
+
+    /**
+     * Get the k routes nearest to a location, closest first.
+     *
+     * @param lat latitude of the location
+     * @param lon longitude of the location
+     * @param k   number of routes, at most {@link RouteConstants#MAX_NEARBY_RESULTS}
+     * @return Nearest routes with the distance to their closest pickup point
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<RestResponse<Object>> getNearestRoutes(@RequestParam double lat,
+                                                                 @RequestParam double lon,
+                                                                 @RequestParam(defaultValue = "10") int k) {
+        logger.info("Received request to fetch the {} routes nearest to ({}, {})", k, lat, lon);
+        List<NearbyRouteDTO> routes = routeService.findNearestRoutes(lat, lon, k);
+        logger.info("Returning {} nearest routes", routes.size());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.NEARBY_ROUTES_MSG)
+                        .data(routes)
+                        .build()
+        );
+    }
+
+    /**
+     * Get route count, total and average estimated time, and last modification per zone.
+     *
+     * @return Statistics of every zone that has routes
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<RestResponse<Object>> getRouteStats() {
+        logger.info("Received request to fetch route statistics per zone");
+        List<ZoneRouteStatsDTO> stats = routeStatsService.getZoneStats();
+        logger.info("Returning route statistics for {} zones", stats.size());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ROUTE_STATS_MSG)
+                        .data(stats)
+                        .build()
+        );
+    }
+
     /**
      * Get a route by ID.
+     * Answers 304 without loading the route when If-None-Match carries the current ETag.
      *
      * @param routeId Route ID
-     * @return Route response
+     * @param request current request, for the conditional headers
+     * @return Route response, or null once a 304 has been set
      */
     @GetMapping("/{routeId}")
-    public ResponseEntity<RestResponse<Object>> getRouteById(@PathVariable String routeId) {
+    public ResponseEntity<RestResponse<Object>> getRouteById(@PathVariable String routeId, WebRequest request) {
         logger.info("Received request to fetch route with ID: {}", routeId);
+        ResourceVersion version = routeService.getRouteVersion(routeId);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            logger.info("Route {} not modified", routeId);
+            return null;
+        }
         RouteResponseDTO route = routeService.getRouteById(routeId);
         logger.info("Returning route with ID: {}", routeId);
         return ResponseEntity.ok(
@@ -150,4 +394,24 @@ public class RouteController {
                 .build()
         );
     }
+
+    /**
+     * Get the route IDs of many zones in one call.
+     *
+     * @param request Zone IDs, at most {@link RouteConstants#MAX_ZONE_IDS_PER_LOOKUP}
+     * @return Map of zone ID to its route IDs
+     */
+    @PostMapping("/zones/ids")
+    public ResponseEntity<RestResponse<Object>> getRouteIdsByZoneIds(@RequestBody ZoneRouteIdsRequestDTO request) {
+        logger.info("Received request to fetch route IDs for {} zones",
+                request.getZoneIds() == null ? 0 : request.getZoneIds().size());
+        Map<String, List<String>> routeIds = routeService.getRouteIdsByZoneIds(request.getZoneIds());
+        logger.info("Returning route IDs for {} zones", routeIds.size());
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ROUTES_LISTED_MSG)
+                        .data(routeIds)
+                        .build()
+        );
+    }
 }
@@ -0,0 +1,85 @@
+package com.wastewise.routeservice.controller;
+
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.payload.RestResponse;
+import com.wastewise.routeservice.service.RouteOptimizationService;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reordering route pickup points to shorten travel distance
+ * and for proposing balanced splits of a zone into routes.
+ */
+@RestController
+@RequestMapping(RouteConstants.BASE_ROUTE_API)
+@RequiredArgsConstructor
+public class RouteOptimizationController {
+
+    private final RouteOptimizationService routeOptimizationService;
+    private static final Logger logger = LoggerFactory.getLogger(RouteOptimizationController.class);
+
+    /**
+     * Optimize the stop order of one route.
+     *
+     * @param routeId Route ID
+     * @param dryRun  Only compute the result, do not save it
+     * @return Distances before and after, and the new order
+     */
+    @PostMapping("/{routeId}/optimize")
+    public ResponseEntity<RestResponse<Object>> optimizeRoute(@PathVariable String routeId,
+                                                              @RequestParam(defaultValue = "false") boolean dryRun) {
+        logger.info("Received request to optimize route: {}", routeId);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ROUTE_OPTIMIZED_MSG)
+                        .data(routeOptimizationService.optimizeRoute(routeId, dryRun))
+                        .build()
+        );
+    }
+
+    /**
+     * Optimize the stop order of every route in a zone.
+     *
+     * @param zoneId Zone ID
+     * @param dryRun Only compute the results, do not save them
+     * @return One result per optimized route
+     */
+    @PostMapping("/zone/{zoneId}/optimize")
+    public ResponseEntity<RestResponse<Object>> optimizeZone(@PathVariable String zoneId,
+                                                             @RequestParam(defaultValue = "false") boolean dryRun) {
+        logger.info("Received request to optimize routes of zone: {}", zoneId);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ZONE_ROUTES_OPTIMIZED_MSG)
+                        .data(routeOptimizationService.optimizeZone(zoneId, dryRun))
+                        .build()
+        );
+    }
+
+    /**
+     * Propose a split of the zone's pickup points into routes of balanced estimated time.
+     * Give either a route count or a maximum number of minutes per route. Nothing is saved.
+     *
+     * @param zoneId     Zone ID
+     * @param routes     Target number of routes
+     * @param maxMinutes Maximum estimated minutes per route
+     * @return Proposed routes as a diff against the existing ones
+     */
+    @GetMapping("/zone/{zoneId}/partition")
+    public ResponseEntity<RestResponse<Object>> partitionZone(@PathVariable String zoneId,
+                                                              @RequestParam(required = false) Integer routes,
+                                                              @RequestParam(required = false) Integer maxMinutes) {
+        logger.info("Received request to partition zone: {}", zoneId);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ZONE_PARTITION_PLANNED_MSG)
+                        .data(routeOptimizationService.partitionZone(zoneId, routes, maxMinutes))
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.wastewise.routeservice.controller;
+
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.payload.RestResponse;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for invalidating the zone existence cache.
+ * Called by zone-service when a zone is deleted, or by operators.
+ */
+@RestController
+@RequestMapping(RouteConstants.ZONE_CACHE_API)
+@RequiredArgsConstructor
+public class ZoneCacheController {
+
+    private final ZoneExistenceCache zoneExistenceCache;
+    private static final Logger logger = LoggerFactory.getLogger(ZoneCacheController.class);
+
+    /**
+     * Evict the cached existence of one zone.
+     *
+     * @param zoneId Zone ID
+     * @return Response message
+     */
+    @DeleteMapping("/{zoneId}")
+    public ResponseEntity<RestResponse<Object>> evictZone(@PathVariable String zoneId) {
+        logger.info("Received request to evict zone existence cache for zone: {}", zoneId);
+        zoneExistenceCache.evict(zoneId);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ZONE_CACHE_EVICTED_MSG)
+                        .data(null)
+                        .build()
+        );
+    }
+
+    /**
+     * Evict all cached zone existence entries.
+     *
+     * @return Response message
+     */
+    @DeleteMapping
+    public ResponseEntity<RestResponse<Object>> evictAllZones() {
+        logger.info("Received request to clear the zone existence cache");
+        zoneExistenceCache.evictAll();
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(RouteConstants.ZONE_CACHE_CLEARED_MSG)
+                        .data(null)
+                        .build()
+        );
+    }
+}
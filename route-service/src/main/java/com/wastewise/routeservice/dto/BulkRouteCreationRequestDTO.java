@@ -0,0 +1,25 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: BulkRouteCreationRequest
+ * ------------------------------------------------------------------------------
+ * Represents the request body for creating many routes in one call.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRouteCreationRequestDTO {
+
+    /**
+     * Routes to create; each is validated and reported on individually.
+     */
+    private List<RouteCreationRequestDTO> routes;
+}
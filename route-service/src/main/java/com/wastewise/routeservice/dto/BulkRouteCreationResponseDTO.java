@@ -0,0 +1,35 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: BulkRouteCreationResponse
+ * ------------------------------------------------------------------------------
+ * Summary and per-item results of a bulk route creation request.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRouteCreationResponseDTO {
+
+    /**
+     * Number of routes created.
+     */
+    private int created;
+
+    /**
+     * Number of items rejected.
+     */
+    private int failed;
+
+    /**
+     * One result per request item, in request order.
+     */
+    private List<BulkRouteResultDTO> results;
+}
@@ -0,0 +1,56 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: BulkRouteResult
+ * ------------------------------------------------------------------------------
+ * Outcome of a single item of a bulk route creation request.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRouteResultDTO {
+
+    /**
+     * Outcome of a bulk item.
+     */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    /**
+     * Position of the item in the request list.
+     */
+    private int index;
+
+    /**
+     * Generated route ID, or null when the item failed.
+     */
+    private String routeId;
+
+    /**
+     * Zone ID of the item.
+     */
+    private String zoneId;
+
+    /**
+     * Route name of the item.
+     */
+    private String routeName;
+
+    /**
+     * Whether the route was created.
+     */
+    private Status status;
+
+    /**
+     * Failure reason, or null when the route was created.
+     */
+    private String message;
+}
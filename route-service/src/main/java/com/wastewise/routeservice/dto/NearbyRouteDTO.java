@@ -0,0 +1,33 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: NearbyRoute
+ * ------------------------------------------------------------------------------
+ * A route passing near a location, with the distance to its closest pickup point.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyRouteDTO {
+
+    /**
+     * Route ID (e.g., Z001-R001).
+     */
+    private String routeId;
+
+    /**
+     * Zone ID of the route.
+     */
+    private String zoneId;
+
+    /**
+     * Great-circle distance in metres from the location to the route's closest pickup point.
+     */
+    private double distanceMeters;
+}
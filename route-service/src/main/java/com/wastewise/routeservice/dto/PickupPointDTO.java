@@ -0,0 +1,34 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: PickupPoint
+ * ------------------------------------------------------------------------------
+ * Structured pickup point used in route requests and responses.
+ * Points are listed in visiting order.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PickupPointDTO {
+
+    /**
+     * Label of the pickup point (must not contain commas).
+     */
+    private String label;
+
+    /**
+     * Latitude in decimal degrees (optional, -90 to 90).
+     */
+    private Double latitude;
+
+    /**
+     * Longitude in decimal degrees (optional, -180 to 180).
+     */
+    private Double longitude;
+}
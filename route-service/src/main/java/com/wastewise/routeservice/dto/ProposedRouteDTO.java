@@ -0,0 +1,71 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: ProposedRoute
+ * ------------------------------------------------------------------------------
+ * One route of a zone partition proposal, compared with the existing route
+ * it overlaps most.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProposedRouteDTO {
+
+    /**
+     * Existing route this proposal replaces, or null if it is a new route.
+     */
+    private String routeId;
+
+    /**
+     * Name of the replaced route, or null if it is a new route.
+     */
+    private String routeName;
+
+    /**
+     * Estimated time in minutes: the per-point share of each point's current route time, summed.
+     */
+    private int estimatedTime;
+
+    /**
+     * Latitude of the centre of the proposed route's points.
+     */
+    private double centerLatitude;
+
+    /**
+     * Longitude of the centre of the proposed route's points.
+     */
+    private double centerLongitude;
+
+    /**
+     * Number of pickup points on the proposed route.
+     */
+    private int pointCount;
+
+    /**
+     * Points that stay on the replaced route.
+     */
+    private int keptPoints;
+
+    /**
+     * Points moved onto this route from other routes.
+     */
+    private int addedPoints;
+
+    /**
+     * Points of the replaced route that move to other routes.
+     */
+    private int removedPoints;
+
+    /**
+     * Pickup points of the proposed route.
+     */
+    private List<PickupPointDTO> points;
+}
@@ -2,6 +2,8 @@ package com.wastewise.routeservice.dto;
 
 import lombok.*;
 
+import java.util.List;
+
 /**
  * ------------------------------------------------------------------------------
  * DTO: RouteCreationRequest
@@ -28,6 +30,7 @@ public class RouteCreationRequestDTO {
 
     /**
      * Pickup points represented as a comma-separated string (e.g., "Point1,Point2,Point3").
+     * Ignored when {@code points} is given.
      */
     private String pickupPoints;
 
@@ -35,4 +38,16 @@ public class RouteCreationRequestDTO {
      * Estimated time to complete the route in minutes.
      */
     private int estimatedTime;
+
+    /**
+     * Structured pickup points with optional coordinates, in visiting order.
+     */
+    private List<PickupPointDTO> points;
+
+    /**
+     * Creates a request with pickup points in the comma-separated form.
+     */
+    public RouteCreationRequestDTO(String zoneId, String routeName, String pickupPoints, int estimatedTime) {
+        this(zoneId, routeName, pickupPoints, estimatedTime, null);
+    }
 }
@@ -0,0 +1,54 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: RouteOptimizationResult
+ * ------------------------------------------------------------------------------
+ * Outcome of reordering the pickup points of one route.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteOptimizationResultDTO {
+
+    /**
+     * Route that was optimized.
+     */
+    private String routeId;
+
+    /**
+     * Number of pickup points on the route.
+     */
+    private int stopCount;
+
+    /**
+     * Path length in metres in the previous order.
+     */
+    private double originalDistanceMeters;
+
+    /**
+     * Path length in metres in the optimized order.
+     */
+    private double optimizedDistanceMeters;
+
+    /**
+     * Pickup points in the optimized order, as a comma-separated string.
+     */
+    private String pickupPoints;
+
+    /**
+     * Whether the new order was saved (false for dry runs and when nothing improved).
+     */
+    private boolean applied;
+
+    /**
+     * Whether the route was changed by another request while it was optimized,
+     * so the new order was not saved; pickupPoints then keeps the order that was read.
+     */
+    private boolean conflict;
+}
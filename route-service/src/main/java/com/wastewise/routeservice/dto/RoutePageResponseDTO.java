@@ -0,0 +1,41 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: RoutePageResponse
+ * ------------------------------------------------------------------------------
+ * Represents one keyset-paginated slice of routes. Clients pass
+ * {@code nextCursor} back unchanged to fetch the following slice.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutePageResponseDTO {
+
+    /**
+     * Routes in this slice, in the requested sort order.
+     */
+    private List<RouteResponseDTO> routes;
+
+    /**
+     * Number of routes in this slice.
+     */
+    private int size;
+
+    /**
+     * Whether more routes exist after this slice.
+     */
+    private boolean hasNext;
+
+    /**
+     * Opaque cursor for the next slice, or null when this is the last one.
+     */
+    private String nextCursor;
+}
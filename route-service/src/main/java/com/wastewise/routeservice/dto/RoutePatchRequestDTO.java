@@ -0,0 +1,48 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: RoutePatchRequest
+ * ------------------------------------------------------------------------------
+ * Represents the request body for a partial route update.
+ * Fields left null keep their current value; version is required.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutePatchRequestDTO {
+
+    /**
+     * Version of the route the client edited, as returned by GET.
+     * The patch is rejected with 409 if the route changed since.
+     */
+    private Long version;
+
+    /**
+     * New name for the route.
+     */
+    private String routeName;
+
+    /**
+     * New estimated time for completing the route in minutes.
+     */
+    private Integer estimatedTime;
+
+    /**
+     * New pickup points as a comma-separated string (e.g., "PointA,PointB").
+     * Ignored when {@code points} is given.
+     */
+    private String pickupPoints;
+
+    /**
+     * New structured pickup points with optional coordinates, in visiting order.
+     */
+    private List<PickupPointDTO> points;
+}
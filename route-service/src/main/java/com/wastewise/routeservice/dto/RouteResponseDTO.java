@@ -2,6 +2,8 @@ package com.wastewise.routeservice.dto;
 
 import lombok.*;
 
+import java.util.List;
+
 /**
  * ------------------------------------------------------------------------------
  * DTO: RouteResponse
@@ -37,7 +39,28 @@ public class RouteResponseDTO {
     private int estimatedTime;
 
     /**
-     * Pickup points stored as a comma-separated string.
+     * Pickup points as a comma-separated string.
      */
     private String pickupPoints;
+
+    /**
+     * Pickup points with coordinates, in visiting order.
+     */
+    private List<PickupPointDTO> points;
+
+    /**
+     * Version of the route; send it back with a PATCH.
+     */
+    private Long version;
+
+    /**
+     * Creates a response without pickup points; used by the export projection,
+     * which fills the points in afterwards.
+     */
+    public RouteResponseDTO(String routeId, String zoneId, String routeName, int estimatedTime) {
+        this.routeId = routeId;
+        this.zoneId = zoneId;
+        this.routeName = routeName;
+        this.estimatedTime = estimatedTime;
+    }
 }
@@ -2,6 +2,8 @@ package com.wastewise.routeservice.dto;
 
 import lombok.*;
 
+import java.util.List;
+
 /**
  * ------------------------------------------------------------------------------
  * DTO: RouteUpdateRequest
@@ -23,6 +25,7 @@ public class RouteUpdateRequestDTO {
 
     /**
      * Updated pickup points as a comma-separated string (e.g., "PointA,PointB").
+     * Ignored when {@code points} is given.
      */
     private String pickupPoints;
 
@@ -30,4 +33,16 @@ public class RouteUpdateRequestDTO {
      * Updated estimated time for completing the route in minutes.
      */
     private Integer estimatedTime;
+
+    /**
+     * Updated structured pickup points with optional coordinates, in visiting order.
+     */
+    private List<PickupPointDTO> points;
+
+    /**
+     * Creates a request with pickup points in the comma-separated form.
+     */
+    public RouteUpdateRequestDTO(String routeName, String pickupPoints, Integer estimatedTime) {
+        this(routeName, pickupPoints, estimatedTime, null);
+    }
 }
@@ -0,0 +1,59 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: ZonePartitionPlan
+ * ------------------------------------------------------------------------------
+ * Dry-run proposal for re-splitting all pickup points of a zone into routes
+ * of balanced estimated time, as a diff against the zone's existing routes.
+ * Nothing is saved.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZonePartitionPlanDTO {
+
+    /**
+     * Zone that was partitioned.
+     */
+    private String zoneId;
+
+    /**
+     * Number of pickup points in the zone.
+     */
+    private int pointCount;
+
+    /**
+     * Number of routes currently in the zone.
+     */
+    private int currentRouteCount;
+
+    /**
+     * Shortest and longest estimated time of the current routes, in minutes.
+     */
+    private int currentMinMinutes;
+    private int currentMaxMinutes;
+
+    /**
+     * Shortest and longest estimated time of the proposed routes, in minutes.
+     */
+    private int proposedMinMinutes;
+    private int proposedMaxMinutes;
+
+    /**
+     * Proposed routes; replaced routes first, in route ID order, then new ones.
+     */
+    private List<ProposedRouteDTO> routes;
+
+    /**
+     * Existing routes that no proposed route replaces.
+     */
+    private List<String> removedRouteIds;
+}
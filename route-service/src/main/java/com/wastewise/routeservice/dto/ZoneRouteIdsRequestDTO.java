@@ -0,0 +1,25 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: ZoneRouteIdsRequest
+ * ------------------------------------------------------------------------------
+ * Represents the request body for looking up the route IDs of many zones at once.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneRouteIdsRequestDTO {
+
+    /**
+     * Zones to look up; duplicates are ignored.
+     */
+    private List<String> zoneIds;
+}
@@ -0,0 +1,45 @@
+package com.wastewise.routeservice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DTO: ZoneRouteStats
+ * ------------------------------------------------------------------------------
+ * Route statistics of one zone.
+ * ------------------------------------------------------------------------------
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneRouteStatsDTO {
+
+    /**
+     * Zone ID (e.g., Z001).
+     */
+    private String zoneId;
+
+    /**
+     * Number of routes in the zone.
+     */
+    private long routeCount;
+
+    /**
+     * Sum of the estimated times of the zone's routes, in minutes.
+     */
+    private long totalEstimatedTime;
+
+    /**
+     * Average estimated time of the zone's routes, in minutes.
+     */
+    private double averageEstimatedTime;
+
+    /**
+     * When a route of the zone was last created, updated or deleted.
+     */
+    private LocalDateTime lastModified;
+}
@@ -0,0 +1,49 @@
+package com.wastewise.routeservice.entity;
+
+import com.wastewise.routeservice.util.PickupPointLabelConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * PickupPoint Embeddable
+ * ------------------------------------------------------------------------------
+ * One stop of a route, stored as a row of the route_pickup_point table.
+ * Coordinates are optional for points created from the legacy string form.
+ * ------------------------------------------------------------------------------
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PickupPoint {
+
+    /**
+     * Zero-based position of the point within its route.
+     */
+    @Column(name = "ordinal", nullable = false)
+    private int ordinal;
+
+    /**
+     * Canonical label of the point (trimmed, single-spaced, interned).
+     */
+    @Convert(converter = PickupPointLabelConverter.class)
+    @Column(name = "label", nullable = false, length = 100)
+    private String label;
+
+    /**
+     * Latitude in decimal degrees, or null if unknown.
+     */
+    @Column(name = "latitude")
+    private Double latitude;
+
+    /**
+     * Longitude in decimal degrees, or null if unknown.
+     */
+    @Column(name = "longitude")
+    private Double longitude;
+}
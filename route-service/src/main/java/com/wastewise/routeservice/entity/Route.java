@@ -1,12 +1,15 @@
 package com.wastewise.routeservice.entity;
 
+import com.wastewise.routeservice.constant.RouteConstants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +21,8 @@ import java.util.List;
  * ------------------------------------------------------------------------------
  */
 @Entity
-@Table(name = "route")
+@Table(name = "route", uniqueConstraints = @UniqueConstraint(
+        name = RouteConstants.ROUTE_NAME_UNIQUE_CONSTRAINT, columnNames = {"zone_id", "route_name"}))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -35,7 +39,7 @@ public class Route {
     private String routeId;
 
     /**
-     * Name of the route (must be unique within a zone).
+     * Name of the route (unique within a zone, ignoring case; enforced by the database).
      */
     @Column(name = "route_name", nullable = false)
     private String routeName;
@@ -47,12 +51,15 @@ public class Route {
     private String zoneId;
 
     /**
-     * pickup points for this route.
+     * Pickup points of this route in visiting order.
+     * Loaded lazily, for up to PICKUP_POINT_BATCH_SIZE routes per query.
      */
-    
-    @Column(name = "path_details", nullable = false)
-    private String pickupPoints;
-
+    @ElementCollection
+    @CollectionTable(name = "route_pickup_point", joinColumns = @JoinColumn(name = "route_id"))
+    @OrderBy("ordinal")
+    @BatchSize(size = RouteConstants.PICKUP_POINT_BATCH_SIZE)
+    @Builder.Default
+    private List<PickupPoint> pickupPoints = new ArrayList<>();
 
     /**
      * Estimated time for completing this route in minutes.
@@ -73,4 +80,12 @@ public class Route {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic-locking version, incremented with every update.
+     * Null until first persisted, which lets save() insert without a lookup.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
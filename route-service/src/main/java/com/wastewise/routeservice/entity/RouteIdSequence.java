@@ -0,0 +1,36 @@
+package com.wastewise.routeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteIdSequence Entity
+ * ------------------------------------------------------------------------------
+ * Cluster-wide high-water mark of route numbers per zone.
+ * Instances lease blocks of numbers by advancing it, so no two instances
+ * ever hand out the same route ID.
+ * ------------------------------------------------------------------------------
+ */
+@Entity
+@Table(name = "route_id_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteIdSequence {
+
+    /**
+     * Zone ID the counter belongs to (e.g., Z001).
+     */
+    @Id
+    @Column(name = "zone_id", nullable = false)
+    private String zoneId;
+
+    /**
+     * Highest route number leased so far for this zone.
+     */
+    @Column(name = "last_route_number", nullable = false)
+    private long lastRouteNumber;
+}
@@ -0,0 +1,56 @@
+package com.wastewise.routeservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneRouteStats Entity
+ * ------------------------------------------------------------------------------
+ * Running per-zone totals over the route table. Updated in the same
+ * transaction as every route change and periodically reconciled against
+ * a full aggregate, so statistics are read in O(zones).
+ * ------------------------------------------------------------------------------
+ */
+@Entity
+@Table(name = "zone_route_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneRouteStats {
+
+    /**
+     * Zone ID the totals belong to (e.g., Z001).
+     */
+    @Id
+    @Column(name = "zone_id", nullable = false)
+    private String zoneId;
+
+    /**
+     * Number of routes in the zone.
+     */
+    @Column(name = "route_count", nullable = false)
+    private long routeCount;
+
+    /**
+     * Sum of the estimated times of the zone's routes, in minutes.
+     */
+    @Column(name = "total_estimated_time", nullable = false)
+    private long totalEstimatedTime;
+
+    /**
+     * When a route of the zone was last created, updated or deleted.
+     */
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    /**
+     * Incremented on every change to the zone's routes; feeds the ETag of the route list.
+     */
+    @Column(name = "revision", nullable = false)
+    private long revision;
+}
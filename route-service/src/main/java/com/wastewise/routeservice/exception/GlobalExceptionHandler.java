@@ -1,11 +1,13 @@
 package com.wastewise.routeservice.exception;
 
+import com.wastewise.routeservice.constant.RouteConstants;
 import com.wastewise.routeservice.exception.custom.*;
 import com.wastewise.routeservice.payload.RestResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -57,6 +59,41 @@ public class GlobalExceptionHandler {
                 .body(new RestResponse<>(ex.getMessage(), null));
     }
 
+    /**
+     * Handles RouteVersionConflictException with HTTP 409.
+     */
+    @ExceptionHandler(RouteVersionConflictException.class)
+    public ResponseEntity<RestResponse<Object>> handleVersionConflict(RouteVersionConflictException ex) {
+        logger.warn("Route version conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new RestResponse<>(ex.getMessage(), null));
+    }
+
+    /**
+     * Handles a concurrent update detected by the @Version check with HTTP 409.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<RestResponse<Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        // Raised from a plain StaleStateException (e.g. a batched statement), it names no entity
+        if (ex.getPersistentClassName() != null) {
+            logger.warn("Concurrent update of {} {}", ex.getPersistentClassName(), ex.getIdentifier());
+        } else {
+            logger.warn("Concurrent update: {}", ex.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new RestResponse<>(RouteConstants.CONCURRENT_UPDATE_MSG, null));
+    }
+
+    /**
+     * Handles ZoneServiceUnavailableException with HTTP 503.
+     */
+    @ExceptionHandler(ZoneServiceUnavailableException.class)
+    public ResponseEntity<RestResponse<Object>> handleZoneServiceUnavailable(ZoneServiceUnavailableException ex) {
+        logger.warn("Zone check timed out: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new RestResponse<>(ex.getMessage(), null));
+    }
+
     /**
      * Handles InvalidRouteDetailsException with HTTP 400.
      */
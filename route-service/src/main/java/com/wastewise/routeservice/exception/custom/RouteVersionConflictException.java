@@ -0,0 +1,12 @@
+package com.wastewise.routeservice.exception.custom;
+
+import static com.wastewise.routeservice.constant.RouteConstants.ROUTE_VERSION_CONFLICT_MSG;
+
+/**
+ * Thrown when a route was changed by someone else since the client read it.
+ */
+public class RouteVersionConflictException extends RuntimeException {
+    public RouteVersionConflictException(String routeId, long expectedVersion) {
+        super(String.format(ROUTE_VERSION_CONFLICT_MSG, routeId, expectedVersion));
+    }
+}
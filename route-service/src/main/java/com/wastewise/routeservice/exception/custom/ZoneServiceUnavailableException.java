@@ -0,0 +1,12 @@
+package com.wastewise.routeservice.exception.custom;
+
+import com.wastewise.routeservice.constant.RouteConstants;
+
+/**
+ * Exception thrown when zone-service does not confirm a zone within the check timeout.
+ */
+public class ZoneServiceUnavailableException extends RuntimeException {
+    public ZoneServiceUnavailableException(String zoneId) {
+        super(String.format(RouteConstants.ZONE_CHECK_TIMEOUT_MSG, zoneId));
+    }
+}
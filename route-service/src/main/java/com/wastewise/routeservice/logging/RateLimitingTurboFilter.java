@@ -0,0 +1,115 @@
+package com.wastewise.routeservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RateLimitingTurboFilter
+ * ------------------------------------------------------------------------------
+ * Logback turbo filter that lets each logger write at most maxPerSecond events
+ * per second at or below the given level; the rest are dropped before a log
+ * event is even created. Configured in logback-spring.xml:
+ * - logger: a logger name or package; repeatable. Each logger below it gets
+ *   its own budget, so one busy controller cannot silence another
+ * - level: highest level that is limited (default INFO); WARN and ERROR
+ *   always pass unless configured otherwise
+ * - maxPerSecond: events per logger per second (default 100)
+ * Level checks such as isDebugEnabled() are never limited.
+ * ------------------------------------------------------------------------------
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+    private final long origin = System.nanoTime();
+    private Level level = Level.INFO;
+    private int maxPerSecond = 100;
+
+    public void addLogger(String logger) {
+        loggers.add(logger);
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    /**
+     * Number of events dropped since the filter was started.
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params,
+                              Throwable t) {
+        // Leave level checks, unlimited levels and events the logger would discard anyway alone
+        if (format == null || !isStarted() || eventLevel.toInt() > level.toInt()
+                || eventLevel.toInt() < logger.getEffectiveLevel().toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), this::windowFor);
+        if (window == Window.UNLIMITED) {
+            return FilterReply.NEUTRAL;
+        }
+        long second = (System.nanoTime() - origin) / 1_000_000_000L;
+        if (window.tryAcquire(second, maxPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    private Window windowFor(String loggerName) {
+        for (String limited : loggers) {
+            if (loggerName.equals(limited) || loggerName.startsWith(limited + ".")) {
+                return new Window();
+            }
+        }
+        return Window.UNLIMITED;
+    }
+
+    /**
+     * Events counted in the current second; the second and the count share one
+     * long so both change in a single compare-and-set.
+     */
+    private static final class Window {
+
+        private static final Window UNLIMITED = new Window();
+
+        private final AtomicLong state = new AtomicLong();
+
+        private boolean tryAcquire(long second, int max) {
+            while (true) {
+                long current = state.get();
+                long next;
+                if (current >>> 32 != second) {
+                    next = second << 32 | 1;
+                } else if ((int) current >= max) {
+                    return false;
+                } else {
+                    next = current + 1;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
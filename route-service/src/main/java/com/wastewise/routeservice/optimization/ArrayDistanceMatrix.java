@@ -0,0 +1,74 @@
+package com.wastewise.routeservice.optimization;
+
+/**
+ * On-heap {@link DistanceMatrix} backed by one row-major {@code double[]}.
+ */
+public final class ArrayDistanceMatrix implements DistanceMatrix {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final int size;
+    private final double[] distances;
+
+    private ArrayDistanceMatrix(int size, double[] distances) {
+        this.size = size;
+        this.distances = distances;
+    }
+
+    /**
+     * Wraps a row-major matrix of {@code size * size} distances without copying.
+     */
+    public static ArrayDistanceMatrix of(int size, double[] distances) {
+        if (distances.length != size * size) {
+            throw new IllegalArgumentException("expected " + size * size + " distances, got " + distances.length);
+        }
+        return new ArrayDistanceMatrix(size, distances);
+    }
+
+    /**
+     * Computes great-circle (haversine) distances between coordinates in decimal degrees.
+     */
+    public static ArrayDistanceMatrix haversine(double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        double[] sinLat = new double[size];
+        double[] cosLat = new double[size];
+        double[] lonRad = new double[size];
+        for (int i = 0; i < size; i++) {
+            double latRad = Math.toRadians(latitudes[i]);
+            sinLat[i] = Math.sin(latRad);
+            cosLat[i] = Math.cos(latRad);
+            lonRad[i] = Math.toRadians(longitudes[i]);
+        }
+        double[] distances = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                double d = haversine(sinLat[i], cosLat[i], lonRad[i], sinLat[j], cosLat[j], lonRad[j]);
+                distances[i * size + j] = d;
+                distances[j * size + i] = d;
+            }
+        }
+        return new ArrayDistanceMatrix(size, distances);
+    }
+
+    /**
+     * Haversine distance from precomputed sines and cosines of the latitudes.
+     */
+    static double haversine(double sinLat1, double cosLat1, double lon1,
+                            double sinLat2, double cosLat2, double lon2) {
+        // sin^2((lat2 - lat1) / 2) = (1 - cos(lat2 - lat1)) / 2
+        double cosDeltaLat = cosLat1 * cosLat2 + sinLat1 * sinLat2;
+        double sinHalfLon = Math.sin((lon2 - lon1) / 2);
+        double a = (1 - cosDeltaLat) / 2 + cosLat1 * cosLat2 * sinHalfLon * sinHalfLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1, Math.max(0, a))));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double distance(int from, int to) {
+        return distances[from * size + to];
+    }
+}
@@ -0,0 +1,18 @@
+package com.wastewise.routeservice.optimization;
+
+/**
+ * Symmetric matrix of travel distances in metres between the stops of one route,
+ * indexed by stop position (0 to size - 1).
+ */
+public interface DistanceMatrix {
+
+    /**
+     * @return number of stops
+     */
+    int size();
+
+    /**
+     * @return distance in metres from stop {@code from} to stop {@code to}
+     */
+    double distance(int from, int to);
+}
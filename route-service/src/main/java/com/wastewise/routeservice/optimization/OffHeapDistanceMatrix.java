@@ -0,0 +1,117 @@
+package com.wastewise.routeservice.optimization;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+
+/**
+ * ------------------------------------------------------------------------------
+ * OffHeapDistanceMatrix
+ * ------------------------------------------------------------------------------
+ * {@link DistanceMatrix} stored outside the Java heap, in a direct or
+ * memory-mapped {@link ByteBuffer}. Only the upper triangle is kept
+ * (distances are symmetric), as little-endian doubles in row order, so a
+ * matrix of n points takes n(n-1)/2 * 8 bytes and is invisible to the GC.
+ * ------------------------------------------------------------------------------
+ */
+public final class OffHeapDistanceMatrix implements DistanceMatrix {
+
+    /**
+     * Largest matrix whose triangle still fits a single ByteBuffer (2 GiB).
+     */
+    public static final int MAX_SIZE = 23_170;
+
+    private final int size;
+    private final ByteBuffer data;
+
+    private OffHeapDistanceMatrix(int size, ByteBuffer data) {
+        this.size = size;
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return bytes needed for a matrix of {@code size} points
+     */
+    public static long byteSize(int size) {
+        return (long) size * (size - 1) / 2 * Double.BYTES;
+    }
+
+    /**
+     * Computes haversine distances into a newly allocated direct buffer.
+     */
+    public static OffHeapDistanceMatrix compute(double[] latitudes, double[] longitudes) {
+        return compute(latitudes, longitudes, ByteBuffer.allocateDirect((int) byteSize(checkedSize(latitudes.length))));
+    }
+
+    /**
+     * Computes haversine distances into the given buffer, e.g. a mapped file region.
+     * Rows are filled in parallel.
+     */
+    public static OffHeapDistanceMatrix compute(double[] latitudes, double[] longitudes, ByteBuffer target) {
+        int size = checkedSize(latitudes.length);
+        double[] sinLat = new double[size];
+        double[] cosLat = new double[size];
+        double[] lonRad = new double[size];
+        for (int i = 0; i < size; i++) {
+            double latRad = Math.toRadians(latitudes[i]);
+            sinLat[i] = Math.sin(latRad);
+            cosLat[i] = Math.cos(latRad);
+            lonRad[i] = Math.toRadians(longitudes[i]);
+        }
+        OffHeapDistanceMatrix matrix = new OffHeapDistanceMatrix(size, target);
+        // Absolute puts to disjoint rows, so workers never touch the same bytes
+        IntStream.range(0, size).parallel().forEach(i -> {
+            int offset = matrix.offset(i, i + 1);
+            for (int j = i + 1; j < size; j++, offset += Double.BYTES) {
+                matrix.data.putDouble(offset, ArrayDistanceMatrix.haversine(
+                        sinLat[i], cosLat[i], lonRad[i], sinLat[j], cosLat[j], lonRad[j]));
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * Wraps a buffer previously filled by {@link #compute(double[], double[], ByteBuffer)}.
+     */
+    public static OffHeapDistanceMatrix wrap(int size, ByteBuffer data) {
+        if (data.capacity() < byteSize(checkedSize(size))) {
+            throw new IllegalArgumentException("buffer too small for " + size + " points");
+        }
+        return new OffHeapDistanceMatrix(size, data);
+    }
+
+    private static int checkedSize(int size) {
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("at most " + MAX_SIZE + " points are supported, got " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Byte offset of the distance between i and j, for i < j.
+     */
+    private int offset(int i, int j) {
+        long index = (long) i * (2L * size - i - 1) / 2 + (j - i - 1);
+        return (int) (index * Double.BYTES);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double distance(int from, int to) {
+        if (from == to) {
+            return 0;
+        }
+        return from < to ? data.getDouble(offset(from, to)) : data.getDouble(offset(to, from));
+    }
+
+    /**
+     * @return off-heap bytes held by this matrix
+     */
+    public long byteSize() {
+        return byteSize(size);
+    }
+}
@@ -0,0 +1,362 @@
+package com.wastewise.routeservice.optimization;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RoutePartitioner
+ * ------------------------------------------------------------------------------
+ * Splits the pickup points of a zone into compact groups of roughly equal load
+ * (e.g. minutes of work), one group per proposed route:
+ * 1. Sweep: sort points by angle around the centroid and cut the circle into
+ *    sectors of equal load, starting at the widest angular gap.
+ * 2. k-means (Lloyd) from the sweep centres, on a local equirectangular
+ *    projection in metres, until no point changes group.
+ * 3. Local-search rebalance: move the cheapest boundary points out of groups
+ *    above the maximum load and into groups below the minimum load.
+ * All per-point state lives in primitive arrays; assignment, centre updates and
+ * move costs run as parallel streams, so call it from a dedicated fork-join pool.
+ * ------------------------------------------------------------------------------
+ */
+public final class RoutePartitioner {
+
+    private static final double METERS_PER_DEGREE = 6_371_008.8 * Math.PI / 180;
+    private static final long ANGLE_BUCKETS = 1L << 30;
+    private static final int CHUNK_SIZE = 4096;
+
+    private RoutePartitioner() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Result of a partitioning run.
+     *
+     * @param assignment       group of each point
+     * @param loads            total weight of each group
+     * @param centerLatitudes  latitude of each group's centre
+     * @param centerLongitudes longitude of each group's centre
+     * @param iterations       k-means iterations run
+     * @param moves            points moved by the rebalance
+     */
+    public record Partition(int[] assignment, double[] loads, double[] centerLatitudes, double[] centerLongitudes,
+                            int iterations, int moves) {
+    }
+
+    /**
+     * Partitions the points into {@code parts} groups.
+     *
+     * @param latitudes     point latitudes
+     * @param longitudes    point longitudes
+     * @param weights       non-negative load of each point
+     * @param parts         number of groups, between 1 and the number of points
+     * @param minLoad       load every group should reach
+     * @param maxLoad       load no group should exceed
+     * @param maxIterations cap on k-means iterations and on rebalance passes
+     */
+    public static Partition partition(double[] latitudes, double[] longitudes, double[] weights,
+                                      int parts, double minLoad, double maxLoad, int maxIterations) {
+        int n = latitudes.length;
+        if (parts < 1 || parts > n) {
+            throw new IllegalArgumentException("parts must be between 1 and " + n + ", got " + parts);
+        }
+        double lat0 = Arrays.stream(latitudes).parallel().sum() / n;
+        double lon0 = Arrays.stream(longitudes).parallel().sum() / n;
+        double scaleX = Math.cos(Math.toRadians(lat0)) * METERS_PER_DEGREE;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            x[i] = (longitudes[i] - lon0) * scaleX;
+            y[i] = (latitudes[i] - lat0) * METERS_PER_DEGREE;
+        });
+
+        int[] assignment = sweep(x, y, weights, parts);
+        double[] cx = new double[parts];
+        double[] cy = new double[parts];
+        updateCenters(x, y, assignment, cx, cy);
+
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            iterations++;
+            int changed = assignNearest(x, y, cx, cy, assignment);
+            updateCenters(x, y, assignment, cx, cy);
+            if (changed == 0) {
+                break;
+            }
+        }
+        int moves = rebalance(x, y, weights, assignment, cx, cy, minLoad, maxLoad, maxIterations);
+
+        double[] centerLatitudes = new double[parts];
+        double[] centerLongitudes = new double[parts];
+        for (int c = 0; c < parts; c++) {
+            centerLatitudes[c] = lat0 + cy[c] / METERS_PER_DEGREE;
+            centerLongitudes[c] = lon0 + cx[c] / scaleX;
+        }
+        return new Partition(assignment, loads(weights, assignment, parts), centerLatitudes, centerLongitudes,
+                iterations, moves);
+    }
+
+    /**
+     * Cuts the points, sorted by angle around the origin, into sectors of equal weight.
+     */
+    static int[] sweep(double[] x, double[] y, double[] weights, int parts) {
+        int n = x.length;
+        long[] keys = new long[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double angle = Math.atan2(y[i], x[i]) + Math.PI;
+            long bucket = Math.min(ANGLE_BUCKETS - 1, (long) (angle / (2 * Math.PI) * ANGLE_BUCKETS));
+            keys[i] = (bucket << 32) | i;
+        });
+        Arrays.parallelSort(keys);
+
+        // Start right after the widest empty wedge so no sector has to span it
+        int start = 0;
+        long widest = -1;
+        for (int s = 0; s < n; s++) {
+            long gap = s == 0
+                    ? (keys[0] >>> 32) + ANGLE_BUCKETS - (keys[n - 1] >>> 32)
+                    : (keys[s] >>> 32) - (keys[s - 1] >>> 32);
+            if (gap > widest) {
+                widest = gap;
+                start = s;
+            }
+        }
+
+        double total = Arrays.stream(weights).sum();
+        int[] assignment = new int[n];
+        double cumulative = 0;
+        for (int s = 0; s < n; s++) {
+            int i = (int) keys[(start + s) % n];
+            double middle = cumulative + weights[i] / 2;
+            assignment[i] = total > 0
+                    ? Math.min(parts - 1, (int) (middle / total * parts))
+                    : (int) ((long) s * parts / n);
+            cumulative += weights[i];
+        }
+        return assignment;
+    }
+
+    /**
+     * Moves every point to its nearest centre.
+     *
+     * @return number of points that changed group
+     */
+    private static int assignNearest(double[] x, double[] y, double[] cx, double[] cy, int[] assignment) {
+        return IntStream.range(0, x.length).parallel().map(i -> {
+            int nearest = nearest(x[i], y[i], cx, cy, -1);
+            if (nearest == assignment[i]) {
+                return 0;
+            }
+            assignment[i] = nearest;
+            return 1;
+        }).sum();
+    }
+
+    /**
+     * Nearest centre to (px, py), skipping {@code excluded}.
+     */
+    private static int nearest(double px, double py, double[] cx, double[] cy, int excluded) {
+        int nearest = -1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < cx.length; c++) {
+            if (c == excluded) {
+                continue;
+            }
+            double d = squared(px - cx[c], py - cy[c]);
+            if (d < best) {
+                best = d;
+                nearest = c;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Sets each centre to the mean of its points. An empty group takes over the
+     * point lying farthest from its own centre, so every group stays in use.
+     */
+    private static void updateCenters(double[] x, double[] y, int[] assignment, double[] cx, double[] cy) {
+        int parts = cx.length;
+        double[] sums = IntStream.range(0, (x.length + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel()
+                .mapToObj(chunk -> {
+                    double[] partial = new double[3 * parts];
+                    for (int i = chunk * CHUNK_SIZE, end = Math.min(x.length, i + CHUNK_SIZE); i < end; i++) {
+                        int c = assignment[i];
+                        partial[3 * c] += x[i];
+                        partial[3 * c + 1] += y[i];
+                        partial[3 * c + 2]++;
+                    }
+                    return partial;
+                })
+                .reduce((a, b) -> {
+                    for (int j = 0; j < a.length; j++) {
+                        a[j] += b[j];
+                    }
+                    return a;
+                })
+                .orElseThrow();
+
+        for (int c = 0; c < parts; c++) {
+            if (sums[3 * c + 2] > 0) {
+                cx[c] = sums[3 * c] / sums[3 * c + 2];
+                cy[c] = sums[3 * c + 1] / sums[3 * c + 2];
+            }
+        }
+        for (int c = 0; c < parts; c++) {
+            if (sums[3 * c + 2] == 0) {
+                int farthest = -1;
+                double best = -1;
+                for (int i = 0; i < x.length; i++) {
+                    int own = assignment[i];
+                    double d = squared(x[i] - cx[own], y[i] - cy[own]);
+                    if (sums[3 * own + 2] > 1 && d > best) {
+                        best = d;
+                        farthest = i;
+                    }
+                }
+                sums[3 * assignment[farthest] + 2]--;
+                sums[3 * c + 2] = 1;
+                assignment[farthest] = c;
+                cx[c] = x[farthest];
+                cy[c] = y[farthest];
+            }
+        }
+    }
+
+    /**
+     * Local search that brings every group's load within [floor, cap],
+     * moving the points whose squared distance grows the least.
+     *
+     * @return number of points moved
+     */
+    static int rebalance(double[] x, double[] y, double[] weights, int[] assignment,
+                         double[] cx, double[] cy, double floor, double cap, int maxPasses) {
+        int parts = cx.length;
+        int moves = 0;
+
+        for (int pass = 0; pass < maxPasses; pass++) {
+            double[] loads = loads(weights, assignment, parts);
+            int passMoves = 0;
+            for (int c = 0; c < parts; c++) {
+                if (loads[c] > cap) {
+                    passMoves += pushOut(c, x, y, weights, assignment, cx, cy, loads, cap);
+                }
+            }
+            for (int u = 0; u < parts; u++) {
+                if (loads[u] < floor) {
+                    passMoves += pullIn(u, x, y, weights, assignment, cx, cy, loads, cap, floor);
+                }
+            }
+            moves += passMoves;
+            if (passMoves == 0) {
+                break;
+            }
+            updateCenters(x, y, assignment, cx, cy);
+        }
+        return moves;
+    }
+
+    /**
+     * Moves points of the overloaded group {@code c} to the nearest group that can take them.
+     */
+    private static int pushOut(int c, double[] x, double[] y, double[] weights, int[] assignment,
+                               double[] cx, double[] cy, double[] loads, double cap) {
+        long[] candidates = IntStream.range(0, x.length).parallel()
+                .filter(i -> assignment[i] == c)
+                .mapToLong(i -> {
+                    int target = nearest(x[i], y[i], cx, cy, c);
+                    double delta = squared(x[i] - cx[target], y[i] - cy[target]) - squared(x[i] - cx[c], y[i] - cy[c]);
+                    return sortKey(delta, i);
+                })
+                .toArray();
+        Arrays.parallelSort(candidates);
+
+        int moved = 0;
+        for (long key : candidates) {
+            if (loads[c] <= cap) {
+                break;
+            }
+            int i = (int) key;
+            int target = nearestWithRoom(x[i], y[i], cx, cy, c, loads, cap - weights[i]);
+            if (target >= 0) {
+                move(i, target, weights, assignment, loads);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Pulls the cheapest points of other groups into the underloaded group {@code u},
+     * without pushing a donor below the floor or {@code u} above the cap.
+     */
+    private static int pullIn(int u, double[] x, double[] y, double[] weights, int[] assignment,
+                              double[] cx, double[] cy, double[] loads, double cap, double floor) {
+        long[] candidates = IntStream.range(0, x.length).parallel()
+                .filter(i -> assignment[i] != u)
+                .mapToLong(i -> {
+                    int own = assignment[i];
+                    double delta = squared(x[i] - cx[u], y[i] - cy[u]) - squared(x[i] - cx[own], y[i] - cy[own]);
+                    return sortKey(delta, i);
+                })
+                .toArray();
+        Arrays.parallelSort(candidates);
+
+        int moved = 0;
+        for (long key : candidates) {
+            if (loads[u] >= floor) {
+                break;
+            }
+            int i = (int) key;
+            if (loads[assignment[i]] - weights[i] >= floor && loads[u] + weights[i] <= cap) {
+                move(i, u, weights, assignment, loads);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private static int nearestWithRoom(double px, double py, double[] cx, double[] cy, int excluded,
+                                       double[] loads, double maxLoad) {
+        int nearest = -1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int c = 0; c < cx.length; c++) {
+            if (c == excluded || loads[c] > maxLoad) {
+                continue;
+            }
+            double d = squared(px - cx[c], py - cy[c]);
+            if (d < best) {
+                best = d;
+                nearest = c;
+            }
+        }
+        return nearest;
+    }
+
+    private static void move(int i, int target, double[] weights, int[] assignment, double[] loads) {
+        loads[assignment[i]] -= weights[i];
+        loads[target] += weights[i];
+        assignment[i] = target;
+    }
+
+    static double[] loads(double[] weights, int[] assignment, int parts) {
+        double[] loads = new double[parts];
+        for (int i = 0; i < weights.length; i++) {
+            loads[assignment[i]] += weights[i];
+        }
+        return loads;
+    }
+
+    /**
+     * Packs a cost (as an order-preserving float) and a point index into one sortable long.
+     */
+    private static long sortKey(double cost, int index) {
+        int bits = Float.floatToIntBits((float) cost);
+        bits ^= (bits >> 31) & 0x7FFF_FFFF;
+        return ((long) bits << 32) | index;
+    }
+
+    private static double squared(double dx, double dy) {
+        return dx * dx + dy * dy;
+    }
+}
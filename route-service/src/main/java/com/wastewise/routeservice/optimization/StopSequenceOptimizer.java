@@ -0,0 +1,171 @@
+package com.wastewise.routeservice.optimization;
+
+import java.util.Arrays;
+
+/**
+ * ------------------------------------------------------------------------------
+ * StopSequenceOptimizer
+ * ------------------------------------------------------------------------------
+ * Orders the stops of a route to shorten the travelled distance.
+ * The route is an open path that always starts at stop 0 and may end anywhere.
+ * A nearest-neighbour construction is improved with 2-opt (segment reversal)
+ * and Or-opt (moving runs of up to three stops) until no move helps or the
+ * pass limit is reached. Distances must be symmetric.
+ * ------------------------------------------------------------------------------
+ */
+public final class StopSequenceOptimizer {
+
+    private static final double EPSILON = 1e-7;
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+
+    private StopSequenceOptimizer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param distances distances between the stops
+     * @param maxPasses upper bound on improvement passes
+     * @return visiting order as stop indexes, starting with 0
+     */
+    public static int[] optimize(DistanceMatrix distances, int maxPasses) {
+        int[] order = nearestNeighbour(distances);
+        for (int pass = 0; pass < maxPasses; pass++) {
+            boolean improved = twoOpt(order, distances);
+            improved |= orOpt(order, distances);
+            if (!improved) {
+                break;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * @return length in metres of the path visiting the stops in the given order
+     */
+    public static double pathLength(int[] order, DistanceMatrix distances) {
+        double length = 0;
+        for (int k = 1; k < order.length; k++) {
+            length += distances.distance(order[k - 1], order[k]);
+        }
+        return length;
+    }
+
+    static int[] nearestNeighbour(DistanceMatrix distances) {
+        int n = distances.size();
+        int[] order = new int[n];
+        if (n == 0) {
+            return order;
+        }
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int k = 1; k < n; k++) {
+            int from = order[k - 1];
+            int best = -1;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int candidate = 1; candidate < n; candidate++) {
+                if (!visited[candidate]) {
+                    double d = distances.distance(from, candidate);
+                    if (d < bestDistance) {
+                        bestDistance = d;
+                        best = candidate;
+                    }
+                }
+            }
+            order[k] = best;
+            visited[best] = true;
+        }
+        return order;
+    }
+
+    /**
+     * One 2-opt pass: reverses order[i..j] whenever that shortens the path.
+     */
+    static boolean twoOpt(int[] order, DistanceMatrix distances) {
+        int n = order.length;
+        boolean improved = false;
+        for (int i = 1; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int before = order[i - 1];
+                int first = order[i];
+                int last = order[j];
+                double delta = distances.distance(before, last) - distances.distance(before, first);
+                if (j + 1 < n) {
+                    int after = order[j + 1];
+                    delta += distances.distance(first, after) - distances.distance(last, after);
+                }
+                if (delta < -EPSILON) {
+                    reverse(order, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * One Or-opt pass: moves each run of 1 to 3 stops to its best position elsewhere.
+     */
+    static boolean orOpt(int[] order, DistanceMatrix distances) {
+        int n = order.length;
+        boolean improved = false;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT; length++) {
+            for (int i = 1; i + length <= n; i++) {
+                int end = i + length - 1;
+                int before = order[i - 1];
+                int first = order[i];
+                int last = order[end];
+                double removalGain = distances.distance(before, first);
+                if (end + 1 < n) {
+                    int after = order[end + 1];
+                    removalGain += distances.distance(last, after) - distances.distance(before, after);
+                }
+
+                int bestPosition = -1;
+                double bestDelta = -EPSILON;
+                for (int k = 0; k < n; k++) {
+                    if (k >= i - 1 && k <= end) {
+                        continue;
+                    }
+                    int left = order[k];
+                    double insertionCost = distances.distance(left, first);
+                    if (k + 1 < n) {
+                        int right = order[k + 1];
+                        insertionCost += distances.distance(last, right) - distances.distance(left, right);
+                    }
+                    double delta = insertionCost - removalGain;
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestPosition = k;
+                    }
+                }
+                if (bestPosition >= 0) {
+                    move(order, i, length, bestPosition);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        while (from < to) {
+            int tmp = order[from];
+            order[from++] = order[to];
+            order[to--] = tmp;
+        }
+    }
+
+    /**
+     * Moves order[start..start+length-1] so it follows the stop currently at position {@code after}.
+     */
+    private static void move(int[] order, int start, int length, int after) {
+        int[] segment = Arrays.copyOfRange(order, start, start + length);
+        if (after < start) {
+            System.arraycopy(order, after + 1, order, after + 1 + length, start - after - 1);
+            System.arraycopy(segment, 0, order, after + 1, length);
+        } else {
+            System.arraycopy(order, start + length, order, start, after - start - length + 1);
+            System.arraycopy(segment, 0, order, after - length + 1, length);
+        }
+    }
+}
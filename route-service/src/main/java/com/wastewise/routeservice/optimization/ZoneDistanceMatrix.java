@@ -0,0 +1,71 @@
+package com.wastewise.routeservice.optimization;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneDistanceMatrix
+ * ------------------------------------------------------------------------------
+ * Distances between all distinct pickup-point coordinates of one zone.
+ * Routes of the zone get a {@link DistanceMatrix} view over their own stops,
+ * so one matrix serves every route of the zone.
+ * ------------------------------------------------------------------------------
+ */
+public final class ZoneDistanceMatrix {
+
+    private final Map<Coordinate, Integer> indexes;
+    private final OffHeapDistanceMatrix matrix;
+
+    public ZoneDistanceMatrix(double[] latitudes, double[] longitudes, OffHeapDistanceMatrix matrix) {
+        this.indexes = new HashMap<>(latitudes.length * 2);
+        for (int i = 0; i < latitudes.length; i++) {
+            indexes.put(new Coordinate(latitudes[i], longitudes[i]), i);
+        }
+        this.matrix = matrix;
+    }
+
+    /**
+     * Returns a view whose index k is the k-th given stop.
+     *
+     * @return the view, or null if a stop is not part of this matrix
+     */
+    public DistanceMatrix forStops(double[] latitudes, double[] longitudes) {
+        int[] mapping = new int[latitudes.length];
+        for (int k = 0; k < mapping.length; k++) {
+            Integer index = indexes.get(new Coordinate(latitudes[k], longitudes[k]));
+            if (index == null) {
+                return null;
+            }
+            mapping[k] = index;
+        }
+        return new StopView(mapping, matrix);
+    }
+
+    public int pointCount() {
+        return matrix.size();
+    }
+
+    /**
+     * @return off-heap bytes held by the matrix
+     */
+    public long byteSize() {
+        return matrix.byteSize();
+    }
+
+    private record Coordinate(double latitude, double longitude) {
+    }
+
+    private record StopView(int[] mapping, DistanceMatrix zone) implements DistanceMatrix {
+
+        @Override
+        public int size() {
+            return mapping.length;
+        }
+
+        @Override
+        public double distance(int from, int to) {
+            return zone.distance(mapping[from], mapping[to]);
+        }
+    }
+}
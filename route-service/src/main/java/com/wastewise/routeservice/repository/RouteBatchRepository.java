@@ -0,0 +1,20 @@
+package com.wastewise.routeservice.repository;
+
+import com.wastewise.routeservice.entity.Route;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for batched route writes.
+ */
+public interface RouteBatchRepository {
+
+	/**
+	 * Inserts new routes using JDBC batching.
+	 * Unlike {@code saveAll}, this never issues a SELECT per route to decide
+	 * between insert and merge, since route IDs are assigned up front.
+	 *
+	 * @param routes routes that do not exist yet
+	 */
+	void persistAll(List<Route> routes);
+}
@@ -0,0 +1,33 @@
+package com.wastewise.routeservice.repository;
+
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.entity.Route;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * EntityManager-backed implementation of {@link RouteBatchRepository}.
+ */
+public class RouteBatchRepositoryImpl implements RouteBatchRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional
+	public void persistAll(List<Route> routes) {
+		for (int i = 0; i < routes.size(); i++) {
+			entityManager.persist(routes.get(i));
+			// Flush each full JDBC batch and drop it from the persistence context
+			if ((i + 1) % RouteConstants.BULK_BATCH_SIZE == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+}
@@ -0,0 +1,33 @@
+package com.wastewise.routeservice.repository;
+
+import com.wastewise.routeservice.entity.RouteIdSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository for per-zone route number counters.
+ */
+public interface RouteIdSequenceRepository extends JpaRepository<RouteIdSequence, String> {
+
+	/**
+	 * Atomically advances the counter of a zone; the row stays locked until commit.
+	 *
+	 * @return number of updated rows, 0 if the zone has no counter yet
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update RouteIdSequence s set s.lastRouteNumber = s.lastRouteNumber + :count where s.zoneId = :zoneId")
+	int advance(@Param("zoneId") String zoneId, @Param("count") long count);
+
+	@Query("select s.lastRouteNumber from RouteIdSequence s where s.zoneId = :zoneId")
+	long findLastRouteNumber(@Param("zoneId") String zoneId);
+
+	/**
+	 * Plain INSERT (never a merge), so a concurrent insert fails with a key violation.
+	 */
+	@Modifying
+	@Query(value = "insert into route_id_sequence (zone_id, last_route_number) values (:zoneId, :lastRouteNumber)",
+			nativeQuery = true)
+	void insert(@Param("zoneId") String zoneId, @Param("lastRouteNumber") long lastRouteNumber);
+}
@@ -1,18 +1,210 @@
 package com.wastewise.routeservice.repository;
 
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
 import com.wastewise.routeservice.entity.Route;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Route entity.
  */
-public interface RouteRepository extends JpaRepository<Route, String>{
+public interface RouteRepository extends JpaRepository<Route, String>, RouteBatchRepository {
 	Optional<Route> findByRouteNameAndZoneId(String routeName, String zoneId);
 	
 	List<Route> findByZoneId(String zoneId);
 	long countByZoneId(String zoneId);
 
+	/**
+	 * A route with its pickup points, loaded in one statement.
+	 */
+	@Query("select r from Route r left join fetch r.pickupPoints where r.routeId = :routeId")
+	Optional<Route> findWithPickupPointsByRouteId(@Param("routeId") String routeId);
+
+	/**
+	 * Route IDs of a zone, without hydrating routes.
+	 */
+	@Query("select r.routeId from Route r where r.zoneId = :zoneId order by r.routeId")
+	List<String> findRouteIdsByZoneId(@Param("zoneId") String zoneId);
+
+	/**
+	 * Route IDs of many zones in one query, without hydrating routes.
+	 *
+	 * @return rows of (zoneId, routeId), ordered by zone and route ID
+	 */
+	@Query("select r.zoneId, r.routeId from Route r where r.zoneId in :zoneIds order by r.zoneId, r.routeId")
+	List<Object[]> findRouteIdsByZoneIds(@Param("zoneIds") Collection<String> zoneIds);
+
+	/**
+	 * Keyset-scrolls over all routes; reads at most {@code limit} + 1 rows per call.
+	 */
+	Window<Route> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+	/**
+	 * Keyset-scrolls over the routes of a single zone.
+	 */
+	Window<Route> findByZoneId(String zoneId, ScrollPosition position, Sort sort, Limit limit);
+
+	/**
+	 * Streams every route as a DTO over a forward-only cursor.
+	 * DTOs are not managed, so the persistence context does not grow while streaming.
+	 * Pickup points are not included; load them per chunk with {@link #findPickupPoints}.
+	 * Must be consumed inside a transaction and closed afterwards.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RouteConstants.EXPORT_FETCH_SIZE))
+	@Query("select new com.wastewise.routeservice.dto.RouteResponseDTO("
+			+ "r.routeId, r.zoneId, r.routeName, r.estimatedTime) "
+			+ "from Route r order by r.routeId")
+	Stream<RouteResponseDTO> streamAllRoutes();
+
+	/**
+	 * Loads the pickup points of the given routes in one query, without hydrating routes.
+	 *
+	 * @return rows of (routeId, {@link PickupPoint}), ordered by route ID and ordinal
+	 */
+	@Query("select r.routeId, p from Route r join r.pickupPoints p "
+			+ "where r.routeId in :routeIds order by r.routeId, p.ordinal")
+	List<Object[]> findPickupPoints(@Param("routeIds") Collection<String> routeIds);
+
+	/**
+	 * Distinct pickup-point coordinates of a zone, in a stable order.
+	 *
+	 * @return rows of (latitude, longitude); points without coordinates are left out
+	 */
+	@Query("select distinct p.latitude, p.longitude from Route r join r.pickupPoints p "
+			+ "where r.zoneId = :zoneId and p.latitude is not null and p.longitude is not null "
+			+ "order by p.latitude, p.longitude")
+	List<Object[]> findZoneCoordinates(@Param("zoneId") String zoneId);
+
+	/**
+	 * Every route of a zone with its pickup points, without hydrating routes.
+	 *
+	 * @return rows of (routeId, routeName, estimatedTime, {@link PickupPoint} or null for a route
+	 *         without points), ordered by route ID and ordinal
+	 */
+	@Query("select r.routeId, r.routeName, r.estimatedTime, p from Route r left join r.pickupPoints p "
+			+ "where r.zoneId = :zoneId order by r.routeId, p.ordinal")
+	List<Object[]> findZoneRoutePoints(@Param("zoneId") String zoneId);
+
+	/**
+	 * Streams every pickup point that has coordinates, grouped by route, for the spatial index.
+	 * Must be consumed inside a transaction and closed afterwards.
+	 *
+	 * @return rows of (routeId, zoneId, latitude, longitude), ordered by route ID
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RouteConstants.EXPORT_FETCH_SIZE))
+	@Query("select r.routeId, r.zoneId, p.latitude, p.longitude from Route r join r.pickupPoints p "
+			+ "where p.latitude is not null and p.longitude is not null order by r.routeId")
+	Stream<Object[]> streamAllCoordinates();
+
+	/**
+	 * Like {@link #streamAllCoordinates()}, for the routes of one zone.
+	 *
+	 * @return rows of (routeId, zoneId, latitude, longitude), ordered by route ID
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RouteConstants.EXPORT_FETCH_SIZE))
+	@Query("select r.routeId, r.zoneId, p.latitude, p.longitude from Route r join r.pickupPoints p "
+			+ "where r.zoneId = :zoneId and p.latitude is not null and p.longitude is not null order by r.routeId")
+	Stream<Object[]> streamZoneCoordinates(@Param("zoneId") String zoneId);
+
+	/**
+	 * Returns which of the given names are already used in the zone, in one query.
+	 */
+	@Query("select r.routeName from Route r where r.zoneId = :zoneId and r.routeName in :routeNames")
+	List<String> findExistingRouteNames(@Param("zoneId") String zoneId,
+										@Param("routeNames") Collection<String> routeNames);
+
+	/**
+	 * Version and last modification time of a route, without loading the route.
+	 *
+	 * @return one row of (version, updatedAt), or none if the route does not exist
+	 */
+	@Query("select r.version, r.updatedAt from Route r where r.routeId = :routeId")
+	List<Object[]> findVersionByRouteId(@Param("routeId") String routeId);
+
+	/**
+	 * Conditional UPDATE that starts a patch of the scalar fields: sets the name
+	 * (null keeps it) and bumps the version, but only at the expected version and
+	 * only if the name or the estimated time (null keeps it) actually changes.
+	 * The estimated time itself is left for updateEstimatedTime, so the caller can
+	 * read the value being replaced while the row stays locked.
+	 *
+	 * @return 1 if updated, 0 if the route is missing, at another version or unchanged
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Route r set r.routeName = coalesce(:routeName, r.routeName), "
+			+ "r.updatedAt = :updatedAt, r.version = r.version + 1 "
+			+ "where r.routeId = :routeId and r.version = :version "
+			+ "and (r.routeName <> coalesce(:routeName, r.routeName) "
+			+ "or r.estimatedTime <> coalesce(:estimatedTime, r.estimatedTime))")
+	int updateScalarsIfVersion(@Param("routeId") String routeId, @Param("version") long version,
+							   @Param("routeName") String routeName, @Param("estimatedTime") Integer estimatedTime,
+							   @Param("updatedAt") LocalDateTime updatedAt);
+
+	/**
+	 * Sets the estimated time without touching the version; only for a row that
+	 * updateScalarsIfVersion already moved to its new version in this transaction.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Route r set r.estimatedTime = :estimatedTime where r.routeId = :routeId")
+	int updateEstimatedTime(@Param("routeId") String routeId, @Param("estimatedTime") int estimatedTime);
+
+	/**
+	 * Locks and returns the next routes of a zone to delete, lowest route ID first.
+	 *
+	 * @return up to {@code limit} rows of (routeId, estimatedTime)
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select r.routeId, r.estimatedTime from Route r where r.zoneId = :zoneId order by r.routeId")
+	List<Object[]> lockDeletionBatch(@Param("zoneId") String zoneId, Limit limit);
+
+	/**
+	 * Deletes the given routes of a zone in one statement, without loading them.
+	 * Hibernate removes their pickup points first, in one statement as well.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Route r where r.zoneId = :zoneId and r.routeId in :routeIds")
+	int deleteByZoneIdAndRouteIds(@Param("zoneId") String zoneId, @Param("routeIds") Collection<String> routeIds);
+
+	/**
+	 * Zones that have at least one route.
+	 */
+	@Query("select distinct r.zoneId from Route r")
+	List<String> findDistinctZoneIds();
+
+	/**
+	 * Aggregate of one zone, used to reconcile its running totals in zone_route_stats.
+	 *
+	 * @return one row of (route count, total estimated time, latest update time)
+	 */
+	@Query("select count(r), coalesce(sum(r.estimatedTime), 0), max(r.updatedAt) "
+			+ "from Route r where r.zoneId = :zoneId")
+	List<Object[]> aggregateZone(@Param("zoneId") String zoneId);
+
+	/**
+	 * Highest route number used in the zone (e.g. 12 for Z001-R012), or 0 if it has none.
+	 * Compares numerically in SQL, so only a single value leaves the database.
+	 */
+	@Query("select coalesce(max(cast(substring(r.routeId, locate('-R', r.routeId) + 2) as Long)), 0) "
+			+ "from Route r where r.zoneId = :zoneId")
+	long findMaxRouteNumber(@Param("zoneId") String zoneId);
+
 }
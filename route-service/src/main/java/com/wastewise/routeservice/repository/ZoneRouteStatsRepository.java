@@ -0,0 +1,72 @@
+package com.wastewise.routeservice.repository;
+
+import com.wastewise.routeservice.entity.ZoneRouteStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for per-zone route statistics.
+ */
+public interface ZoneRouteStatsRepository extends JpaRepository<ZoneRouteStats, String> {
+
+	/**
+	 * Atomically adds to the totals of a zone and bumps its revision; the row stays locked until commit.
+	 *
+	 * @return number of updated rows, 0 if the zone has no row yet
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update ZoneRouteStats s set s.routeCount = s.routeCount + :routes, "
+			+ "s.totalEstimatedTime = s.totalEstimatedTime + :minutes, s.lastModified = :modifiedAt, "
+			+ "s.revision = s.revision + 1 "
+			+ "where s.zoneId = :zoneId")
+	int applyDelta(@Param("zoneId") String zoneId, @Param("routes") long routes,
+				   @Param("minutes") long minutes, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+	/**
+	 * Plain INSERT (never a merge), so a concurrent insert fails with a key violation.
+	 */
+	@Modifying
+	@Query(value = "insert into zone_route_stats (zone_id, route_count, total_estimated_time, revision) "
+			+ "values (:zoneId, 0, 0, 0)",
+			nativeQuery = true)
+	void insertEmpty(@Param("zoneId") String zoneId);
+
+	/**
+	 * Zones that currently have routes, in zone order.
+	 */
+	List<ZoneRouteStats> findByRouteCountGreaterThanOrderByZoneId(long routeCount);
+
+	/**
+	 * Version of the whole route table as one row: number of zones, sum of their
+	 * revisions and latest modification. Any route change alters the first two.
+	 */
+	@Query("select count(s), coalesce(sum(s.revision), 0), max(s.lastModified) from ZoneRouteStats s")
+	List<Object[]> summarizeRevisions();
+
+	/**
+	 * Revision of every zone as rows of (zoneId, revision).
+	 */
+	@Query("select s.zoneId, s.revision from ZoneRouteStats s")
+	List<Object[]> findAllRevisions();
+
+	/**
+	 * Zones that have a statistics row.
+	 */
+	@Query("select s.zoneId from ZoneRouteStats s")
+	List<String> findAllZoneIds();
+
+	/**
+	 * The zone's row, locked until commit, so its increments wait while its totals are reconciled.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s from ZoneRouteStats s where s.zoneId = :zoneId")
+	Optional<ZoneRouteStats> findByZoneIdForUpdate(@Param("zoneId") String zoneId);
+}
@@ -0,0 +1,47 @@
+package com.wastewise.routeservice.service;
+
+import com.wastewise.routeservice.dto.RouteOptimizationResultDTO;
+import com.wastewise.routeservice.dto.ZonePartitionPlanDTO;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Interface for reordering route pickup points to shorten travel distance,
+ * and for re-splitting a zone's pickup points into balanced routes.
+ * ------------------------------------------------------------------------------
+ */
+public interface RouteOptimizationService {
+
+    /**
+     * Reorder the pickup points of one route. All points need coordinates.
+     * The new order is only saved if it is shorter and this is not a dry run.
+     *
+     * @param routeId route ID
+     * @param dryRun  compute the result without saving it
+     * @return distances before and after, and the proposed order
+     */
+    RouteOptimizationResultDTO optimizeRoute(String routeId, boolean dryRun);
+
+    /**
+     * Reorder the pickup points of every route in a zone, in parallel.
+     * Routes with points lacking coordinates are skipped.
+     *
+     * @param zoneId zone ID
+     * @param dryRun compute the results without saving them
+     * @return one result per optimized route
+     */
+    List<RouteOptimizationResultDTO> optimizeZone(String zoneId, boolean dryRun);
+
+    /**
+     * Propose a split of all pickup points of a zone into routes of balanced estimated time.
+     * Each point carries an equal share of its current route's estimated time.
+     * Dry run only: the result is a diff against the existing routes and nothing is saved.
+     *
+     * @param zoneId     zone ID
+     * @param routes     target number of routes, or null if maxMinutes is given
+     * @param maxMinutes maximum estimated minutes per route, or null if routes is given
+     * @return proposed routes compared with the existing ones
+     */
+    ZonePartitionPlanDTO partitionZone(String zoneId, Integer routes, Integer maxMinutes);
+}
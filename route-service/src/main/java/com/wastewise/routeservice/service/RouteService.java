@@ -1,10 +1,18 @@
 package com.wastewise.routeservice.service;
 
+import com.wastewise.routeservice.dto.BulkRouteCreationResponseDTO;
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
 import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePageResponseDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
 import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
 import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.util.ResourceVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * ------------------------------------------------------------------------------
@@ -21,6 +29,15 @@ public interface RouteService {
      */
     RouteResponseDTO createRoute(RouteCreationRequestDTO request);
 
+    /**
+     * Create many routes at once. Each distinct zone is validated once, name
+     * collisions are checked with one query per zone, and inserts are batched.
+     *
+     * @param requests the route creation requests
+     * @return per-item results in request order
+     */
+    BulkRouteCreationResponseDTO createRoutes(List<RouteCreationRequestDTO> requests);
+
     /**
      * Update an existing route.
      *
@@ -30,6 +47,17 @@ public interface RouteService {
      */
     RouteResponseDTO updateRoute(String routeId, RouteUpdateRequestDTO request);
 
+    /**
+     * Update only the given fields of a route, if it is still at the given version.
+     * A name or estimated time change starts with a conditional UPDATE; the
+     * route is only looked up first when pickup points are patched.
+     *
+     * @param routeId route ID
+     * @param request changed fields and the version they were based on
+     * @return updated route, with its pickup points
+     */
+    RouteResponseDTO patchRoute(String routeId, RoutePatchRequestDTO request);
+
     /**
      * Delete route by ID.
      *
@@ -37,13 +65,52 @@ public interface RouteService {
      */
     void deleteRoute(String routeId);
 
+    /**
+     * Delete the next batch of a zone's routes in one short transaction.
+     * Callers repeat until it returns 0, so no lock spans the whole zone.
+     *
+     * @param zoneId zone ID
+     * @param limit  maximum number of routes to delete
+     * @return number of routes deleted
+     */
+    int deleteRoutesBatch(String zoneId, int limit);
+
     /**
      * Get all routes.
+     * Loads the whole table; prefer {@link #getRoutesPage} for large data sets.
      *
      * @return list of routes
      */
     List<RouteResponseDTO> getAllRoutes();
 
+    /**
+     * Get the version of the route list, without loading any route.
+     * Changes whenever a route is created, updated or deleted.
+     *
+     * @return ETag and last modification of the route list
+     */
+    ResourceVersion getAllRoutesVersion();
+
+    /**
+     * Get one keyset-paginated slice of routes.
+     *
+     * @param zoneId    optional zone filter
+     * @param sortBy    sort property: routeId, zoneId or estimatedTime
+     * @param direction asc or desc
+     * @param size      requested page size, capped at the maximum page size
+     * @param cursor    cursor from the previous slice, or null for the first one
+     * @return page of routes with the cursor for the next slice
+     */
+    RoutePageResponseDTO getRoutesPage(String zoneId, String sortBy, String direction, Integer size, String cursor);
+
+    /**
+     * Stream every route to the given consumer with constant memory.
+     *
+     * @param sink receives each route in route ID order
+     * @return number of routes streamed
+     */
+    long streamAllRoutes(Consumer<RouteResponseDTO> sink);
+
     /**
      * Get a route by its ID.
      *
@@ -52,6 +119,14 @@ public interface RouteService {
      */
     RouteResponseDTO getRouteById(String routeId);
 
+    /**
+     * Get the version of a route, without loading the route.
+     *
+     * @param routeId route ID
+     * @return ETag and last modification of the route
+     */
+    ResourceVersion getRouteVersion(String routeId);
+
     /**
      * Get route IDs for a specific zone.
      *
@@ -59,4 +134,34 @@ public interface RouteService {
      * @return list of route IDs
      */
     List<String> getRouteIdsByZoneId(String zoneId);
+
+    /**
+     * Get the route IDs of many zones with a single query.
+     *
+     * @param zoneIds zone IDs
+     * @return route IDs per zone, in request order; zones without routes map to an empty list
+     */
+    Map<String, List<String>> getRouteIdsByZoneIds(Collection<String> zoneIds);
+
+    /**
+     * Get the routes with a pickup point within a radius of a location, closest first.
+     * Served from the in-memory spatial index.
+     *
+     * @param latitude     latitude of the location
+     * @param longitude    longitude of the location
+     * @param radiusMeters search radius in metres
+     * @param limit        optional maximum number of routes
+     * @return nearby routes with their distance
+     */
+    List<NearbyRouteDTO> findRoutesNear(double latitude, double longitude, double radiusMeters, Integer limit);
+
+    /**
+     * Get the k routes whose closest pickup point is nearest to a location, closest first.
+     *
+     * @param latitude  latitude of the location
+     * @param longitude longitude of the location
+     * @param k         number of routes
+     * @return nearest routes with their distance
+     */
+    List<NearbyRouteDTO> findNearestRoutes(double latitude, double longitude, int k);
 }
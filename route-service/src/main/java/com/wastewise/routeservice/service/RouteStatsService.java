@@ -0,0 +1,52 @@
+package com.wastewise.routeservice.service;
+
+import com.wastewise.routeservice.dto.ZoneRouteStatsDTO;
+import com.wastewise.routeservice.util.ResourceVersion;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Interface for per-zone route statistics kept as running totals.
+ * ------------------------------------------------------------------------------
+ */
+public interface RouteStatsService {
+
+    /**
+     * Get the statistics of every zone that has routes, in zone order.
+     * Reads one row per zone; routes are not scanned.
+     *
+     * @return statistics per zone
+     */
+    List<ZoneRouteStatsDTO> getZoneStats();
+
+    /**
+     * Get the version of the whole route table from the per-zone revisions.
+     *
+     * @return ETag and last modification of the route list
+     */
+    ResourceVersion getRouteTableVersion();
+
+    /**
+     * Get the revision of every zone that has a statistics row; any change to
+     * a zone's routes increments it.
+     *
+     * @return revision per zone ID
+     */
+    Map<String, Long> getZoneRevisions();
+
+    /**
+     * Add a route change to the zone's totals, in the caller's transaction.
+     *
+     * @param zoneId  zone ID
+     * @param routes  change in route count (1 on create, -1 on delete, 0 on update)
+     * @param minutes change in total estimated time
+     */
+    void recordChange(String zoneId, long routes, long minutes);
+
+    /**
+     * Recompute every zone's totals from the route table and correct any drift.
+     */
+    void reconcile();
+}
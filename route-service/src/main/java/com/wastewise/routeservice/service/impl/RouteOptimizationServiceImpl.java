@@ -0,0 +1,431 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.dto.PickupPointDTO;
+import com.wastewise.routeservice.dto.ProposedRouteDTO;
+import com.wastewise.routeservice.dto.RouteOptimizationResultDTO;
+import com.wastewise.routeservice.dto.ZonePartitionPlanDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.exception.custom.InvalidRouteDetailsException;
+import com.wastewise.routeservice.exception.custom.RouteNotFoundException;
+import com.wastewise.routeservice.exception.custom.RouteVersionConflictException;
+import com.wastewise.routeservice.optimization.ArrayDistanceMatrix;
+import com.wastewise.routeservice.optimization.DistanceMatrix;
+import com.wastewise.routeservice.optimization.RoutePartitioner;
+import com.wastewise.routeservice.optimization.StopSequenceOptimizer;
+import com.wastewise.routeservice.optimization.ZoneDistanceMatrix;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteOptimizationService;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.PickupPoints;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.wastewise.routeservice.constant.RouteConstants.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Service Implementation: RouteOptimizationServiceImpl
+ * ------------------------------------------------------------------------------
+ * Copies routes and their points in a short read-only transaction, runs the
+ * CPU-bound {@link StopSequenceOptimizer} with no transaction open (on a
+ * dedicated fork-join pool for zone-wide batches), then saves each improved
+ * order in a short transaction of its own, together with a zone_route_stats
+ * revision so route list ETags change. A route changed by another request
+ * since it was read is not overwritten but reported as a conflict; dry runs
+ * never open a write transaction. Zone partitioning likewise reads the zone's
+ * points in a short read-only transaction and runs k-means after it closed.
+ * Distances come from the zone's cached off-heap matrix when available.
+ * Zone partitioning loads the zone's points as one projection, runs
+ * {@link RoutePartitioner} on the same pool and only returns a proposal.
+ * ------------------------------------------------------------------------------
+ */
+@Service
+@Slf4j
+public class RouteOptimizationServiceImpl implements RouteOptimizationService {
+
+    private final RouteRepository routeRepository;
+    private final DistanceMatrixCache distanceMatrixCache;
+    private final RouteStatsService routeStatsService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ForkJoinPool optimizerPool;
+
+    public RouteOptimizationServiceImpl(RouteRepository routeRepository,
+                                        DistanceMatrixCache distanceMatrixCache,
+                                        RouteStatsService routeStatsService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${route.optimizer.parallelism:0}") int parallelism) {
+        this.routeRepository = routeRepository;
+        this.distanceMatrixCache = distanceMatrixCache;
+        this.routeStatsService = routeStatsService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.optimizerPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        optimizerPool.shutdownNow();
+    }
+
+    @Override
+    public RouteOptimizationResultDTO optimizeRoute(String routeId, boolean dryRun) {
+        log.info("Optimizing route: {} (dryRun: {})", routeId, dryRun);
+        RouteSnapshot route = readOnlyTransaction.execute(status -> routeRepository.findWithPickupPointsByRouteId(routeId)
+                .map(RouteSnapshot::of)
+                .orElseThrow(() -> new RouteNotFoundException(routeId)));
+        if (!route.hasCoordinates()) {
+            throw new InvalidRouteDetailsException(String.format(MISSING_COORDINATES_MSG, routeId));
+        }
+        int stops = route.points().size();
+        if (stops > MAX_OPTIMIZE_STOPS) {
+            throw new InvalidRouteDetailsException(String.format(TOO_MANY_STOPS_MSG, routeId, stops, MAX_OPTIMIZE_STOPS));
+        }
+        RouteOptimizationResultDTO result =
+                apply(route, plan(stops(route, distanceMatrixCache.get(route.zoneId()))), dryRun);
+        if (result.isConflict()) {
+            throw new RouteVersionConflictException(routeId, route.version());
+        }
+        return result;
+    }
+
+    @Override
+    public List<RouteOptimizationResultDTO> optimizeZone(String zoneId, boolean dryRun) {
+        log.info("Optimizing routes of zone: {} (dryRun: {})", zoneId, dryRun);
+        List<RouteSnapshot> routes = readOnlyTransaction.execute(status -> {
+            List<RouteSnapshot> snapshots = new ArrayList<>();
+            for (Route route : routeRepository.findByZoneId(zoneId)) {
+                RouteSnapshot snapshot = RouteSnapshot.of(route);
+                if (!snapshot.hasCoordinates()) {
+                    log.warn("Skipping route {}: pickup points without coordinates", route.getRouteId());
+                } else if (snapshot.points().size() > MAX_OPTIMIZE_STOPS) {
+                    log.warn("Skipping route {}: more than {} pickup points", route.getRouteId(), MAX_OPTIMIZE_STOPS);
+                } else {
+                    snapshots.add(snapshot);
+                }
+            }
+            return snapshots;
+        });
+        ZoneDistanceMatrix zoneMatrix = distanceMatrixCache.get(zoneId);
+        List<Stops> stops = routes.stream().map(route -> stops(route, zoneMatrix)).toList();
+
+        // Workers only see the coordinate snapshots, never entities, and no transaction is open
+        List<Plan> plans = optimizerPool.submit(() -> stops.parallelStream().map(this::plan).toList()).join();
+
+        List<RouteOptimizationResultDTO> results = new ArrayList<>(routes.size());
+        int conflicts = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            RouteOptimizationResultDTO result = apply(routes.get(i), plans.get(i), dryRun);
+            if (result.isConflict()) {
+                log.warn("Route {} was changed while zone {} was optimized; its new order was not saved",
+                        result.getRouteId(), zoneId);
+                conflicts++;
+            }
+            results.add(result);
+        }
+        log.info("Optimized {} routes of zone {} ({} conflicts)", results.size(), zoneId, conflicts);
+        return results;
+    }
+
+    @Override
+    public ZonePartitionPlanDTO partitionZone(String zoneId, Integer routes, Integer maxMinutes) {
+        if ((routes == null) == (maxMinutes == null)) {
+            throw new InvalidRouteDetailsException(PARTITION_TARGET_MSG);
+        }
+        if (routes != null && (routes < 1 || routes > MAX_PARTITION_ROUTES)) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_PARTITION_ROUTES_MSG, MAX_PARTITION_ROUTES));
+        }
+        if (maxMinutes != null && maxMinutes < 1) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_PARTITION_MINUTES_MSG, MAX_PARTITION_ROUTES));
+        }
+        log.info("Partitioning zone: {} (routes: {}, maxMinutes: {})", zoneId, routes, maxMinutes);
+        long start = System.nanoTime();
+
+        // Only the read holds a connection; k-means runs with no transaction open
+        ZonePoints zone = readOnlyTransaction.execute(status -> loadZonePoints(zoneId));
+        int n = zone.latitudes.length;
+        if (n == 0) {
+            throw new InvalidRouteDetailsException(String.format(NO_ZONE_POINTS_MSG, zoneId));
+        }
+        double totalMinutes = Arrays.stream(zone.minutes).sum();
+
+        int parts = routes != null ? routes : Math.max(1, (int) Math.ceil(totalMinutes / maxMinutes));
+        if (parts > MAX_PARTITION_ROUTES) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_PARTITION_MINUTES_MSG, MAX_PARTITION_ROUTES));
+        }
+        int groups = Math.min(parts, n);
+
+        // Without any time estimates, balance the number of points instead
+        double[] weights = totalMinutes > 0 ? zone.minutes : filled(n, 1);
+        double mean = Arrays.stream(weights).sum() / groups;
+        double minLoad = mean * (1 - PARTITION_BALANCE_TOLERANCE);
+        // With a time budget any route up to maxMinutes is fine; a tighter cap may not be reachable
+        double maxLoad = maxMinutes != null && totalMinutes > 0 ? maxMinutes : mean * (1 + PARTITION_BALANCE_TOLERANCE);
+        RoutePartitioner.Partition partition = optimizerPool.submit(() -> RoutePartitioner.partition(
+                zone.latitudes, zone.longitudes, weights, groups, minLoad, maxLoad, PARTITION_MAX_ITERATIONS)).join();
+
+        ZonePartitionPlanDTO plan = diff(zoneId, zone, partition);
+        log.info("Partitioned {} points of zone {} into {} routes in {} ms ({} k-means iterations, {} rebalance moves)",
+                n, zoneId, groups, (System.nanoTime() - start) / 1_000_000, partition.iterations(), partition.moves());
+        return plan;
+    }
+
+    /**
+     * Reads the zone's routes and points into primitive arrays.
+     */
+    private ZonePoints loadZonePoints(String zoneId) {
+        List<Object[]> rows = routeRepository.findZoneRoutePoints(zoneId);
+        int n = (int) rows.stream().filter(row -> row[3] != null).count();
+        ZonePoints zone = new ZonePoints(n);
+        int i = 0;
+        for (Object[] row : rows) {
+            String routeId = (String) row[0];
+            int route = zone.routeIds.size() - 1;
+            if (route < 0 || !zone.routeIds.get(route).equals(routeId)) {
+                zone.routeIds.add(routeId);
+                zone.routeNames.add((String) row[1]);
+                zone.routeMinutes.add((Integer) row[2]);
+                zone.routePointCounts.add(0);
+                route++;
+            }
+            PickupPoint point = (PickupPoint) row[3];
+            if (point == null) {
+                continue;
+            }
+            if (point.getLatitude() == null || point.getLongitude() == null) {
+                throw new InvalidRouteDetailsException(String.format(MISSING_COORDINATES_MSG, routeId));
+            }
+            zone.labels[i] = point.getLabel();
+            zone.latitudes[i] = point.getLatitude();
+            zone.longitudes[i] = point.getLongitude();
+            zone.routeOf[i] = route;
+            zone.routePointCounts.set(route, zone.routePointCounts.get(route) + 1);
+            i++;
+        }
+        for (int p = 0; p < n; p++) {
+            int route = zone.routeOf[p];
+            zone.minutes[p] = (double) zone.routeMinutes.get(route) / zone.routePointCounts.get(route);
+        }
+        return zone;
+    }
+
+    /**
+     * Matches each proposed route to the existing route it shares most points with
+     * (largest overlaps first) and reports what moves.
+     */
+    private static ZonePartitionPlanDTO diff(String zoneId, ZonePoints zone, RoutePartitioner.Partition partition) {
+        int parts = partition.loads().length;
+        int[] assignment = partition.assignment();
+        int[] sizes = new int[parts];
+        double[] minutes = new double[parts];
+        Map<Long, Integer> overlaps = new HashMap<>();
+        List<List<PickupPointDTO>> points = new ArrayList<>(parts);
+        for (int c = 0; c < parts; c++) {
+            points.add(new ArrayList<>());
+        }
+        for (int i = 0; i < assignment.length; i++) {
+            int c = assignment[i];
+            sizes[c]++;
+            minutes[c] += zone.minutes[i];
+            overlaps.merge(((long) c << 32) | zone.routeOf[i], 1, Integer::sum);
+            points.get(c).add(new PickupPointDTO(zone.labels[i], zone.latitudes[i], zone.longitudes[i]));
+        }
+
+        int[] matched = new int[parts];
+        Arrays.fill(matched, -1);
+        boolean[] taken = new boolean[zone.routeIds.size()];
+        overlaps.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    int c = (int) (entry.getKey() >>> 32);
+                    int route = entry.getKey().intValue();
+                    if (matched[c] < 0 && !taken[route]) {
+                        matched[c] = route;
+                        taken[route] = true;
+                    }
+                });
+
+        List<ProposedRouteDTO> proposed = new ArrayList<>(parts);
+        for (int c = 0; c < parts; c++) {
+            int route = matched[c];
+            int kept = route < 0 ? 0 : overlaps.get(((long) c << 32) | route);
+            proposed.add(ProposedRouteDTO.builder()
+                    .routeId(route < 0 ? null : zone.routeIds.get(route))
+                    .routeName(route < 0 ? null : zone.routeNames.get(route))
+                    .estimatedTime((int) Math.round(minutes[c]))
+                    .centerLatitude(partition.centerLatitudes()[c])
+                    .centerLongitude(partition.centerLongitudes()[c])
+                    .pointCount(sizes[c])
+                    .keptPoints(kept)
+                    .addedPoints(sizes[c] - kept)
+                    .removedPoints(route < 0 ? 0 : zone.routePointCounts.get(route) - kept)
+                    .points(points.get(c))
+                    .build());
+        }
+        proposed.sort(Comparator.comparing(ProposedRouteDTO::getRouteId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<String> removedRouteIds = new ArrayList<>();
+        for (int route = 0; route < taken.length; route++) {
+            if (!taken[route]) {
+                removedRouteIds.add(zone.routeIds.get(route));
+            }
+        }
+        return ZonePartitionPlanDTO.builder()
+                .zoneId(zoneId)
+                .pointCount(assignment.length)
+                .currentRouteCount(zone.routeIds.size())
+                .currentMinMinutes(zone.routeMinutes.stream().mapToInt(Integer::intValue).min().orElse(0))
+                .currentMaxMinutes(zone.routeMinutes.stream().mapToInt(Integer::intValue).max().orElse(0))
+                .proposedMinMinutes(proposed.stream().mapToInt(ProposedRouteDTO::getEstimatedTime).min().orElse(0))
+                .proposedMaxMinutes(proposed.stream().mapToInt(ProposedRouteDTO::getEstimatedTime).max().orElse(0))
+                .routes(proposed)
+                .removedRouteIds(removedRouteIds)
+                .build();
+    }
+
+    private static double[] filled(int length, double value) {
+        double[] values = new double[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    /**
+     * Copies the route's coordinates; distances are a view over the zone matrix if it covers every stop.
+     */
+    private static Stops stops(RouteSnapshot route, ZoneDistanceMatrix zoneMatrix) {
+        List<PickupPoint> points = route.points();
+        double[] latitudes = new double[points.size()];
+        double[] longitudes = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            latitudes[i] = points.get(i).getLatitude();
+            longitudes[i] = points.get(i).getLongitude();
+        }
+        DistanceMatrix distances = zoneMatrix == null ? null : zoneMatrix.forStops(latitudes, longitudes);
+        return new Stops(latitudes, longitudes, distances);
+    }
+
+    private Plan plan(Stops stops) {
+        DistanceMatrix distances = stops.distances() != null
+                ? stops.distances()
+                : ArrayDistanceMatrix.haversine(stops.latitudes(), stops.longitudes());
+        int[] current = new int[distances.size()];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = i;
+        }
+        int[] optimized = StopSequenceOptimizer.optimize(distances, OPTIMIZER_MAX_PASSES);
+        return new Plan(current, StopSequenceOptimizer.pathLength(current, distances),
+                optimized, StopSequenceOptimizer.pathLength(optimized, distances));
+    }
+
+    /**
+     * Saves the optimized order unless this is a dry run or it is not shorter than the current one.
+     */
+    private RouteOptimizationResultDTO apply(RouteSnapshot route, Plan plan, boolean dryRun) {
+        boolean improved = plan.optimizedDistance() < plan.originalDistance();
+        int[] order = improved ? plan.optimizedOrder() : plan.originalOrder();
+
+        List<PickupPoint> current = route.points();
+        List<PickupPoint> reordered = new ArrayList<>(order.length);
+        for (int position = 0; position < order.length; position++) {
+            PickupPoint point = current.get(order[position]);
+            reordered.add(new PickupPoint(position, point.getLabel(), point.getLatitude(), point.getLongitude()));
+        }
+
+        boolean saved = improved && !dryRun && save(route, reordered);
+        boolean conflict = improved && !dryRun && !saved;
+        return RouteOptimizationResultDTO.builder()
+                .routeId(route.routeId())
+                .stopCount(order.length)
+                .originalDistanceMeters(plan.originalDistance())
+                .optimizedDistanceMeters(improved ? plan.optimizedDistance() : plan.originalDistance())
+                .pickupPoints(PickupPoints.format(conflict ? current : reordered))
+                .applied(saved)
+                .conflict(conflict)
+                .build();
+    }
+
+    /**
+     * Replaces the route's points in a short transaction if the route is still
+     * at the version that was optimized.
+     *
+     * @return false if the route was changed or deleted since it was read
+     */
+    private boolean save(RouteSnapshot snapshot, List<PickupPoint> reordered) {
+        try {
+            return Boolean.TRUE.equals(writeTransaction.execute(status -> {
+                Route route = routeRepository.findWithPickupPointsByRouteId(snapshot.routeId()).orElse(null);
+                if (route == null || !Objects.equals(route.getVersion(), snapshot.version())) {
+                    return false;
+                }
+                route.setPickupPoints(reordered);
+                // New stop orders change the route list, so its ETag must change too
+                routeStatsService.recordChange(route.getZoneId(), 0, 0);
+                return true;
+            }));
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // Changed between the version check and the commit
+            return false;
+        }
+    }
+
+    /**
+     * Detached copy of what optimization needs from a route, read inside a transaction.
+     */
+    private record RouteSnapshot(String routeId, String zoneId, Long version, List<PickupPoint> points) {
+
+        static RouteSnapshot of(Route route) {
+            return new RouteSnapshot(route.getRouteId(), route.getZoneId(), route.getVersion(),
+                    List.copyOf(route.getPickupPoints()));
+        }
+
+        boolean hasCoordinates() {
+            return points.stream().allMatch(p -> p.getLatitude() != null && p.getLongitude() != null);
+        }
+    }
+
+    private record Stops(double[] latitudes, double[] longitudes, DistanceMatrix distances) {
+    }
+
+    private record Plan(int[] originalOrder, double originalDistance, int[] optimizedOrder, double optimizedDistance) {
+    }
+
+    /**
+     * Points of a zone as parallel arrays; routeOf indexes the route lists.
+     */
+    private static final class ZonePoints {
+        private final String[] labels;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] minutes;
+        private final int[] routeOf;
+        private final List<String> routeIds = new ArrayList<>();
+        private final List<String> routeNames = new ArrayList<>();
+        private final List<Integer> routeMinutes = new ArrayList<>();
+        private final List<Integer> routePointCounts = new ArrayList<>();
+
+        private ZonePoints(int size) {
+            labels = new String[size];
+            latitudes = new double[size];
+            longitudes = new double[size];
+            minutes = new double[size];
+            routeOf = new int[size];
+        }
+    }
+}
@@ -1,105 +1,466 @@
 package com.wastewise.routeservice.service.impl;
 
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.dto.BulkRouteCreationResponseDTO;
+import com.wastewise.routeservice.dto.BulkRouteResultDTO;
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
 import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePageResponseDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
 import com.wastewise.routeservice.dto.RouteResponseDTO;
 import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
 import com.wastewise.routeservice.entity.Route;
 import com.wastewise.routeservice.exception.custom.*;
-import com.wastewise.routeservice.feign.ZoneClient;
-import com.wastewise.routeservice.payload.RestResponse;
 import com.wastewise.routeservice.repository.RouteRepository;
 import com.wastewise.routeservice.service.RouteService;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import com.wastewise.routeservice.util.RouteCursorCodec;
+import com.wastewise.routeservice.util.PickupPoints;
+import com.wastewise.routeservice.util.ResourceVersion;
 import com.wastewise.routeservice.util.RouteIdGenerator;
+import com.wastewise.routeservice.util.UniqueConstraints;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.wastewise.routeservice.constant.RouteConstants.*;
 
 /**
  * ------------------------------------------------------------------------------
  * Service Implementation: RouteServiceImpl
  * ------------------------------------------------------------------------------
  * Handles core business logic for route management:
- * - Validates zones via Feign client.
- * - Prevents duplicate routes in the same zone.
+ * - Validates zones via the cached Feign client.
+ * - Prevents duplicate routes in the same zone through the database's unique index.
  * - Converts route entity to response DTO.
+ * - Invalidates the zone's cached distance matrix when its routes change.
+ * - Keeps the spatial index in sync and answers nearby-route queries from it.
+ * - Adds every change to the zone's running statistics in the same transaction.
+ * Every public method is timed as route.service, tagged with method and exception.
  * ------------------------------------------------------------------------------
  */
 @Service
+@Timed(value = "route.service", description = "RouteService method calls")
 @RequiredArgsConstructor
 @Slf4j
 public class RouteServiceImpl implements RouteService {
 
     private final RouteRepository routeRepository;
     private final RouteIdGenerator routeIdGenerator;
-    private final ZoneClient zoneClient;
+    private final ZoneExistenceCache zoneExistenceCache;
+    private final DistanceMatrixCache distanceMatrixCache;
+    private final RouteSpatialIndex routeSpatialIndex;
+    private final RouteStatsService routeStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String ROUTE_ID = "routeId";
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(ROUTE_ID, "zoneId", "estimatedTime");
 
     /**
      * Creates a new route if the zone exists and name is unique in zone.
+     * A zone ID that cannot exist is rejected before anything else. The remote
+     * zone check runs on a virtual thread while this thread resolves the pickup
+     * points; it is awaited before the transaction starts, so an unknown zone
+     * leases no route ID and a slow zone-service holds no connection or lock.
+     * On a zone cache miss latency is therefore the zone-service call plus the insert.
      *
      * @param requestDto Route creation request DTO
      * @return RouteResponse
      */
     @Override
     public RouteResponseDTO createRoute(RouteCreationRequestDTO requestDto) {
-        log.info("Creating route for zone: {}", requestDto.getZoneId());
-
-        RestResponse<Boolean> zoneResponse = zoneClient.existsByZoneId(requestDto.getZoneId());
-        if (zoneResponse.getData() == null || !zoneResponse.getData()) {
-            throw new ZoneNotFoundException(requestDto.getZoneId());
+        String zoneId = requestDto.getZoneId();
+        log.info("Creating route for zone: {}", zoneId);
+        if (!isWellFormedZoneId(zoneId)) {
+            throw new ZoneNotFoundException(zoneId);
         }
 
-        routeRepository.findByRouteNameAndZoneId(requestDto.getRouteName(), requestDto.getZoneId())
-                .ifPresent(route -> {
-                    throw new DuplicateRouteNameException(requestDto.getRouteName(), requestDto.getZoneId());
-                });
+        CompletableFuture<Boolean> zoneCheck = zoneExistenceCache.existsAsync(zoneId);
+        // Only work without side effects overlaps the check
+        List<PickupPoint> points = PickupPoints.resolve(requestDto.getPickupPoints(), requestDto.getPoints());
+        requireZone(zoneId, zoneCheck);
 
-        String routeId = routeIdGenerator.generateRouteId(requestDto.getZoneId());
+        return transactionTemplate.execute(status -> insertRoute(requestDto, points));
+    }
+
+    private RouteResponseDTO insertRoute(RouteCreationRequestDTO requestDto, List<PickupPoint> points) {
+        String zoneId = requestDto.getZoneId();
+        String routeId = routeIdGenerator.generateRouteId(zoneId);
 
         Route route = Route.builder()
                 .routeId(routeId)
                 .routeName(requestDto.getRouteName())
-                .pickupPoints(requestDto.getPickupPoints())
-                .zoneId(requestDto.getZoneId())
+                .pickupPoints(points)
+                .zoneId(zoneId)
                 .estimatedTime(requestDto.getEstimatedTime())
                 .build();
 
-        routeRepository.save(route);
+        // No pre-check: the unique index decides, also between concurrent requests
+        checkingRouteName(route.getRouteName(), zoneId, () -> routeRepository.saveAndFlush(route));
+        routeStatsService.recordChange(route.getZoneId(), 1, route.getEstimatedTime());
+        distanceMatrixCache.invalidateAfterCommit(route.getZoneId());
+        routeSpatialIndex.putAfterCommit(routeId, route.getZoneId(), route.getPickupPoints());
         log.info("Route created successfully with ID: {}", routeId);
         return mapToResponse(route);
     }
 
+    /**
+     * Zone IDs are issued as Z followed by digits and stored in VARCHAR(10)
+     * columns; anything else cannot name an existing zone.
+     */
+    private static boolean isWellFormedZoneId(String zoneId) {
+        return zoneId != null && ZONE_ID_PATTERN.matcher(zoneId).matches();
+    }
+
+    private static void requireZone(String zoneId, CompletableFuture<Boolean> zoneCheck) {
+        if (!ZoneExistenceCache.await(zoneId, zoneCheck)) {
+            throw new ZoneNotFoundException(zoneId);
+        }
+    }
+
     @Override
+    public BulkRouteCreationResponseDTO createRoutes(List<RouteCreationRequestDTO> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BULK_SIZE) {
+            throw new InvalidRouteDetailsException(String.format(BULK_SIZE_EXCEEDED_MSG, MAX_BULK_SIZE));
+        }
+        log.info("Creating {} routes in bulk", requests.size());
+
+        BulkRouteResultDTO[] results = new BulkRouteResultDTO[requests.size()];
+        List<List<PickupPoint>> points = new ArrayList<>(requests.size());
+        Map<String, List<Integer>> indexesByZone = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RouteCreationRequestDTO request = requests.get(i);
+            points.add(resolvePoints(i, request, results));
+            if (results[i] != null) {
+                continue;
+            }
+            if (isBlank(request.getZoneId()) || isBlank(request.getRouteName()) || points.get(i).isEmpty()) {
+                results[i] = failedResult(i, request, String.format(INVALID_ROUTE_DETAILS_MSG, MISSING_ROUTE_FIELDS_MSG));
+            } else {
+                indexesByZone.computeIfAbsent(request.getZoneId(), zoneId -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Route> newRoutes = new ArrayList<>();
+        indexesByZone.forEach((zoneId, indexes) ->
+                newRoutes.addAll(prepareZoneRoutes(zoneId, indexes, requests, points, results)));
+
+        List<Route> pending = newRoutes;
+        while (!pending.isEmpty()) {
+            try {
+                List<Route> batch = pending;
+                transactionTemplate.executeWithoutResult(status -> insertRoutes(batch));
+                break;
+            } catch (DataIntegrityViolationException ex) {
+                // A concurrent request took a name after the check; the batch was rolled back as a whole
+                List<Route> remaining = UniqueConstraints.isViolated(ex, ROUTE_NAME_UNIQUE_CONSTRAINT)
+                        ? rejectTakenNames(pending, requests, results)
+                        : pending;
+                if (remaining.size() == pending.size()) {
+                    throw ex;
+                }
+                pending = remaining;
+            }
+        }
+
+        int created = pending.size();
+        log.info("Bulk creation finished: {} created, {} failed", created, requests.size() - created);
+        return BulkRouteCreationResponseDTO.builder()
+                .created(created)
+                .failed(requests.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private void insertRoutes(List<Route> routes) {
+        routeRepository.persistAll(routes);
+        Map<String, long[]> statsDeltas = new LinkedHashMap<>();
+        for (Route route : routes) {
+            long[] delta = statsDeltas.computeIfAbsent(route.getZoneId(), zone -> new long[2]);
+            delta[0]++;
+            delta[1] += route.getEstimatedTime();
+        }
+        statsDeltas.forEach((zoneId, delta) -> routeStatsService.recordChange(zoneId, delta[0], delta[1]));
+        routes.stream().map(Route::getZoneId).distinct().forEach(distanceMatrixCache::invalidateAfterCommit);
+        routes.forEach(route -> routeSpatialIndex.putAfterCommit(route.getRouteId(), route.getZoneId(), route.getPickupPoints()));
+    }
+
+    /**
+     * Checks the names of a rolled-back batch again and marks the items whose
+     * name is now taken as failed, like the check before the insert. The other
+     * items are returned as new entities with the route IDs already leased.
+     */
+    private List<Route> rejectTakenNames(List<Route> routes, List<RouteCreationRequestDTO> requests,
+                                         BulkRouteResultDTO[] results) {
+        Map<String, Integer> indexByRouteId = new HashMap<>();
+        for (BulkRouteResultDTO result : results) {
+            if (result.getStatus() == BulkRouteResultDTO.Status.CREATED) {
+                indexByRouteId.put(result.getRouteId(), result.getIndex());
+            }
+        }
+        Map<String, Set<String>> namesByZone = new LinkedHashMap<>();
+        routes.forEach(route -> namesByZone.computeIfAbsent(route.getZoneId(), zoneId -> new HashSet<>())
+                .add(route.getRouteName()));
+        Map<String, Set<String>> takenByZone = new HashMap<>();
+        namesByZone.forEach((zoneId, names) -> {
+            Set<String> taken = new HashSet<>();
+            routeRepository.findExistingRouteNames(zoneId, names).forEach(name -> taken.add(nameKey(name)));
+            takenByZone.put(zoneId, taken);
+        });
+
+        List<Route> remaining = new ArrayList<>(routes.size());
+        for (Route route : routes) {
+            if (takenByZone.get(route.getZoneId()).contains(nameKey(route.getRouteName()))) {
+                int i = indexByRouteId.get(route.getRouteId());
+                log.warn("Duplicate route name '{}' rejected by the database in zone {}", route.getRouteName(), route.getZoneId());
+                results[i] = failedResult(i, requests.get(i),
+                        String.format(DUPLICATE_ROUTE_MSG, route.getRouteName(), route.getZoneId()));
+            } else {
+                remaining.add(Route.builder()
+                        .routeId(route.getRouteId())
+                        .routeName(route.getRouteName())
+                        .pickupPoints(new ArrayList<>(route.getPickupPoints()))
+                        .zoneId(route.getZoneId())
+                        .estimatedTime(route.getEstimatedTime())
+                        .build());
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Validates all items of one zone with one zone lookup and one name query,
+     * then assigns route IDs to the accepted items as a single block.
+     */
+    private List<Route> prepareZoneRoutes(String zoneId, List<Integer> indexes, List<RouteCreationRequestDTO> requests,
+                                          List<List<PickupPoint>> points, BulkRouteResultDTO[] results) {
+        if (!isWellFormedZoneId(zoneId) || !zoneExistenceCache.exists(zoneId)) {
+            String message = String.format(ZONE_NOT_FOUND_MSG, zoneId);
+            indexes.forEach(i -> results[i] = failedResult(i, requests.get(i), message));
+            return List.of();
+        }
+
+        Set<String> requestedNames = new HashSet<>();
+        indexes.forEach(i -> requestedNames.add(requests.get(i).getRouteName()));
+        // Names compare ignoring case, like the unique index on (zone_id, route_name)
+        Set<String> takenNames = new HashSet<>();
+        routeRepository.findExistingRouteNames(zoneId, requestedNames).forEach(name -> takenNames.add(nameKey(name)));
+
+        List<Integer> accepted = new ArrayList<>(indexes.size());
+        for (Integer i : indexes) {
+            String routeName = requests.get(i).getRouteName();
+            // takenNames also collects names seen earlier in this batch
+            if (!takenNames.add(nameKey(routeName))) {
+                results[i] = failedResult(i, requests.get(i), String.format(DUPLICATE_ROUTE_MSG, routeName, zoneId));
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> routeIds = routeIdGenerator.generateRouteIds(zoneId, accepted.size());
+        List<Route> routes = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            RouteCreationRequestDTO request = requests.get(i);
+            routes.add(Route.builder()
+                    .routeId(routeIds.get(k))
+                    .routeName(request.getRouteName())
+                    .pickupPoints(points.get(i))
+                    .zoneId(zoneId)
+                    .estimatedTime(request.getEstimatedTime())
+                    .build());
+            results[i] = BulkRouteResultDTO.builder()
+                    .index(i)
+                    .routeId(routeIds.get(k))
+                    .zoneId(zoneId)
+                    .routeName(request.getRouteName())
+                    .status(BulkRouteResultDTO.Status.CREATED)
+                    .build();
+        }
+        return routes;
+    }
+
+    /**
+     * Resolves the pickup points of one bulk item, recording a failure instead of throwing.
+     */
+    private List<PickupPoint> resolvePoints(int index, RouteCreationRequestDTO request, BulkRouteResultDTO[] results) {
+        try {
+            return PickupPoints.resolve(request.getPickupPoints(), request.getPoints());
+        } catch (InvalidRouteDetailsException ex) {
+            results[index] = failedResult(index, request, ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private BulkRouteResultDTO failedResult(int index, RouteCreationRequestDTO request, String message) {
+        return BulkRouteResultDTO.builder()
+                .index(index)
+                .zoneId(request.getZoneId())
+                .routeName(request.getRouteName())
+                .status(BulkRouteResultDTO.Status.FAILED)
+                .message(message)
+                .build();
+    }
+
+    private static String nameKey(String routeName) {
+        return routeName.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @Override
+    @Transactional
     public RouteResponseDTO updateRoute(String routeId, RouteUpdateRequestDTO requestDto) {
         log.info("Updating route with ID: {}", routeId);
 
-        Route existingRoute = routeRepository.findById(routeId)
+        Route existingRoute = routeRepository.findWithPickupPointsByRouteId(routeId)
                 .orElseThrow(() -> new RouteNotFoundException(routeId));
 
-        boolean isNameChanged = !existingRoute.getRouteName().equalsIgnoreCase(requestDto.getRouteName());
-        boolean isPointsChanged = !existingRoute.getPickupPoints().equals(requestDto.getPickupPoints());
-        boolean isTimeChanged = existingRoute.getEstimatedTime() != requestDto.getEstimatedTime();
+        List<PickupPoint> points = PickupPoints.resolve(requestDto.getPickupPoints(), requestDto.getPoints());
+        return applyUpdate(existingRoute, requestDto.getRouteName(), points, requestDto.getEstimatedTime());
+    }
 
-        if (!isNameChanged && !isPointsChanged && !isTimeChanged) {
-            throw new NoRouteChangesDetectedException(routeId);
+    @Override
+    @Transactional
+    public RouteResponseDTO patchRoute(String routeId, RoutePatchRequestDTO requestDto) {
+        log.info("Patching route with ID: {} at version {}", routeId, requestDto.getVersion());
+        if (requestDto.getVersion() == null) {
+            throw new InvalidRouteDetailsException(PATCH_VERSION_REQUIRED_MSG);
+        }
+        long version = requestDto.getVersion();
+
+        List<PickupPoint> points = PickupPoints.resolve(requestDto.getPickupPoints(), requestDto.getPoints());
+        if (!points.isEmpty()) {
+            // Rewriting the point collection needs the entity; Hibernate checks the version on flush
+            Route existingRoute = routeRepository.findWithPickupPointsByRouteId(routeId)
+                    .orElseThrow(() -> new RouteNotFoundException(routeId));
+            if (existingRoute.getVersion() != version) {
+                throw new RouteVersionConflictException(routeId, version);
+            }
+            return applyUpdate(existingRoute,
+                    requestDto.getRouteName() != null ? requestDto.getRouteName() : existingRoute.getRouteName(),
+                    points,
+                    requestDto.getEstimatedTime() != null ? requestDto.getEstimatedTime() : existingRoute.getEstimatedTime());
         }
 
-        if (isNameChanged &&
-                routeRepository.findByRouteNameAndZoneId(requestDto.getRouteName(), existingRoute.getZoneId()).isPresent()) {
-            throw new DuplicateRouteNameException(requestDto.getRouteName(), existingRoute.getZoneId());
+        // The conditional UPDATE decides; the route is only looked up to explain a refusal
+        Integer estimatedTime = requestDto.getEstimatedTime();
+        int updated = checkingRouteName(requestDto.getRouteName(), RouteIdGenerator.zoneIdOf(routeId),
+                () -> routeRepository.updateScalarsIfVersion(routeId, version, requestDto.getRouteName(),
+                        estimatedTime, LocalDateTime.now()));
+        if (updated == 0) {
+            throw patchRefused(routeId, version);
         }
 
-        existingRoute.setRouteName(requestDto.getRouteName());
-        existingRoute.setPickupPoints(requestDto.getPickupPoints());
-        existingRoute.setEstimatedTime(requestDto.getEstimatedTime());
+        // The row is now locked at the new version, so this is the estimated time being replaced
+        Route route = routeRepository.findWithPickupPointsByRouteId(routeId)
+                .orElseThrow(() -> new RouteNotFoundException(routeId));
+        int previousTime = route.getEstimatedTime();
+        if (estimatedTime != null && estimatedTime != previousTime) {
+            routeRepository.updateEstimatedTime(routeId, estimatedTime);
+            // Detached by the update, so this only shapes the response
+            route.setEstimatedTime(estimatedTime);
+        }
+        routeStatsService.recordChange(route.getZoneId(), 0, route.getEstimatedTime() - previousTime);
+        log.info("Route patched successfully for ID: {}", routeId);
+        return mapToResponse(route);
+    }
+
+    /**
+     * Tells why a conditional scalar update changed nothing: the route is gone,
+     * at another version, or already has the requested values.
+     */
+    private RuntimeException patchRefused(String routeId, long version) {
+        Object[] current = routeRepository.findVersionByRouteId(routeId).stream().findFirst()
+                .orElseThrow(() -> new RouteNotFoundException(routeId));
+        if (((Number) current[0]).longValue() != version) {
+            return new RouteVersionConflictException(routeId, version);
+        }
+        return new NoRouteChangesDetectedException(routeId);
+    }
 
-        routeRepository.save(existingRoute);
+    /**
+     * Applies a full update to a loaded route and flushes it, so a concurrent
+     * change surfaces here as an optimistic-locking failure and the response
+     * carries the new version.
+     */
+    private RouteResponseDTO applyUpdate(Route existingRoute, String routeName, List<PickupPoint> points, int estimatedTime) {
+        String routeId = existingRoute.getRouteId();
+
+        RouteChanges changes = RouteChanges.of(existingRoute, routeName, points, estimatedTime);
+        if (!changes.any()) {
+            throw new NoRouteChangesDetectedException(routeId);
+        }
+
+        existingRoute.setRouteName(routeName);
+        if (changes.points()) {
+            existingRoute.setPickupPoints(points);
+        }
+        int minutesDelta = estimatedTime - existingRoute.getEstimatedTime();
+        existingRoute.setEstimatedTime(estimatedTime);
+
+        checkingRouteName(routeName, existingRoute.getZoneId(), () -> routeRepository.saveAndFlush(existingRoute));
+        routeStatsService.recordChange(existingRoute.getZoneId(), 0, minutesDelta);
+        if (changes.points()) {
+            distanceMatrixCache.invalidateAfterCommit(existingRoute.getZoneId());
+            routeSpatialIndex.putAfterCommit(routeId, existingRoute.getZoneId(), points);
+        }
         log.info("Route updated successfully for ID: {}", routeId);
         return mapToResponse(existingRoute);
     }
 
+    /**
+     * Runs a write that is flushed to the database and translates a violation of
+     * the unique (zone_id, route_name) index into DuplicateRouteNameException.
+     */
+    private <T> T checkingRouteName(String routeName, String zoneId, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraints.isViolated(ex, ROUTE_NAME_UNIQUE_CONSTRAINT)) {
+                log.warn("Duplicate route name '{}' rejected by the database in zone {}", routeName, zoneId);
+                throw new DuplicateRouteNameException(routeName, zoneId);
+            }
+            throw ex;
+        }
+    }
+
     @Override
+    @Transactional
     public void deleteRoute(String routeId) {
         log.info("Deleting route with ID: {}", routeId);
 
@@ -107,10 +468,39 @@ public class RouteServiceImpl implements RouteService {
                 .orElseThrow(() -> new RouteNotFoundException(routeId));
 
         routeRepository.delete(route);
+        routeStatsService.recordChange(route.getZoneId(), -1, -route.getEstimatedTime());
+        distanceMatrixCache.invalidateAfterCommit(route.getZoneId());
+        routeSpatialIndex.removeAfterCommit(routeId);
         log.info("Route deleted successfully: {}", routeId);
     }
 
     @Override
+    @Transactional
+    public int deleteRoutesBatch(String zoneId, int limit) {
+        if (limit < 1 || limit > MAX_DELETE_BATCH_SIZE) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_DELETE_BATCH_MSG, MAX_DELETE_BATCH_SIZE));
+        }
+        List<Object[]> batch = routeRepository.lockDeletionBatch(zoneId, Limit.of(limit));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<String> routeIds = new ArrayList<>(batch.size());
+        long minutes = 0;
+        for (Object[] row : batch) {
+            routeIds.add((String) row[0]);
+            minutes += ((Number) row[1]).longValue();
+        }
+        int deleted = routeRepository.deleteByZoneIdAndRouteIds(zoneId, routeIds);
+        routeStatsService.recordChange(zoneId, -deleted, -minutes);
+        distanceMatrixCache.invalidateAfterCommit(zoneId);
+        routeIds.forEach(routeSpatialIndex::removeAfterCommit);
+        log.info("Deleted {} routes of zone {}", deleted, zoneId);
+        return deleted;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<RouteResponseDTO> getAllRoutes() {
         log.info("Fetching all routes");
         return routeRepository.findAll()
@@ -120,29 +510,216 @@ public class RouteServiceImpl implements RouteService {
     }
 
     @Override
+    public ResourceVersion getAllRoutesVersion() {
+        return routeStatsService.getRouteTableVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RoutePageResponseDTO getRoutesPage(String zoneId, String sortBy, String direction, Integer size, String cursor) {
+        log.info("Fetching routes page for zone: {}, sortBy: {}, direction: {}", zoneId, sortBy, direction);
+
+        Sort sort = resolveSort(sortBy, direction);
+        int pageSize = resolvePageSize(size);
+        ScrollPosition position = (cursor == null || cursor.isBlank())
+                ? ScrollPosition.keyset()
+                : RouteCursorCodec.decode(cursor, sort);
+
+        Window<Route> window = (zoneId == null || zoneId.isBlank())
+                ? routeRepository.findAllBy(position, sort, Limit.of(pageSize))
+                : routeRepository.findByZoneId(zoneId, position, sort, Limit.of(pageSize));
+
+        List<RouteResponseDTO> routes = window.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = window.hasNext()
+                ? RouteCursorCodec.encode((KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+
+        return RoutePageResponseDTO.builder()
+                .routes(routes)
+                .size(routes.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAllRoutes(Consumer<RouteResponseDTO> sink) {
+        log.info("Streaming all routes");
+        long count = 0;
+        List<RouteResponseDTO> chunk = new ArrayList<>(EXPORT_FETCH_SIZE);
+        try (Stream<RouteResponseDTO> routes = routeRepository.streamAllRoutes()) {
+            Iterator<RouteResponseDTO> iterator = routes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    attachPickupPoints(chunk);
+                    chunk.forEach(sink);
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        log.info("Streamed {} routes", count);
+        return count;
+    }
+
+    /**
+     * Fills in the pickup points of a chunk of exported routes with one query.
+     */
+    private void attachPickupPoints(List<RouteResponseDTO> routes) {
+        Map<String, List<PickupPoint>> pointsByRoute = new HashMap<>();
+        List<String> routeIds = routes.stream().map(RouteResponseDTO::getRouteId).toList();
+        for (Object[] row : routeRepository.findPickupPoints(routeIds)) {
+            pointsByRoute.computeIfAbsent((String) row[0], routeId -> new ArrayList<>()).add((PickupPoint) row[1]);
+        }
+        for (RouteResponseDTO route : routes) {
+            List<PickupPoint> points = pointsByRoute.getOrDefault(route.getRouteId(), List.of());
+            route.setPickupPoints(PickupPoints.format(points));
+            route.setPoints(PickupPoints.toDtos(points));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public RouteResponseDTO getRouteById(String routeId) {
         log.info("Fetching route with ID: {}", routeId);
-        Route route = routeRepository.findById(routeId)
+        Route route = routeRepository.findWithPickupPointsByRouteId(routeId)
                 .orElseThrow(() -> new RouteNotFoundException(routeId));
         return mapToResponse(route);
     }
 
+    @Override
+    public ResourceVersion getRouteVersion(String routeId) {
+        Object[] row = routeRepository.findVersionByRouteId(routeId).stream().findFirst()
+                .orElseThrow(() -> new RouteNotFoundException(routeId));
+        return ResourceVersion.of(routeId + "." + row[0], (LocalDateTime) row[1]);
+    }
+
     @Override
     public List<String> getRouteIdsByZoneId(String zoneId) {
         log.info("Fetching route IDs for zone ID: {}", zoneId);
-        return routeRepository.findByZoneId(zoneId)
-                .stream()
-                .map(Route::getRouteId)
-                .collect(Collectors.toList());
+        return routeRepository.findRouteIdsByZoneId(zoneId);
+    }
+
+    @Override
+    public Map<String, List<String>> getRouteIdsByZoneIds(Collection<String> zoneIds) {
+        if (zoneIds == null || zoneIds.isEmpty() || zoneIds.size() > MAX_ZONE_IDS_PER_LOOKUP) {
+            throw new InvalidRouteDetailsException(String.format(ZONE_IDS_SIZE_MSG, MAX_ZONE_IDS_PER_LOOKUP));
+        }
+        Map<String, List<String>> routeIdsByZone = new LinkedHashMap<>();
+        for (String zoneId : zoneIds) {
+            if (isBlank(zoneId)) {
+                throw new InvalidRouteDetailsException(String.format(ZONE_IDS_SIZE_MSG, MAX_ZONE_IDS_PER_LOOKUP));
+            }
+            // zone_id compares ignoring case and trailing spaces, so only exact zone IDs map back to their rows
+            if (!isWellFormedZoneId(zoneId)) {
+                throw new InvalidRouteDetailsException(String.format(MALFORMED_ZONE_ID_MSG, zoneId));
+            }
+            routeIdsByZone.putIfAbsent(zoneId, new ArrayList<>());
+        }
+        log.info("Fetching route IDs for {} zones", routeIdsByZone.size());
+        for (Object[] row : routeRepository.findRouteIdsByZoneIds(routeIdsByZone.keySet())) {
+            List<String> routeIds = routeIdsByZone.get((String) row[0]);
+            if (routeIds != null) {
+                routeIds.add((String) row[1]);
+            }
+        }
+        return routeIdsByZone;
+    }
+
+    @Override
+    public List<NearbyRouteDTO> findRoutesNear(double latitude, double longitude, double radiusMeters, Integer limit) {
+        validateLocation(latitude, longitude);
+        if (!(radiusMeters > 0 && radiusMeters <= MAX_NEARBY_RADIUS_METERS)) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_RADIUS_MSG, MAX_NEARBY_RADIUS_METERS));
+        }
+        int maxResults = limit == null ? DEFAULT_NEARBY_LIMIT : validateResultCount(limit);
+        List<NearbyRouteDTO> routes = routeSpatialIndex.findWithinRadius(latitude, longitude, radiusMeters, maxResults);
+        log.debug("Found {} routes within {} m of ({}, {})", routes.size(), radiusMeters, latitude, longitude);
+        return routes;
+    }
+
+    @Override
+    public List<NearbyRouteDTO> findNearestRoutes(double latitude, double longitude, int k) {
+        validateLocation(latitude, longitude);
+        List<NearbyRouteDTO> routes = routeSpatialIndex.findNearest(latitude, longitude, validateResultCount(k));
+        log.debug("Found {} nearest routes to ({}, {})", routes.size(), latitude, longitude);
+        return routes;
+    }
+
+    private static void validateLocation(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new InvalidRouteDetailsException(INVALID_LOCATION_MSG);
+        }
+    }
+
+    private static int validateResultCount(int count) {
+        if (count < 1 || count > MAX_NEARBY_RESULTS) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_NEARBY_LIMIT_MSG, MAX_NEARBY_RESULTS));
+        }
+        return count;
+    }
+
+    /**
+     * Builds the sort, always ending with routeId so the keyset is unique.
+     */
+    private Sort resolveSort(String sortBy, String direction) {
+        String property = (sortBy == null || sortBy.isBlank()) ? ROUTE_ID : sortBy;
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_SORT_MSG, sortBy));
+        }
+
+        Sort.Direction sortDirection = (direction == null || direction.isBlank())
+                ? Sort.Direction.ASC
+                : Sort.Direction.fromOptionalString(direction)
+                        .orElseThrow(() -> new InvalidRouteDetailsException(String.format(INVALID_DIRECTION_MSG, direction)));
+
+        Sort sort = Sort.by(sortDirection, property);
+        return ROUTE_ID.equals(property) ? sort : sort.and(Sort.by(sortDirection, ROUTE_ID));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidRouteDetailsException(INVALID_PAGE_SIZE_MSG);
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
-    private RouteResponseDTO mapToResponse(Route route) {
+    RouteResponseDTO mapToResponse(Route route) {
         return RouteResponseDTO.builder()
                 .routeId(route.getRouteId())
                 .routeName(route.getRouteName())
                 .zoneId(route.getZoneId())
-                .pickupPoints(route.getPickupPoints())
+                .pickupPoints(PickupPoints.format(route.getPickupPoints()))
+                .points(PickupPoints.toDtos(route.getPickupPoints()))
                 .estimatedTime(route.getEstimatedTime())
+                .version(route.getVersion())
                 .build();
     }
+
+    /**
+     * Fields of a full update that differ from the stored route. Names compare
+     * case-insensitively; points compare in canonical form, so "P1, P2" and "P1,P2"
+     * are the same, and no points given means unchanged.
+     */
+    record RouteChanges(boolean name, boolean points, boolean time) {
+
+        static RouteChanges of(Route route, String routeName, List<PickupPoint> points, int estimatedTime) {
+            return new RouteChanges(
+                    !route.getRouteName().equalsIgnoreCase(routeName),
+                    !points.isEmpty() && !points.equals(new ArrayList<>(route.getPickupPoints())),
+                    route.getEstimatedTime() != estimatedTime);
+        }
+
+        boolean any() {
+            return name || points || time;
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.dto.ZoneRouteStatsDTO;
+import com.wastewise.routeservice.entity.ZoneRouteStats;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.repository.ZoneRouteStatsRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.ResourceVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Service Implementation: RouteStatsServiceImpl
+ * ------------------------------------------------------------------------------
+ * Maintains zone_route_stats:
+ * - RouteServiceImpl adds each create/update/delete to the zone's row with one
+ *   atomic UPDATE in its own transaction, so totals commit or roll back with the change.
+ * - A missing row is created empty in a separate short transaction first, so
+ *   concurrent creators never collide inside the caller's transaction.
+ * - reconcile() fixes any drift one zone at a time: each zone's row is locked
+ *   only while that zone's routes are aggregated, in a short transaction of
+ *   its own. It runs at startup and then periodically.
+ * ------------------------------------------------------------------------------
+ */
+@Service
+@Slf4j
+public class RouteStatsServiceImpl implements RouteStatsService {
+
+    private final ZoneRouteStatsRepository statsRepository;
+    private final RouteRepository routeRepository;
+    private final TransactionTemplate insertTransaction;
+    private final TransactionTemplate zoneTransaction;
+
+    public RouteStatsServiceImpl(ZoneRouteStatsRepository statsRepository,
+                                 RouteRepository routeRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.routeRepository = routeRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.zoneTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ZoneRouteStatsDTO> getZoneStats() {
+        log.info("Fetching route statistics per zone");
+        return statsRepository.findByRouteCountGreaterThanOrderByZoneId(0)
+                .stream()
+                .map(stats -> ZoneRouteStatsDTO.builder()
+                        .zoneId(stats.getZoneId())
+                        .routeCount(stats.getRouteCount())
+                        .totalEstimatedTime(stats.getTotalEstimatedTime())
+                        .averageEstimatedTime((double) stats.getTotalEstimatedTime() / stats.getRouteCount())
+                        .lastModified(stats.getLastModified())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getRouteTableVersion() {
+        Object[] summary = statsRepository.summarizeRevisions().get(0);
+        return ResourceVersion.of("routes." + summary[0] + "." + summary[1], (LocalDateTime) summary[2]);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> getZoneRevisions() {
+        Map<String, Long> revisions = new HashMap<>();
+        statsRepository.findAllRevisions().forEach(row -> revisions.put((String) row[0], (Long) row[1]));
+        return revisions;
+    }
+
+    @Override
+    @Transactional
+    public void recordChange(String zoneId, long routes, long minutes) {
+        LocalDateTime now = LocalDateTime.now();
+        if (statsRepository.applyDelta(zoneId, routes, minutes, now) == 0) {
+            createEmptyRow(zoneId);
+            statsRepository.applyDelta(zoneId, routes, minutes, now);
+        }
+    }
+
+    private void createEmptyRow(String zoneId) {
+        try {
+            insertTransaction.executeWithoutResult(status -> statsRepository.insertEmpty(zoneId));
+        } catch (DataIntegrityViolationException ex) {
+            // Another transaction created the row first, which is all we need
+            log.debug("Statistics row of zone {} was created concurrently", zoneId);
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${route.stats.reconcile-interval-ms:900000}",
+            initialDelayString = "${route.stats.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Set<String> zoneIds = new TreeSet<>(statsRepository.findAllZoneIds());
+        zoneIds.addAll(routeRepository.findDistinctZoneIds());
+        int corrected = 0;
+
+        for (String zoneId : zoneIds) {
+            if (Boolean.TRUE.equals(zoneTransaction.execute(status -> reconcileZone(zoneId)))) {
+                corrected++;
+            }
+        }
+        log.info("Reconciled route statistics: {} of {} zones corrected in {} ms",
+                corrected, zoneIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Locks the zone's row before aggregating its routes: a change that is not
+     * yet counted in the aggregate still has its increment to apply, and waits for it.
+     *
+     * @return whether the row was corrected
+     */
+    private boolean reconcileZone(String zoneId) {
+        ZoneRouteStats stats = statsRepository.findByZoneIdForUpdate(zoneId).orElse(null);
+        if (stats == null) {
+            createEmptyRow(zoneId);
+            stats = statsRepository.findByZoneIdForUpdate(zoneId).orElseThrow();
+        }
+        Object[] aggregate = routeRepository.aggregateZone(zoneId).get(0);
+        long routeCount = ((Number) aggregate[0]).longValue();
+        long totalMinutes = ((Number) aggregate[1]).longValue();
+        LocalDateTime lastUpdated = (LocalDateTime) aggregate[2];
+
+        boolean corrected = stats.getRouteCount() != routeCount || stats.getTotalEstimatedTime() != totalMinutes;
+        if (corrected) {
+            stats.setRouteCount(routeCount);
+            stats.setTotalEstimatedTime(totalMinutes);
+            stats.setRevision(stats.getRevision() + 1);
+        }
+        // Deletions leave no trace in the route table, so never move lastModified backwards
+        if (lastUpdated != null && (stats.getLastModified() == null || lastUpdated.isAfter(stats.getLastModified()))) {
+            stats.setLastModified(lastUpdated);
+        }
+        return corrected;
+    }
+}
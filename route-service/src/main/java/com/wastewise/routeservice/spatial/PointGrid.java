@@ -0,0 +1,340 @@
+package com.wastewise.routeservice.spatial;
+
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ------------------------------------------------------------------------------
+ * PointGrid
+ * ------------------------------------------------------------------------------
+ * Uniform latitude/longitude grid over the pickup points of all routes.
+ * Each non-empty cell keeps its points in primitive arrays (radians and the
+ * cosine of the latitude, ready for haversine), tagged with a small int
+ * reference to the owning route. Routes are replaced or removed as a whole.
+ * Longitudes wrap at the antimeridian. Not thread-safe; see {@link RouteSpatialIndex}.
+ * ------------------------------------------------------------------------------
+ */
+final class PointGrid {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS_METERS * Math.PI / 180;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    private final Map<String, Integer> refsByRouteId = new HashMap<>();
+    private final ArrayDeque<Integer> freeRefs = new ArrayDeque<>();
+    private String[] routeIds = new String[64];
+    private String[] zoneIds = new String[64];
+    private long[][] cellsByRef = new long[64][];
+    private int nextRef;
+    private int pointCount;
+
+    PointGrid(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 10) {
+            throw new IllegalArgumentException("cell size must be in (0, 10] degrees, got " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Replaces all points of a route.
+     */
+    void put(String routeId, String zoneId, double[] latitudes, double[] longitudes) {
+        remove(routeId);
+        if (latitudes.length == 0) {
+            return;
+        }
+        int ref = allocate(routeId, zoneId);
+        long[] keys = new long[latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            keys[i] = key(latIndex(latitudes[i]), lonIndex(Math.floor((longitudes[i] + 180) / cellDegrees)));
+            cells.computeIfAbsent(keys[i], k -> new Cell()).add(ref, latitudes[i], longitudes[i]);
+        }
+        cellsByRef[ref] = Arrays.stream(keys).distinct().toArray();
+        pointCount += latitudes.length;
+    }
+
+    /**
+     * @return true if the route was indexed
+     */
+    boolean remove(String routeId) {
+        Integer ref = refsByRouteId.remove(routeId);
+        if (ref == null) {
+            return false;
+        }
+        for (long key : cellsByRef[ref]) {
+            Cell cell = cells.get(key);
+            pointCount -= cell.removeRef(ref);
+            if (cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+        routeIds[ref] = null;
+        zoneIds[ref] = null;
+        cellsByRef[ref] = null;
+        freeRefs.push(ref);
+        return true;
+    }
+
+    /**
+     * Removes every route of a zone.
+     *
+     * @return number of routes removed
+     */
+    int removeZone(String zoneId) {
+        List<String> zoneRoutes = new ArrayList<>();
+        for (int ref = 0; ref < nextRef; ref++) {
+            if (zoneId.equals(zoneIds[ref])) {
+                zoneRoutes.add(routeIds[ref]);
+            }
+        }
+        zoneRoutes.forEach(this::remove);
+        return zoneRoutes.size();
+    }
+
+    int pointCount() {
+        return pointCount;
+    }
+
+    int routeCount() {
+        return refsByRouteId.size();
+    }
+
+    /**
+     * Routes with at least one point within the radius, closest first.
+     */
+    List<NearbyRouteDTO> withinRadius(double latitude, double longitude, double radiusMeters, int limit) {
+        Query query = new Query(latitude, longitude);
+        double maxA = haversineA(radiusMeters / EARTH_RADIUS_METERS);
+        Map<Integer, Double> best = new HashMap<>();
+
+        double latSpan = radiusMeters / METERS_PER_DEGREE;
+        int latLow = latIndex(latitude - latSpan);
+        int latHigh = latIndex(latitude + latSpan);
+        double maxAbsLat = Math.min(90, Math.max(Math.abs(latitude - latSpan), Math.abs(latitude + latSpan)));
+        double cosMin = Math.cos(Math.toRadians(maxAbsLat));
+        double lonSpan = cosMin < 1e-9 ? 360 : radiusMeters / (METERS_PER_DEGREE * cosMin);
+        long lonLow = (long) Math.floor((longitude - lonSpan + 180) / cellDegrees);
+        long lonHigh = (long) Math.floor((longitude + lonSpan + 180) / cellDegrees);
+        if (lonHigh - lonLow + 1 >= lonCells) {
+            lonLow = 0;
+            lonHigh = lonCells - 1;
+        }
+
+        long boxCells = (long) (latHigh - latLow + 1) * (lonHigh - lonLow + 1);
+        if (boxCells > cells.size()) {
+            // Sparse grid or huge radius: cheaper to look at every non-empty cell
+            cells.values().forEach(cell -> cell.collect(query, maxA, best));
+        } else {
+            for (int i = latLow; i <= latHigh; i++) {
+                for (long j = lonLow; j <= lonHigh; j++) {
+                    Cell cell = cells.get(key(i, lonIndex(j)));
+                    if (cell != null) {
+                        cell.collect(query, maxA, best);
+                    }
+                }
+            }
+        }
+        return toResults(best, limit);
+    }
+
+    /**
+     * The k routes with the closest points, closest first.
+     * Scans rings of cells around the location until no unseen cell can beat the k-th route.
+     */
+    List<NearbyRouteDTO> nearest(double latitude, double longitude, int k) {
+        Map<Integer, Double> best = new HashMap<>();
+        if (k <= 0 || refsByRouteId.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(latitude, longitude);
+        int centerLat = latIndex(latitude);
+        long centerLon = (long) Math.floor((longitude + 180) / cellDegrees);
+
+        for (int r = 0; ; r++) {
+            long side = 2L * r + 1;
+            if (side * side > cells.size() || side > lonCells) {
+                cells.values().forEach(cell -> cell.collect(query, Double.POSITIVE_INFINITY, best));
+                break;
+            }
+            for (int i = centerLat - r; i <= centerLat + r; i++) {
+                if (i < 0 || i >= latCells) {
+                    continue;
+                }
+                // Full rows at the top and bottom of the ring, only the two edge cells in between
+                long step = (i == centerLat - r || i == centerLat + r) ? 1 : Math.max(1, 2L * r);
+                for (long j = centerLon - r; j <= centerLon + r; j += step) {
+                    Cell cell = cells.get(key(i, lonIndex(j)));
+                    if (cell != null) {
+                        cell.collect(query, Double.POSITIVE_INFINITY, best);
+                    }
+                }
+            }
+            if (best.size() >= k && kthSmallest(best, k) <= unseenLowerBound(query, centerLat, centerLon, r)) {
+                break;
+            }
+        }
+        return toResults(best, k);
+    }
+
+    /**
+     * Smallest haversine "a" any point outside the scanned square of cells can have.
+     */
+    private double unseenLowerBound(Query query, int centerLat, long centerLon, int r) {
+        double bound = Double.POSITIVE_INFINITY;
+        double latLowEdge = (centerLat - r) * cellDegrees - 90;
+        double latHighEdge = (centerLat + r + 1) * cellDegrees - 90;
+        if (latLowEdge > -90) {
+            bound = Math.min(bound, haversineA(Math.toRadians(query.latitude - latLowEdge)));
+        }
+        if (latHighEdge < 90) {
+            bound = Math.min(bound, haversineA(Math.toRadians(latHighEdge - query.latitude)));
+        }
+        double lonLowEdge = (centerLon - r) * cellDegrees - 180;
+        double lonHighEdge = (centerLon + r + 1) * cellDegrees - 180;
+        double lonGap = Math.min(query.longitude - lonLowEdge, lonHighEdge - query.longitude);
+        if (lonGap < 180) {
+            double maxAbsLat = Math.min(90, Math.max(Math.abs(latLowEdge), Math.abs(latHighEdge)));
+            double cosMin = Math.cos(Math.toRadians(maxAbsLat));
+            bound = Math.min(bound, query.cosLat * cosMin * haversineA(Math.toRadians(lonGap)));
+        }
+        return bound;
+    }
+
+    private static double kthSmallest(Map<Integer, Double> best, int k) {
+        double[] values = best.values().stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(values);
+        return values[k - 1];
+    }
+
+    private List<NearbyRouteDTO> toResults(Map<Integer, Double> best, int limit) {
+        List<NearbyRouteDTO> results = new ArrayList<>(best.size());
+        best.forEach((ref, a) -> results.add(new NearbyRouteDTO(routeIds[ref], zoneIds[ref], distance(a))));
+        results.sort(Comparator.comparingDouble(NearbyRouteDTO::getDistanceMeters).thenComparing(NearbyRouteDTO::getRouteId));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    private int allocate(String routeId, String zoneId) {
+        int ref = freeRefs.isEmpty() ? nextRef++ : freeRefs.pop();
+        if (ref == routeIds.length) {
+            int capacity = routeIds.length * 2;
+            routeIds = Arrays.copyOf(routeIds, capacity);
+            zoneIds = Arrays.copyOf(zoneIds, capacity);
+            cellsByRef = Arrays.copyOf(cellsByRef, capacity);
+        }
+        routeIds[ref] = routeId;
+        zoneIds[ref] = zoneId;
+        refsByRouteId.put(routeId, ref);
+        return ref;
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.min(latCells - 1, Math.max(0, Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private int lonIndex(double rawIndex) {
+        return (int) Math.floorMod((long) rawIndex, (long) lonCells);
+    }
+
+    private static long key(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Haversine term for an angle: sin^2(angle / 2).
+     */
+    private static double haversineA(double angleRadians) {
+        double s = Math.sin(Math.min(Math.PI, angleRadians) / 2);
+        return s * s;
+    }
+
+    private static double distance(double a) {
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1, a)));
+    }
+
+    private static final class Query {
+        private final double latitude;
+        private final double longitude;
+        private final double latRad;
+        private final double lonRad;
+        private final double cosLat;
+
+        private Query(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.latRad = Math.toRadians(latitude);
+            this.lonRad = Math.toRadians(longitude);
+            this.cosLat = Math.cos(latRad);
+        }
+    }
+
+    /**
+     * Points of one cell as parallel primitive arrays.
+     */
+    private static final class Cell {
+        private int size;
+        private int[] refs = new int[4];
+        private double[] latRad = new double[4];
+        private double[] lonRad = new double[4];
+        private double[] cosLat = new double[4];
+
+        void add(int ref, double latitude, double longitude) {
+            if (size == refs.length) {
+                int capacity = size * 2;
+                refs = Arrays.copyOf(refs, capacity);
+                latRad = Arrays.copyOf(latRad, capacity);
+                lonRad = Arrays.copyOf(lonRad, capacity);
+                cosLat = Arrays.copyOf(cosLat, capacity);
+            }
+            refs[size] = ref;
+            latRad[size] = Math.toRadians(latitude);
+            lonRad[size] = Math.toRadians(longitude);
+            cosLat[size] = Math.cos(latRad[size]);
+            size++;
+        }
+
+        /**
+         * Removes every point of the route by moving the last point into its slot.
+         */
+        int removeRef(int ref) {
+            int removed = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                if (refs[i] == ref) {
+                    size--;
+                    refs[i] = refs[size];
+                    latRad[i] = latRad[size];
+                    lonRad[i] = lonRad[size];
+                    cosLat[i] = cosLat[size];
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        /**
+         * Records, per route, the smallest haversine "a" not above maxA.
+         */
+        void collect(Query query, double maxA, Map<Integer, Double> best) {
+            for (int i = 0; i < size; i++) {
+                double sinLat = Math.sin((latRad[i] - query.latRad) / 2);
+                double sinLon = Math.sin((lonRad[i] - query.lonRad) / 2);
+                double a = sinLat * sinLat + query.cosLat * cosLat[i] * sinLon * sinLon;
+                if (a <= maxA) {
+                    best.merge(refs[i], a, Math::min);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.wastewise.routeservice.spatial;
+
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteSpatialIndex
+ * ------------------------------------------------------------------------------
+ * In-memory grid index over the pickup-point coordinates of all routes,
+ * answering "routes within r metres" and "k nearest routes" without touching
+ * the database.
+ * - Built from the database when the application is ready.
+ * - Kept in sync by RouteServiceImpl, which replaces or removes a route's
+ *   points after each committing create/update/delete of this instance.
+ * - Refreshed periodically: zones whose zone_route_stats revision differs
+ *   from the one seen at their last load are reloaded, which picks up changes
+ *   made through other instances.
+ * - Loads read the database without any lock; the loaded routes are swapped
+ *   in under the write lock, and updates made meanwhile are replayed on top.
+ * - Readers share a read lock; updates take the write lock for one route.
+ * Meters: route.spatial.index.points and route.spatial.index.routes.
+ * ------------------------------------------------------------------------------
+ */
+@Component
+@Slf4j
+public class RouteSpatialIndex {
+
+    private final RouteRepository routeRepository;
+    private final RouteStatsService routeStatsService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double cellDegrees;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile PointGrid grid;
+    /** Zone revisions the indexed routes were loaded at; guarded by this. */
+    private Map<String, Long> loadedRevisions = Map.of();
+    /** Updates made while a load runs, by route ID; null when none runs. Guarded by the write lock. */
+    private Map<String, RouteBuffer> pendingUpdates;
+
+    public RouteSpatialIndex(RouteRepository routeRepository,
+                             RouteStatsService routeStatsService,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${route.spatial-index.cell-degrees:0.01}") double cellDegrees) {
+        this.routeRepository = routeRepository;
+        this.routeStatsService = routeStatsService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cellDegrees = cellDegrees;
+        this.grid = new PointGrid(cellDegrees);
+
+        Gauge.builder("route.spatial.index.points", this, RouteSpatialIndex::pointCount)
+                .description("Pickup points held by the spatial index")
+                .register(meterRegistry);
+        Gauge.builder("route.spatial.index.routes", this, RouteSpatialIndex::routeCount)
+                .description("Routes with at least one indexed pickup point")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reloads the whole index from the database into a new grid, which then
+     * replaces the current one. Searches keep using the current grid meanwhile.
+     * The revisions are read first: a change committed during the load is
+     * reloaded by the next refresh rather than missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Long> revisions = routeStatsService.getZoneRevisions();
+        PointGrid fresh = new PointGrid(cellDegrees);
+        load(routeRepository::streamAllCoordinates, route -> route.flushInto(fresh));
+        finishLoad(live -> {
+            grid = fresh;
+            return fresh;
+        });
+        loadedRevisions = revisions;
+        log.info("Spatial index built with {} routes and {} points in {} ms",
+                routeCount(), pointCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reloads the zones whose revision changed since they were last loaded.
+     * Only those zones are read, so a change made through this instance costs
+     * one reload of its zone.
+     */
+    @Scheduled(fixedDelayString = "${route.spatial-index.refresh-interval-ms:60000}",
+            initialDelayString = "${route.spatial-index.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        Map<String, Long> revisions = routeStatsService.getZoneRevisions();
+        Set<String> changed = new TreeSet<>();
+        revisions.forEach((zoneId, revision) -> {
+            if (!revision.equals(loadedRevisions.get(zoneId))) {
+                changed.add(zoneId);
+            }
+        });
+        loadedRevisions.keySet().stream().filter(zoneId -> !revisions.containsKey(zoneId)).forEach(changed::add);
+        if (changed.isEmpty()) {
+            return;
+        }
+        log.debug("Route revisions of {} zones changed, reloading them into the spatial index", changed.size());
+        for (String zoneId : changed) {
+            List<RouteBuffer> routes = new ArrayList<>();
+            load(() -> routeRepository.streamZoneCoordinates(zoneId), routes::add);
+            finishLoad(live -> {
+                live.removeZone(zoneId);
+                routes.forEach(route -> route.flushInto(live));
+                return live;
+            });
+        }
+        loadedRevisions = revisions;
+    }
+
+    /**
+     * Streams coordinate rows, grouped into one buffer per route, without
+     * holding the lock. Updates made from now on are also kept for
+     * {@link #finishLoad}; a failed load discards them again.
+     */
+    private void load(Supplier<Stream<Object[]>> query, Consumer<RouteBuffer> sink) {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = query.get()) {
+                    RouteBuffer[] route = {null};
+                    rows.forEach(row -> {
+                        String routeId = (String) row[0];
+                        if (route[0] == null || !routeId.equals(route[0].routeId)) {
+                            if (route[0] != null) {
+                                sink.accept(route[0]);
+                            }
+                            route[0] = new RouteBuffer();
+                            route[0].reset(routeId, (String) row[1]);
+                        }
+                        route[0].add((Double) row[2], (Double) row[3]);
+                    });
+                    if (route[0] != null) {
+                        sink.accept(route[0]);
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            finishLoad(UnaryOperator.identity());
+            throw ex;
+        }
+    }
+
+    /**
+     * Applies a load to the grid under the write lock, then replays the
+     * updates made during the load, which are newer than anything it read.
+     */
+    private void finishLoad(UnaryOperator<PointGrid> apply) {
+        lock.writeLock().lock();
+        try {
+            PointGrid live = apply.apply(grid);
+            pendingUpdates.forEach((routeId, route) -> {
+                if (route.size == 0) {
+                    live.remove(routeId);
+                } else {
+                    route.flushInto(live);
+                }
+            });
+        } finally {
+            pendingUpdates = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed points of a route; points without coordinates are skipped.
+     *
+     * @param routeId the route ID
+     * @param zoneId  the route's zone ID
+     * @param points  the route's pickup points
+     */
+    public void put(String routeId, String zoneId, List<PickupPoint> points) {
+        RouteBuffer buffer = new RouteBuffer();
+        buffer.reset(routeId, zoneId);
+        for (PickupPoint point : points) {
+            if (point.getLatitude() != null && point.getLongitude() != null) {
+                buffer.add(point.getLatitude(), point.getLongitude());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (buffer.size == 0) {
+                grid.remove(routeId);
+            } else {
+                buffer.flushInto(grid);
+            }
+            if (pendingUpdates != null) {
+                pendingUpdates.put(routeId, buffer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a route from the index.
+     *
+     * @param routeId the route ID
+     */
+    public void remove(String routeId) {
+        RouteBuffer removed = new RouteBuffer();
+        removed.reset(routeId, null);
+        lock.writeLock().lock();
+        try {
+            grid.remove(routeId);
+            if (pendingUpdates != null) {
+                pendingUpdates.put(routeId, removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #put}, but applied once the current transaction commits.
+     * The points are copied now, so later changes to the entity do not leak in.
+     */
+    public void putAfterCommit(String routeId, String zoneId, List<PickupPoint> points) {
+        List<PickupPoint> snapshot = List.copyOf(points);
+        AfterCommit.run(() -> put(routeId, zoneId, snapshot));
+    }
+
+    /**
+     * Like {@link #remove}, but applied once the current transaction commits.
+     */
+    public void removeAfterCommit(String routeId) {
+        AfterCommit.run(() -> remove(routeId));
+    }
+
+    /**
+     * Routes with a pickup point within the radius, closest first.
+     *
+     * @param latitude     latitude of the location
+     * @param longitude    longitude of the location
+     * @param radiusMeters search radius in metres
+     * @param limit        maximum number of routes returned
+     */
+    public List<NearbyRouteDTO> findWithinRadius(double latitude, double longitude, double radiusMeters, int limit) {
+        lock.readLock().lock();
+        try {
+            return grid.withinRadius(latitude, longitude, radiusMeters, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The k routes whose closest pickup point is nearest to the location, closest first.
+     *
+     * @param latitude  latitude of the location
+     * @param longitude longitude of the location
+     * @param k         number of routes
+     */
+    public List<NearbyRouteDTO> findNearest(double latitude, double longitude, int k) {
+        lock.readLock().lock();
+        try {
+            return grid.nearest(latitude, longitude, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int pointCount() {
+        lock.readLock().lock();
+        try {
+            return grid.pointCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int routeCount() {
+        lock.readLock().lock();
+        try {
+            return grid.routeCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the coordinates of one route before they go into the grid.
+     */
+    private static final class RouteBuffer {
+        private String routeId;
+        private String zoneId;
+        private double[] latitudes = new double[16];
+        private double[] longitudes = new double[16];
+        private int size;
+
+        void reset(String routeId, String zoneId) {
+            this.routeId = routeId;
+            this.zoneId = zoneId;
+            this.size = 0;
+        }
+
+        void add(double latitude, double longitude) {
+            if (size == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        void flushInto(PointGrid grid) {
+            if (routeId != null && size > 0) {
+                grid.put(routeId, zoneId, Arrays.copyOf(latitudes, size), Arrays.copyOf(longitudes, size));
+            }
+        }
+    }
+}
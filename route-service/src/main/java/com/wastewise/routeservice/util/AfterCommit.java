@@ -0,0 +1,32 @@
+package com.wastewise.routeservice.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs in-memory side effects (cache invalidation, index updates) only once
+ * the surrounding transaction has committed, so rolled-back changes never
+ * leak into them.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or right away without one.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
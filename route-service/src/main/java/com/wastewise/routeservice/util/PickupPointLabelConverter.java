@@ -0,0 +1,22 @@
+package com.wastewise.routeservice.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Canonicalises pickup point labels on write and interns them on read,
+ * so the many routes sharing a stop also share one label instance.
+ */
+@Converter
+public class PickupPointLabelConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String label) {
+        return PickupPoints.canonicalLabel(label);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String label) {
+        return PickupPoints.canonicalLabel(label);
+    }
+}
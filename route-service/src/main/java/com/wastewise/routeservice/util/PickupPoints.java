@@ -0,0 +1,121 @@
+package com.wastewise.routeservice.util;
+
+import com.wastewise.routeservice.dto.PickupPointDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.exception.custom.InvalidRouteDetailsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.wastewise.routeservice.constant.RouteConstants.INVALID_PICKUP_POINT_MSG;
+import static com.wastewise.routeservice.constant.RouteConstants.MAX_PICKUP_POINT_LABEL_LENGTH;
+
+/**
+ * ------------------------------------------------------------------------------
+ * PickupPoints
+ * ------------------------------------------------------------------------------
+ * Converts between the structured pickup point model and the legacy
+ * comma-separated form ("Point1,Point2") that the API still accepts and returns.
+ * ------------------------------------------------------------------------------
+ */
+public final class PickupPoints {
+
+    public static final String SEPARATOR = ",";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private PickupPoints() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Trims the label and collapses inner whitespace, then interns the result.
+     *
+     * @return canonical label, or null if the label is null or blank
+     */
+    public static String canonicalLabel(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(label.strip()).replaceAll(" ").intern();
+    }
+
+    /**
+     * Parses the comma-separated form, skipping empty entries.
+     */
+    public static List<PickupPoint> fromString(String value) {
+        List<PickupPoint> points = new ArrayList<>();
+        if (value == null) {
+            return points;
+        }
+        for (String part : value.split(SEPARATOR)) {
+            String label = canonicalLabel(part);
+            if (label != null) {
+                points.add(checked(PickupPoint.builder().ordinal(points.size()).label(label).build()));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Converts structured points, numbering them in list order.
+     */
+    public static List<PickupPoint> fromDtos(List<PickupPointDTO> dtos) {
+        List<PickupPoint> points = new ArrayList<>(dtos.size());
+        for (PickupPointDTO dto : dtos) {
+            points.add(checked(PickupPoint.builder()
+                    .ordinal(points.size())
+                    .label(canonicalLabel(dto.getLabel()))
+                    .latitude(dto.getLatitude())
+                    .longitude(dto.getLongitude())
+                    .build()));
+        }
+        return points;
+    }
+
+    /**
+     * Resolves request input; structured points take precedence over the string form.
+     *
+     * @return resolved points, empty if neither form was given
+     */
+    public static List<PickupPoint> resolve(String value, List<PickupPointDTO> dtos) {
+        return (dtos != null && !dtos.isEmpty()) ? fromDtos(dtos) : fromString(value);
+    }
+
+    /**
+     * Formats points in the comma-separated form.
+     */
+    public static String format(List<PickupPoint> points) {
+        StringBuilder value = new StringBuilder();
+        for (PickupPoint point : points) {
+            if (!value.isEmpty()) {
+                value.append(SEPARATOR);
+            }
+            value.append(point.getLabel());
+        }
+        return value.toString();
+    }
+
+    public static List<PickupPointDTO> toDtos(List<PickupPoint> points) {
+        List<PickupPointDTO> dtos = new ArrayList<>(points.size());
+        for (PickupPoint point : points) {
+            dtos.add(new PickupPointDTO(point.getLabel(), point.getLatitude(), point.getLongitude()));
+        }
+        return dtos;
+    }
+
+    private static PickupPoint checked(PickupPoint point) {
+        String label = point.getLabel();
+        Double latitude = point.getLatitude();
+        Double longitude = point.getLongitude();
+        boolean validLabel = label != null && label.length() <= MAX_PICKUP_POINT_LABEL_LENGTH && !label.contains(SEPARATOR);
+        boolean validCoordinates = (latitude == null && longitude == null)
+                || (latitude != null && longitude != null
+                        && latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180);
+        if (!validLabel || !validCoordinates) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_PICKUP_POINT_MSG, point.getOrdinal()));
+        }
+        return point;
+    }
+}
@@ -0,0 +1,23 @@
+package com.wastewise.routeservice.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a resource for conditional GETs, derived from version data
+ * already kept in the database rather than from the serialized body.
+ *
+ * @param eTag         strong entity tag, quoted (e.g. "Z001-R001.5f3a1c")
+ * @param lastModified last modification in epoch milliseconds, or -1 if unknown
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    /**
+     * @param tag          unquoted tag, unique for each state of the resource
+     * @param lastModified last modification in server local time, may be null
+     */
+    public static ResourceVersion of(String tag, LocalDateTime lastModified) {
+        long millis = lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion('"' + tag + '"', millis);
+    }
+}
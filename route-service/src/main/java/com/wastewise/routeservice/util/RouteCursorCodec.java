@@ -0,0 +1,84 @@
+package com.wastewise.routeservice.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.routeservice.exception.custom.InvalidRouteDetailsException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.wastewise.routeservice.constant.RouteConstants.INVALID_CURSOR_MSG;
+
+/**
+ * Encodes keyset scroll positions into opaque, URL-safe cursors and back.
+ * A cursor carries the sort-key values of the last route of a page, so the next
+ * page is a pure index range scan instead of an OFFSET over skipped rows.
+ */
+public final class RouteCursorCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+    private static final String ESTIMATED_TIME = "estimatedTime";
+
+    private RouteCursorCodec() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Encodes the keyset of the given position.
+     *
+     * @param position keyset position of the last route returned
+     * @return URL-safe cursor string
+     */
+    public static String encode(KeysetScrollPosition position) {
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(position.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode route cursor", ex);
+        }
+    }
+
+    /**
+     * Decodes a cursor and checks that it was produced for the given sort.
+     *
+     * @param cursor cursor returned by a previous page
+     * @param sort   sort of the current request
+     * @return position to resume scrolling from
+     */
+    public static ScrollPosition decode(String cursor, Sort sort) {
+        Set<String> expectedKeys = new HashSet<>();
+        sort.forEach(order -> expectedKeys.add(order.getProperty()));
+        String sortProperty = sort.iterator().next().getProperty();
+
+        Map<String, Object> keys;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            keys = MAPPER.readValue(new String(json, StandardCharsets.UTF_8), KEYS_TYPE);
+        } catch (IllegalArgumentException | JsonProcessingException ex) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_CURSOR_MSG, sortProperty));
+        }
+
+        if (keys == null || !keys.keySet().equals(expectedKeys) || !hasExpectedTypes(keys)) {
+            throw new InvalidRouteDetailsException(String.format(INVALID_CURSOR_MSG, sortProperty));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static boolean hasExpectedTypes(Map<String, Object> keys) {
+        for (Map.Entry<String, Object> entry : keys.entrySet()) {
+            Class<?> expected = ESTIMATED_TIME.equals(entry.getKey()) ? Integer.class : String.class;
+            if (!expected.isInstance(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,46 +1,42 @@
 package com.wastewise.routeservice.util;
 
-import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.repository.RouteIdSequenceRepository;
 import com.wastewise.routeservice.repository.RouteRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.annotation.PostConstruct;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class to generate unique Route IDs in the format Z001-R001, Z001-R002, ...
- * Uses AtomicInteger per zone to ensure IDs are sequential and not reused even after deletion.
+ * Route numbers are leased per zone in blocks from the route_id_sequence table, so
+ * IDs stay unique across service instances and are never reused, even after deletion.
+ * Numbers wider than three digits are supported (Z001-R999 is followed by Z001-R1000).
  */
 @Component
-@RequiredArgsConstructor
 public class RouteIdGenerator {
 
-    private final RouteRepository routeRepository;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
 
-    // Map to store the last used route number per zone
-    private final Map<String, AtomicInteger> zoneRouteCounters = new ConcurrentHashMap<>();
+    private final RouteRepository routeRepository;
+    private final RouteIdSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final BlockIdAllocator allocator;
 
-    /**
-     * Initialize the counter for each zone based on the max existing Route ID per zone from DB.
-     */
-    @PostConstruct
-    public void init() {
-        for (Route route : routeRepository.findAll()) {
-            String zoneId = route.getZoneId(); // e.g., Z001
-            String routeId = route.getRouteId(); // e.g., Z001-R003
-
-            // Extract numeric part after "R"
-            String routeNumberStr = routeId.substring(routeId.indexOf("-R") + 2);
-            int routeNumber = Integer.parseInt(routeNumberStr);
-
-            zoneRouteCounters.compute(zoneId, (key, counter) -> {
-                if (counter == null) return new AtomicInteger(routeNumber);
-                return new AtomicInteger(Math.max(counter.get(), routeNumber));
-            });
-        }
+    public RouteIdGenerator(RouteRepository routeRepository,
+                            RouteIdSequenceRepository sequenceRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${route.id-block-size:50}") int blockSize) {
+        this.routeRepository = routeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.allocator = new BlockIdAllocator(this::leaseBlock, blockSize);
     }
 
     /**
@@ -50,8 +46,63 @@ public class RouteIdGenerator {
      * @return generated Route ID (e.g., Z001-R004)
      */
     public String generateRouteId(String zoneId) {
-        zoneRouteCounters.putIfAbsent(zoneId, new AtomicInteger(0));
-        int nextRouteNumber = zoneRouteCounters.get(zoneId).incrementAndGet();
-        return String.format("%s-R%03d", zoneId, nextRouteNumber);
+        return formatRouteId(zoneId, allocator.next(zoneId));
+    }
+
+    /**
+     * Reserves a contiguous block of Route IDs for the given zone with a single
+     * counter update, instead of one counter increment per route.
+     *
+     * @param zoneId the zone ID (e.g., Z001)
+     * @param count  number of IDs to reserve
+     * @return generated Route IDs in ascending order
+     */
+    public List<String> generateRouteIds(String zoneId, int count) {
+        long first = allocator.nextBlock(zoneId, count);
+        List<String> routeIds = new ArrayList<>(count);
+        for (long routeNumber = first; routeNumber < first + count; routeNumber++) {
+            routeIds.add(formatRouteId(zoneId, routeNumber));
+        }
+        return routeIds;
+    }
+
+    /**
+     * Zone ID part of a Route ID generated here.
+     *
+     * @param routeId the Route ID (e.g., Z001-R004)
+     * @return the zone ID (e.g., Z001)
+     */
+    public static String zoneIdOf(String routeId) {
+        return routeId.substring(0, routeId.lastIndexOf("-R"));
+    }
+
+    private static String formatRouteId(String zoneId, long routeNumber) {
+        return String.format("%s-R%03d", zoneId, routeNumber);
+    }
+
+    /**
+     * Advances the zone's counter in its own short transaction and returns the
+     * first number of the leased block. The counter row is created on first use,
+     * seeded from the highest route number already stored for the zone.
+     */
+    private long leaseBlock(String zoneId, int size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long first = leaseTransaction.execute(status -> {
+                    if (sequenceRepository.advance(zoneId, size) > 0) {
+                        return sequenceRepository.findLastRouteNumber(zoneId) - size + 1;
+                    }
+                    long seed = routeRepository.findMaxRouteNumber(zoneId);
+                    sequenceRepository.insert(zoneId, seed + size);
+                    return seed + 1;
+                });
+                return first;
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance created the counter row first; advance it instead
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.wastewise.routeservice.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * ------------------------------------------------------------------------------
+ * UniqueConstraints
+ * ------------------------------------------------------------------------------
+ * Tells which database constraint rejected a write, so an optimistic insert or
+ * update can report a business error instead of a generic integrity failure.
+ * ------------------------------------------------------------------------------
+ */
+public final class UniqueConstraints {
+
+    private UniqueConstraints() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns true if the exception was caused by the named constraint.
+     * Drivers qualify the name differently ("route.uk_x", "PUBLIC.UK_X_INDEX_4"),
+     * so the match is a case-insensitive containment check.
+     */
+    public static boolean isViolated(DataIntegrityViolationException ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName);
+            }
+        }
+        return false;
+    }
+}
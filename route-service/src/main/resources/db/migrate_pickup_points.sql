@@ -0,0 +1,31 @@
+-- One-off migration (MySQL 8) from the comma-separated route.path_details column
+-- to the route_pickup_point table. Run once before starting the new version.
+
+CREATE TABLE IF NOT EXISTS route_pickup_point (
+    route_id VARCHAR(20) NOT NULL,
+    ordinal INT NOT NULL,
+    label VARCHAR(100) NOT NULL,
+    latitude DOUBLE,
+    longitude DOUBLE,
+    PRIMARY KEY (route_id, ordinal),
+    FOREIGN KEY (route_id) REFERENCES route(route_id) ON DELETE CASCADE
+);
+
+INSERT INTO route_pickup_point (route_id, ordinal, label)
+WITH RECURSIVE split (route_id, position, label, rest) AS (
+    SELECT route_id, 0,
+           TRIM(SUBSTRING_INDEX(path_details, ',', 1)),
+           IF(LOCATE(',', path_details) > 0, SUBSTRING(path_details, LOCATE(',', path_details) + 1), NULL)
+    FROM route
+    UNION ALL
+    SELECT route_id, position + 1,
+           TRIM(SUBSTRING_INDEX(rest, ',', 1)),
+           IF(LOCATE(',', rest) > 0, SUBSTRING(rest, LOCATE(',', rest) + 1), NULL)
+    FROM split
+    WHERE rest IS NOT NULL
+)
+SELECT route_id, ROW_NUMBER() OVER (PARTITION BY route_id ORDER BY position) - 1, label
+FROM split
+WHERE label <> '';
+
+ALTER TABLE route DROP COLUMN path_details;
@@ -0,0 +1,14 @@
+-- One-off migration (MySQL 8) adding the unique index on route(zone_id, route_name).
+-- Route names compare case-insensitively but accent-sensitively ("Café" and "Cafe" differ),
+-- so the column is pinned to the _as_ci collation.
+-- Run once before starting the new version.
+
+-- The ALTER fails while duplicates exist; rename or delete the routes this lists first.
+SELECT zone_id, MIN(route_name) AS route_name, COUNT(*) AS duplicates, GROUP_CONCAT(route_id) AS route_ids
+FROM route
+GROUP BY zone_id, route_name COLLATE utf8mb4_0900_as_ci
+HAVING COUNT(*) > 1;
+
+ALTER TABLE route
+    MODIFY route_name VARCHAR(100) COLLATE utf8mb4_0900_as_ci NOT NULL,
+    ADD CONSTRAINT uk_route_zone_name UNIQUE (zone_id, route_name);
@@ -1,10 +1,35 @@
 CREATE TABLE route (
     route_id VARCHAR(20) PRIMARY KEY,
-    route_name VARCHAR(100) NOT NULL,
+    route_name VARCHAR(100) COLLATE utf8mb4_0900_as_ci NOT NULL,
     zone_id VARCHAR(10) NOT NULL,
     estimated_time INT NOT NULL,
-    pickup_points TEXT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (zone_id) REFERENCES zone(zone_id)
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (zone_id) REFERENCES zone(zone_id),
+    -- Case-insensitive but accent-sensitive through the _as_ci collation, like the name checks in the service
+    CONSTRAINT uk_route_zone_name UNIQUE (zone_id, route_name)
+);
+
+CREATE TABLE route_id_sequence (
+    zone_id VARCHAR(10) PRIMARY KEY,
+    last_route_number BIGINT NOT NULL
+);
+
+CREATE TABLE route_pickup_point (
+    route_id VARCHAR(20) NOT NULL,
+    ordinal INT NOT NULL,
+    label VARCHAR(100) NOT NULL,
+    latitude DOUBLE,
+    longitude DOUBLE,
+    PRIMARY KEY (route_id, ordinal),
+    FOREIGN KEY (route_id) REFERENCES route(route_id) ON DELETE CASCADE
+);
+
+CREATE TABLE zone_route_stats (
+    zone_id VARCHAR(10) PRIMARY KEY,
+    route_count BIGINT NOT NULL,
+    total_estimated_time BIGINT NOT NULL,
+    last_modified TIMESTAMP NULL,
+    revision BIGINT NOT NULL DEFAULT 0
 );
@@ -1,13 +1,83 @@
 package com.wastewise.routeservice;
 
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.logging.RateLimitingTurboFilter;
+import com.wastewise.routeservice.service.RouteService;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.logging.LoggersEndpoint;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Spring Boot tests disable metrics export unless asked to keep it; the
+ * metrics properties repeat those of the main application.properties.
+ */
+@AutoConfigureObservability
+@SpringBootTest(properties = {
+		"management.endpoints.web.exposure.include=loggers",
+		"management.observations.annotations.enabled=true",
+		"management.metrics.distribution.percentiles-histogram.route.service=true",
+		"management.metrics.distribution.percentiles-histogram.http.client.requests=true"
+})
 class RouteServiceApplicationTests {
 
+	@Autowired
+	private LoggersEndpoint loggersEndpoint;
+
+	@Autowired
+	private RouteService routeService;
+
+	@Autowired
+	private ZoneClient zoneClient;
+
+	@Autowired
+	private PrometheusMeterRegistry prometheusRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void logging_isAsyncRateLimitedAndSqlSwitchableAtRuntime() {
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+		assertThat(context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC_CONSOLE"))
+				.isInstanceOf(AsyncAppender.class);
+		assertThat(context.getTurboFilterList()).filteredOn(RateLimitingTurboFilter.class::isInstance).hasSize(2);
+
+		org.slf4j.Logger sql = LoggerFactory.getLogger("org.hibernate.SQL");
+		assertThat(sql.isDebugEnabled()).isFalse();
+		loggersEndpoint.configureLogLevel("org.hibernate.SQL", LogLevel.DEBUG);
+		try {
+			assertThat(sql.isDebugEnabled()).isTrue();
+		} finally {
+			loggersEndpoint.configureLogLevel("org.hibernate.SQL", null);
+		}
+		assertThat(sql.isDebugEnabled()).isFalse();
+	}
+
+	@Test
+	void metrics_serviceAndFeignLatenciesAreHistograms() {
+		routeService.getAllRoutes();
+		// No Zone Service instance is registered, so the load balancer answers 503
+		assertThatThrownBy(() -> zoneClient.existsByZoneId("Z001"));
+
+		// Histogram buckets rather than client-side quantiles, so replicas can be aggregated
+		assertThat(prometheusRegistry.scrape())
+				.contains("# TYPE route_service_seconds histogram")
+				.containsPattern("route_service_seconds_bucket\\{.*method=\"getAllRoutes\"")
+				.containsPattern("http_client_requests_seconds_bucket\\{.*http_status_code=\"503\","
+						+ "http_url=\"/wastewise/admin/zones/\\{zoneId}/exists\"")
+				.doesNotContain("quantile=");
+	}
+
 }
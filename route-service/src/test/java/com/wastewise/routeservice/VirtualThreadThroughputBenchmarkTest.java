@@ -0,0 +1,166 @@
+package com.wastewise.routeservice;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.diagnostics.VirtualThreadPinningMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ------------------------------------------------------------------------------
+ * VirtualThreadThroughputBenchmarkTest
+ * ------------------------------------------------------------------------------
+ * Starts the service twice, with platform and with virtual request threads, and
+ * drives POST /create from CLIENTS concurrent clients. Zone-service is a local
+ * HTTP stub that answers after ZONE_SERVICE_DELAY_MS. Each zone gets its first
+ * route in a seeding pass; the zone cache is then cleared, so every measured
+ * request waits on a real Feign call. Tomcat is capped at TOMCAT_THREADS platform
+ * threads, the limit a burst runs into. Throughput is logged together with the
+ * pinning report of the virtual run; the assertion only checks that virtual
+ * threads are not slower.
+ * Tagged "benchmark": not part of mvn test, run it with mvn -P benchmark-tests test.
+ * ------------------------------------------------------------------------------
+ */
+@Slf4j
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS = 320;
+    private static final int TOMCAT_THREADS = 8;
+    private static final int SEEDING_CLIENTS = 8;
+    private static final long ZONE_SERVICE_DELAY_MS = 200;
+
+    private final AtomicInteger zoneNumber = new AtomicInteger();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private HttpServer zoneService;
+
+    @BeforeEach
+    void startZoneService() throws IOException {
+        zoneService = HttpServer.create(new InetSocketAddress("localhost", 0), 4 * CLIENTS);
+        zoneService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        zoneService.createContext("/", exchange -> {
+            try {
+                Thread.sleep(ZONE_SERVICE_DELAY_MS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"message\":\"Zone exists\",\"data\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        zoneService.start();
+    }
+
+    @AfterEach
+    void stopZoneService() {
+        zoneService.stop(0);
+    }
+
+    @Test
+    @DisplayName("Virtual request threads keep serving while requests wait on zone-service")
+    void createRoute_platformVersusVirtualRequestThreads() throws Exception {
+        double platform = throughput(false);
+        double virtual = throughput(true);
+
+        log.info("POST /create, {} clients, zone-service {} ms, {} Tomcat threads:", CLIENTS, ZONE_SERVICE_DELAY_MS,
+                TOMCAT_THREADS);
+        log.info("  platform threads: {} requests/s", String.format("%.0f", platform));
+        log.info("  virtual threads:  {} requests/s", String.format("%.0f", virtual));
+
+        assertThat(virtual).isGreaterThan(platform);
+    }
+
+    private double throughput(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(RouteServiceApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "spring.threads.virtual.enabled=" + virtualThreads,
+                                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                                "spring.datasource.url=jdbc:h2:mem:throughput_" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                                "spring.datasource.hikari.maximum-pool-size=" + CLIENTS,
+                                // As in the service's application.properties
+                                "spring.datasource.hikari.auto-commit=false",
+                                "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true",
+                                "spring.cloud.openfeign.client.config.zone-service.url=http://localhost:"
+                                        + zoneService.getAddress().getPort(),
+                                "logging.level.com.wastewise.routeservice.service=WARN")
+                        .run()) {
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort()
+                    + "/wastewise/admin/routes/create");
+
+            List<String> zoneIds = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                zoneIds.add(String.format("Z%05d", zoneNumber.incrementAndGet()));
+            }
+            // A zone's first route also leases an ID block and creates its stats row
+            drive(uri, 1, zoneIds.subList(0, 20), "Route A");
+            drive(uri, SEEDING_CLIENTS, zoneIds.subList(20, REQUESTS), "Route A");
+            context.getBean(ZoneExistenceCache.class).evictAll();
+
+            long start = System.nanoTime();
+            drive(uri, CLIENTS, zoneIds, "Route B");
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            if (virtualThreads) {
+                log.info("Pinning report: {}", context.getBean(VirtualThreadPinningMonitor.class).report());
+            }
+            return REQUESTS / seconds;
+        }
+    }
+
+    private void drive(URI uri, int concurrency, List<String> zoneIds, String routeName) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                results.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < zoneIds.size(); i = next.getAndIncrement()) {
+                        String body = "{\"zoneId\":\"" + zoneIds.get(i) + "\",\"routeName\":\"" + routeName + "\","
+                                + "\"pickupPoints\":\"P1,P2\",\"estimatedTime\":30}";
+                        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+                        assertThat(response.statusCode()).as(response.body()).isEqualTo(201);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+    }
+}
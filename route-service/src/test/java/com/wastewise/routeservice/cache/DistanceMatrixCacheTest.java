@@ -0,0 +1,165 @@
+package com.wastewise.routeservice.cache;
+
+import com.wastewise.routeservice.optimization.ZoneDistanceMatrix;
+import com.wastewise.routeservice.repository.RouteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * DistanceMatrixCacheTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for DistanceMatrixCache focusing on:
+ * - Hits, misses and byte-bounded eviction
+ * - Invalidation
+ * - Reuse of memory-mapped files across instances
+ * ------------------------------------------------------------------------------
+ */
+class DistanceMatrixCacheTest {
+
+    @Mock private RouteRepository routeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static List<Object[]> points(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{12.9 + i * 0.001, 77.5 + i * 0.002});
+        }
+        return rows;
+    }
+
+    private DistanceMatrixCache newCache(DataSize maxSize, String directory) {
+        return new DistanceMatrixCache(routeRepository, meterRegistry, maxSize, directory, Runnable::run);
+    }
+
+    private double counter(String source) {
+        return meterRegistry.get("route.distance.matrix.loads").tag("source", source).counter().count();
+    }
+
+    @Test
+    void get_buildsOnceAndReportsMetrics() {
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(100));
+        DistanceMatrixCache cache = newCache(DataSize.ofMegabytes(1), "");
+
+        ZoneDistanceMatrix first = cache.get("Z001");
+        ZoneDistanceMatrix second = cache.get("Z001");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.pointCount()).isEqualTo(100);
+        verify(routeRepository, times(1)).findZoneCoordinates("Z001");
+        assertThat(meterRegistry.get("route.distance.matrix.bytes").gauge().value()).isEqualTo(100 * 99 / 2 * 8.0);
+        assertThat(meterRegistry.get("route.distance.matrix.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void get_evictsZonesBeyondByteBudget() {
+        // 100 points take 39,600 bytes, so only one zone fits in 64 KB
+        when(routeRepository.findZoneCoordinates(anyString())).thenReturn(points(100));
+        DistanceMatrixCache cache = newCache(DataSize.ofKilobytes(64), "");
+
+        cache.get("Z001");
+        cache.get("Z002");
+        cache.get("Z003");
+
+        assertThat(meterRegistry.get("route.distance.matrix.bytes").gauge().value()).isLessThanOrEqualTo(64 * 1024.0);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "distanceMatrix").functionCounter().count())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void get_zoneWithoutCoordinates_isCachedAsEmpty() {
+        when(routeRepository.findZoneCoordinates("Z004")).thenReturn(List.of(), points(10));
+        DistanceMatrixCache cache = newCache(DataSize.ofMegabytes(1), "");
+
+        assertThat(cache.get("Z004")).isNull();
+        assertThat(cache.get("Z004")).isNull();
+        verify(routeRepository, times(1)).findZoneCoordinates("Z004");
+
+        cache.invalidate("Z004");
+        assertThat(cache.get("Z004").pointCount()).isEqualTo(10);
+    }
+
+    @Test
+    void get_matrixLargerThanByteBudget_isNotBuilt() {
+        // 100 points take 39,600 bytes
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(100));
+        DistanceMatrixCache cache = newCache(DataSize.ofKilobytes(32), "");
+
+        assertThat(cache.get("Z001")).isNull();
+        assertThat(cache.get("Z001")).isNull();
+        verify(routeRepository, times(1)).findZoneCoordinates("Z001");
+        assertThat(counter("computed")).isZero();
+    }
+
+    @Test
+    void invalidate_forcesRebuild() {
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(10), points(12));
+        DistanceMatrixCache cache = newCache(DataSize.ofMegabytes(1), "");
+
+        assertThat(cache.get("Z001").pointCount()).isEqualTo(10);
+        cache.invalidateAfterCommit("Z001");
+
+        assertThat(cache.get("Z001").pointCount()).isEqualTo(12);
+    }
+
+    @Test
+    void get_reusesMappedFileAfterRestart() {
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(50));
+        DistanceMatrixCache firstInstance = newCache(DataSize.ofMegabytes(1), directory.toString());
+        double expected = firstInstance.get("Z001").forStops(new double[]{12.9, 12.91}, new double[]{77.5, 77.52}).distance(0, 1);
+
+        DistanceMatrixCache restarted = newCache(DataSize.ofMegabytes(1), directory.toString());
+        double reloaded = restarted.get("Z001").forStops(new double[]{12.9, 12.91}, new double[]{77.5, 77.52}).distance(0, 1);
+
+        assertThat(reloaded).isEqualTo(expected).isPositive();
+        assertThat(Files.exists(directory.resolve("Z001.dmx"))).isTrue();
+        assertThat(counter("computed")).isEqualTo(1);
+        assertThat(counter("file")).isEqualTo(1);
+    }
+
+    @Test
+    void get_changedCoordinates_rewritesFile() {
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(50), points(51));
+        newCache(DataSize.ofMegabytes(1), directory.toString()).get("Z001");
+
+        ZoneDistanceMatrix rebuilt = newCache(DataSize.ofMegabytes(1), directory.toString()).get("Z001");
+
+        assertThat(rebuilt.pointCount()).isEqualTo(51);
+        assertThat(counter("computed")).isEqualTo(2);
+        assertThat(counter("file")).isZero();
+    }
+
+    @Test
+    void invalidate_deletesFile() {
+        when(routeRepository.findZoneCoordinates("Z001")).thenReturn(points(5));
+        DistanceMatrixCache cache = newCache(DataSize.ofMegabytes(1), directory.toString());
+        cache.get("Z001");
+
+        cache.invalidate("Z001");
+
+        assertThat(Files.exists(directory.resolve("Z001.dmx"))).isFalse();
+    }
+}
@@ -0,0 +1,139 @@
+package com.wastewise.routeservice.cache;
+
+import com.wastewise.routeservice.exception.custom.ZoneServiceUnavailableException;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.payload.RestResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneExistenceCacheTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for ZoneExistenceCache focusing on:
+ * - Positive and negative TTLs (driven by a manual ticker)
+ * - Explicit eviction
+ * - Failed zone-service calls are not cached
+ * - Asynchronous checks: shared lookups and per-caller deadlines
+ * ------------------------------------------------------------------------------
+ */
+class ZoneExistenceCacheTest {
+
+    @Mock private ZoneClient zoneClient;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ZoneExistenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new ZoneExistenceCache(zoneClient, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void exists_cachesPositiveAnswerForTtl() {
+        when(zoneClient.existsByZoneId("Z001")).thenReturn(RestResponse.<Boolean>builder().data(true).build());
+
+        assertThat(cache.exists("Z001")).isTrue();
+        advance(Duration.ofMinutes(4));
+        assertThat(cache.exists("Z001")).isTrue();
+        verify(zoneClient, times(1)).existsByZoneId("Z001");
+
+        advance(Duration.ofMinutes(2));
+        assertThat(cache.exists("Z001")).isTrue();
+        verify(zoneClient, times(2)).existsByZoneId("Z001");
+    }
+
+    @Test
+    void exists_cachesNegativeAnswerOnlyBriefly() {
+        when(zoneClient.existsByZoneId("Z002"))
+                .thenReturn(RestResponse.<Boolean>builder().data(false).build())
+                .thenReturn(RestResponse.<Boolean>builder().data(true).build());
+
+        assertThat(cache.exists("Z002")).isFalse();
+        advance(Duration.ofSeconds(10));
+        assertThat(cache.exists("Z002")).isFalse();
+
+        advance(Duration.ofSeconds(30));
+        assertThat(cache.exists("Z002")).isTrue();
+        verify(zoneClient, times(2)).existsByZoneId("Z002");
+    }
+
+    @Test
+    void evict_forcesFreshLookup() {
+        when(zoneClient.existsByZoneId("Z003"))
+                .thenReturn(RestResponse.<Boolean>builder().data(true).build())
+                .thenReturn(RestResponse.<Boolean>builder().data(false).build());
+
+        assertThat(cache.exists("Z003")).isTrue();
+        cache.evict("Z003");
+        assertThat(cache.exists("Z003")).isFalse();
+
+        cache.evictAll();
+        cache.exists("Z003");
+        verify(zoneClient, times(3)).existsByZoneId("Z003");
+    }
+
+    @Test
+    void exists_doesNotCacheFailures() {
+        when(zoneClient.existsByZoneId("Z004"))
+                .thenThrow(new IllegalStateException("zone-service down"))
+                .thenReturn(RestResponse.<Boolean>builder().data(true).build());
+
+        assertThatThrownBy(() -> cache.exists("Z004")).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.exists("Z004")).isTrue();
+    }
+
+    @Test
+    void existsAsync_sharesOneLookupBetweenConcurrentMisses() {
+        List<Runnable> lookups = new ArrayList<>();
+        ZoneExistenceCache asyncCache = new ZoneExistenceCache(zoneClient, 100, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofSeconds(5), nanos::get, lookups::add);
+        when(zoneClient.existsByZoneId("Z005")).thenReturn(RestResponse.<Boolean>builder().data(true).build());
+
+        CompletableFuture<Boolean> first = asyncCache.existsAsync("Z005");
+        CompletableFuture<Boolean> second = asyncCache.existsAsync("Z005");
+        assertThat(first).isNotDone();
+        assertThat(lookups).hasSize(1);
+
+        lookups.get(0).run();
+        assertThat(ZoneExistenceCache.await("Z005", first)).isTrue();
+        assertThat(ZoneExistenceCache.await("Z005", second)).isTrue();
+        assertThat(asyncCache.existsAsync("Z005")).isCompletedWithValue(true);
+        verify(zoneClient, times(1)).existsByZoneId("Z005");
+    }
+
+    @Test
+    void existsAsync_timesOutWithoutFailingTheLookup() {
+        List<Runnable> lookups = new ArrayList<>();
+        ZoneExistenceCache asyncCache = new ZoneExistenceCache(zoneClient, 100, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofMillis(20), nanos::get, lookups::add);
+        when(zoneClient.existsByZoneId("Z006")).thenReturn(RestResponse.<Boolean>builder().data(true).build());
+
+        CompletableFuture<Boolean> check = asyncCache.existsAsync("Z006");
+        assertThatThrownBy(() -> ZoneExistenceCache.await("Z006", check))
+                .isInstanceOf(ZoneServiceUnavailableException.class)
+                .hasMessageContaining("Z006");
+
+        // The late answer is still cached for the next request
+        lookups.get(0).run();
+        assertThat(asyncCache.exists("Z006")).isTrue();
+        verify(zoneClient, times(1)).existsByZoneId("Z006");
+    }
+}
@@ -1,12 +1,23 @@
 package com.wastewise.routeservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.routeservice.dto.BulkRouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.BulkRouteCreationResponseDTO;
+import com.wastewise.routeservice.dto.BulkRouteResultDTO;
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
 import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePageResponseDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
 import com.wastewise.routeservice.dto.RouteResponseDTO;
 import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
+import com.wastewise.routeservice.dto.ZoneRouteIdsRequestDTO;
+import com.wastewise.routeservice.dto.ZoneRouteStatsDTO;
+import com.wastewise.routeservice.entity.Route;
 import com.wastewise.routeservice.exception.GlobalExceptionHandler;
 import com.wastewise.routeservice.exception.custom.*;
 import com.wastewise.routeservice.service.RouteService;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.ResourceVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,12 +26,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,6 +65,9 @@ public class RouteControllerTest {
     @MockBean
     private RouteService routeService;
 
+    @MockBean
+    private RouteStatsService routeStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -58,6 +81,7 @@ public class RouteControllerTest {
                 .zoneId("Z001")
                 .pickupPoints("P1,P2")
                 .estimatedTime(30)
+                .version(0L)
                 .build();
     }
 
@@ -88,6 +112,33 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$.message").value("Zone with ID 'Z001' does not exist."));
     }
 
+    @Test
+    void createRoutes_bulk_returnsPerItemResults() throws Exception {
+        BulkRouteCreationRequestDTO request = new BulkRouteCreationRequestDTO(List.of(
+                new RouteCreationRequestDTO("Z001", "RouteA", "P1,P2", 30),
+                new RouteCreationRequestDTO("Z999", "RouteB", "P3", 20)));
+        BulkRouteCreationResponseDTO response = BulkRouteCreationResponseDTO.builder()
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BulkRouteResultDTO.builder().index(0).routeId("Z001-R001").zoneId("Z001")
+                                .routeName("RouteA").status(BulkRouteResultDTO.Status.CREATED).build(),
+                        BulkRouteResultDTO.builder().index(1).zoneId("Z999").routeName("RouteB")
+                                .status(BulkRouteResultDTO.Status.FAILED)
+                                .message("Zone with ID 'Z999' does not exist.").build()))
+                .build();
+        Mockito.when(routeService.createRoutes(any())).thenReturn(response);
+
+        mockMvc.perform(post("/wastewise/admin/routes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Bulk route creation processed"))
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.results[0].routeId").value("Z001-R001"))
+                .andExpect(jsonPath("$.data.results[1].status").value("FAILED"));
+    }
+
     @Test
     void updateRoute_success() throws Exception {
         RouteUpdateRequestDTO request = new RouteUpdateRequestDTO("RouteB", "P1,P2,P3", 40);
@@ -101,6 +152,46 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$.message").value("Route updated successfully"));
     }
 
+    @Test
+    void patchRoute_success() throws Exception {
+        RoutePatchRequestDTO request = RoutePatchRequestDTO.builder().version(3L).estimatedTime(45).build();
+        Mockito.when(routeService.patchRoute(eq("Z001-R001"), any())).thenReturn(RouteResponseDTO.builder()
+                .routeId("Z001-R001").zoneId("Z001").routeName("RouteA").estimatedTime(45).version(4L).build());
+
+        mockMvc.perform(patch("/wastewise/admin/routes/update/Z001-R001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.estimatedTime").value(45))
+                .andExpect(jsonPath("$.data.version").value(4))
+                .andExpect(jsonPath("$.message").value("Route updated successfully"));
+    }
+
+    @Test
+    void patchRoute_staleVersion_returnsConflict() throws Exception {
+        RoutePatchRequestDTO request = RoutePatchRequestDTO.builder().version(2L).routeName("RouteB").build();
+        Mockito.when(routeService.patchRoute(eq("Z001-R001"), any()))
+                .thenThrow(new RouteVersionConflictException("Z001-R001", 2L));
+
+        mockMvc.perform(patch("/wastewise/admin/routes/update/Z001-R001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Route with ID Z001-R001 was changed since version 2; reload it and retry."));
+    }
+
+    @Test
+    void updateRoute_concurrentUpdate_returnsConflict() throws Exception {
+        RouteUpdateRequestDTO request = new RouteUpdateRequestDTO("RouteB", "P1,P2,P3", 40);
+        Mockito.when(routeService.updateRoute(eq("Z001-R001"), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Route.class, "Z001-R001"));
+
+        mockMvc.perform(put("/wastewise/admin/routes/update/Z001-R001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void updateRoute_noChanges_throwsException() throws Exception {
         RouteUpdateRequestDTO request = new RouteUpdateRequestDTO("RouteA", "P1,P2", 30);
@@ -117,17 +208,32 @@ public class RouteControllerTest {
 
     @Test
     void getRouteById_success() throws Exception {
+        Mockito.when(routeService.getRouteVersion("Z001-R001"))
+                .thenReturn(new ResourceVersion("\"Z001-R001.1\"", 1_714_557_600_000L));
         Mockito.when(routeService.getRouteById("Z001-R001")).thenReturn(mockRoute);
 
         mockMvc.perform(get("/wastewise/admin/routes/Z001-R001"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"Z001-R001.1\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.data.routeId").value("Z001-R001"))
                 .andExpect(jsonPath("$.message").value("Route retrieved successfully"));
     }
 
+    @Test
+    void getRouteById_matchingETag_returnsNotModifiedWithoutLoading() throws Exception {
+        Mockito.when(routeService.getRouteVersion("Z001-R001"))
+                .thenReturn(new ResourceVersion("\"Z001-R001.1\"", 1_714_557_600_000L));
+
+        mockMvc.perform(get("/wastewise/admin/routes/Z001-R001").header("If-None-Match", "\"Z001-R001.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        Mockito.verify(routeService, Mockito.never()).getRouteById(any());
+    }
+
     @Test
     void getRouteById_notFound() throws Exception {
-        Mockito.when(routeService.getRouteById("INVALID"))
+        Mockito.when(routeService.getRouteVersion("INVALID"))
                 .thenThrow(new RouteNotFoundException("INVALID"));
 
         mockMvc.perform(get("/wastewise/admin/routes/INVALID"))
@@ -137,14 +243,111 @@ public class RouteControllerTest {
 
     @Test
     void getAllRoutes_success() throws Exception {
+        Mockito.when(routeService.getAllRoutesVersion()).thenReturn(new ResourceVersion("\"routes.1.7\"", -1));
         Mockito.when(routeService.getAllRoutes()).thenReturn(List.of(mockRoute));
 
         mockMvc.perform(get("/wastewise/admin/routes/list"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"routes.1.7\""))
                 .andExpect(jsonPath("$.data[0].routeId").value("Z001-R001"))
                 .andExpect(jsonPath("$.message").value("Routes retrieved successfully"));
     }
 
+    @Test
+    void getAllRoutes_staleETag_returnsFreshList() throws Exception {
+        Mockito.when(routeService.getAllRoutesVersion()).thenReturn(new ResourceVersion("\"routes.1.8\"", -1));
+        Mockito.when(routeService.getAllRoutes()).thenReturn(List.of(mockRoute));
+
+        mockMvc.perform(get("/wastewise/admin/routes/list").header("If-None-Match", "\"routes.1.7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"routes.1.8\""));
+
+        mockMvc.perform(get("/wastewise/admin/routes/list").header("If-None-Match", "\"routes.1.8\""))
+                .andExpect(status().isNotModified());
+        Mockito.verify(routeService, Mockito.times(1)).getAllRoutes();
+    }
+
+    @Test
+    void getRoutesPage_success() throws Exception {
+        RoutePageResponseDTO page = RoutePageResponseDTO.builder()
+                .routes(List.of(mockRoute))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("abc")
+                .build();
+        Mockito.when(routeService.getRoutesPage("Z001", "estimatedTime", "desc", 1, null)).thenReturn(page);
+
+        mockMvc.perform(get("/wastewise/admin/routes/page")
+                        .param("zoneId", "Z001")
+                        .param("sortBy", "estimatedTime")
+                        .param("direction", "desc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.routes[0].routeId").value("Z001-R001"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.message").value("Routes retrieved successfully"));
+    }
+
+    @Test
+    void getRoutesPage_invalidSort_returnsBadRequest() throws Exception {
+        Mockito.when(routeService.getRoutesPage(any(), eq("bogus"), any(), any(), any()))
+                .thenThrow(new InvalidRouteDetailsException("unsupported sort 'bogus'"));
+
+        mockMvc.perform(get("/wastewise/admin/routes/page").param("sortBy", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportRoutes_writesOneJsonLinePerRoute() throws Exception {
+        RouteResponseDTO second = RouteResponseDTO.builder()
+                .routeId("Z001-R002").routeName("RouteB").zoneId("Z001").pickupPoints("P3").estimatedTime(15).build();
+        Mockito.when(routeService.streamAllRoutes(any())).thenAnswer(invocation -> {
+            Consumer<RouteResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(mockRoute);
+            sink.accept(second);
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/wastewise/admin/routes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], RouteResponseDTO.class).getRouteId()).isEqualTo("Z001-R001");
+        assertThat(objectMapper.readValue(lines[1], RouteResponseDTO.class).getRouteId()).isEqualTo("Z001-R002");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportRoutes_gzipWhenAccepted() throws Exception {
+        Mockito.when(routeService.streamAllRoutes(any())).thenAnswer(invocation -> {
+            ((Consumer<RouteResponseDTO>) invocation.getArgument(0)).accept(mockRoute);
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/wastewise/admin/routes/export").header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(objectMapper.readValue(body.trim(), RouteResponseDTO.class).getRouteId()).isEqualTo("Z001-R001");
+        }
+    }
+
     @Test
     void deleteRoute_success() throws Exception {
         Mockito.doNothing().when(routeService).deleteRoute("Z001-R001");
@@ -155,6 +358,16 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void deleteZoneRoutesBatch_returnsDeletedCount() throws Exception {
+        Mockito.when(routeService.deleteRoutesBatch("Z001", 200)).thenReturn(200);
+
+        mockMvc.perform(delete("/wastewise/admin/routes/zone/Z001/batch").param("limit", "200"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Batch of zone routes deleted"))
+                .andExpect(jsonPath("$.data").value(200));
+    }
+
     @Test
     void getRoutesByZoneId_success() throws Exception {
         Mockito.when(routeService.getRouteIdsByZoneId("Z001"))
@@ -166,4 +379,67 @@ public class RouteControllerTest {
                 .andExpect(jsonPath("$.data[1]").value("Z001-R002"))
                 .andExpect(jsonPath("$.message").value("Routes retrieved successfully"));
     }
+
+    @Test
+    void getRoutesNear_success() throws Exception {
+        Mockito.when(routeService.findRoutesNear(12.9, 77.5, 500, null))
+                .thenReturn(List.of(new NearbyRouteDTO("Z001-R001", "Z001", 120.5)));
+
+        mockMvc.perform(get("/wastewise/admin/routes/near")
+                        .param("lat", "12.9").param("lon", "77.5").param("radius", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].routeId").value("Z001-R001"))
+                .andExpect(jsonPath("$.data[0].distanceMeters").value(120.5))
+                .andExpect(jsonPath("$.message").value("Nearby routes retrieved successfully"));
+    }
+
+    @Test
+    void getRoutesNear_invalidRadius_returnsBadRequest() throws Exception {
+        Mockito.when(routeService.findRoutesNear(12.9, 77.5, 0, null))
+                .thenThrow(new InvalidRouteDetailsException("radius must be greater than 0 and at most 50000 metres"));
+
+        mockMvc.perform(get("/wastewise/admin/routes/near")
+                        .param("lat", "12.9").param("lon", "77.5").param("radius", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNearestRoutes_success() throws Exception {
+        Mockito.when(routeService.findNearestRoutes(12.9, 77.5, 2))
+                .thenReturn(List.of(new NearbyRouteDTO("Z001-R001", "Z001", 10.0),
+                        new NearbyRouteDTO("Z002-R004", "Z002", 35.0)));
+
+        mockMvc.perform(get("/wastewise/admin/routes/nearest")
+                        .param("lat", "12.9").param("lon", "77.5").param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[1].routeId").value("Z002-R004"));
+    }
+
+    @Test
+    void getRouteIdsByZoneIds_success() throws Exception {
+        Map<String, List<String>> routeIds = new LinkedHashMap<>();
+        routeIds.put("Z001", List.of("Z001-R001", "Z001-R002"));
+        routeIds.put("Z002", List.of());
+        Mockito.when(routeService.getRouteIdsByZoneIds(List.of("Z001", "Z002"))).thenReturn(routeIds);
+
+        mockMvc.perform(post("/wastewise/admin/routes/zones/ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ZoneRouteIdsRequestDTO(List.of("Z001", "Z002")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.Z001[1]").value("Z001-R002"))
+                .andExpect(jsonPath("$.data.Z002").isEmpty())
+                .andExpect(jsonPath("$.message").value("Routes retrieved successfully"));
+    }
+
+    @Test
+    void getRouteStats_success() throws Exception {
+        Mockito.when(routeStatsService.getZoneStats())
+                .thenReturn(List.of(new ZoneRouteStatsDTO("Z001", 4, 100, 25.0, null)));
+
+        mockMvc.perform(get("/wastewise/admin/routes/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].zoneId").value("Z001"))
+                .andExpect(jsonPath("$.data[0].averageEstimatedTime").value(25.0))
+                .andExpect(jsonPath("$.message").value("Route statistics retrieved successfully"));
+    }
 }
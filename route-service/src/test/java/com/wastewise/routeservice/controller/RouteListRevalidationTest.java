@@ -0,0 +1,118 @@
+package com.wastewise.routeservice.controller;
+
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.dto.PickupPointDTO;
+import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.payload.RestResponse;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.repository.ZoneRouteStatsRepository;
+import com.wastewise.routeservice.service.RouteService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteListRevalidationTest
+ * ------------------------------------------------------------------------------
+ * Revalidates GET /routes/list against H2 after requests that change the list
+ * without changing any route count or total time:
+ * - An applied optimization answers the old ETag with 200 and a new ETag
+ * - A dry run keeps the ETag, so the old one still gets 304
+ * ------------------------------------------------------------------------------
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:route_list_revalidation;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class RouteListRevalidationTest {
+
+    private static final String BASE = RouteConstants.BASE_ROUTE_API;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private ZoneRouteStatsRepository statsRepository;
+
+    @Autowired
+    private RouteSpatialIndex routeSpatialIndex;
+
+    @MockBean
+    private ZoneClient zoneClient;
+
+    private RouteResponseDTO route;
+
+    @BeforeEach
+    void seedRoute() {
+        when(zoneClient.existsByZoneId(anyString())).thenReturn(RestResponse.<Boolean>builder().data(true).build());
+        // Stops along one meridian, entered out of order: start, far, near, middle
+        route = routeService.createRoute(new RouteCreationRequestDTO("Z001", "Zig Zag", null, 30, List.of(
+                new PickupPointDTO("Start", 12.90, 77.5),
+                new PickupPointDTO("Far", 12.93, 77.5),
+                new PickupPointDTO("Near", 12.91, 77.5),
+                new PickupPointDTO("Middle", 12.92, 77.5))));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAll();
+        statsRepository.deleteAll();
+        routeSpatialIndex.rebuild();
+    }
+
+    @Test
+    void optimizeRoute_changesListETag() throws Exception {
+        String eTag = listETag();
+
+        mockMvc.perform(post(BASE + "/" + route.getRouteId() + "/optimize"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.applied").value(true));
+
+        String revalidated = mockMvc.perform(get(BASE + "/list").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].pickupPoints").value("Start,Near,Middle,Far"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(revalidated).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void optimizeRoute_dryRun_keepsListETag() throws Exception {
+        String eTag = listETag();
+
+        mockMvc.perform(post(BASE + "/" + route.getRouteId() + "/optimize").param("dryRun", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.applied").value(false));
+
+        mockMvc.perform(get(BASE + "/list").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String listETag() throws Exception {
+        return mockMvc.perform(get(BASE + "/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
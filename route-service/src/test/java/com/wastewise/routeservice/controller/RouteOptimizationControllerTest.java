@@ -0,0 +1,109 @@
+package com.wastewise.routeservice.controller;
+
+import com.wastewise.routeservice.dto.RouteOptimizationResultDTO;
+import com.wastewise.routeservice.dto.ZonePartitionPlanDTO;
+import com.wastewise.routeservice.exception.GlobalExceptionHandler;
+import com.wastewise.routeservice.exception.custom.InvalidRouteDetailsException;
+import com.wastewise.routeservice.exception.custom.RouteNotFoundException;
+import com.wastewise.routeservice.service.RouteOptimizationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteOptimizationControllerTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for RouteOptimizationController using @WebMvcTest
+ * ------------------------------------------------------------------------------
+ */
+@WebMvcTest(RouteOptimizationController.class)
+@ContextConfiguration(classes = {RouteOptimizationController.class, GlobalExceptionHandler.class})
+@Import(GlobalExceptionHandler.class)
+public class RouteOptimizationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RouteOptimizationService routeOptimizationService;
+
+    private static RouteOptimizationResultDTO result(String routeId, boolean applied) {
+        return RouteOptimizationResultDTO.builder()
+                .routeId(routeId).stopCount(3).originalDistanceMeters(900).optimizedDistanceMeters(600)
+                .pickupPoints("A,C,B").applied(applied).build();
+    }
+
+    @Test
+    void optimizeRoute_success() throws Exception {
+        Mockito.when(routeOptimizationService.optimizeRoute("Z001-R001", false)).thenReturn(result("Z001-R001", true));
+
+        mockMvc.perform(post("/wastewise/admin/routes/Z001-R001/optimize"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Route optimized successfully"))
+                .andExpect(jsonPath("$.data.pickupPoints").value("A,C,B"))
+                .andExpect(jsonPath("$.data.applied").value(true));
+    }
+
+    @Test
+    void optimizeRoute_dryRun_passesFlag() throws Exception {
+        Mockito.when(routeOptimizationService.optimizeRoute("Z001-R001", true)).thenReturn(result("Z001-R001", false));
+
+        mockMvc.perform(post("/wastewise/admin/routes/Z001-R001/optimize").param("dryRun", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.applied").value(false));
+    }
+
+    @Test
+    void optimizeRoute_notFound() throws Exception {
+        Mockito.when(routeOptimizationService.optimizeRoute("Z001-R999", false))
+                .thenThrow(new RouteNotFoundException("Z001-R999"));
+
+        mockMvc.perform(post("/wastewise/admin/routes/Z001-R999/optimize"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void optimizeZone_success() throws Exception {
+        Mockito.when(routeOptimizationService.optimizeZone("Z001", false))
+                .thenReturn(List.of(result("Z001-R001", true), result("Z001-R002", true)));
+
+        mockMvc.perform(post("/wastewise/admin/routes/zone/Z001/optimize"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Zone routes optimized successfully"))
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    void partitionZone_success() throws Exception {
+        Mockito.when(routeOptimizationService.partitionZone("Z001", 4, null))
+                .thenReturn(ZonePartitionPlanDTO.builder().zoneId("Z001").pointCount(40)
+                        .routes(List.of()).removedRouteIds(List.of("Z001-R009")).build());
+
+        mockMvc.perform(get("/wastewise/admin/routes/zone/Z001/partition").param("routes", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Zone partition proposal computed (dry run, nothing saved)"))
+                .andExpect(jsonPath("$.data.pointCount").value(40))
+                .andExpect(jsonPath("$.data.removedRouteIds[0]").value("Z001-R009"));
+    }
+
+    @Test
+    void partitionZone_missingTarget_returnsBadRequest() throws Exception {
+        Mockito.when(routeOptimizationService.partitionZone("Z001", null, null))
+                .thenThrow(new InvalidRouteDetailsException("exactly one of routes or maxMinutes must be given"));
+
+        mockMvc.perform(get("/wastewise/admin/routes/zone/Z001/partition"))
+                .andExpect(status().isBadRequest());
+    }
+}
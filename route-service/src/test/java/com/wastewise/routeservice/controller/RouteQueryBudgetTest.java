@@ -0,0 +1,303 @@
+package com.wastewise.routeservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.routeservice.constant.RouteConstants;
+import com.wastewise.routeservice.dto.BulkRouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.PickupPointDTO;
+import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
+import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
+import com.wastewise.routeservice.dto.ZoneRouteIdsRequestDTO;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.payload.RestResponse;
+import com.wastewise.routeservice.querycount.MaxQueries;
+import com.wastewise.routeservice.querycount.QueryBudgetExtension;
+import com.wastewise.routeservice.querycount.QueryCountingConfig;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.repository.ZoneRouteStatsRepository;
+import com.wastewise.routeservice.service.RouteService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteQueryBudgetTest
+ * ------------------------------------------------------------------------------
+ * Calls every Route Service endpoint against H2 and counts the SQL statements
+ * each request executes. A request over its @MaxQueries budget fails with the
+ * statements listed, so an added lazy load or N+1 query shows up in review.
+ * Routes are seeded through RouteService before each test, outside any request.
+ * Route IDs are leased in blocks of 1000; bulk creation always leases its own block.
+ * ------------------------------------------------------------------------------
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:route_query_budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        // One lease during the first seeding lasts the whole class, so no budget depends on test order
+        "route.id-block-size=1000"
+})
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+@ExtendWith(QueryBudgetExtension.class)
+class RouteQueryBudgetTest {
+
+    private static final String BASE = RouteConstants.BASE_ROUTE_API;
+    private static final String ZONE_ID = "Z001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private ZoneRouteStatsRepository statsRepository;
+
+    @Autowired
+    private RouteSpatialIndex routeSpatialIndex;
+
+    @MockBean
+    private ZoneClient zoneClient;
+
+    private RouteResponseDTO route;
+
+    @BeforeEach
+    void seedRoutes() {
+        when(zoneClient.existsByZoneId(anyString())).thenReturn(RestResponse.<Boolean>builder().data(true).build());
+        route = routeService.createRoute(creation("North Loop", 0.00));
+        routeService.createRoute(creation("East Loop", 0.01));
+        routeService.createRoute(creation("South Loop", 0.02));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAll();
+        statsRepository.deleteAll();
+        routeSpatialIndex.rebuild();
+    }
+
+    @Test
+    @MaxQueries(3)
+    void createRoute() throws Exception {
+        mockMvc.perform(post(BASE + "/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(creation("West Loop", 0.03))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @MaxQueries(6)
+    void createRoutes() throws Exception {
+        BulkRouteCreationRequestDTO bulk = new BulkRouteCreationRequestDTO(List.of(
+                creation("Bulk A", 0.04), creation("Bulk B", 0.05), creation("Bulk C", 0.06)));
+        mockMvc.perform(post(BASE + "/bulk").contentType(MediaType.APPLICATION_JSON).content(json(bulk)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(3));
+    }
+
+    @Test
+    @MaxQueries(3)
+    void updateRoute() throws Exception {
+        RouteUpdateRequestDTO update = new RouteUpdateRequestDTO("North Loop", null, 45, points(0.00));
+        mockMvc.perform(put(BASE + "/update/" + route.getRouteId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(update)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(4)
+    void patchRoute_scalarFields() throws Exception {
+        RoutePatchRequestDTO patch = new RoutePatchRequestDTO();
+        patch.setVersion(route.getVersion());
+        patch.setEstimatedTime(50);
+        mockMvc.perform(patch(BASE + "/update/" + route.getRouteId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(patch)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(5)
+    void patchRoute_points() throws Exception {
+        RoutePatchRequestDTO patch = new RoutePatchRequestDTO();
+        patch.setVersion(route.getVersion());
+        patch.setPoints(points(0.09));
+        mockMvc.perform(patch(BASE + "/update/" + route.getRouteId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(patch)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(4)
+    void deleteRoute() throws Exception {
+        mockMvc.perform(delete(BASE + "/delete/" + route.getRouteId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(4)
+    void deleteZoneRoutesBatch() throws Exception {
+        mockMvc.perform(delete(BASE + "/zone/" + ZONE_ID + "/batch").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(3));
+    }
+
+    @Test
+    @MaxQueries(3)
+    void getAllRoutes() throws Exception {
+        mockMvc.perform(get(BASE + "/list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getAllRoutes_notModified() throws Exception {
+        String eTag = routeService.getAllRoutesVersion().eTag();
+        mockMvc.perform(get(BASE + "/list").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @MaxQueries(2)
+    void getRoutesPage() throws Exception {
+        mockMvc.perform(get(BASE + "/page").param("zoneId", ZONE_ID).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void exportRoutes() throws Exception {
+        MvcResult started = mockMvc.perform(get(BASE + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(0)
+    void getRoutesNear() throws Exception {
+        mockMvc.perform(get(BASE + "/near").param("lat", "12.97").param("lon", "77.59").param("radius", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    @MaxQueries(0)
+    void getNearestRoutes() throws Exception {
+        mockMvc.perform(get(BASE + "/nearest").param("lat", "12.97").param("lon", "77.59").param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getRouteStats() throws Exception {
+        mockMvc.perform(get(BASE + "/stats"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(2)
+    void getRouteById() throws Exception {
+        mockMvc.perform(get(BASE + "/" + route.getRouteId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getRouteById_notModified() throws Exception {
+        String eTag = routeService.getRouteVersion(route.getRouteId()).eTag();
+        mockMvc.perform(get(BASE + "/" + route.getRouteId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getRoutesByZoneId() throws Exception {
+        mockMvc.perform(get(BASE + "/zone/" + ZONE_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getRouteIdsByZoneIds() throws Exception {
+        ZoneRouteIdsRequestDTO request = new ZoneRouteIdsRequestDTO(List.of(ZONE_ID, "Z002", "Z003"));
+        mockMvc.perform(post(BASE + "/zones/ids").contentType(MediaType.APPLICATION_JSON).content(json(request)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(2)
+    void optimizeRoute() throws Exception {
+        mockMvc.perform(post(BASE + "/" + route.getRouteId() + "/optimize"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(3)
+    void optimizeZone() throws Exception {
+        mockMvc.perform(post(BASE + "/zone/" + ZONE_ID + "/optimize"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(1)
+    void partitionZone() throws Exception {
+        mockMvc.perform(get(BASE + "/zone/" + ZONE_ID + "/partition").param("routes", "2"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(0)
+    void evictZoneCache() throws Exception {
+        mockMvc.perform(delete(RouteConstants.ZONE_CACHE_API + "/" + ZONE_ID))
+                .andExpect(status().isOk());
+    }
+
+    private static RouteCreationRequestDTO creation(String name, double offset) {
+        return new RouteCreationRequestDTO(ZONE_ID, name, null, 30, points(offset));
+    }
+
+    private static List<PickupPointDTO> points(double offset) {
+        return List.of(
+                new PickupPointDTO("Stop 1", 12.97 + offset, 77.59),
+                new PickupPointDTO("Stop 2", 12.97 + offset, 77.60),
+                new PickupPointDTO("Stop 3", 12.98 + offset, 77.60),
+                new PickupPointDTO("Stop 4", 12.98 + offset, 77.59));
+    }
+
+    private String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wastewise.routeservice.controller;
+
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneCacheControllerTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for ZoneCacheController using @WebMvcTest
+ * ------------------------------------------------------------------------------
+ */
+@WebMvcTest(ZoneCacheController.class)
+@ContextConfiguration(classes = {ZoneCacheController.class, GlobalExceptionHandler.class})
+@Import(GlobalExceptionHandler.class)
+public class ZoneCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ZoneExistenceCache zoneExistenceCache;
+
+    @Test
+    void evictZone_success() throws Exception {
+        mockMvc.perform(delete("/wastewise/admin/routes/cache/zones/Z001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Zone existence cache entry evicted"));
+
+        Mockito.verify(zoneExistenceCache).evict("Z001");
+    }
+
+    @Test
+    void evictAllZones_success() throws Exception {
+        mockMvc.perform(delete("/wastewise/admin/routes/cache/zones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Zone existence cache cleared"));
+
+        Mockito.verify(zoneExistenceCache).evictAll();
+    }
+}
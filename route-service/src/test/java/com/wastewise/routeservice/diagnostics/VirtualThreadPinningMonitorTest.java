@@ -0,0 +1,75 @@
+package com.wastewise.routeservice.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * VirtualThreadPinningMonitorTest
+ * ------------------------------------------------------------------------------
+ * Runs the JFR stream for real:
+ * - A virtual thread sleeping inside synchronized is reported with its site
+ * - A disabled monitor reports that it is not monitoring
+ * ------------------------------------------------------------------------------
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void report_sleepInsideSynchronized_recordsPinningSite() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), true, Duration.ofMillis(10), true);
+        monitor.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+        // JFR streams flush about once a second
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (((Number) monitor.report().get("pinnedEvents")).longValue() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        Map<String, Object> report = monitor.report();
+        assertThat(report).containsEntry("monitoring", true).containsEntry("virtualRequestThreads", true);
+        assertThat(((Number) report.get("pinnedEvents")).longValue()).isPositive();
+        List<Map<String, Object>> sites = monitor.topSites();
+        assertThat(sites).anySatisfy(site ->
+                assertThat((String) site.get("site")).contains(getClass().getName() + ".sleepWhileHoldingLock"));
+    }
+
+    @Test
+    void report_disabled_isNotMonitoring() {
+        monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry(), false, Duration.ofMillis(20), false);
+        monitor.start();
+
+        assertThat(monitor.report())
+                .containsEntry("monitoring", false)
+                .containsEntry("pinnedEvents", 0L)
+                .containsEntry("sites", List.of());
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.wastewise.routeservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ------------------------------------------------------------------------------
+ * LoggingThroughputBenchmark
+ * ------------------------------------------------------------------------------
+ * JMH benchmark of the log lines one route request writes (two controller INFO
+ * lines and one service INFO line), from 8 request threads:
+ * - sync: the previous setup, every thread formats and writes under the
+ *   appender lock with a flush per event, as the plain console appender does
+ * - async: logback-spring.xml's AsyncAppender in front of the same appender
+ * - asyncSampled: async plus RateLimitingTurboFilter at 50 events per logger
+ *   and second, the configured default
+ * The appender writes to a discarding stream; consoleFlushMicros > 0 parks the
+ * writing thread on every flush, like a console that cannot keep up. The async
+ * setups drop INFO events once their queue is 80% full instead of waiting.
+ * Not part of the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=LoggingThroughputBenchmark
+ * ------------------------------------------------------------------------------
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingThroughputBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async", "asyncSampled"})
+    private String setup;
+
+    @Param({"0", "50"})
+    private long consoleFlushMicros;
+
+    private LoggerContext context;
+    private Logger controller;
+    private Logger service;
+    private final AtomicLong routeNumber = new AtomicLong();
+
+    @Setup
+    public void configureLogging() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(new SlowConsole(TimeUnit.MICROSECONDS.toNanos(consoleFlushMicros)));
+        console.start();
+
+        Appender<ILoggingEvent> target = console;
+        if (!setup.equals("sync")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            target = async;
+        }
+        if (setup.equals("asyncSampled")) {
+            RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+            filter.addLogger("com.wastewise.routeservice.controller");
+            filter.addLogger("com.wastewise.routeservice.service.impl");
+            filter.setMaxPerSecond(50);
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(target);
+        controller = context.getLogger("com.wastewise.routeservice.controller.RouteController");
+        service = context.getLogger("com.wastewise.routeservice.service.impl.RouteServiceImpl");
+    }
+
+    @TearDown
+    public void stopLogging() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logRequest() {
+        String routeId = "Z001-R" + routeNumber.incrementAndGet();
+        controller.info("Received request to fetch route with ID: {}", routeId);
+        service.info("Fetching route by ID: {}", routeId);
+        controller.info("Returning route with ID: {}", routeId);
+    }
+
+    /**
+     * Discards the output and blocks for a fixed time on each flush.
+     */
+    private static final class SlowConsole extends OutputStream {
+
+        private final long flushNanos;
+
+        private SlowConsole(long flushNanos) {
+            this.flushNanos = flushNanos;
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+            if (flushNanos > 0) {
+                LockSupport.parkNanos(flushNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.wastewise.routeservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RateLimitingTurboFilterTest
+ * ------------------------------------------------------------------------------
+ * Runs the filter in a private LoggerContext with a list appender:
+ * - INFO events beyond the per-second budget are dropped, WARN always passes
+ * - Every logger below a configured name has its own budget; others are free
+ * - Level checks and events below the logger's level use no budget
+ * ------------------------------------------------------------------------------
+ */
+class RateLimitingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        filter.addLogger("com.wastewise.routeservice.controller");
+        filter.setMaxPerSecond(3);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void decide_infoOverBudget_droppedButWarningsPass() {
+        Logger controller = context.getLogger("com.wastewise.routeservice.controller.RouteController");
+
+        for (int i = 0; i < 10; i++) {
+            controller.info("Received request to fetch route with ID: {}", i);
+        }
+        controller.warn("Route not found");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel)
+                .containsExactly(Level.INFO, Level.INFO, Level.INFO, Level.WARN);
+        assertThat(filter.getSuppressed()).isEqualTo(7);
+    }
+
+    @Test
+    void decide_budgetIsPerLogger_andOtherLoggersAreUnlimited() {
+        Logger routes = context.getLogger("com.wastewise.routeservice.controller.RouteController");
+        Logger cache = context.getLogger("com.wastewise.routeservice.controller.ZoneCacheController");
+        Logger service = context.getLogger("com.wastewise.routeservice.service.impl.RouteServiceImpl");
+
+        for (int i = 0; i < 5; i++) {
+            routes.info("route {}", i);
+            cache.info("cache {}", i);
+            service.info("service {}", i);
+        }
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLoggerName)
+                .filteredOn(name -> name.endsWith("RouteController")).hasSize(3);
+        assertThat(appender.list).extracting(ILoggingEvent::getLoggerName)
+                .filteredOn(name -> name.endsWith("ZoneCacheController")).hasSize(3);
+        assertThat(appender.list).extracting(ILoggingEvent::getLoggerName)
+                .filteredOn(name -> name.endsWith("RouteServiceImpl")).hasSize(5);
+    }
+
+    @Test
+    void decide_levelChecksAndDisabledEvents_useNoBudget() {
+        Logger controller = context.getLogger("com.wastewise.routeservice.controller.RouteController");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(controller.isInfoEnabled()).isTrue();
+            controller.debug("below the logger level {}", i);
+        }
+        controller.info("first");
+        controller.info("second");
+        controller.info("third");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getMessage).containsExactly("first", "second", "third");
+        assertThat(filter.getSuppressed()).isZero();
+    }
+}
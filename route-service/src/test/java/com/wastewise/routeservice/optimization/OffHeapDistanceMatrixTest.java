@@ -0,0 +1,77 @@
+package com.wastewise.routeservice.optimization;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * OffHeapDistanceMatrixTest
+ * ------------------------------------------------------------------------------
+ * Checks the triangular off-heap layout against the on-heap matrix.
+ * ------------------------------------------------------------------------------
+ */
+class OffHeapDistanceMatrixTest {
+
+    private static final Random RANDOM = new Random(11);
+
+    private static double[] coordinates(int n, double base) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = base + RANDOM.nextDouble() * 0.2;
+        }
+        return values;
+    }
+
+    @Test
+    void compute_matchesOnHeapMatrix() {
+        double[] latitudes = coordinates(57, 12.9);
+        double[] longitudes = coordinates(57, 77.5);
+        DistanceMatrix onHeap = ArrayDistanceMatrix.haversine(latitudes, longitudes);
+
+        OffHeapDistanceMatrix offHeap = OffHeapDistanceMatrix.compute(latitudes, longitudes);
+
+        assertThat(offHeap.byteSize()).isEqualTo(57L * 56 / 2 * Double.BYTES);
+        for (int i = 0; i < 57; i++) {
+            for (int j = 0; j < 57; j++) {
+                assertThat(offHeap.distance(i, j)).isEqualTo(onHeap.distance(i, j));
+            }
+        }
+    }
+
+    @Test
+    void wrap_readsPreviouslyComputedBuffer() {
+        double[] latitudes = coordinates(10, 12.9);
+        double[] longitudes = coordinates(10, 77.5);
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) OffHeapDistanceMatrix.byteSize(10));
+        OffHeapDistanceMatrix written = OffHeapDistanceMatrix.compute(latitudes, longitudes, buffer);
+
+        OffHeapDistanceMatrix read = OffHeapDistanceMatrix.wrap(10, buffer.duplicate());
+
+        assertThat(read.distance(3, 8)).isEqualTo(written.distance(8, 3)).isPositive();
+    }
+
+    @Test
+    void zoneView_mapsRouteStopsToZonePoints() {
+        double[] latitudes = coordinates(6, 12.9);
+        double[] longitudes = coordinates(6, 77.5);
+        ZoneDistanceMatrix zone = new ZoneDistanceMatrix(latitudes, longitudes, OffHeapDistanceMatrix.compute(latitudes, longitudes));
+
+        DistanceMatrix view = zone.forStops(new double[]{latitudes[4], latitudes[1]}, new double[]{longitudes[4], longitudes[1]});
+
+        assertThat(view.size()).isEqualTo(2);
+        assertThat(view.distance(0, 1)).isEqualTo(ArrayDistanceMatrix.haversine(latitudes, longitudes).distance(4, 1));
+        assertThat(zone.forStops(new double[]{0}, new double[]{0})).isNull();
+    }
+
+    @Test
+    void compute_rejectsOversizedMatrix() {
+        double[] tooMany = new double[OffHeapDistanceMatrix.MAX_SIZE + 1];
+
+        assertThatThrownBy(() -> OffHeapDistanceMatrix.compute(tooMany, tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.wastewise.routeservice.optimization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RoutePartitionerTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for the sweep + k-means + rebalance zone partitioning.
+ * ------------------------------------------------------------------------------
+ */
+@Slf4j
+class RoutePartitionerTest {
+
+    private static double[] filled(int length, double value) {
+        double[] values = new double[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    @Test
+    @DisplayName("Two distant clusters end up in separate groups")
+    void partition_separatesDistantClusters() {
+        double[] latitudes = {12.900, 12.901, 12.902, 12.900, 13.100, 13.101, 13.102, 13.100};
+        double[] longitudes = {77.500, 77.501, 77.500, 77.502, 77.700, 77.701, 77.700, 77.702};
+
+        RoutePartitioner.Partition partition = RoutePartitioner.partition(
+                latitudes, longitudes, filled(8, 10), 2, 38, 42, 50);
+
+        int[] assignment = partition.assignment();
+        assertThat(Arrays.copyOfRange(assignment, 0, 4)).containsOnly(assignment[0]);
+        assertThat(Arrays.copyOfRange(assignment, 4, 8)).containsOnly(assignment[4]);
+        assertThat(assignment[0]).isNotEqualTo(assignment[4]);
+        assertThat(partition.loads()).containsExactlyInAnyOrder(40.0, 40.0);
+    }
+
+    @Test
+    @DisplayName("The rebalance moves points from a heavy cluster to its neighbour")
+    void partition_rebalancesUnevenClusters() {
+        // Six points in the west, two in the east: k-means alone would split 6 / 2
+        double[] latitudes = {12.900, 12.901, 12.902, 12.903, 12.904, 12.905, 12.900, 12.901};
+        double[] longitudes = {77.500, 77.501, 77.502, 77.503, 77.504, 77.505, 77.600, 77.601};
+
+        RoutePartitioner.Partition partition = RoutePartitioner.partition(
+                latitudes, longitudes, filled(8, 1), 2, 4, 4, 50);
+
+        assertThat(partition.loads()).containsExactly(4.0, 4.0);
+        assertThat(partition.moves()).isPositive();
+        // The west points nearest the east group are the ones that moved
+        assertThat(partition.assignment()[5]).isEqualTo(partition.assignment()[6]);
+        assertThat(partition.assignment()[4]).isEqualTo(partition.assignment()[6]);
+    }
+
+    @Test
+    @DisplayName("100k weighted points are split into 20 groups within the load bounds")
+    void partition_largeZone_staysWithinBounds() {
+        int n = 100_000;
+        int parts = 20;
+        Random random = new Random(42);
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            // Denser in the south-west corner, so equal-area groups would be unbalanced
+            latitudes[i] = 12.8 + Math.pow(random.nextDouble(), 2) * 0.3;
+            longitudes[i] = 77.4 + Math.pow(random.nextDouble(), 2) * 0.3;
+            weights[i] = 0.5 + random.nextDouble();
+        }
+        double mean = Arrays.stream(weights).sum() / parts;
+
+        long start = System.nanoTime();
+        RoutePartitioner.Partition partition = RoutePartitioner.partition(
+                latitudes, longitudes, weights, parts, mean * 0.95, mean * 1.05, 100);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Partitioned {} points into {} groups in {} ms ({} iterations, {} moves)",
+                n, parts, millis, partition.iterations(), partition.moves());
+
+        assertThat(partition.loads()).hasSize(parts);
+        assertThat(Arrays.stream(partition.loads()).min().orElseThrow()).isGreaterThanOrEqualTo(mean * 0.95);
+        assertThat(Arrays.stream(partition.loads()).max().orElseThrow()).isLessThanOrEqualTo(mean * 1.05);
+        assertThat(Arrays.stream(partition.centerLatitudes()).allMatch(lat -> lat >= 12.8 && lat <= 13.1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Sweep cuts points around the centre into sectors of equal weight")
+    void sweep_cutsEqualWeightSectors() {
+        int n = 12;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.cos(2 * Math.PI * i / n);
+            y[i] = Math.sin(2 * Math.PI * i / n);
+        }
+
+        int[] assignment = RoutePartitioner.sweep(x, y, filled(n, 1), 3);
+
+        assertThat(RoutePartitioner.loads(filled(n, 1), assignment, 3)).containsExactly(4.0, 4.0, 4.0);
+    }
+
+    @Test
+    @DisplayName("As many groups as points puts every point in its own group")
+    void partition_onePointPerGroup() {
+        double[] latitudes = {12.90, 12.95, 13.00};
+        double[] longitudes = {77.50, 77.55, 77.60};
+
+        RoutePartitioner.Partition partition = RoutePartitioner.partition(
+                latitudes, longitudes, filled(3, 5), 3, 5, 5, 10);
+
+        assertThat(partition.assignment()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("More groups than points is rejected")
+    void partition_tooManyParts_throws() {
+        assertThatThrownBy(() -> RoutePartitioner.partition(new double[]{1}, new double[]{1}, new double[]{1}, 2, 0, 1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
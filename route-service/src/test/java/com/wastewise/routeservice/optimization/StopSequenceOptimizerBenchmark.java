@@ -0,0 +1,70 @@
+package com.wastewise.routeservice.optimization;
+
+import com.wastewise.routeservice.constant.RouteConstants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ------------------------------------------------------------------------------
+ * StopSequenceOptimizerBenchmark
+ * ------------------------------------------------------------------------------
+ * JMH benchmark of stop-sequence optimization for routes of 50, 500 and 5000
+ * stops spread over a 20 km square. Not part of the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=StopSequenceOptimizerBenchmark
+ * ------------------------------------------------------------------------------
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class StopSequenceOptimizerBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int stops;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private DistanceMatrix distances;
+
+    @Setup
+    public void generateStops() {
+        Random random = new Random(42);
+        latitudes = new double[stops];
+        longitudes = new double[stops];
+        for (int i = 0; i < stops; i++) {
+            // roughly 20 km x 20 km around 12.97 N, 77.59 E
+            latitudes[i] = 12.88 + random.nextDouble() * 0.18;
+            longitudes[i] = 77.50 + random.nextDouble() * 0.18;
+        }
+        distances = ArrayDistanceMatrix.haversine(latitudes, longitudes);
+    }
+
+    @Benchmark
+    public DistanceMatrix buildMatrix() {
+        return ArrayDistanceMatrix.haversine(latitudes, longitudes);
+    }
+
+    @Benchmark
+    public int[] nearestNeighbour() {
+        return StopSequenceOptimizer.nearestNeighbour(distances);
+    }
+
+    @Benchmark
+    public int[] optimize() {
+        return StopSequenceOptimizer.optimize(distances, RouteConstants.OPTIMIZER_MAX_PASSES);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StopSequenceOptimizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.wastewise.routeservice.optimization;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * ------------------------------------------------------------------------------
+ * StopSequenceOptimizerTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for the nearest-neighbour + 2-opt/Or-opt stop ordering.
+ * ------------------------------------------------------------------------------
+ */
+class StopSequenceOptimizerTest {
+
+    /**
+     * Matrix of |x_i - x_j| for stops on a line.
+     */
+    private static DistanceMatrix line(double... positions) {
+        int n = positions.length;
+        double[] distances = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                distances[i * n + j] = Math.abs(positions[i] - positions[j]);
+            }
+        }
+        return ArrayDistanceMatrix.of(n, distances);
+    }
+
+    @Test
+    @DisplayName("Stops on a line are visited from the start outwards")
+    void optimize_lineFromEnd_visitsInPositionOrder() {
+        DistanceMatrix distances = line(0, 7, 3, 9, 1, 5);
+
+        int[] order = StopSequenceOptimizer.optimize(distances, 10);
+
+        assertThat(order).containsExactly(0, 4, 2, 5, 1, 3);
+        assertThat(StopSequenceOptimizer.pathLength(order, distances)).isEqualTo(9.0);
+    }
+
+    @Test
+    @DisplayName("Local search improves on a bad nearest-neighbour tour")
+    void optimize_improvesOnNearestNeighbour() {
+        // Nearest neighbour zig-zags across the start: 1 + 3 + 6 + 12 = 22; 0 -> 1 -> 4 -> -2 -> -8 costs 16
+        DistanceMatrix distances = line(0, 1, -2, 4, -8);
+
+        int[] greedy = StopSequenceOptimizer.nearestNeighbour(distances);
+        int[] optimized = StopSequenceOptimizer.optimize(distances, 10);
+
+        assertThat(greedy).containsExactly(0, 1, 2, 3, 4);
+        assertThat(StopSequenceOptimizer.pathLength(optimized, distances))
+                .isLessThan(StopSequenceOptimizer.pathLength(greedy, distances));
+        assertThat(StopSequenceOptimizer.pathLength(optimized, distances)).isEqualTo(16.0);
+    }
+
+    @Test
+    @DisplayName("Result is a permutation starting at stop 0 and never longer than nearest neighbour")
+    void optimize_randomStops_returnsValidShorterPermutation() {
+        Random random = new Random(7);
+        int n = 300;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = 12.9 + random.nextDouble() * 0.1;
+            longitudes[i] = 77.5 + random.nextDouble() * 0.1;
+        }
+        DistanceMatrix distances = ArrayDistanceMatrix.haversine(latitudes, longitudes);
+
+        int[] order = StopSequenceOptimizer.optimize(distances, 50);
+
+        assertThat(order[0]).isZero();
+        assertThat(Arrays.stream(order).sorted().toArray()).containsExactly(IntStream.range(0, n).toArray());
+        assertThat(StopSequenceOptimizer.pathLength(order, distances))
+                .isLessThanOrEqualTo(StopSequenceOptimizer.pathLength(StopSequenceOptimizer.nearestNeighbour(distances), distances));
+    }
+
+    @Test
+    @DisplayName("Haversine distances match a known city pair")
+    void haversine_knownDistance() {
+        // Bengaluru to Chennai, roughly 290 km great-circle
+        DistanceMatrix distances = ArrayDistanceMatrix.haversine(new double[]{12.9716, 13.0827}, new double[]{77.5946, 80.2707});
+
+        assertThat(distances.distance(0, 1)).isCloseTo(290_000, within(5_000.0));
+        assertThat(distances.distance(1, 0)).isEqualTo(distances.distance(0, 1));
+        assertThat(distances.distance(0, 0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Tiny routes are returned unchanged")
+    void optimize_tinyRoutes() {
+        assertThat(StopSequenceOptimizer.optimize(line(), 10)).isEmpty();
+        assertThat(StopSequenceOptimizer.optimize(line(4), 10)).containsExactly(0);
+        assertThat(StopSequenceOptimizer.optimize(line(4, 2), 10)).containsExactly(0, 1);
+    }
+}
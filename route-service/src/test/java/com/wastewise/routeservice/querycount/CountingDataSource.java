@@ -0,0 +1,90 @@
+package com.wastewise.routeservice.querycount;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * ------------------------------------------------------------------------------
+ * CountingDataSource
+ * ------------------------------------------------------------------------------
+ * JDBC proxies that report every executed statement to QueryCounter:
+ * - DataSource -> Connection -> Statement / PreparedStatement / CallableStatement
+ * - execute, executeQuery, executeUpdate, executeLargeUpdate count one statement;
+ *   executeBatch counts one round trip however many rows it carries
+ * - unwrap and isWrapperFor reach the pool, so Hikari metrics still bind
+ * ------------------------------------------------------------------------------
+ */
+final class CountingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private CountingDataSource() {
+    }
+
+    static DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args, result) ->
+                method.getName().equals("getConnection") ? connection((Connection) result) : result);
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) -> switch (method.getName()) {
+            case "createStatement" -> statement(Statement.class, (Statement) result, null);
+            case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+            default -> result;
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, Statement target, String preparedSql) {
+        return proxy(type, type.cast(target), (method, args, result) -> result, (method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                QueryCounter.record(sql != null ? sql : "<batch>");
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+        return proxy(type, target, mapper, (method, args) -> {
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper, BeforeCall before) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(target, method, args);
+            }
+            before.accept(method, args);
+            return mapper.map(method, args, invoke(target, method, args));
+        };
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultMapper {
+        Object map(Method method, Object[] args, Object result);
+    }
+
+    @FunctionalInterface
+    private interface BeforeCall {
+        void accept(Method method, Object[] args);
+    }
+}
@@ -0,0 +1,21 @@
+package com.wastewise.routeservice.querycount;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ------------------------------------------------------------------------------
+ * MaxQueries
+ * ------------------------------------------------------------------------------
+ * Query budget of the endpoint a test calls: every request the test sends may
+ * execute at most this many SQL statements. Enforced by QueryBudgetExtension.
+ * ------------------------------------------------------------------------------
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxQueries {
+
+    int value();
+}
@@ -0,0 +1,53 @@
+package com.wastewise.routeservice.querycount;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+/**
+ * ------------------------------------------------------------------------------
+ * QueryBudgetExtension
+ * ------------------------------------------------------------------------------
+ * Enforces @MaxQueries on test methods:
+ * - Requests counted before the test starts are discarded
+ * - After the test, every request it sent must be within the budget; a failure
+ *   lists the statements of each offending request
+ * - A budgeted test that sent no counted request fails, so a budget cannot
+ *   silently stop applying
+ * Tests that fail on their own assertions are not checked again.
+ * ------------------------------------------------------------------------------
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryCounter.reset();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        MaxQueries budget = context.getRequiredTestMethod().getAnnotation(MaxQueries.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        List<QueryCounter.Scope> requests = QueryCounter.completed();
+        if (requests.isEmpty()) {
+            throw new AssertionError("@MaxQueries(" + budget.value() + ") on "
+                    + context.getRequiredTestMethod().getName() + " but no request was counted");
+        }
+        StringBuilder failures = new StringBuilder();
+        for (QueryCounter.Scope request : requests) {
+            if (request.count() > budget.value()) {
+                failures.append(request.request()).append(" executed ").append(request.count())
+                        .append(" statements, budget is ").append(budget.value()).append(':');
+                request.statements().forEach(sql -> failures.append("\n    ").append(sql));
+                failures.append('\n');
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.toString());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.wastewise.routeservice.querycount;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ------------------------------------------------------------------------------
+ * QueryCounter
+ * ------------------------------------------------------------------------------
+ * Collects the SQL statements sent to the database while serving one HTTP request:
+ * - A Scope is opened per request and bound to each thread that works on it
+ *   (the request thread, and the async thread of a streaming response)
+ * - Statements executed on a thread without a bound scope are not counted, so
+ *   test setup and background jobs never inflate a request's count
+ * - Completed scopes are kept until the next reset, for QueryBudgetExtension
+ * ------------------------------------------------------------------------------
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final List<Scope> COMPLETED = new CopyOnWriteArrayList<>();
+
+    private QueryCounter() {
+    }
+
+    static Scope open(String request) {
+        return new Scope(request, new CopyOnWriteArrayList<>());
+    }
+
+    static void bind(Scope scope) {
+        CURRENT.set(scope);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static void complete(Scope scope) {
+        COMPLETED.add(scope);
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements().add(sql);
+        }
+    }
+
+    public static void reset() {
+        COMPLETED.clear();
+    }
+
+    public static List<Scope> completed() {
+        return List.copyOf(COMPLETED);
+    }
+
+    /**
+     * The statements of one request, in execution order.
+     */
+    public record Scope(String request, List<String> statements) {
+
+        public int count() {
+            return statements.size();
+        }
+    }
+}
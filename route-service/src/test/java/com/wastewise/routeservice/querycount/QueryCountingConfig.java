@@ -0,0 +1,94 @@
+package com.wastewise.routeservice.querycount;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Callable;
+
+/**
+ * ------------------------------------------------------------------------------
+ * QueryCountingConfig
+ * ------------------------------------------------------------------------------
+ * Test configuration that counts SQL statements per HTTP request:
+ * - Wraps the DataSource in CountingDataSource
+ * - A filter opens a QueryCounter scope per request and completes it once the
+ *   response is done, including after an async dispatch
+ * - An async interceptor binds the scope to the thread that writes a
+ *   StreamingResponseBody, so streamed queries are counted too
+ * Import it together with QueryBudgetExtension and @MaxQueries.
+ * ------------------------------------------------------------------------------
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountingConfig {
+
+    private static final String SCOPE_ATTRIBUTE = QueryCounter.Scope.class.getName();
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? CountingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<Filter> queryCountingFilter() {
+        Filter filter = (request, response, chain) -> {
+            QueryCounter.Scope scope = (QueryCounter.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+            if (scope == null) {
+                HttpServletRequest http = (HttpServletRequest) request;
+                scope = QueryCounter.open(http.getMethod() + " " + http.getRequestURI());
+                request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            }
+            QueryCounter.bind(scope);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                QueryCounter.unbind();
+                if (!request.isAsyncStarted()) {
+                    QueryCounter.complete(scope);
+                }
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    @Bean
+    WebMvcConfigurer queryCountingAsyncSupport() {
+        CallableProcessingInterceptor interceptor = new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                Object scope = request.getAttribute(SCOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (scope != null) {
+                    QueryCounter.bind((QueryCounter.Scope) scope);
+                }
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+                QueryCounter.unbind();
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+            }
+        };
+    }
+}
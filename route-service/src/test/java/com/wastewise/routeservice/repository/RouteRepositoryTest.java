@@ -1,13 +1,23 @@
 package com.wastewise.routeservice.repository;
 
+import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
 import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.util.PickupPoints;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -16,7 +26,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  * RouteRepositoryTest
  * ------------------------------------------------------------------------------
  * Verifies key database operations using in-memory H2 database.
- * Focus areas: save, findByRouteNameAndZoneId, findByZoneId, countByZoneId
+ * Focus areas: save, findByRouteNameAndZoneId, findByZoneId, countByZoneId,
+ * keyset scrolling, streaming export, bulk inserts, pickup points
  * ------------------------------------------------------------------------------
  */
 @DataJpaTest
@@ -25,6 +36,9 @@ class RouteRepositoryTest {
     @Autowired
     private RouteRepository routeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     /**
      * Save and retrieve a route by ID.
      */
@@ -35,7 +49,7 @@ class RouteRepositoryTest {
                 .routeId("Z001-R001")
                 .routeName("Route A")
                 .zoneId("Z001")
-                .pickupPoints("P1,P2")
+                .pickupPoints(PickupPoints.fromString("P1,P2"))
                 .estimatedTime(25)
                 .build();
 
@@ -56,7 +70,7 @@ class RouteRepositoryTest {
                 .routeId("Z001-R002")
                 .routeName("Route B")
                 .zoneId("Z001")
-                .pickupPoints("P3,P4")
+                .pickupPoints(PickupPoints.fromString("P3,P4"))
                 .estimatedTime(30)
                 .build();
 
@@ -87,7 +101,7 @@ class RouteRepositoryTest {
                 .routeId("Z002-R001")
                 .routeName("Route X")
                 .zoneId("Z002")
-                .pickupPoints("P5")
+                .pickupPoints(PickupPoints.fromString("P5"))
                 .estimatedTime(20)
                 .build();
 
@@ -95,7 +109,7 @@ class RouteRepositoryTest {
                 .routeId("Z002-R002")
                 .routeName("Route Y")
                 .zoneId("Z002")
-                .pickupPoints("P6,P7")
+                .pickupPoints(PickupPoints.fromString("P6,P7"))
                 .estimatedTime(35)
                 .build();
 
@@ -115,7 +129,7 @@ class RouteRepositoryTest {
                 .routeId("Z003-R001")
                 .routeName("Route C")
                 .zoneId("Z003")
-                .pickupPoints("P8")
+                .pickupPoints(PickupPoints.fromString("P8"))
                 .estimatedTime(15)
                 .build());
 
@@ -123,11 +137,273 @@ class RouteRepositoryTest {
                 .routeId("Z003-R002")
                 .routeName("Route D")
                 .zoneId("Z003")
-                .pickupPoints("P9")
+                .pickupPoints(PickupPoints.fromString("P9"))
                 .estimatedTime(22)
                 .build());
 
         long count = routeRepository.countByZoneId("Z003");
         assertThat(count).isEqualTo(2);
     }
+
+    /**
+     * Keyset scrolling should walk every route exactly once, in sort order.
+     */
+    @Test
+    @DisplayName("findAllBy scrolls all routes by estimated time without gaps")
+    void findAllBy_shouldScrollAllRoutesInOrder() {
+        routeRepository.saveAll(List.of(
+                Route.builder().routeId("Z004-R001").routeName("R1").zoneId("Z004").pickupPoints(PickupPoints.fromString("P1")).estimatedTime(30).build(),
+                Route.builder().routeId("Z004-R002").routeName("R2").zoneId("Z004").pickupPoints(PickupPoints.fromString("P2")).estimatedTime(10).build(),
+                Route.builder().routeId("Z005-R001").routeName("R3").zoneId("Z005").pickupPoints(PickupPoints.fromString("P3")).estimatedTime(30).build(),
+                Route.builder().routeId("Z005-R002").routeName("R4").zoneId("Z005").pickupPoints(PickupPoints.fromString("P4")).estimatedTime(20).build(),
+                Route.builder().routeId("Z005-R003").routeName("R5").zoneId("Z005").pickupPoints(PickupPoints.fromString("P5")).estimatedTime(10).build()));
+
+        Sort sort = Sort.by("estimatedTime").and(Sort.by("routeId"));
+        Window<Route> first = routeRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        Window<Route> second = routeRepository.findAllBy(first.positionAt(first.size() - 1), sort, Limit.of(2));
+        Window<Route> third = routeRepository.findAllBy(second.positionAt(second.size() - 1), sort, Limit.of(2));
+
+        assertThat(first.getContent()).extracting(Route::getRouteId).containsExactly("Z004-R002", "Z005-R003");
+        assertThat(second.getContent()).extracting(Route::getRouteId).containsExactly("Z005-R002", "Z004-R001");
+        assertThat(third.getContent()).extracting(Route::getRouteId).containsExactly("Z005-R001");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(third.hasNext()).isFalse();
+    }
+
+    /**
+     * Keyset scrolling with a zone filter should only return that zone's routes.
+     */
+    @Test
+    @DisplayName("findByZoneId with scroll position filters by zone")
+    void findByZoneId_withScrollPosition_shouldFilterByZone() {
+        routeRepository.saveAll(List.of(
+                Route.builder().routeId("Z006-R001").routeName("R1").zoneId("Z006").pickupPoints(PickupPoints.fromString("P1")).estimatedTime(5).build(),
+                Route.builder().routeId("Z007-R001").routeName("R2").zoneId("Z007").pickupPoints(PickupPoints.fromString("P2")).estimatedTime(5).build(),
+                Route.builder().routeId("Z006-R002").routeName("R3").zoneId("Z006").pickupPoints(PickupPoints.fromString("P3")).estimatedTime(5).build()));
+
+        Window<Route> window = routeRepository.findByZoneId("Z006", ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.DESC, "routeId"), Limit.of(10));
+
+        assertThat(window.getContent()).extracting(Route::getRouteId).containsExactly("Z006-R002", "Z006-R001");
+        assertThat(window.hasNext()).isFalse();
+    }
+
+    /**
+     * streamAllRoutes should return DTOs for every route in route ID order.
+     */
+    @Test
+    @DisplayName("streamAllRoutes streams DTOs ordered by route ID")
+    void streamAllRoutes_shouldStreamDtosInOrder() {
+        routeRepository.saveAll(List.of(
+                Route.builder().routeId("Z008-R002").routeName("R2").zoneId("Z008").pickupPoints(PickupPoints.fromString("P2")).estimatedTime(20).build(),
+                Route.builder().routeId("Z008-R001").routeName("R1").zoneId("Z008").pickupPoints(PickupPoints.fromString("P1")).estimatedTime(10).build()));
+
+        try (Stream<RouteResponseDTO> routes = routeRepository.streamAllRoutes()) {
+            List<RouteResponseDTO> result = routes.toList();
+            assertThat(result).extracting(RouteResponseDTO::getRouteId).containsExactly("Z008-R001", "Z008-R002");
+        }
+    }
+
+    /**
+     * findPickupPoints should load points of several routes in one query, in visiting order.
+     */
+    @Test
+    @DisplayName("findPickupPoints returns points per route in ordinal order")
+    void findPickupPoints_shouldReturnPointsInOrder() {
+        routeRepository.saveAll(List.of(
+                Route.builder().routeId("Z011-R001").routeName("R1").zoneId("Z011")
+                        .pickupPoints(PickupPoints.fromString("  Main   Gate , Depot")).estimatedTime(10).build(),
+                Route.builder().routeId("Z011-R002").routeName("R2").zoneId("Z011")
+                        .pickupPoints(PickupPoints.fromString("Depot")).estimatedTime(20).build()));
+        routeRepository.flush();
+
+        List<Object[]> rows = routeRepository.findPickupPoints(List.of("Z011-R001", "Z011-R002"));
+
+        assertThat(rows).extracting(row -> row[0]).containsExactly("Z011-R001", "Z011-R001", "Z011-R002");
+        assertThat(rows).extracting(row -> ((PickupPoint) row[1]).getLabel()).containsExactly("Main Gate", "Depot", "Depot");
+        assertThat(((PickupPoint) rows.get(1)[1]).getLabel()).isSameAs(((PickupPoint) rows.get(2)[1]).getLabel());
+    }
+
+    /**
+     * Routes loaded by ID should carry their pickup points with coordinates.
+     */
+    @Test
+    @DisplayName("Pickup points with coordinates round-trip through the database")
+    void pickupPoints_shouldRoundTripWithCoordinates() {
+        routeRepository.saveAndFlush(Route.builder().routeId("Z012-R001").routeName("R1").zoneId("Z012")
+                .pickupPoints(List.of(
+                        PickupPoint.builder().ordinal(0).label("A").latitude(12.5).longitude(77.25).build(),
+                        PickupPoint.builder().ordinal(1).label("B").build()))
+                .estimatedTime(10).build());
+        entityManager.clear();
+
+        Route route = routeRepository.findById("Z012-R001").orElseThrow();
+
+        assertThat(route.getPickupPoints()).extracting(PickupPoint::getLabel).containsExactly("A", "B");
+        assertThat(route.getPickupPoints().get(0).getLatitude()).isEqualTo(12.5);
+        assertThat(route.getPickupPoints().get(1).getLongitude()).isNull();
+    }
+
+    /**
+     * persistAll should insert every route and findExistingRouteNames should
+     * report only the names already taken in that zone.
+     */
+    @Test
+    @DisplayName("persistAll inserts routes and findExistingRouteNames finds taken names")
+    void persistAll_andFindExistingRouteNames() {
+        routeRepository.persistAll(List.of(
+                Route.builder().routeId("Z009-R001").routeName("North").zoneId("Z009").pickupPoints(PickupPoints.fromString("P1")).estimatedTime(10).build(),
+                Route.builder().routeId("Z009-R002").routeName("South").zoneId("Z009").pickupPoints(PickupPoints.fromString("P2")).estimatedTime(20).build(),
+                Route.builder().routeId("Z010-R001").routeName("East").zoneId("Z010").pickupPoints(PickupPoints.fromString("P3")).estimatedTime(30).build()));
+
+        assertThat(routeRepository.countByZoneId("Z009")).isEqualTo(2);
+        assertThat(routeRepository.findExistingRouteNames("Z009", List.of("North", "East", "West")))
+                .containsExactly("North");
+    }
+
+    /**
+     * findZoneCoordinates should return each coordinate of a zone once, skipping points without one.
+     */
+    @Test
+    @DisplayName("findZoneCoordinates returns distinct coordinates of the zone")
+    void findZoneCoordinates_shouldReturnDistinctCoordinates() {
+        PickupPoint depot = PickupPoint.builder().ordinal(0).label("Depot").latitude(12.9).longitude(77.5).build();
+        routeRepository.saveAllAndFlush(List.of(
+                Route.builder().routeId("Z013-R001").routeName("R1").zoneId("Z013").estimatedTime(10)
+                        .pickupPoints(List.of(depot,
+                                PickupPoint.builder().ordinal(1).label("Gate").latitude(12.95).longitude(77.6).build(),
+                                PickupPoint.builder().ordinal(2).label("Unmapped").build()))
+                        .build(),
+                Route.builder().routeId("Z013-R002").routeName("R2").zoneId("Z013").estimatedTime(10)
+                        .pickupPoints(List.of(PickupPoint.builder().ordinal(0).label("Depot").latitude(12.9).longitude(77.5).build()))
+                        .build(),
+                Route.builder().routeId("Z014-R001").routeName("R3").zoneId("Z014").estimatedTime(10)
+                        .pickupPoints(List.of(PickupPoint.builder().ordinal(0).label("Far").latitude(13.5).longitude(78.0).build()))
+                        .build()));
+
+        List<Object[]> coordinates = routeRepository.findZoneCoordinates("Z013");
+
+        assertThat(coordinates).extracting(row -> row[0]).containsExactly(12.9, 12.95);
+        assertThat(coordinates).extracting(row -> row[1]).containsExactly(77.5, 77.6);
+    }
+
+    /**
+     * findZoneRoutePoints should list every point of the zone with its route, and routes without points once.
+     */
+    @Test
+    @DisplayName("findZoneRoutePoints returns points with route details, including empty routes")
+    void findZoneRoutePoints_shouldIncludeRoutesWithoutPoints() {
+        routeRepository.saveAllAndFlush(List.of(
+                Route.builder().routeId("Z015-R001").routeName("R1").zoneId("Z015").estimatedTime(30)
+                        .pickupPoints(List.of(
+                                PickupPoint.builder().ordinal(0).label("A").latitude(12.9).longitude(77.5).build(),
+                                PickupPoint.builder().ordinal(1).label("B").latitude(12.91).longitude(77.51).build()))
+                        .build(),
+                Route.builder().routeId("Z015-R002").routeName("R2").zoneId("Z015").estimatedTime(15).build(),
+                Route.builder().routeId("Z016-R001").routeName("R3").zoneId("Z016").estimatedTime(10)
+                        .pickupPoints(List.of(PickupPoint.builder().ordinal(0).label("C").build()))
+                        .build()));
+
+        List<Object[]> rows = routeRepository.findZoneRoutePoints("Z015");
+
+        assertThat(rows).extracting(row -> row[0]).containsExactly("Z015-R001", "Z015-R001", "Z015-R002");
+        assertThat(rows).extracting(row -> row[2]).containsExactly(30, 30, 15);
+        assertThat(((PickupPoint) rows.get(1)[3]).getLabel()).isEqualTo("B");
+        assertThat(rows.get(2)[3]).isNull();
+    }
+
+    /**
+     * The route ID projections should return IDs per zone without loading routes.
+     */
+    @Test
+    @DisplayName("findRouteIdsByZoneId and findRouteIdsByZoneIds return route IDs per zone")
+    void findRouteIds_shouldReturnIdsPerZone() {
+        routeRepository.saveAllAndFlush(List.of(
+                Route.builder().routeId("Z017-R002").routeName("R2").zoneId("Z017").estimatedTime(10).build(),
+                Route.builder().routeId("Z017-R001").routeName("R1").zoneId("Z017").estimatedTime(10).build(),
+                Route.builder().routeId("Z018-R001").routeName("R3").zoneId("Z018").estimatedTime(10).build(),
+                Route.builder().routeId("Z019-R001").routeName("R4").zoneId("Z019").estimatedTime(10).build()));
+
+        assertThat(routeRepository.findRouteIdsByZoneId("Z017")).containsExactly("Z017-R001", "Z017-R002");
+
+        List<Object[]> rows = routeRepository.findRouteIdsByZoneIds(List.of("Z017", "Z019", "Z999"));
+        assertThat(rows).extracting(row -> row[0]).containsExactly("Z017", "Z017", "Z019");
+        assertThat(rows).extracting(row -> row[1]).containsExactly("Z017-R001", "Z017-R002", "Z019-R001");
+    }
+
+    /**
+     * The zone list and per-zone aggregate feed the statistics reconciliation.
+     */
+    @Test
+    @DisplayName("aggregateZone returns route count, total time and last update of one zone")
+    void aggregateZone_shouldSummarizeTheZone() {
+        routeRepository.saveAllAndFlush(List.of(
+                Route.builder().routeId("Z021-R001").routeName("R1").zoneId("Z021").estimatedTime(10).build(),
+                Route.builder().routeId("Z021-R002").routeName("R2").zoneId("Z021").estimatedTime(25).build(),
+                Route.builder().routeId("Z022-R001").routeName("R3").zoneId("Z022").estimatedTime(40).build()));
+
+        Object[] z021 = routeRepository.aggregateZone("Z021").get(0);
+        assertThat(((Number) z021[0]).longValue()).isEqualTo(2);
+        assertThat(((Number) z021[1]).longValue()).isEqualTo(35);
+        assertThat(z021[2]).isNotNull();
+        Object[] empty = routeRepository.aggregateZone("Z998").get(0);
+        assertThat(((Number) empty[0]).longValue()).isZero();
+        assertThat(((Number) empty[1]).longValue()).isZero();
+        assertThat(empty[2]).isNull();
+        assertThat(routeRepository.findDistinctZoneIds()).contains("Z021", "Z022");
+    }
+
+    /**
+     * The conditional update applies once per version and only if something
+     * changes; a second writer with the same version updates nothing.
+     */
+    @Test
+    @DisplayName("updateScalarsIfVersion updates only at the expected version and when something changes")
+    void updateScalarsIfVersion_shouldRejectStaleVersion() {
+        routeRepository.saveAndFlush(Route.builder()
+                .routeId("Z023-R001").routeName("R1").zoneId("Z023").estimatedTime(10).build());
+        long version = (Long) routeRepository.findVersionByRouteId("Z023-R001").get(0)[0];
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(routeRepository.updateScalarsIfVersion("Z023-R001", version, "R1", 10, now)).isZero();
+        assertThat(routeRepository.updateScalarsIfVersion("Z023-R001", version, null, 20, now)).isEqualTo(1);
+        assertThat(routeRepository.updateEstimatedTime("Z023-R001", 20)).isEqualTo(1);
+        assertThat(routeRepository.updateScalarsIfVersion("Z023-R001", version, "R2", null, now)).isZero();
+
+        Route route = routeRepository.findById("Z023-R001").orElseThrow();
+        assertThat(route.getRouteName()).isEqualTo("R1");
+        assertThat(route.getEstimatedTime()).isEqualTo(20);
+        assertThat(route.getVersion()).isEqualTo(version + 1);
+    }
+
+    /**
+     * A zone is drained batch by batch; pickup points go with their routes and
+     * other zones are untouched.
+     */
+    @Test
+    @DisplayName("Deletion batches drain a zone in route ID order")
+    void deletionBatch_shouldDrainZoneInBatches() {
+        routeRepository.saveAllAndFlush(List.of(
+                Route.builder().routeId("Z024-R001").routeName("R1").zoneId("Z024").estimatedTime(10)
+                        .pickupPoints(PickupPoints.fromString("P1,P2")).build(),
+                Route.builder().routeId("Z024-R002").routeName("R2").zoneId("Z024").estimatedTime(20)
+                        .pickupPoints(PickupPoints.fromString("P3")).build(),
+                Route.builder().routeId("Z024-R003").routeName("R3").zoneId("Z024").estimatedTime(30).build(),
+                Route.builder().routeId("Z025-R001").routeName("R1").zoneId("Z025").estimatedTime(40)
+                        .pickupPoints(PickupPoints.fromString("P4")).build()));
+
+        List<Object[]> batch = routeRepository.lockDeletionBatch("Z024", Limit.of(2));
+        assertThat(batch).extracting(row -> row[0]).containsExactly("Z024-R001", "Z024-R002");
+        assertThat(batch).extracting(row -> row[1]).containsExactly(10, 20);
+
+        List<String> routeIds = List.of("Z024-R001", "Z024-R002");
+        assertThat(routeRepository.deleteByZoneIdAndRouteIds("Z024", routeIds)).isEqualTo(2);
+        assertThat(entityManager.getEntityManager()
+                .createNativeQuery("select count(*) from route_pickup_point where route_id like 'Z024-%'")
+                .getSingleResult()).isEqualTo(0L);
+
+        assertThat(routeRepository.lockDeletionBatch("Z024", Limit.of(2))).extracting(row -> row[0])
+                .containsExactly("Z024-R003");
+        assertThat(routeRepository.findPickupPoints(List.of("Z025-R001"))).hasSize(1);
+    }
 }
@@ -0,0 +1,87 @@
+package com.wastewise.routeservice.repository;
+
+import com.wastewise.routeservice.entity.ZoneRouteStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ------------------------------------------------------------------------------
+ * ZoneRouteStatsRepositoryTest
+ * ------------------------------------------------------------------------------
+ * Verifies the statistics counters on the in-memory H2 database.
+ * ------------------------------------------------------------------------------
+ */
+@DataJpaTest
+class ZoneRouteStatsRepositoryTest {
+
+    @Autowired
+    private ZoneRouteStatsRepository statsRepository;
+
+    /**
+     * A delta needs an existing row; once inserted, deltas accumulate.
+     */
+    @Test
+    @DisplayName("applyDelta accumulates on an existing row only")
+    void applyDelta_shouldAccumulateOnExistingRow() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+        assertThat(statsRepository.applyDelta("Z001", 1, 30, now)).isZero();
+
+        statsRepository.insertEmpty("Z001");
+        assertThat(statsRepository.applyDelta("Z001", 1, 30, now)).isEqualTo(1);
+        assertThat(statsRepository.applyDelta("Z001", 1, 20, now.plusMinutes(1))).isEqualTo(1);
+        assertThat(statsRepository.applyDelta("Z001", -1, -30, now.plusMinutes(2))).isEqualTo(1);
+
+        ZoneRouteStats stats = statsRepository.findById("Z001").orElseThrow();
+        assertThat(stats.getRouteCount()).isEqualTo(1);
+        assertThat(stats.getTotalEstimatedTime()).isEqualTo(20);
+        assertThat(stats.getLastModified()).isEqualTo(now.plusMinutes(2));
+        assertThat(stats.getRevision()).isEqualTo(3);
+    }
+
+    /**
+     * The route list version changes with every delta and with every new zone.
+     */
+    @Test
+    @DisplayName("summarizeRevisions changes on every delta")
+    void summarizeRevisions_shouldChangeOnEveryDelta() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Object[] empty = statsRepository.summarizeRevisions().get(0);
+        assertThat(((Number) empty[0]).longValue()).isZero();
+        assertThat(((Number) empty[1]).longValue()).isZero();
+
+        statsRepository.insertEmpty("Z001");
+        statsRepository.insertEmpty("Z002");
+        statsRepository.applyDelta("Z001", 1, 10, now);
+        statsRepository.applyDelta("Z002", 0, 5, now.plusMinutes(1));
+
+        Object[] summary = statsRepository.summarizeRevisions().get(0);
+        assertThat(((Number) summary[0]).longValue()).isEqualTo(2);
+        assertThat(((Number) summary[1]).longValue()).isEqualTo(2);
+        assertThat(summary[2]).isEqualTo(now.plusMinutes(1));
+    }
+
+    /**
+     * Zones whose routes were all deleted are left out of the dashboard.
+     */
+    @Test
+    @DisplayName("findByRouteCountGreaterThan skips empty zones")
+    void findByRouteCountGreaterThan_shouldSkipEmptyZones() {
+        statsRepository.save(new ZoneRouteStats("Z003", 2, 50, null, 0));
+        statsRepository.save(new ZoneRouteStats("Z002", 0, 0, null, 0));
+        statsRepository.save(new ZoneRouteStats("Z001", 1, 15, null, 0));
+
+        assertThat(statsRepository.findByRouteCountGreaterThanOrderByZoneId(0))
+                .extracting(ZoneRouteStats::getZoneId).containsExactly("Z001", "Z003");
+        assertThat(statsRepository.findAllZoneIds()).containsExactlyInAnyOrder("Z001", "Z002", "Z003");
+        assertThat(statsRepository.findAllRevisions()).extracting(row -> row[0] + "@" + row[1])
+                .containsExactlyInAnyOrder("Z001@0", "Z002@0", "Z003@0");
+        assertThat(statsRepository.findByZoneIdForUpdate("Z002")).get()
+                .extracting(ZoneRouteStats::getRouteCount).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.feign.ZoneClient;
+import com.wastewise.routeservice.payload.RestResponse;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import com.wastewise.routeservice.util.RouteIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteCreateLatencyBenchmarkTest
+ * ------------------------------------------------------------------------------
+ * Measures createRoute p50/p99 latency against H2 with a stubbed zone-service
+ * that answers after ZONE_SERVICE_DELAY_MS. On a zone cache miss the check is
+ * awaited before the route ID is leased and the row inserted, so latency is the
+ * delay plus the insert; only pickup point resolution overlaps the call. On a
+ * cache hit the delay disappears. Timings are logged; the assertions only pin
+ * down that shape.
+ * Tagged "benchmark": not part of mvn test, run it with mvn -P benchmark-tests test.
+ * ------------------------------------------------------------------------------
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RouteCreateLatencyBenchmarkTest {
+
+    private static final int REQUESTS = 40;
+    private static final long ZONE_SERVICE_DELAY_MS = 40;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger zoneNumber = new AtomicInteger();
+    private final AtomicInteger routeNumber = new AtomicInteger();
+    private RouteServiceImpl routeService;
+
+    @BeforeEach
+    void setUp() {
+        ZoneClient zoneClient = mock(ZoneClient.class);
+        when(zoneClient.existsByZoneId(anyString())).thenAnswer(call -> {
+            Thread.sleep(ZONE_SERVICE_DELAY_MS);
+            return RestResponse.<Boolean>builder().data(true).build();
+        });
+        ZoneExistenceCache zoneExistenceCache = new ZoneExistenceCache(zoneClient, new SimpleMeterRegistry(), 10_000,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(2));
+
+        RouteIdGenerator routeIdGenerator = mock(RouteIdGenerator.class);
+        when(routeIdGenerator.generateRouteId(anyString()))
+                .thenAnswer(call -> String.format("%s-R%03d", call.getArgument(0), routeNumber.incrementAndGet()));
+
+        routeService = new RouteServiceImpl(routeRepository, routeIdGenerator, zoneExistenceCache,
+                mock(DistanceMatrixCache.class), mock(RouteSpatialIndex.class), mock(RouteStatsService.class),
+                new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Create latency is the zone-service delay plus the insert on a cache miss, the insert alone on a hit")
+    void createRoute_zoneCacheMissVersusHit() {
+        // Warm up JIT, connection pool and virtual thread scheduler
+        measure(5, true);
+        measure(5, false);
+
+        long[] misses = measure(REQUESTS, true);
+        long[] hits = measure(REQUESTS, false);
+
+        log.info("createRoute with zone-service {} ms over {} requests:", ZONE_SERVICE_DELAY_MS, REQUESTS);
+        log.info("  zone cache miss: p50={} ms p99={} ms", millis(percentile(misses, 50)), millis(percentile(misses, 99)));
+        log.info("  zone cache hit:  p50={} ms p99={} ms", millis(percentile(hits, 50)), millis(percentile(hits, 99)));
+
+        long delay = Duration.ofMillis(ZONE_SERVICE_DELAY_MS).toNanos();
+        assertThat(percentile(misses, 50)).isGreaterThanOrEqualTo(delay);
+        assertThat(percentile(hits, 50)).isLessThan(delay);
+    }
+
+    /**
+     * Creates one route per request, each in a new zone when cacheMiss is set
+     * and all in one zone otherwise.
+     */
+    private long[] measure(int requests, boolean cacheMiss) {
+        String sharedZone = String.format("Z%04d", zoneNumber.incrementAndGet());
+        long[] nanos = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            String zoneId = cacheMiss ? String.format("Z%04d", zoneNumber.incrementAndGet()) : sharedZone;
+            RouteCreationRequestDTO request =
+                    new RouteCreationRequestDTO(zoneId, "Route " + i, "P1,P2", 30);
+            long start = System.nanoTime();
+            routeService.createRoute(request);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static long percentile(long[] samples, int percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}
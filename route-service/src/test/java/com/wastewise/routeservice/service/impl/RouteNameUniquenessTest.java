@@ -0,0 +1,187 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.dto.BulkRouteResultDTO;
+import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
+import com.wastewise.routeservice.exception.custom.DuplicateRouteNameException;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import com.wastewise.routeservice.util.RouteIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteNameUniquenessTest
+ * ------------------------------------------------------------------------------
+ * Runs RouteServiceImpl against the H2 database to show that the unique index
+ * on (zone_id, route_name), not a pre-check, decides duplicates. Tests run
+ * without a surrounding transaction so every request commits on its own;
+ * committed rows are removed afterwards. The database of its own is
+ * case-insensitive, like MySQL's default collation.
+ * ------------------------------------------------------------------------------
+ */
+@DataJpaTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:route_names;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RouteNameUniquenessTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RouteServiceImpl routeService;
+    private RouteIdGenerator routeIdGenerator;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger routeNumber = new AtomicInteger();
+        routeIdGenerator = mock(RouteIdGenerator.class);
+        when(routeIdGenerator.generateRouteId(anyString()))
+                .thenAnswer(call -> String.format("%s-R%03d", call.getArgument(0), routeNumber.incrementAndGet()));
+        ZoneExistenceCache zoneExistenceCache = mock(ZoneExistenceCache.class);
+        when(zoneExistenceCache.exists(anyString())).thenReturn(true);
+        when(zoneExistenceCache.existsAsync(anyString())).thenReturn(CompletableFuture.completedFuture(true));
+
+        transaction = new TransactionTemplate(transactionManager);
+        routeService = new RouteServiceImpl(routeRepository, routeIdGenerator, zoneExistenceCache,
+                mock(DistanceMatrixCache.class), mock(RouteSpatialIndex.class), mock(RouteStatsService.class),
+                transaction);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAll();
+    }
+
+    /**
+     * ❌ Concurrent creates of one name: exactly one wins, the rest get 409s.
+     */
+    @Test
+    @DisplayName("Concurrent creates of the same route name store exactly one route")
+    void createRoute_concurrentSameName_storesOneRoute() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> outcomes = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                int minutes = 10 + i;
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    return routeService.createRoute(
+                            new RouteCreationRequestDTO("Z001", "Harbour Loop", "P1,P2", minutes));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int duplicates = 0;
+            for (Future<?> outcome : outcomes) {
+                try {
+                    outcome.get();
+                    created++;
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(DuplicateRouteNameException.class);
+                    duplicates++;
+                }
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(duplicates).isEqualTo(CONCURRENT_REQUESTS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(routeRepository.findRouteIdsByZoneId("Z001")).hasSize(1);
+    }
+
+    /**
+     * ❌ Names differing only in case are duplicates, as under MySQL's default collation.
+     */
+    @Test
+    @DisplayName("Creating a case variant of a name taken in the zone fails")
+    void createRoute_caseVariantOfTakenName_throwsDuplicate() {
+        routeService.createRoute(new RouteCreationRequestDTO("Z001", "North Loop", "P1", 10));
+
+        assertThatThrownBy(() -> routeService.createRoute(new RouteCreationRequestDTO("Z001", "north loop", "P2", 20)))
+                .isInstanceOf(DuplicateRouteNameException.class)
+                .hasMessageContaining("north loop");
+
+        assertThat(routeRepository.findRouteIdsByZoneId("Z001")).hasSize(1);
+    }
+
+    /**
+     * ❌ A name taken after the bulk pre-check fails only its own item; the rest are stored.
+     */
+    @Test
+    @DisplayName("Bulk create reports a name taken concurrently as a per-item failure")
+    void createRoutes_nameTakenAfterCheck_failsOnlyThatItem() {
+        when(routeIdGenerator.generateRouteIds("Z001", 2)).thenAnswer(call -> {
+            // Another request stores "Harbour Loop" between the name check and the insert
+            routeService.createRoute(new RouteCreationRequestDTO("Z001", "Harbour Loop", "P9", 5));
+            return List.of("Z001-R101", "Z001-R102");
+        });
+
+        var response = routeService.createRoutes(List.of(
+                new RouteCreationRequestDTO("Z001", "Harbour Loop", "P1", 10),
+                new RouteCreationRequestDTO("Z001", "Market Road", "P2", 20)));
+
+        assertThat(response.getResults()).extracting(BulkRouteResultDTO::getStatus).containsExactly(
+                BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.CREATED);
+        assertThat(response.getResults().get(0).getMessage()).contains("Harbour Loop");
+        assertThat(routeRepository.findById("Z001-R102").orElseThrow().getRouteName()).isEqualTo("Market Road");
+        assertThat(routeRepository.findById("Z001-R101")).isEmpty();
+        assertThat(routeRepository.findRouteIdsByZoneId("Z001")).hasSize(2);
+    }
+
+    /**
+     * ❌ Renaming onto a taken name is rejected by the index; the same name in another zone is fine.
+     */
+    @Test
+    @DisplayName("Rename onto a name taken in the zone fails, other zones are independent")
+    void updateRoute_nameTakenInZone_throwsDuplicate() {
+        routeService.createRoute(new RouteCreationRequestDTO("Z001", "North", "P1", 10));
+        String southId = routeService.createRoute(new RouteCreationRequestDTO("Z001", "South", "P2", 20)).getRouteId();
+        routeService.createRoute(new RouteCreationRequestDTO("Z002", "North", "P3", 30));
+
+        assertThatThrownBy(() -> transaction.execute(status ->
+                routeService.updateRoute(southId, new RouteUpdateRequestDTO("North", "P2", 20))))
+                .isInstanceOf(DuplicateRouteNameException.class)
+                .hasMessageContaining("North");
+
+        assertThat(routeRepository.findById(southId).orElseThrow().getRouteName()).isEqualTo("South");
+    }
+}
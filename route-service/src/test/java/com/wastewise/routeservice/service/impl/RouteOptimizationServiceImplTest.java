@@ -0,0 +1,353 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.dto.ProposedRouteDTO;
+import com.wastewise.routeservice.dto.RouteOptimizationResultDTO;
+import com.wastewise.routeservice.dto.ZonePartitionPlanDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.exception.custom.InvalidRouteDetailsException;
+import com.wastewise.routeservice.exception.custom.RouteNotFoundException;
+import com.wastewise.routeservice.exception.custom.RouteVersionConflictException;
+import com.wastewise.routeservice.optimization.OffHeapDistanceMatrix;
+import com.wastewise.routeservice.optimization.ZoneDistanceMatrix;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.util.PickupPoints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.wastewise.routeservice.constant.RouteConstants.MAX_OPTIMIZE_STOPS;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteOptimizationServiceImplTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for RouteOptimizationServiceImpl with a mocked repository.
+ * ------------------------------------------------------------------------------
+ */
+class RouteOptimizationServiceImplTest {
+
+    @Mock private RouteRepository routeRepository;
+    @Mock private DistanceMatrixCache distanceMatrixCache;
+    @Mock private RouteStatsService routeStatsService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private RouteOptimizationServiceImpl optimizationService;
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        optimizationService = new RouteOptimizationServiceImpl(routeRepository, distanceMatrixCache, routeStatsService,
+                transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        optimizationService.shutdown();
+        mocks.close();
+    }
+
+    /**
+     * Stops along one meridian, entered out of order: start, far, near, middle.
+     */
+    private static Route zigZagRoute(String routeId, String zoneId) {
+        List<PickupPoint> points = new ArrayList<>(List.of(
+                new PickupPoint(0, "Start", 12.90, 77.5),
+                new PickupPoint(1, "Far", 12.93, 77.5),
+                new PickupPoint(2, "Near", 12.91, 77.5),
+                new PickupPoint(3, "Middle", 12.92, 77.5)));
+        return Route.builder().routeId(routeId).routeName(routeId).zoneId(zoneId)
+                .pickupPoints(points).estimatedTime(30).version(0L).build();
+    }
+
+    /**
+     * ✅ Optimizing a route reorders and saves its points.
+     */
+    @Test
+    void optimizeRoute_reordersPoints() {
+        Route route = zigZagRoute("Z001-R001", "Z001");
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(route));
+
+        RouteOptimizationResultDTO result = optimizationService.optimizeRoute("Z001-R001", false);
+
+        assertThat(result.getPickupPoints()).isEqualTo("Start,Near,Middle,Far");
+        assertThat(result.getOptimizedDistanceMeters()).isLessThan(result.getOriginalDistanceMeters());
+        assertThat(result.isApplied()).isTrue();
+        assertThat(route.getPickupPoints()).extracting(PickupPoint::getOrdinal).containsExactly(0, 1, 2, 3);
+        assertThat(PickupPoints.format(route.getPickupPoints())).isEqualTo("Start,Near,Middle,Far");
+        verify(routeStatsService).recordChange("Z001", 0, 0);
+    }
+
+    /**
+     * ✅ The cached zone matrix is used when it covers all stops.
+     */
+    @Test
+    void optimizeZone_usesCachedZoneMatrix() {
+        double[] latitudes = {12.90, 12.91, 12.92, 12.93};
+        double[] longitudes = {77.5, 77.5, 77.5, 77.5};
+        ZoneDistanceMatrix zoneMatrix = spy(new ZoneDistanceMatrix(latitudes, longitudes,
+                OffHeapDistanceMatrix.compute(latitudes, longitudes)));
+        when(distanceMatrixCache.get("Z001")).thenReturn(zoneMatrix);
+        when(routeRepository.findByZoneId("Z001")).thenReturn(List.of(zigZagRoute("Z001-R001", "Z001")));
+
+        List<RouteOptimizationResultDTO> results = optimizationService.optimizeZone("Z001", true);
+
+        assertThat(results.get(0).getPickupPoints()).isEqualTo("Start,Near,Middle,Far");
+        verify(zoneMatrix).forStops(any(), any());
+        ArgumentCaptor<TransactionDefinition> transactions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(transactions.capture());
+        assertThat(transactions.getValue().isReadOnly()).isTrue();
+    }
+
+    /**
+     * ✅ Dry runs leave the route untouched.
+     */
+    @Test
+    void optimizeRoute_dryRun_doesNotSave() {
+        Route route = zigZagRoute("Z001-R001", "Z001");
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(route));
+
+        RouteOptimizationResultDTO result = optimizationService.optimizeRoute("Z001-R001", true);
+
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getPickupPoints()).isEqualTo("Start,Near,Middle,Far");
+        assertThat(PickupPoints.format(route.getPickupPoints())).isEqualTo("Start,Far,Near,Middle");
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Routes with points lacking coordinates cannot be optimized.
+     */
+    @Test
+    void optimizeRoute_missingCoordinates_throwsException() {
+        Route route = Route.builder().routeId("Z001-R002").zoneId("Z001")
+                .pickupPoints(PickupPoints.fromString("A,B")).build();
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R002")).thenReturn(Optional.of(route));
+
+        assertThatThrownBy(() -> optimizationService.optimizeRoute("Z001-R002", false))
+                .isInstanceOf(InvalidRouteDetailsException.class)
+                .hasMessageContaining("Z001-R002");
+    }
+
+    /**
+     * ❌ Routes with more stops than the optimizer accepts are rejected before any matrix is built.
+     */
+    @Test
+    void optimizeRoute_tooManyStops_throwsException() {
+        Route route = oversizedRoute("Z001-R004");
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R004")).thenReturn(Optional.of(route));
+
+        assertThatThrownBy(() -> optimizationService.optimizeRoute("Z001-R004", false))
+                .isInstanceOf(InvalidRouteDetailsException.class)
+                .hasMessageContaining("at most " + MAX_OPTIMIZE_STOPS);
+        verifyNoInteractions(distanceMatrixCache, routeStatsService);
+    }
+
+    /**
+     * ✅ Zone mode skips routes with too many stops and optimizes the rest.
+     */
+    @Test
+    void optimizeZone_skipsRoutesWithTooManyStops() {
+        when(routeRepository.findByZoneId("Z001")).thenReturn(List.of(
+                oversizedRoute("Z001-R004"), zigZagRoute("Z001-R001", "Z001")));
+
+        List<RouteOptimizationResultDTO> results = optimizationService.optimizeZone("Z001", true);
+
+        assertThat(results).extracting(RouteOptimizationResultDTO::getRouteId).containsExactly("Z001-R001");
+    }
+
+    private static Route oversizedRoute(String routeId) {
+        List<PickupPoint> points = new ArrayList<>();
+        for (int i = 0; i <= MAX_OPTIMIZE_STOPS; i++) {
+            points.add(new PickupPoint(i, "P" + i, 12.9 + i * 0.0001, 77.5));
+        }
+        return Route.builder().routeId(routeId).zoneId("Z001").pickupPoints(points).build();
+    }
+
+    /**
+     * ❌ Unknown routes are reported as not found.
+     */
+    @Test
+    void optimizeRoute_notFound_throwsException() {
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R999")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> optimizationService.optimizeRoute("Z001-R999", false))
+                .isInstanceOf(RouteNotFoundException.class);
+    }
+
+    /**
+     * ✅ Zone mode optimizes every route with coordinates and skips the rest.
+     */
+    @Test
+    void optimizeZone_optimizesRoutesWithCoordinates() {
+        Route withoutCoordinates = Route.builder().routeId("Z001-R003").zoneId("Z001")
+                .pickupPoints(PickupPoints.fromString("A,B")).build();
+        Route first = zigZagRoute("Z001-R001", "Z001");
+        Route second = zigZagRoute("Z001-R002", "Z001");
+        when(routeRepository.findByZoneId("Z001")).thenReturn(List.of(first, withoutCoordinates, second));
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(first));
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R002")).thenReturn(Optional.of(second));
+
+        List<RouteOptimizationResultDTO> results = optimizationService.optimizeZone("Z001", false);
+
+        assertThat(results).extracting(RouteOptimizationResultDTO::getRouteId).containsExactly("Z001-R001", "Z001-R002");
+        assertThat(results).allMatch(RouteOptimizationResultDTO::isApplied);
+        assertThat(PickupPoints.format(second.getPickupPoints())).isEqualTo("Start,Near,Middle,Far");
+        assertThat(PickupPoints.format(withoutCoordinates.getPickupPoints())).isEqualTo("A,B");
+        // One short write transaction per saved route, each with its own revision bump
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(routeStatsService, times(2)).recordChange("Z001", 0, 0);
+    }
+
+    /**
+     * ✅ Zone mode reports a route changed since it was read as a conflict and saves the others.
+     */
+    @Test
+    void optimizeZone_routeChangedMeanwhile_reportsConflict() {
+        Route changed = zigZagRoute("Z001-R001", "Z001");
+        Route unchanged = zigZagRoute("Z001-R002", "Z001");
+        when(routeRepository.findByZoneId("Z001")).thenReturn(List.of(changed, unchanged));
+        Route current = zigZagRoute("Z001-R001", "Z001");
+        current.setVersion(1L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(current));
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R002")).thenReturn(Optional.of(unchanged));
+
+        List<RouteOptimizationResultDTO> results = optimizationService.optimizeZone("Z001", false);
+
+        assertThat(results.get(0).isConflict()).isTrue();
+        assertThat(results.get(0).isApplied()).isFalse();
+        assertThat(results.get(0).getPickupPoints()).isEqualTo("Start,Far,Near,Middle");
+        assertThat(PickupPoints.format(current.getPickupPoints())).isEqualTo("Start,Far,Near,Middle");
+        assertThat(results.get(1).isConflict()).isFalse();
+        assertThat(results.get(1).isApplied()).isTrue();
+        verify(routeStatsService, times(1)).recordChange("Z001", 0, 0);
+    }
+
+    /**
+     * ❌ A single route changed since it was read is reported as a version conflict.
+     */
+    @Test
+    void optimizeRoute_routeChangedMeanwhile_throwsConflict() {
+        Route current = zigZagRoute("Z001-R001", "Z001");
+        current.setVersion(1L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001"))
+                .thenReturn(Optional.of(zigZagRoute("Z001-R001", "Z001")))
+                .thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> optimizationService.optimizeRoute("Z001-R001", false))
+                .isInstanceOf(RouteVersionConflictException.class)
+                .hasMessageContaining("Z001-R001");
+        assertThat(PickupPoints.format(current.getPickupPoints())).isEqualTo("Start,Far,Near,Middle");
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * Rows of findZoneRoutePoints: R001 has four west points and two east points,
+     * R002 two east points and R003 none. Every point is worth 10 minutes.
+     */
+    private static List<Object[]> unevenZone() {
+        List<Object[]> rows = new ArrayList<>();
+        double[][] west = {{12.900, 77.500}, {12.901, 77.501}, {12.902, 77.500}, {12.900, 77.502}};
+        double[][] east = {{12.900, 77.600}, {12.901, 77.601}, {12.902, 77.600}, {12.900, 77.602}};
+        for (int i = 0; i < 4; i++) {
+            rows.add(new Object[]{"Z001-R001", "West", 60, new PickupPoint(i, "W" + i, west[i][0], west[i][1])});
+        }
+        rows.add(new Object[]{"Z001-R001", "West", 60, new PickupPoint(4, "E0", east[0][0], east[0][1])});
+        rows.add(new Object[]{"Z001-R001", "West", 60, new PickupPoint(5, "E1", east[1][0], east[1][1])});
+        rows.add(new Object[]{"Z001-R002", "East", 20, new PickupPoint(0, "E2", east[2][0], east[2][1])});
+        rows.add(new Object[]{"Z001-R002", "East", 20, new PickupPoint(1, "E3", east[3][0], east[3][1])});
+        rows.add(new Object[]{"Z001-R003", "Empty", 5, null});
+        return rows;
+    }
+
+    /**
+     * ✅ Partitioning returns balanced routes as a diff against the existing ones.
+     */
+    @Test
+    void partitionZone_routeCount_returnsBalancedDiff() {
+        when(routeRepository.findZoneRoutePoints("Z001")).thenReturn(unevenZone());
+
+        ZonePartitionPlanDTO plan = optimizationService.partitionZone("Z001", 2, null);
+
+        assertThat(plan.getPointCount()).isEqualTo(8);
+        assertThat(plan.getCurrentRouteCount()).isEqualTo(3);
+        assertThat(plan.getCurrentMinMinutes()).isEqualTo(5);
+        assertThat(plan.getCurrentMaxMinutes()).isEqualTo(60);
+        assertThat(plan.getProposedMinMinutes()).isEqualTo(40);
+        assertThat(plan.getProposedMaxMinutes()).isEqualTo(40);
+        assertThat(plan.getRemovedRouteIds()).containsExactly("Z001-R003");
+
+        ProposedRouteDTO west = plan.getRoutes().get(0);
+        assertThat(west.getRouteId()).isEqualTo("Z001-R001");
+        assertThat(west.getKeptPoints()).isEqualTo(4);
+        assertThat(west.getAddedPoints()).isZero();
+        assertThat(west.getRemovedPoints()).isEqualTo(2);
+        assertThat(west.getPoints()).extracting(p -> p.getLabel()).containsExactly("W0", "W1", "W2", "W3");
+
+        ProposedRouteDTO east = plan.getRoutes().get(1);
+        assertThat(east.getRouteId()).isEqualTo("Z001-R002");
+        assertThat(east.getKeptPoints()).isEqualTo(2);
+        assertThat(east.getAddedPoints()).isEqualTo(2);
+        assertThat(east.getRemovedPoints()).isZero();
+        verify(routeRepository, never()).save(any());
+        // Points are read in one short read-only transaction; k-means runs after it committed
+        ArgumentCaptor<TransactionDefinition> transactions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(transactions.capture());
+        assertThat(transactions.getValue().isReadOnly()).isTrue();
+        verify(transactionManager).commit(any());
+    }
+
+    /**
+     * ✅ A time budget sets the number of routes; extra routes come back as new.
+     */
+    @Test
+    void partitionZone_maxMinutes_derivesRouteCount() {
+        when(routeRepository.findZoneRoutePoints("Z001")).thenReturn(unevenZone());
+
+        ZonePartitionPlanDTO plan = optimizationService.partitionZone("Z001", null, 30);
+
+        assertThat(plan.getRoutes()).hasSize(3);
+        assertThat(plan.getProposedMaxMinutes()).isLessThanOrEqualTo(30);
+        assertThat(plan.getRoutes().get(2).getRouteId()).isNull();
+        assertThat(plan.getRoutes()).extracting(ProposedRouteDTO::getPointCount).containsOnly(2, 3);
+    }
+
+    /**
+     * ❌ Invalid targets, empty zones and points without coordinates are rejected.
+     */
+    @Test
+    void partitionZone_invalidInput_throwsException() {
+        assertThatThrownBy(() -> optimizationService.partitionZone("Z001", null, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> optimizationService.partitionZone("Z001", 2, 30))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> optimizationService.partitionZone("Z001", 0, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+
+        when(routeRepository.findZoneRoutePoints("Z002")).thenReturn(List.of());
+        assertThatThrownBy(() -> optimizationService.partitionZone("Z002", 2, null))
+                .isInstanceOf(InvalidRouteDetailsException.class)
+                .hasMessageContaining("Z002");
+
+        List<Object[]> unmapped = new ArrayList<>();
+        unmapped.add(new Object[]{"Z003-R001", "R1", 10, new PickupPoint(0, "A", null, null)});
+        when(routeRepository.findZoneRoutePoints("Z003")).thenReturn(unmapped);
+        assertThatThrownBy(() -> optimizationService.partitionZone("Z003", 1, null))
+                .isInstanceOf(InvalidRouteDetailsException.class)
+                .hasMessageContaining("Z003-R001");
+    }
+}
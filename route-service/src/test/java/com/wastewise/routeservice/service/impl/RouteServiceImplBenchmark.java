@@ -0,0 +1,139 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.routeservice.dto.RouteResponseDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.payload.RestResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteServiceImplBenchmark
+ * ------------------------------------------------------------------------------
+ * JMH benchmark of the CPU work around route reads and updates, for routes of
+ * 2 and 20 pickup points and pages of 100 routes:
+ * - mapToResponse for one route and for a page
+ * - JSON serialization of RestResponse<List<RouteResponseDTO>> for a page
+ * - update change detection (name, points, time) when nothing, only the name,
+ *   or only one point label changed
+ * Not part of the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=RouteServiceImplBenchmark
+ * ------------------------------------------------------------------------------
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteServiceImplBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"2", "20"})
+    private int pointsPerRoute;
+
+    private RouteServiceImpl routeService;
+    private ObjectMapper objectMapper;
+    private List<Route> page;
+    private RestResponse<List<RouteResponseDTO>> response;
+    private Route route;
+    private List<PickupPoint> samePoints;
+    private List<PickupPoint> changedPoints;
+
+    @Setup
+    public void createRoutes() {
+        // mapToResponse uses none of the service's collaborators
+        routeService = new RouteServiceImpl(null, null, null, null, null, null, null);
+        // The same defaults Spring Boot applies to its ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Random random = new Random(42);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            page.add(route(random, String.format("Z001-R%03d", i)));
+        }
+        response = RestResponse.<List<RouteResponseDTO>>builder()
+                .message("Routes fetched successfully")
+                .data(page.stream().map(routeService::mapToResponse).toList())
+                .build();
+
+        route = page.get(0);
+        samePoints = copy(route.getPickupPoints());
+        changedPoints = copy(route.getPickupPoints());
+        PickupPoint last = changedPoints.get(changedPoints.size() - 1);
+        changedPoints.set(changedPoints.size() - 1,
+                new PickupPoint(last.getOrdinal(), last.getLabel() + " B", last.getLatitude(), last.getLongitude()));
+    }
+
+    @Benchmark
+    public RouteResponseDTO mapToResponse() {
+        return routeService.mapToResponse(route);
+    }
+
+    @Benchmark
+    public List<RouteResponseDTO> mapPage() {
+        return page.stream().map(routeService::mapToResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public RouteServiceImpl.RouteChanges detectNoChange() {
+        return RouteServiceImpl.RouteChanges.of(route, route.getRouteName(), samePoints, route.getEstimatedTime());
+    }
+
+    @Benchmark
+    public RouteServiceImpl.RouteChanges detectRename() {
+        return RouteServiceImpl.RouteChanges.of(route, "Renamed Route", samePoints, route.getEstimatedTime());
+    }
+
+    @Benchmark
+    public RouteServiceImpl.RouteChanges detectPointChange() {
+        return RouteServiceImpl.RouteChanges.of(route, route.getRouteName(), changedPoints, route.getEstimatedTime());
+    }
+
+    private Route route(Random random, String routeId) {
+        List<PickupPoint> points = new ArrayList<>(pointsPerRoute);
+        for (int p = 0; p < pointsPerRoute; p++) {
+            points.add(new PickupPoint(p, "Main Street Stop " + (p + 1),
+                    12.88 + random.nextDouble() * 0.18, 77.50 + random.nextDouble() * 0.18));
+        }
+        return Route.builder()
+                .routeId(routeId)
+                .zoneId("Z001")
+                .routeName("Route " + routeId)
+                .pickupPoints(points)
+                .estimatedTime(30 + random.nextInt(90))
+                .version(3L)
+                .build();
+    }
+
+    private static List<PickupPoint> copy(List<PickupPoint> points) {
+        List<PickupPoint> copy = new ArrayList<>(points.size());
+        for (PickupPoint p : points) {
+            copy.add(new PickupPoint(p.getOrdinal(), p.getLabel(), p.getLatitude(), p.getLongitude()));
+        }
+        return copy;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteServiceImplBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,21 +1,45 @@
 package com.wastewise.routeservice.service.impl;
 
+import com.wastewise.routeservice.cache.DistanceMatrixCache;
+import com.wastewise.routeservice.cache.ZoneExistenceCache;
+import com.wastewise.routeservice.dto.BulkRouteResultDTO;
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
+import com.wastewise.routeservice.dto.PickupPointDTO;
 import com.wastewise.routeservice.dto.RouteCreationRequestDTO;
+import com.wastewise.routeservice.dto.RoutePatchRequestDTO;
+import com.wastewise.routeservice.dto.RouteResponseDTO;
 import com.wastewise.routeservice.dto.RouteUpdateRequestDTO;
 import com.wastewise.routeservice.entity.Route;
 import com.wastewise.routeservice.exception.custom.*;
-import com.wastewise.routeservice.feign.ZoneClient;
-import com.wastewise.routeservice.payload.RestResponse;
 import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import com.wastewise.routeservice.spatial.RouteSpatialIndex;
+import com.wastewise.routeservice.util.PickupPoints;
 import com.wastewise.routeservice.util.RouteIdGenerator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.*;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,20 +49,27 @@ import static org.mockito.Mockito.*;
  * Unit tests for RouteServiceImpl focusing on:
  * - Business logic
  * - Custom exception coverage
- * - Mocked external dependencies (ZoneClient)
+ * - Mocked external dependencies (ZoneExistenceCache)
  * ------------------------------------------------------------------------------
  */
 class RouteServiceImplTest {
 
     @Mock private RouteRepository routeRepository;
     @Mock private RouteIdGenerator routeIdGenerator;
-    @Mock private ZoneClient zoneClient;
+    @Mock private ZoneExistenceCache zoneExistenceCache;
+    @Mock private DistanceMatrixCache distanceMatrixCache;
+    @Mock private RouteSpatialIndex routeSpatialIndex;
+    @Mock private RouteStatsService routeStatsService;
+    @Mock private TransactionTemplate transactionTemplate;
 
     @InjectMocks private RouteServiceImpl routeService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(call -> call.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
     }
 
     /**
@@ -48,25 +79,59 @@ class RouteServiceImplTest {
     void createRoute_success() {
         RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", "P1,P2", 30);
 
-        when(zoneClient.existsByZoneId("Z001"))
-                .thenReturn(RestResponse.<Boolean>builder().data(true).message("OK").build());
-        when(routeRepository.findByRouteNameAndZoneId("RouteA", "Z001")).thenReturn(Optional.empty());
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(completedFuture(true));
         when(routeIdGenerator.generateRouteId("Z001")).thenReturn("Z001-R001");
 
         Route saved = Route.builder()
                 .routeId("Z001-R001")
                 .routeName("RouteA")
-                .pickupPoints("P1,P2")
+                .pickupPoints(PickupPoints.fromString("P1,P2"))
                 .zoneId("Z001")
                 .estimatedTime(30)
                 .build();
 
-        when(routeRepository.save(any())).thenReturn(saved);
+        when(routeRepository.saveAndFlush(any())).thenReturn(saved);
 
         var response = routeService.createRoute(request);
 
         assertThat(response.getRouteId()).isEqualTo("Z001-R001");
         assertThat(response.getPickupPoints()).isEqualTo("P1,P2");
+        verify(distanceMatrixCache).invalidateAfterCommit("Z001");
+        verify(routeSpatialIndex).putAfterCommit(eq("Z001-R001"), eq("Z001"), anyList());
+        verify(routeStatsService).recordChange("Z001", 1, 30);
+    }
+
+    /**
+     * ✅ Structured points take precedence and keep their coordinates.
+     */
+    @Test
+    void createRoute_structuredPoints_keepsCoordinates() {
+        RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", "ignored", 30, List.of(
+                new PickupPointDTO(" Main  Gate ", 12.5, 77.5),
+                new PickupPointDTO("Depot", null, null)));
+
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(completedFuture(true));
+        when(routeIdGenerator.generateRouteId("Z001")).thenReturn("Z001-R001");
+
+        var response = routeService.createRoute(request);
+
+        assertThat(response.getPickupPoints()).isEqualTo("Main Gate,Depot");
+        assertThat(response.getPoints()).extracting(PickupPointDTO::getLatitude).containsExactly(12.5, null);
+    }
+
+    /**
+     * ❌ Create route with out-of-range coordinates.
+     */
+    @Test
+    void createRoute_invalidCoordinates_throwsException() {
+        RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", null, 30,
+                List.of(new PickupPointDTO("Depot", 91.0, 10.0)));
+
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(completedFuture(true));
+
+        assertThatThrownBy(() -> routeService.createRoute(request))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        verify(routeRepository, never()).saveAndFlush(any());
     }
 
     /**
@@ -76,12 +141,55 @@ class RouteServiceImplTest {
     void createRoute_invalidZone_throwsException() {
         RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z999", "RouteA", "P1", 25);
 
-        when(zoneClient.existsByZoneId("Z999"))
-                .thenReturn(RestResponse.<Boolean>builder().data(false).message("Zone not found").build());
+        when(zoneExistenceCache.existsAsync("Z999")).thenReturn(completedFuture(false));
 
         assertThatThrownBy(() -> routeService.createRoute(request))
                 .isInstanceOf(ZoneNotFoundException.class)
                 .hasMessageContaining("Z999");
+        verifyNoInteractions(routeIdGenerator);
+    }
+
+    /**
+     * ❌ Zone check answered late: it is awaited before a route ID is leased or a transaction opened.
+     */
+    @Test
+    void createRoute_zoneCheckAnsweredLate_leasesNothing() {
+        RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z999", "RouteA", "P1", 25);
+        CompletableFuture<Boolean> zoneCheck = CompletableFuture.supplyAsync(() -> false,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        when(zoneExistenceCache.existsAsync("Z999")).thenReturn(zoneCheck);
+
+        assertThatThrownBy(() -> routeService.createRoute(request))
+                .isInstanceOf(ZoneNotFoundException.class);
+        verifyNoInteractions(routeIdGenerator, routeRepository, transactionTemplate, routeStatsService);
+    }
+
+    /**
+     * ❌ A zone ID that cannot exist is rejected without asking zone-service.
+     */
+    @Test
+    void createRoute_malformedZoneId_throwsWithoutLookup() {
+        for (String zoneId : List.of("Z0000000001", "zone-1", "")) {
+            RouteCreationRequestDTO request = new RouteCreationRequestDTO(zoneId, "RouteA", "P1", 25);
+
+            assertThatThrownBy(() -> routeService.createRoute(request))
+                    .isInstanceOf(ZoneNotFoundException.class);
+        }
+        verifyNoInteractions(zoneExistenceCache, routeIdGenerator, routeRepository);
+    }
+
+    /**
+     * ❌ Zone check that misses its deadline fails the request instead of blocking it.
+     */
+    @Test
+    void createRoute_zoneCheckTimedOut_throwsUnavailable() {
+        RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", "P1", 25);
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        assertThatThrownBy(() -> routeService.createRoute(request))
+                .isInstanceOf(ZoneServiceUnavailableException.class)
+                .hasMessageContaining("Z001");
+        verify(routeRepository, never()).saveAndFlush(any());
     }
 
     /**
@@ -91,14 +199,29 @@ class RouteServiceImplTest {
     void createRoute_duplicateName_throwsException() {
         RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", "P1", 20);
 
-        when(zoneClient.existsByZoneId("Z001"))
-                .thenReturn(RestResponse.<Boolean>builder().data(true).build());
-        when(routeRepository.findByRouteNameAndZoneId("RouteA", "Z001"))
-                .thenReturn(Optional.of(new Route()));
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(completedFuture(true));
+        when(routeIdGenerator.generateRouteId("Z001")).thenReturn("Z001-R002");
+        when(routeRepository.saveAndFlush(any())).thenThrow(uniqueViolation("route.uk_route_zone_name"));
 
         assertThatThrownBy(() -> routeService.createRoute(request))
                 .isInstanceOf(DuplicateRouteNameException.class)
                 .hasMessageContaining("RouteA");
+        verifyNoInteractions(routeStatsService, routeSpatialIndex);
+    }
+
+    /**
+     * ❌ Integrity violations other than the route name index are not reported as duplicates.
+     */
+    @Test
+    void createRoute_otherIntegrityViolation_isRethrown() {
+        RouteCreationRequestDTO request = new RouteCreationRequestDTO("Z001", "RouteA", "P1", 20);
+        DataIntegrityViolationException violation = uniqueViolation("PRIMARY");
+
+        when(zoneExistenceCache.existsAsync("Z001")).thenReturn(completedFuture(true));
+        when(routeIdGenerator.generateRouteId("Z001")).thenReturn("Z001-R002");
+        when(routeRepository.saveAndFlush(any())).thenThrow(violation);
+
+        assertThatThrownBy(() -> routeService.createRoute(request)).isSameAs(violation);
     }
 
     /**
@@ -111,18 +234,147 @@ class RouteServiceImplTest {
         Route existing = Route.builder()
                 .routeId("Z001-R001")
                 .routeName("RouteA")
-                .pickupPoints("P1")
+                .pickupPoints(PickupPoints.fromString("P1"))
                 .zoneId("Z001")
                 .estimatedTime(30)
                 .build();
 
-        when(routeRepository.findById("Z001-R001")).thenReturn(Optional.of(existing));
-        when(routeRepository.findByRouteNameAndZoneId("RouteB", "Z001")).thenReturn(Optional.empty());
-        when(routeRepository.save(any())).thenReturn(existing);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(existing));
+        when(routeRepository.saveAndFlush(any())).thenReturn(existing);
 
         var updated = routeService.updateRoute("Z001-R001", request);
 
         assertThat(updated.getRouteName()).isEqualTo("RouteB");
+        verify(routeStatsService).recordChange("Z001", 0, 10);
+    }
+
+    /**
+     * ✅ Patch of scalar fields runs the conditional UPDATE first and returns the whole route.
+     */
+    @Test
+    void patchRoute_scalarFields_usesConditionalUpdate() {
+        when(routeRepository.updateScalarsIfVersion(eq("Z001-R001"), eq(3L), isNull(), eq(45), any())).thenReturn(1);
+        Route updated = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1,P2"), 30, null, null, 4L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(updated));
+
+        var patched = routeService.patchRoute("Z001-R001", RoutePatchRequestDTO.builder().version(3L).estimatedTime(45).build());
+
+        assertThat(patched.getEstimatedTime()).isEqualTo(45);
+        assertThat(patched.getVersion()).isEqualTo(4L);
+        assertThat(patched.getRouteName()).isEqualTo("RouteA");
+        assertThat(patched.getPickupPoints()).isEqualTo("P1,P2");
+        assertThat(patched.getPoints()).hasSize(2);
+        verify(routeRepository).updateEstimatedTime("Z001-R001", 45);
+        verify(routeRepository, never()).findVersionByRouteId(any());
+        verify(routeStatsService).recordChange("Z001", 0, 15);
+    }
+
+    /**
+     * ✅ A rename alone leaves the estimated time column alone.
+     */
+    @Test
+    void patchRoute_nameOnly_keepsEstimatedTime() {
+        when(routeRepository.updateScalarsIfVersion(eq("Z001-R001"), eq(3L), eq("RouteB"), isNull(), any())).thenReturn(1);
+        Route updated = new Route("Z001-R001", "RouteB", "Z001", PickupPoints.fromString("P1"), 30, null, null, 4L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(updated));
+
+        var patched = routeService.patchRoute("Z001-R001", RoutePatchRequestDTO.builder().version(3L).routeName("RouteB").build());
+
+        assertThat(patched.getRouteName()).isEqualTo("RouteB");
+        assertThat(patched.getEstimatedTime()).isEqualTo(30);
+        verify(routeRepository, never()).updateEstimatedTime(any(), anyInt());
+        verify(routeStatsService).recordChange("Z001", 0, 0);
+    }
+
+    /**
+     * ❌ Patch based on an outdated version, looked up only after the UPDATE matched nothing.
+     */
+    @Test
+    void patchRoute_staleVersion_throwsConflict() {
+        when(routeRepository.updateScalarsIfVersion(any(), anyLong(), any(), any(), any())).thenReturn(0);
+        List<Object[]> current = new ArrayList<>();
+        current.add(new Object[]{4L, LocalDateTime.now()});
+        when(routeRepository.findVersionByRouteId("Z001-R001")).thenReturn(current);
+
+        assertThatThrownBy(() -> routeService.patchRoute("Z001-R001",
+                RoutePatchRequestDTO.builder().version(3L).routeName("RouteB").build()))
+                .isInstanceOf(RouteVersionConflictException.class);
+        verify(routeRepository, never()).findWithPickupPointsByRouteId(any());
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Patch of a route that does not exist.
+     */
+    @Test
+    void patchRoute_missingRoute_throwsNotFound() {
+        when(routeRepository.updateScalarsIfVersion(any(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(routeRepository.findVersionByRouteId("Z001-R009")).thenReturn(List.of());
+
+        assertThatThrownBy(() -> routeService.patchRoute("Z001-R009",
+                RoutePatchRequestDTO.builder().version(3L).estimatedTime(40).build()))
+                .isInstanceOf(RouteNotFoundException.class);
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Patch at the current version that changes nothing.
+     */
+    @Test
+    void patchRoute_sameValues_throwsNoChanges() {
+        when(routeRepository.updateScalarsIfVersion(any(), anyLong(), any(), any(), any())).thenReturn(0);
+        List<Object[]> current = new ArrayList<>();
+        current.add(new Object[]{3L, LocalDateTime.now()});
+        when(routeRepository.findVersionByRouteId("Z001-R001")).thenReturn(current);
+
+        assertThatThrownBy(() -> routeService.patchRoute("Z001-R001",
+                RoutePatchRequestDTO.builder().version(3L).estimatedTime(30).build()))
+                .isInstanceOf(NoRouteChangesDetectedException.class);
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Patch renaming to a name the unique index already holds in the zone.
+     */
+    @Test
+    void patchRoute_duplicateName_throwsException() {
+        when(routeRepository.updateScalarsIfVersion(any(), anyLong(), any(), any(), any()))
+                .thenThrow(uniqueViolation("route.uk_route_zone_name"));
+
+        assertThatThrownBy(() -> routeService.patchRoute("Z001-R001",
+                RoutePatchRequestDTO.builder().version(3L).routeName("RouteB").build()))
+                .isInstanceOf(DuplicateRouteNameException.class)
+                .hasMessageContaining("RouteB")
+                .hasMessageContaining("Z001");
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ✅ Patch of pickup points goes through the entity and keeps unspecified fields.
+     */
+    @Test
+    void patchRoute_points_updatesEntityAndKeepsOtherFields() {
+        Route existing = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1"), 30, null, null, 2L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(existing));
+
+        var patched = routeService.patchRoute("Z001-R001",
+                RoutePatchRequestDTO.builder().version(2L).pickupPoints("P1,P2").build());
+
+        assertThat(patched.getPickupPoints()).isEqualTo("P1,P2");
+        assertThat(patched.getRouteName()).isEqualTo("RouteA");
+        assertThat(patched.getEstimatedTime()).isEqualTo(30);
+        verify(routeRepository).saveAndFlush(existing);
+        verify(routeSpatialIndex).putAfterCommit(eq("Z001-R001"), eq("Z001"), anyList());
+    }
+
+    /**
+     * ❌ Patch without a version.
+     */
+    @Test
+    void patchRoute_missingVersion_throwsException() {
+        assertThatThrownBy(() -> routeService.patchRoute("Z001-R001",
+                RoutePatchRequestDTO.builder().estimatedTime(40).build()))
+                .isInstanceOf(InvalidRouteDetailsException.class);
     }
 
     /**
@@ -131,9 +383,23 @@ class RouteServiceImplTest {
     @Test
     void updateRoute_noChanges_throwsException() {
         RouteUpdateRequestDTO request = new RouteUpdateRequestDTO("RouteA", "P1", 30);
-        Route existing = new Route("Z001-R001", "RouteA", "Z001", "P1", 30, null, null);
+        Route existing = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1"), 30, null, null, 0L);
+
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> routeService.updateRoute("Z001-R001", request))
+                .isInstanceOf(NoRouteChangesDetectedException.class);
+    }
 
-        when(routeRepository.findById("Z001-R001")).thenReturn(Optional.of(existing));
+    /**
+     * ❌ Pickup points differing only in whitespace are not a change.
+     */
+    @Test
+    void updateRoute_samePointsDifferentSpacing_throwsException() {
+        RouteUpdateRequestDTO request = new RouteUpdateRequestDTO("RouteA", " P1 ,  P2", 30);
+        Route existing = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1,P2"), 30, null, null, 0L);
+
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(existing));
 
         assertThatThrownBy(() -> routeService.updateRoute("Z001-R001", request))
                 .isInstanceOf(NoRouteChangesDetectedException.class);
@@ -150,16 +416,17 @@ class RouteServiceImplTest {
                 .routeId("Z001-R001")
                 .routeName("RouteA")
                 .zoneId("Z001")
-                .pickupPoints("P1")
+                .pickupPoints(PickupPoints.fromString("P1"))
                 .estimatedTime(30)
                 .build();
 
-        when(routeRepository.findById("Z001-R001")).thenReturn(Optional.of(existing));
-        when(routeRepository.findByRouteNameAndZoneId("RouteX", "Z001"))
-                .thenReturn(Optional.of(new Route()));
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(existing));
+        when(routeRepository.saveAndFlush(any())).thenThrow(uniqueViolation("PUBLIC.UK_ROUTE_ZONE_NAME_INDEX_4"));
 
         assertThatThrownBy(() -> routeService.updateRoute("Z001-R001", request))
-                .isInstanceOf(DuplicateRouteNameException.class);
+                .isInstanceOf(DuplicateRouteNameException.class)
+                .hasMessageContaining("RouteX");
+        verify(routeStatsService, never()).recordChange(any(), anyLong(), anyLong());
     }
 
     /**
@@ -167,7 +434,7 @@ class RouteServiceImplTest {
      */
     @Test
     void updateRoute_notFound_throwsException() {
-        when(routeRepository.findById("INVALID")).thenReturn(Optional.empty());
+        when(routeRepository.findWithPickupPointsByRouteId("INVALID")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> routeService.updateRoute("INVALID", new RouteUpdateRequestDTO("RouteX", "P1", 20)))
                 .isInstanceOf(RouteNotFoundException.class);
@@ -178,12 +445,15 @@ class RouteServiceImplTest {
      */
     @Test
     void deleteRoute_success() {
-        Route route = new Route("Z001-R001", "RouteA", "Z001", "P1", 25, null, null);
+        Route route = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1"), 25, null, null, 0L);
         when(routeRepository.findById("Z001-R001")).thenReturn(Optional.of(route));
 
         routeService.deleteRoute("Z001-R001");
 
         verify(routeRepository).delete(route);
+        verify(distanceMatrixCache).invalidateAfterCommit("Z001");
+        verify(routeSpatialIndex).removeAfterCommit("Z001-R001");
+        verify(routeStatsService).recordChange("Z001", -1, -25);
     }
 
     /**
@@ -202,8 +472,8 @@ class RouteServiceImplTest {
      */
     @Test
     void getRouteById_success() {
-        Route route = new Route("Z001-R001", "RouteA", "Z001", "P1", 25, null, null);
-        when(routeRepository.findById("Z001-R001")).thenReturn(Optional.of(route));
+        Route route = new Route("Z001-R001", "RouteA", "Z001", PickupPoints.fromString("P1"), 25, null, null, 0L);
+        when(routeRepository.findWithPickupPointsByRouteId("Z001-R001")).thenReturn(Optional.of(route));
 
         var result = routeService.getRouteById("Z001-R001");
 
@@ -215,19 +485,47 @@ class RouteServiceImplTest {
      */
     @Test
     void getRouteById_notFound_throwsException() {
-        when(routeRepository.findById("INVALID")).thenReturn(Optional.empty());
+        when(routeRepository.findWithPickupPointsByRouteId("INVALID")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> routeService.getRouteById("INVALID"))
                 .isInstanceOf(RouteNotFoundException.class);
     }
 
+    /**
+     * ✅ Route ETag is derived from the version column.
+     */
+    @Test
+    void getRouteVersion_derivesTagFromVersion() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{7L, updatedAt});
+        when(routeRepository.findVersionByRouteId("Z001-R001")).thenReturn(rows);
+
+        var version = routeService.getRouteVersion("Z001-R001");
+
+        assertThat(version.eTag()).isEqualTo("\"Z001-R001.7\"");
+        assertThat(version.lastModified()).isPositive();
+        verify(routeRepository, never()).findWithPickupPointsByRouteId(any());
+    }
+
+    /**
+     * ❌ Version of a missing route.
+     */
+    @Test
+    void getRouteVersion_notFound_throwsException() {
+        when(routeRepository.findVersionByRouteId("INVALID")).thenReturn(List.of());
+
+        assertThatThrownBy(() -> routeService.getRouteVersion("INVALID"))
+                .isInstanceOf(RouteNotFoundException.class);
+    }
+
     /**
      * ✅ Get all routes.
      */
     @Test
     void getAllRoutes_success() {
         when(routeRepository.findAll()).thenReturn(List.of(
-                new Route("Z001-R001", "RouteX", "Z001", "P1", 15, null, null)
+                new Route("Z001-R001", "RouteX", "Z001", PickupPoints.fromString("P1"), 15, null, null, 0L)
         ));
 
         var result = routeService.getAllRoutes();
@@ -241,13 +539,347 @@ class RouteServiceImplTest {
      */
     @Test
     void getRouteIdsByZoneId_success() {
-        when(routeRepository.findByZoneId("Z001")).thenReturn(List.of(
-                new Route("Z001-R001", "R1", "Z001", "P1", 30, null, null),
-                new Route("Z001-R002", "R2", "Z001", "P2", 20, null, null)
-        ));
+        when(routeRepository.findRouteIdsByZoneId("Z001")).thenReturn(List.of("Z001-R001", "Z001-R002"));
 
         List<String> routeIds = routeService.getRouteIdsByZoneId("Z001");
 
         assertThat(routeIds).containsExactly("Z001-R001", "Z001-R002");
+        verify(routeRepository, never()).findByZoneId(anyString());
+    }
+
+    /**
+     * ✅ Get route IDs of many zones with one query; zones without routes map to empty lists.
+     */
+    @Test
+    void getRouteIdsByZoneIds_groupsByZoneInRequestOrder() {
+        when(routeRepository.findRouteIdsByZoneIds(anyCollection())).thenReturn(List.of(
+                new Object[]{"Z001", "Z001-R001"},
+                new Object[]{"Z001", "Z001-R002"},
+                new Object[]{"Z003", "Z003-R001"}));
+
+        Map<String, List<String>> routeIds = routeService.getRouteIdsByZoneIds(List.of("Z003", "Z002", "Z001", "Z003"));
+
+        assertThat(routeIds.keySet()).containsExactly("Z003", "Z002", "Z001");
+        assertThat(routeIds.get("Z001")).containsExactly("Z001-R001", "Z001-R002");
+        assertThat(routeIds.get("Z002")).isEmpty();
+        verify(routeRepository, times(1)).findRouteIdsByZoneIds(anyCollection());
+    }
+
+    /**
+     * ❌ Multi-zone lookup with a lower-case zone ID, which the zone_id collation would match to Z001's rows.
+     */
+    @Test
+    void getRouteIdsByZoneIds_lowerCaseZoneId_throwsException() {
+        assertThatThrownBy(() -> routeService.getRouteIdsByZoneIds(List.of("Z002", "z001")))
+                .isInstanceOf(InvalidRouteDetailsException.class)
+                .hasMessageContaining("z001");
+        verifyNoInteractions(routeRepository);
+    }
+
+    /**
+     * ✅ Rows whose zone ID is not one of the requested keys are skipped instead of failing.
+     */
+    @Test
+    void getRouteIdsByZoneIds_unrequestedZoneInRows_isSkipped() {
+        when(routeRepository.findRouteIdsByZoneIds(anyCollection())).thenReturn(List.of(
+                new Object[]{"Z001", "Z001-R001"},
+                new Object[]{"Z0001", "Z0001-R001"}));
+
+        Map<String, List<String>> routeIds = routeService.getRouteIdsByZoneIds(List.of("Z001"));
+
+        assertThat(routeIds).containsExactly(Map.entry("Z001", List.of("Z001-R001")));
+    }
+
+    /**
+     * ❌ Multi-zone lookup with no or too many zone IDs.
+     */
+    @Test
+    void getRouteIdsByZoneIds_invalidSize_throwsException() {
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            tooMany.add("Z" + i);
+        }
+
+        assertThatThrownBy(() -> routeService.getRouteIdsByZoneIds(List.of()))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.getRouteIdsByZoneIds(tooMany))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        verifyNoInteractions(routeRepository);
+    }
+
+    /**
+     * ✅ Get a page of routes with a cursor for the next page.
+     */
+    @Test
+    void getRoutesPage_returnsCursorWhenMoreRoutesExist() {
+        List<Route> routes = List.of(
+                new Route("Z001-R001", "R1", "Z001", PickupPoints.fromString("P1"), 30, null, null, 0L),
+                new Route("Z001-R002", "R2", "Z001", PickupPoints.fromString("P2"), 20, null, null, 0L));
+        Window<Route> window = Window.from(routes,
+                i -> ScrollPosition.forward(Map.of("routeId", routes.get(i).getRouteId())), true);
+        when(routeRepository.findByZoneId(eq("Z001"), any(ScrollPosition.class), any(Sort.class), eq(Limit.of(2))))
+                .thenReturn(window);
+
+        var page = routeService.getRoutesPage("Z001", null, null, 2, null);
+
+        assertThat(page.getRoutes()).extracting("routeId").containsExactly("Z001-R001", "Z001-R002");
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    /**
+     * ✅ A cursor is decoded into the keyset of the previous page.
+     */
+    @Test
+    void getRoutesPage_withCursor_resumesAfterLastRoute() {
+        String cursor = com.wastewise.routeservice.util.RouteCursorCodec.encode(
+                ScrollPosition.forward(Map.of("estimatedTime", 20, "routeId", "Z001-R002")));
+        when(routeRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), i -> ScrollPosition.keyset(), false));
+
+        var page = routeService.getRoutesPage(null, "estimatedTime", "desc", 5000, cursor);
+
+        ArgumentCaptor<ScrollPosition> position = ArgumentCaptor.forClass(ScrollPosition.class);
+        verify(routeRepository).findAllBy(position.capture(),
+                eq(Sort.by(Sort.Direction.DESC, "estimatedTime", "routeId")), eq(Limit.of(500)));
+        assertThat(((KeysetScrollPosition) position.getValue()).getKeys())
+                .containsEntry("estimatedTime", 20)
+                .containsEntry("routeId", "Z001-R002");
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    /**
+     * ❌ Unsupported sort property or mismatched cursor.
+     */
+    @Test
+    void getRoutesPage_invalidSortOrCursor_throwsException() {
+        String routeIdCursor = com.wastewise.routeservice.util.RouteCursorCodec.encode(
+                ScrollPosition.forward(Map.of("routeId", "Z001-R002")));
+
+        assertThatThrownBy(() -> routeService.getRoutesPage(null, "pickupPoints", null, null, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.getRoutesPage(null, "zoneId", null, null, routeIdCursor))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.getRoutesPage(null, null, null, null, "not-a-cursor"))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+    }
+
+    /**
+     * ✅ Stream all routes to a consumer and close the cursor.
+     */
+    @Test
+    void streamAllRoutes_passesEveryRouteAndClosesStream() {
+        List<RouteResponseDTO> received = new ArrayList<>();
+        boolean[] closed = {false};
+        Stream<RouteResponseDTO> routes = Stream.of(
+                new RouteResponseDTO("Z001-R001", "Z001", "R1", 30),
+                new RouteResponseDTO("Z001-R002", "Z001", "R2", 20))
+                .onClose(() -> closed[0] = true);
+        when(routeRepository.streamAllRoutes()).thenReturn(routes);
+        when(routeRepository.findPickupPoints(List.of("Z001-R001", "Z001-R002"))).thenReturn(List.of(
+                new Object[]{"Z001-R001", PickupPoints.fromString("P1").get(0)},
+                new Object[]{"Z001-R002", PickupPoints.fromString("P2").get(0)}));
+
+        long count = routeService.streamAllRoutes(received::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(received).extracting(RouteResponseDTO::getRouteId).containsExactly("Z001-R001", "Z001-R002");
+        assertThat(received).extracting(RouteResponseDTO::getPickupPoints).containsExactly("P1", "P2");
+        assertThat(closed[0]).isTrue();
+        verify(routeRepository, times(1)).findPickupPoints(any());
+    }
+
+    /**
+     * ✅ Bulk create validates each zone once and reports per-item outcomes.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRoutes_mixedOutcomes_reportsPerItemResults() {
+        List<RouteCreationRequestDTO> requests = List.of(
+                new RouteCreationRequestDTO("Z001", "RouteA", "P1", 10),
+                new RouteCreationRequestDTO("Z001", "Existing", "P2", 20),
+                new RouteCreationRequestDTO("Z999", "RouteB", "P3", 30),
+                new RouteCreationRequestDTO("Z001", "RouteA", "P4", 40),
+                new RouteCreationRequestDTO("Z001", null, "P5", 50),
+                new RouteCreationRequestDTO("Z001", "RouteC", "P6", 60));
+
+        when(zoneExistenceCache.exists("Z001")).thenReturn(true);
+        when(zoneExistenceCache.exists("Z999")).thenReturn(false);
+        when(routeRepository.findExistingRouteNames(eq("Z001"), anyCollection())).thenReturn(List.of("Existing"));
+        when(routeIdGenerator.generateRouteIds("Z001", 2)).thenReturn(List.of("Z001-R007", "Z001-R008"));
+
+        var response = routeService.createRoutes(requests);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getResults()).extracting(BulkRouteResultDTO::getStatus).containsExactly(
+                BulkRouteResultDTO.Status.CREATED, BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.FAILED,
+                BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.CREATED);
+        assertThat(response.getResults().get(0).getRouteId()).isEqualTo("Z001-R007");
+        assertThat(response.getResults().get(5).getRouteId()).isEqualTo("Z001-R008");
+        assertThat(response.getResults().get(2).getMessage()).contains("Z999");
+
+        verify(zoneExistenceCache, times(1)).exists("Z001");
+        verify(routeRepository, times(1)).findExistingRouteNames(eq("Z001"), anyCollection());
+        ArgumentCaptor<List<Route>> saved = ArgumentCaptor.forClass(List.class);
+        verify(routeRepository).persistAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Route::getRouteName).containsExactly("RouteA", "RouteC");
+        verify(routeStatsService).recordChange("Z001", 2, 70);
+        verifyNoMoreInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Bulk create treats names differing only in case as duplicates, like the unique index.
+     */
+    @Test
+    void createRoutes_namesDifferingInCase_areDuplicates() {
+        List<RouteCreationRequestDTO> requests = List.of(
+                new RouteCreationRequestDTO("Z001", "existing", "P1", 10),
+                new RouteCreationRequestDTO("Z001", "RouteA", "P2", 20),
+                new RouteCreationRequestDTO("Z001", "ROUTEA", "P3", 30));
+
+        when(zoneExistenceCache.exists("Z001")).thenReturn(true);
+        when(routeRepository.findExistingRouteNames(eq("Z001"), anyCollection())).thenReturn(List.of("Existing"));
+        when(routeIdGenerator.generateRouteIds("Z001", 1)).thenReturn(List.of("Z001-R007"));
+
+        var response = routeService.createRoutes(requests);
+
+        assertThat(response.getResults()).extracting(BulkRouteResultDTO::getStatus).containsExactly(
+                BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.CREATED, BulkRouteResultDTO.Status.FAILED);
+    }
+
+    /**
+     * ❌ A name taken by a concurrent request after the check fails only its own item.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRoutes_nameTakenBeforeInsert_failsOnlyThatItem() {
+        List<RouteCreationRequestDTO> requests = List.of(
+                new RouteCreationRequestDTO("Z001", "RouteA", "P1", 10),
+                new RouteCreationRequestDTO("Z001", "RouteB", "P2", 20));
+
+        when(zoneExistenceCache.exists("Z001")).thenReturn(true);
+        when(routeRepository.findExistingRouteNames(eq("Z001"), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("routea"));
+        when(routeIdGenerator.generateRouteIds("Z001", 2)).thenReturn(List.of("Z001-R007", "Z001-R008"));
+        doThrow(uniqueViolation("route.uk_route_zone_name")).doNothing().when(routeRepository).persistAll(any());
+
+        var response = routeService.createRoutes(requests);
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkRouteResultDTO::getStatus).containsExactly(
+                BulkRouteResultDTO.Status.FAILED, BulkRouteResultDTO.Status.CREATED);
+        assertThat(response.getResults().get(0).getMessage()).contains("RouteA");
+        assertThat(response.getResults().get(1).getRouteId()).isEqualTo("Z001-R008");
+
+        ArgumentCaptor<List<Route>> saved = ArgumentCaptor.forClass(List.class);
+        verify(routeRepository, times(2)).persistAll(saved.capture());
+        assertThat(saved.getAllValues().get(1)).extracting(Route::getRouteId).containsExactly("Z001-R008");
+        assertThat(saved.getAllValues().get(1).get(0)).isNotSameAs(saved.getAllValues().get(0).get(1));
+        verify(routeStatsService).recordChange("Z001", 1, 20);
+    }
+
+    /**
+     * ❌ Integrity violations other than the route name index fail the whole bulk create.
+     */
+    @Test
+    void createRoutes_otherIntegrityViolation_isRethrown() {
+        DataIntegrityViolationException violation = uniqueViolation("PRIMARY");
+        when(zoneExistenceCache.exists("Z001")).thenReturn(true);
+        when(routeIdGenerator.generateRouteIds("Z001", 1)).thenReturn(List.of("Z001-R007"));
+        doThrow(violation).when(routeRepository).persistAll(any());
+
+        assertThatThrownBy(() -> routeService.createRoutes(List.of(new RouteCreationRequestDTO("Z001", "RouteA", "P1", 10))))
+                .isSameAs(violation);
+        verify(routeRepository, times(1)).findExistingRouteNames(eq("Z001"), anyCollection());
+    }
+
+    /**
+     * ✅ One deletion batch deletes by ID and keeps stats, cache and spatial index in step.
+     */
+    @Test
+    void deleteRoutesBatch_deletesLockedRoutes() {
+        List<Object[]> batch = new ArrayList<>();
+        batch.add(new Object[]{"Z001-R001", 10});
+        batch.add(new Object[]{"Z001-R002", 25});
+        when(routeRepository.lockDeletionBatch("Z001", Limit.of(2))).thenReturn(batch);
+        when(routeRepository.deleteByZoneIdAndRouteIds("Z001", List.of("Z001-R001", "Z001-R002"))).thenReturn(2);
+
+        assertThat(routeService.deleteRoutesBatch("Z001", 2)).isEqualTo(2);
+
+        verify(routeStatsService).recordChange("Z001", -2, -35);
+        verify(distanceMatrixCache).invalidateAfterCommit("Z001");
+        verify(routeSpatialIndex).removeAfterCommit("Z001-R001");
+        verify(routeSpatialIndex).removeAfterCommit("Z001-R002");
+    }
+
+    /**
+     * ✅ An empty zone deletes nothing and touches no statistics.
+     */
+    @Test
+    void deleteRoutesBatch_emptyZone_returnsZero() {
+        when(routeRepository.lockDeletionBatch("Z001", Limit.of(500))).thenReturn(List.of());
+
+        assertThat(routeService.deleteRoutesBatch("Z001", 500)).isZero();
+        verify(routeRepository, never()).deleteByZoneIdAndRouteIds(any(), any());
+        verifyNoInteractions(routeStatsService);
+    }
+
+    /**
+     * ❌ Batch size outside the allowed range.
+     */
+    @Test
+    void deleteRoutesBatch_invalidLimit_throwsException() {
+        assertThatThrownBy(() -> routeService.deleteRoutesBatch("Z001", 0))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.deleteRoutesBatch("Z001", 1001))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+    }
+
+    /**
+     * ❌ Bulk create with an empty list.
+     */
+    @Test
+    void createRoutes_empty_throwsException() {
+        assertThatThrownBy(() -> routeService.createRoutes(List.of()))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+    }
+
+    /**
+     * ✅ Nearby routes come from the spatial index with the default limit.
+     */
+    @Test
+    void findRoutesNear_usesSpatialIndex() {
+        List<NearbyRouteDTO> nearby = List.of(new NearbyRouteDTO("Z001-R001", "Z001", 120.5));
+        when(routeSpatialIndex.findWithinRadius(12.9, 77.5, 500, 50)).thenReturn(nearby);
+
+        assertThat(routeService.findRoutesNear(12.9, 77.5, 500, null)).isEqualTo(nearby);
+    }
+
+    /**
+     * ❌ Nearby routes with an invalid location, radius or count.
+     */
+    @Test
+    void findRoutesNear_invalidArguments_throwsException() {
+        assertThatThrownBy(() -> routeService.findRoutesNear(91, 77.5, 500, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.findRoutesNear(12.9, 77.5, 0, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.findRoutesNear(12.9, 77.5, 60_000, null))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        assertThatThrownBy(() -> routeService.findNearestRoutes(12.9, 77.5, 0))
+                .isInstanceOf(InvalidRouteDetailsException.class);
+        verifyNoInteractions(routeSpatialIndex);
+    }
+
+    /**
+     * Builds the exception Spring Data throws when the named constraint rejects a flush.
+     */
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraintName));
     }
 }
@@ -0,0 +1,176 @@
+package com.wastewise.routeservice.service.impl;
+
+import com.wastewise.routeservice.dto.ZoneRouteStatsDTO;
+import com.wastewise.routeservice.entity.ZoneRouteStats;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.repository.ZoneRouteStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteStatsServiceImplTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for RouteStatsServiceImpl with mocked repositories:
+ * - Incremental updates and first-row creation
+ * - Reconciliation against the route table
+ * ------------------------------------------------------------------------------
+ */
+class RouteStatsServiceImplTest {
+
+    @Mock private ZoneRouteStatsRepository statsRepository;
+    @Mock private RouteRepository routeRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private RouteStatsServiceImpl statsService;
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        statsService = new RouteStatsServiceImpl(statsRepository, routeRepository, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    /**
+     * ✅ Existing row is updated with a single statement.
+     */
+    @Test
+    void recordChange_existingRow_appliesDelta() {
+        when(statsRepository.applyDelta(eq("Z001"), eq(1L), eq(30L), any())).thenReturn(1);
+
+        statsService.recordChange("Z001", 1, 30);
+
+        verify(statsRepository, times(1)).applyDelta(eq("Z001"), eq(1L), eq(30L), any());
+        verify(statsRepository, never()).insertEmpty(any());
+    }
+
+    /**
+     * ✅ Missing row is created first; losing the insert race is not an error.
+     */
+    @Test
+    void recordChange_missingRow_createsRowThenAppliesDelta() {
+        when(statsRepository.applyDelta(eq("Z001"), eq(1L), eq(30L), any())).thenReturn(0, 1);
+        doThrow(new DataIntegrityViolationException("duplicate")).when(statsRepository).insertEmpty("Z001");
+
+        statsService.recordChange("Z001", 1, 30);
+
+        verify(statsRepository).insertEmpty("Z001");
+        verify(statsRepository, times(2)).applyDelta(eq("Z001"), eq(1L), eq(30L), any());
+    }
+
+    /**
+     * ✅ Average is derived from the stored totals.
+     */
+    @Test
+    void getZoneStats_computesAverage() {
+        when(statsRepository.findByRouteCountGreaterThanOrderByZoneId(0))
+                .thenReturn(List.of(new ZoneRouteStats("Z001", 4, 90, null, 0)));
+
+        List<ZoneRouteStatsDTO> stats = statsService.getZoneStats();
+
+        assertThat(stats).singleElement().satisfies(zone -> {
+            assertThat(zone.getRouteCount()).isEqualTo(4);
+            assertThat(zone.getAverageEstimatedTime()).isEqualTo(22.5);
+        });
+    }
+
+    /**
+     * ✅ Route table version combines zone count and revisions.
+     */
+    @Test
+    void getRouteTableVersion_buildsTagFromRevisions() {
+        LocalDateTime modified = LocalDateTime.of(2024, 5, 1, 9, 0);
+        List<Object[]> summary = new ArrayList<>();
+        summary.add(new Object[]{3L, 42L, modified});
+        when(statsRepository.summarizeRevisions()).thenReturn(summary);
+
+        var version = statsService.getRouteTableVersion();
+
+        assertThat(version.eTag()).isEqualTo("\"routes.3.42\"");
+        assertThat(version.lastModified()).isPositive();
+    }
+
+    /**
+     * ✅ Reconciliation fixes drift, adds missing zones, zeroes emptied zones
+     * and never moves lastModified backwards, one locked zone at a time.
+     */
+    @Test
+    void reconcile_correctsDriftAndKeepsLatestModification() {
+        LocalDateTime deletedAt = LocalDateTime.of(2024, 5, 2, 9, 0);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 9, 0);
+        ZoneRouteStats drifted = new ZoneRouteStats("Z001", 3, 70, deletedAt, 0);
+        ZoneRouteStats emptied = new ZoneRouteStats("Z002", 1, 15, deletedAt, 0);
+        ZoneRouteStats created = new ZoneRouteStats("Z003", 0, 0, null, 0);
+        when(statsRepository.findAllZoneIds()).thenReturn(List.of("Z001", "Z002"));
+        when(routeRepository.findDistinctZoneIds()).thenReturn(List.of("Z001", "Z003"));
+        when(statsRepository.findByZoneIdForUpdate("Z001")).thenReturn(Optional.of(drifted));
+        when(statsRepository.findByZoneIdForUpdate("Z002")).thenReturn(Optional.of(emptied));
+        when(statsRepository.findByZoneIdForUpdate("Z003")).thenReturn(Optional.empty()).thenReturn(Optional.of(created));
+        when(routeRepository.aggregateZone("Z001")).thenReturn(aggregate(2L, 50L, updatedAt));
+        when(routeRepository.aggregateZone("Z002")).thenReturn(aggregate(0L, 0L, null));
+        when(routeRepository.aggregateZone("Z003")).thenReturn(aggregate(1L, 20L, updatedAt));
+
+        statsService.reconcile();
+
+        assertThat(drifted.getRouteCount()).isEqualTo(2);
+        assertThat(drifted.getTotalEstimatedTime()).isEqualTo(50);
+        assertThat(drifted.getLastModified()).isEqualTo(deletedAt);
+        assertThat(drifted.getRevision()).isEqualTo(1);
+        assertThat(emptied.getRouteCount()).isZero();
+        assertThat(emptied.getTotalEstimatedTime()).isZero();
+        assertThat(emptied.getLastModified()).isEqualTo(deletedAt);
+        assertThat(emptied.getRevision()).isEqualTo(1);
+        verify(statsRepository).insertEmpty("Z003");
+        assertThat(created.getRouteCount()).isEqualTo(1);
+        assertThat(created.getTotalEstimatedTime()).isEqualTo(20);
+        assertThat(created.getLastModified()).isEqualTo(updatedAt);
+    }
+
+    /**
+     * ✅ Each zone is locked and aggregated on its own, never the whole table.
+     */
+    @Test
+    void reconcile_locksOneZonePerTransaction() {
+        when(statsRepository.findAllZoneIds()).thenReturn(List.of("Z001", "Z002"));
+        when(routeRepository.findDistinctZoneIds()).thenReturn(List.of());
+        when(statsRepository.findByZoneIdForUpdate(anyString()))
+                .thenAnswer(call -> Optional.of(new ZoneRouteStats(call.getArgument(0), 0, 0, null, 0)));
+        when(routeRepository.aggregateZone(anyString())).thenReturn(aggregate(0L, 0L, null));
+
+        statsService.reconcile();
+
+        InOrder order = inOrder(statsRepository, routeRepository, transactionManager);
+        for (String zoneId : List.of("Z001", "Z002")) {
+            order.verify(transactionManager).getTransaction(any());
+            order.verify(statsRepository).findByZoneIdForUpdate(zoneId);
+            order.verify(routeRepository).aggregateZone(zoneId);
+            order.verify(transactionManager).commit(any());
+        }
+    }
+
+    private static List<Object[]> aggregate(long routes, long minutes, LocalDateTime lastUpdated) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{routes, minutes, lastUpdated});
+        return rows;
+    }
+}
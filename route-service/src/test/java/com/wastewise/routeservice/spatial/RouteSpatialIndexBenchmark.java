@@ -0,0 +1,86 @@
+package com.wastewise.routeservice.spatial;
+
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteSpatialIndexBenchmark
+ * ------------------------------------------------------------------------------
+ * JMH benchmark of radius and k-nearest queries over 1 and 3 million pickup
+ * points (10 per route) spread over a 60 km square. Not part of the unit test
+ * run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=RouteSpatialIndexBenchmark
+ * ------------------------------------------------------------------------------
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RouteSpatialIndexBenchmark {
+
+    private static final int POINTS_PER_ROUTE = 10;
+    private static final double MIN_LAT = 12.70;
+    private static final double MIN_LON = 77.30;
+    private static final double SPAN = 0.54;
+
+    @Param({"1000000", "3000000"})
+    private int points;
+
+    private PointGrid grid;
+
+    @Setup
+    public void buildGrid() {
+        Random random = new Random(42);
+        grid = new PointGrid(0.01);
+        double[] latitudes = new double[POINTS_PER_ROUTE];
+        double[] longitudes = new double[POINTS_PER_ROUTE];
+        for (int r = 0; r < points / POINTS_PER_ROUTE; r++) {
+            for (int i = 0; i < POINTS_PER_ROUTE; i++) {
+                latitudes[i] = MIN_LAT + random.nextDouble() * SPAN;
+                longitudes[i] = MIN_LON + random.nextDouble() * SPAN;
+            }
+            grid.put("R" + r, "Z" + (r % 500), latitudes.clone(), longitudes.clone());
+        }
+    }
+
+    private static double randomLat() {
+        return MIN_LAT + ThreadLocalRandom.current().nextDouble() * SPAN;
+    }
+
+    private static double randomLon() {
+        return MIN_LON + ThreadLocalRandom.current().nextDouble() * SPAN;
+    }
+
+    @Benchmark
+    public List<NearbyRouteDTO> within200m() {
+        return grid.withinRadius(randomLat(), randomLon(), 200, 50);
+    }
+
+    @Benchmark
+    public List<NearbyRouteDTO> within1km() {
+        return grid.withinRadius(randomLat(), randomLon(), 1000, 50);
+    }
+
+    @Benchmark
+    public List<NearbyRouteDTO> nearest10() {
+        return grid.nearest(randomLat(), randomLon(), 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteSpatialIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
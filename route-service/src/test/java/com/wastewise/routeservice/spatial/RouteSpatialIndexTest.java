@@ -0,0 +1,268 @@
+package com.wastewise.routeservice.spatial;
+
+import com.wastewise.routeservice.dto.NearbyRouteDTO;
+import com.wastewise.routeservice.entity.PickupPoint;
+import com.wastewise.routeservice.repository.RouteRepository;
+import com.wastewise.routeservice.service.RouteStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteSpatialIndexTest
+ * ------------------------------------------------------------------------------
+ * Unit tests for RouteSpatialIndex focusing on:
+ * - Radius and k-nearest results matching a brute-force scan
+ * - Incremental replace/remove of routes
+ * - Wraparound at the antimeridian and loading from the repository
+ * - Refreshing only changed zones, and updates made during a load
+ * ------------------------------------------------------------------------------
+ */
+class RouteSpatialIndexTest {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    @Mock private RouteRepository routeRepository;
+    @Mock private RouteStatsService routeStatsService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new RouteSpatialIndex(routeRepository, routeStatsService, transactionManager, meterRegistry, 0.01);
+        when(routeStatsService.getZoneRevisions()).thenReturn(Map.of("Z001", 1L));
+    }
+
+    private static PickupPoint point(int ordinal, Double latitude, Double longitude) {
+        return new PickupPoint(ordinal, "P" + ordinal, latitude, longitude);
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    /**
+     * Closest-point distance of every route, sorted like the index sorts its results.
+     */
+    private static List<NearbyRouteDTO> bruteForce(Map<String, List<PickupPoint>> routes, double lat, double lon) {
+        List<NearbyRouteDTO> all = new ArrayList<>();
+        routes.forEach((routeId, points) -> all.add(new NearbyRouteDTO(routeId, "Z001", points.stream()
+                .mapToDouble(p -> haversine(lat, lon, p.getLatitude(), p.getLongitude()))
+                .min().orElseThrow())));
+        all.sort(Comparator.comparingDouble(NearbyRouteDTO::getDistanceMeters).thenComparing(NearbyRouteDTO::getRouteId));
+        return all;
+    }
+
+    private Map<String, List<PickupPoint>> randomRoutes(Random random, int count) {
+        Map<String, List<PickupPoint>> routes = new HashMap<>();
+        for (int r = 0; r < count; r++) {
+            List<PickupPoint> points = new ArrayList<>();
+            for (int i = 0, n = 1 + random.nextInt(5); i < n; i++) {
+                points.add(point(i, 12.8 + random.nextDouble() * 0.3, 77.4 + random.nextDouble() * 0.3));
+            }
+            String routeId = String.format("Z001-R%04d", r);
+            routes.put(routeId, points);
+            index.put(routeId, "Z001", points);
+        }
+        return routes;
+    }
+
+    private static List<String> ids(List<NearbyRouteDTO> routes) {
+        return routes.stream().map(NearbyRouteDTO::getRouteId).toList();
+    }
+
+    @Test
+    @DisplayName("Radius search returns the same routes and distances as a full scan")
+    void findWithinRadius_matchesBruteForce() {
+        Random random = new Random(7);
+        Map<String, List<PickupPoint>> routes = randomRoutes(random, 2000);
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 12.8 + random.nextDouble() * 0.3;
+            double lon = 77.4 + random.nextDouble() * 0.3;
+            double radius = 100 + random.nextDouble() * 3000;
+            List<NearbyRouteDTO> expected = bruteForce(routes, lat, lon).stream()
+                    .filter(route -> route.getDistanceMeters() <= radius)
+                    .toList();
+
+            List<NearbyRouteDTO> actual = index.findWithinRadius(lat, lon, radius, Integer.MAX_VALUE);
+
+            assertThat(ids(actual)).isEqualTo(ids(expected));
+            for (int i = 0; i < actual.size(); i++) {
+                assertThat(actual.get(i).getDistanceMeters()).isCloseTo(expected.get(i).getDistanceMeters(), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("k-nearest search returns the same routes as a full scan, also far from any point")
+    void findNearest_matchesBruteForce() {
+        Random random = new Random(11);
+        Map<String, List<PickupPoint>> routes = randomRoutes(random, 2000);
+
+        for (int q = 0; q < 50; q++) {
+            // Every fifth query is far outside the data, which forces many empty rings
+            boolean far = q % 5 == 0;
+            double lat = far ? 13.5 : 12.8 + random.nextDouble() * 0.3;
+            double lon = far ? 78.2 : 77.4 + random.nextDouble() * 0.3;
+            int k = 1 + random.nextInt(20);
+
+            assertThat(ids(index.findNearest(lat, lon, k)))
+                    .isEqualTo(ids(bruteForce(routes, lat, lon).subList(0, k)));
+        }
+    }
+
+    @Test
+    @DisplayName("Replacing and removing a route updates results and counts")
+    void putAndRemove_updateIndex() {
+        index.put("Z001-R001", "Z001", List.of(point(0, 12.90, 77.50), point(1, 12.91, 77.51)));
+        index.put("Z001-R002", "Z001", List.of(point(0, 12.95, 77.55)));
+        assertThat(index.routeCount()).isEqualTo(2);
+        assertThat(index.pointCount()).isEqualTo(3);
+
+        index.put("Z001-R001", "Z001", List.of(point(0, 12.95, 77.551)));
+        assertThat(index.pointCount()).isEqualTo(2);
+        assertThat(index.findWithinRadius(12.90, 77.50, 500, 10)).isEmpty();
+        assertThat(ids(index.findNearest(12.95, 77.55, 2))).containsExactly("Z001-R002", "Z001-R001");
+
+        index.remove("Z001-R002");
+        assertThat(ids(index.findWithinRadius(12.95, 77.55, 500, 10))).containsExactly("Z001-R001");
+        assertThat(meterRegistry.get("route.spatial.index.routes").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("route.spatial.index.points").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Points without coordinates are not indexed")
+    void put_skipsPointsWithoutCoordinates() {
+        index.put("Z001-R001", "Z001", List.of(point(0, null, null), point(1, 12.9, 77.5)));
+        index.put("Z001-R002", "Z001", List.of(point(0, null, null)));
+
+        assertThat(index.pointCount()).isEqualTo(1);
+        assertThat(index.routeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Searches wrap around the antimeridian")
+    void search_wrapsAroundAntimeridian() {
+        index.put("Z009-R001", "Z009", List.of(point(0, -16.5, -179.999)));
+        index.put("Z009-R002", "Z009", List.of(point(0, -16.5, 170.0)));
+
+        List<NearbyRouteDTO> near = index.findWithinRadius(-16.5, 179.999, 1000, 10);
+
+        assertThat(ids(near)).containsExactly("Z009-R001");
+        assertThat(near.get(0).getDistanceMeters()).isCloseTo(haversine(-16.5, 179.999, -16.5, -179.999), within(1e-6));
+        assertThat(ids(index.findNearest(-16.5, 179.999, 1))).containsExactly("Z009-R001");
+    }
+
+    @Test
+    @DisplayName("Limit keeps the closest routes")
+    void findWithinRadius_appliesLimit() {
+        index.put("Z001-R001", "Z001", List.of(point(0, 12.900, 77.5)));
+        index.put("Z001-R002", "Z001", List.of(point(0, 12.901, 77.5)));
+        index.put("Z001-R003", "Z001", List.of(point(0, 12.902, 77.5)));
+
+        assertThat(ids(index.findWithinRadius(12.9, 77.5, 1000, 2))).containsExactly("Z001-R001", "Z001-R002");
+    }
+
+    @Test
+    @DisplayName("Rebuild loads routes grouped from the coordinate stream")
+    void rebuild_loadsFromRepository() {
+        index.put("Z001-R999", "Z001", List.of(point(0, 10.0, 10.0)));
+        when(routeRepository.streamAllCoordinates()).thenReturn(Stream.of(
+                new Object[]{"Z001-R001", "Z001", 12.90, 77.50},
+                new Object[]{"Z001-R001", "Z001", 12.91, 77.51},
+                new Object[]{"Z002-R001", "Z002", 13.00, 77.60}));
+
+        index.rebuild();
+
+        assertThat(index.routeCount()).isEqualTo(2);
+        assertThat(index.pointCount()).isEqualTo(3);
+        assertThat(index.findNearest(12.9, 77.5, 1).get(0).getZoneId()).isEqualTo("Z001");
+        assertThat(index.findNearest(13.0, 77.6, 1).get(0).getRouteId()).isEqualTo("Z002-R001");
+    }
+
+    @Test
+    @DisplayName("Refresh reloads only the zones whose revision changed")
+    void refresh_reloadsChangedZones() {
+        when(routeRepository.streamAllCoordinates()).thenReturn(Stream.of(
+                new Object[]{"Z001-R001", "Z001", 12.90, 77.50},
+                new Object[]{"Z002-R001", "Z002", 13.00, 77.60}));
+        when(routeStatsService.getZoneRevisions()).thenReturn(Map.of("Z001", 1L, "Z002", 4L));
+        index.rebuild();
+
+        index.refresh();
+        verify(routeRepository, never()).streamZoneCoordinates(anyString());
+
+        // Another instance moved Z002-R001 and created Z002-R002; Z001 is unchanged
+        when(routeStatsService.getZoneRevisions()).thenReturn(Map.of("Z001", 1L, "Z002", 6L));
+        when(routeRepository.streamZoneCoordinates("Z002")).thenReturn(Stream.of(
+                new Object[]{"Z002-R001", "Z002", 13.10, 77.70},
+                new Object[]{"Z002-R002", "Z002", 13.20, 77.80}));
+        index.refresh();
+
+        verify(routeRepository, times(1)).streamZoneCoordinates("Z002");
+        verify(routeRepository, never()).streamZoneCoordinates("Z001");
+        verify(routeRepository, times(1)).streamAllCoordinates();
+        assertThat(index.routeCount()).isEqualTo(3);
+        assertThat(index.findWithinRadius(13.00, 77.60, 500, 10)).isEmpty();
+        assertThat(ids(index.findNearest(13.20, 77.80, 1))).containsExactly("Z002-R002");
+        assertThat(ids(index.findNearest(12.90, 77.50, 1))).containsExactly("Z001-R001");
+    }
+
+    @Test
+    @DisplayName("Updates committed while a load runs are kept after the swap")
+    void rebuild_keepsUpdatesMadeDuringLoad() {
+        index.put("Z001-R002", "Z001", List.of(point(0, 12.95, 77.55)));
+        Object[] first = {"Z001-R001", "Z001", 12.90, 77.50};
+        Object[] second = {"Z001-R002", "Z001", 12.95, 77.55};
+        // While the rows stream in, this instance moves R001 and deletes R002
+        when(routeRepository.streamAllCoordinates()).thenReturn(Stream.of(first, second).peek(row -> {
+            if (row == first) {
+                index.put("Z001-R001", "Z001", List.of(point(0, 13.50, 78.00)));
+                index.remove("Z001-R002");
+            }
+        }));
+
+        index.rebuild();
+
+        assertThat(index.routeCount()).isEqualTo(1);
+        assertThat(index.findWithinRadius(12.90, 77.50, 500, 10)).isEmpty();
+        assertThat(ids(index.findNearest(13.50, 78.00, 1))).containsExactly("Z001-R001");
+    }
+
+    @Test
+    @DisplayName("A failed load leaves the index as it was")
+    void rebuild_failedLoad_keepsCurrentIndex() {
+        index.put("Z001-R001", "Z001", List.of(point(0, 12.90, 77.50)));
+        when(routeRepository.streamAllCoordinates()).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> index.rebuild()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(index.routeCount()).isEqualTo(1);
+        index.put("Z001-R002", "Z001", List.of(point(0, 12.95, 77.55)));
+        assertThat(index.routeCount()).isEqualTo(2);
+    }
+}
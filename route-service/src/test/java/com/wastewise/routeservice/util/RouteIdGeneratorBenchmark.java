@@ -0,0 +1,95 @@
+package com.wastewise.routeservice.util;
+
+import com.wastewise.routeservice.repository.RouteIdSequenceRepository;
+import com.wastewise.routeservice.repository.RouteRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteIdGeneratorBenchmark
+ * ------------------------------------------------------------------------------
+ * JMH benchmark of RouteIdGenerator.generateRouteId with 8 threads, all on one
+ * zone or spread over 64. The counter table is replaced by in-memory counters,
+ * so the figures cover block hand-out, the per-zone lease lock and the ID
+ * formatting; formatRouteId alone isolates the String.format cost. Not part of
+ * the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=RouteIdGeneratorBenchmark
+ * ------------------------------------------------------------------------------
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RouteIdGeneratorBenchmark {
+
+    @Param({"1", "64"})
+    private int zones;
+
+    @Param({"50"})
+    private int blockSize;
+
+    private String[] zoneIds;
+    private RouteIdGenerator generator;
+
+    @Setup
+    public void createGenerator() {
+        zoneIds = new String[zones];
+        for (int i = 0; i < zones; i++) {
+            zoneIds[i] = String.format("Z%03d", i + 1);
+        }
+
+        // stubOnly: the mocks are called once per block and must not record every call
+        Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        RouteIdSequenceRepository sequenceRepository = mock(RouteIdSequenceRepository.class, withSettings().stubOnly());
+        when(sequenceRepository.advance(anyString(), anyLong())).thenAnswer(call -> {
+            counters.computeIfAbsent(call.getArgument(0), k -> new AtomicLong()).addAndGet(call.<Long>getArgument(1));
+            return 1;
+        });
+        when(sequenceRepository.findLastRouteNumber(anyString()))
+                .thenAnswer(call -> counters.get(call.<String>getArgument(0)).get());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        generator = new RouteIdGenerator(mock(RouteRepository.class, withSettings().stubOnly()),
+                sequenceRepository, transactionManager, blockSize);
+    }
+
+    @Benchmark
+    public String generateRouteId() {
+        return generator.generateRouteId(zoneIds[ThreadLocalRandom.current().nextInt(zones)]);
+    }
+
+    @Benchmark
+    public String formatRouteId() {
+        return String.format("%s-R%03d", zoneIds[ThreadLocalRandom.current().nextInt(zones)],
+                ThreadLocalRandom.current().nextInt(1, 100_000));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteIdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.wastewise.routeservice.util;
+
+import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.repository.RouteIdSequenceRepository;
+import com.wastewise.routeservice.repository.RouteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteIdGeneratorStartupBenchmarkTest
+ * ------------------------------------------------------------------------------
+ * Compares the former startup scan (findAll + parsing every ID in Java) with
+ * the lazy per-zone aggregate the generator now runs on first use, on a
+ * generated data set. Timings are logged; the assertions only check that
+ * both approaches agree and that no entity is hydrated on the new path.
+ * Tagged "benchmark": not part of mvn test, run it with mvn -P benchmark-tests test.
+ * ------------------------------------------------------------------------------
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RouteIdGeneratorStartupBenchmarkTest {
+
+    private static final int ZONES = 100;
+    private static final int ROUTES_PER_ZONE = 200;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private RouteIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void generateDataSet() {
+        List<Route> routes = new ArrayList<>(ZONES * ROUTES_PER_ZONE);
+        for (int z = 1; z <= ZONES; z++) {
+            String zoneId = String.format("Z%03d", z);
+            for (int r = 1; r <= ROUTES_PER_ZONE; r++) {
+                routes.add(Route.builder()
+                        .routeId(String.format("%s-R%03d", zoneId, r))
+                        .routeName("Route " + r)
+                        .zoneId(zoneId)
+                        .pickupPoints(PickupPoints.fromString("P1,P2"))
+                        .estimatedTime(30)
+                        .build());
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> routeRepository.persistAll(routes));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAllInBatch();
+        sequenceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Lazy aggregate seeding avoids the full-table scan at startup")
+    void startup_aggregateSeedVersusFullScan() {
+        long scanStart = System.nanoTime();
+        Map<String, Long> scanned = new HashMap<>();
+        for (Route route : routeRepository.findAll()) {
+            String routeId = route.getRouteId();
+            scanned.merge(route.getZoneId(), Long.parseLong(routeId.substring(routeId.indexOf("-R") + 2)), Math::max);
+        }
+        long scanMillis = (System.nanoTime() - scanStart) / 1_000_000;
+
+        long constructStart = System.nanoTime();
+        RouteIdGenerator generator = new RouteIdGenerator(routeRepository, sequenceRepository, transactionManager, 50);
+        long constructMicros = (System.nanoTime() - constructStart) / 1_000;
+
+        long firstIdStart = System.nanoTime();
+        String firstId = generator.generateRouteId("Z042");
+        long firstIdMillis = (System.nanoTime() - firstIdStart) / 1_000_000;
+
+        log.info("Startup benchmark over {} routes: full scan {} ms, generator construction {} us, "
+                + "first ID in a zone (aggregate + counter insert) {} ms",
+                ZONES * ROUTES_PER_ZONE, scanMillis, constructMicros, firstIdMillis);
+
+        assertThat(scanned).hasSize(ZONES);
+        assertThat(routeRepository.findMaxRouteNumber("Z042")).isEqualTo(scanned.get("Z042"));
+        assertThat(firstId).isEqualTo("Z042-R201");
+        assertThat(routeRepository.findMaxRouteNumber("Z999")).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package com.wastewise.routeservice.util;
+
+import com.wastewise.routeservice.entity.Route;
+import com.wastewise.routeservice.repository.RouteIdSequenceRepository;
+import com.wastewise.routeservice.repository.RouteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ------------------------------------------------------------------------------
+ * RouteIdGeneratorTest
+ * ------------------------------------------------------------------------------
+ * Verifies block-leased route ID allocation against the H2 database.
+ * Several generator instances stand in for several service replicas; they
+ * share nothing but the route_id_sequence table.
+ * Tests run without a surrounding transaction so leases commit like in production,
+ * so every test uses its own zone ID and committed rows are removed afterwards.
+ * ------------------------------------------------------------------------------
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RouteIdGeneratorTest {
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private RouteIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        routeRepository.deleteAll();
+        sequenceRepository.deleteAll();
+    }
+
+    private RouteIdGenerator newInstance(int blockSize) {
+        return new RouteIdGenerator(routeRepository, sequenceRepository, transactionManager, blockSize);
+    }
+
+    @Test
+    @DisplayName("IDs are unique across threads and instances under contention")
+    void generateRouteId_isUniqueAcrossInstancesUnderContention() throws Exception {
+        List<RouteIdGenerator> instances = List.of(newInstance(7), newInstance(7), newInstance(7));
+        int threads = 12;
+        int idsPerThread = 150;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                RouteIdGenerator generator = instances.get(t % instances.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        assertThat(ids.add(generator.generateRouteId("Z901"))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+        // Only whole unused blocks (at most one per instance) may be skipped
+        assertThat(sequenceRepository.findLastRouteNumber("Z901"))
+                .isLessThanOrEqualTo(threads * idsPerThread + instances.size() * 7L);
+    }
+
+    @Test
+    @DisplayName("Counter is seeded from existing routes and grows past three digits")
+    void generateRouteId_seedsFromExistingRoutesBeyondThreeDigits() {
+        routeRepository.save(Route.builder()
+                .routeId("Z902-R999").routeName("Existing").zoneId("Z902").pickupPoints(PickupPoints.fromString("P1")).estimatedTime(10).build());
+
+        RouteIdGenerator generator = newInstance(50);
+
+        assertThat(generator.generateRouteId("Z902")).isEqualTo("Z902-R1000");
+        assertThat(generator.generateRouteId("Z902")).isEqualTo("Z902-R1001");
+    }
+
+    @Test
+    @DisplayName("Block reservations from different instances never overlap")
+    void generateRouteIds_blocksDoNotOverlap() {
+        RouteIdGenerator first = newInstance(10);
+        RouteIdGenerator second = newInstance(10);
+
+        List<String> a = first.generateRouteIds("Z903", 3);
+        String single = second.generateRouteId("Z903");
+        List<String> b = first.generateRouteIds("Z903", 2);
+
+        assertThat(a).containsExactly("Z903-R001", "Z903-R002", "Z903-R003");
+        assertThat(single).isEqualTo("Z903-R004");
+        assertThat(b).containsExactly("Z903-R014", "Z903-R015");
+    }
+}
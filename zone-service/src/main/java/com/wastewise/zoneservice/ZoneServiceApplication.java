@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class to start the Zone Service.
@@ -13,6 +14,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @EnableDiscoveryClient // Registers service with Eureka
 @EnableFeignClients(basePackages = "com.wastewise.zoneservice.client") // Enables Feign clients
 @EnableJpaAuditing
+@EnableScheduling
 public class ZoneServiceApplication {
 
     public static void main(String[] args) {
@@ -2,8 +2,10 @@ package com.wastewise.zoneservice.client;
 
 import com.wastewise.zoneservice.payload.RestResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -21,4 +23,23 @@ public interface RouteClient {
      */
     @GetMapping("/wastewise/admin/routes/zone/{zoneId}")
     RestResponse<List<String>> getRoutesByZoneId(@PathVariable("zoneId") String zoneId);
+
+    /**
+     * Delete the next batch of a zone's routes; repeat until it reports 0.
+     *
+     * @param zoneId the zone ID
+     * @param limit  maximum number of routes to delete, at most 1000
+     * @return RestResponse containing the number of routes deleted
+     */
+    @DeleteMapping("/wastewise/admin/routes/zone/{zoneId}/batch")
+    RestResponse<Integer> deleteRoutesBatch(@PathVariable("zoneId") String zoneId, @RequestParam("limit") int limit);
+
+    /**
+     * Evict the zone from Route Service's zone existence cache.
+     *
+     * @param zoneId the zone ID
+     * @return RestResponse with a status message
+     */
+    @DeleteMapping("/wastewise/admin/routes/cache/zones/{zoneId}")
+    RestResponse<Object> evictZoneCache(@PathVariable("zoneId") String zoneId);
 }
@@ -20,4 +20,20 @@ public class RouteClientFallback implements RouteClient {
                 .data(Collections.emptyList())
                 .build();
     }
+
+    @Override
+    public RestResponse<Integer> deleteRoutesBatch(String zoneId, int limit) {
+        // No count, so a decommission job fails and can be resumed instead of assuming the zone is empty
+        return RestResponse.<Integer>builder()
+                .message("Fallback: route service not available")
+                .build();
+    }
+
+    @Override
+    public RestResponse<Object> evictZoneCache(String zoneId) {
+        // Route Service drops the entry on its own once the cache TTL expires
+        return RestResponse.builder()
+                .message("Fallback: route service not available")
+                .build();
+    }
 }
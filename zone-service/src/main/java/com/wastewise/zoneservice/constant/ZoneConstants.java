@@ -15,9 +15,15 @@ public class ZoneConstants {
     public static final String ZONE_RETRIEVED_MSG = "Zone retrieved successfully";
     public static final String ZONES_LISTED_MSG = "Zones retrieved successfully";
     public static final String ZONE_EXISTENCE_CHECK_MSG = "Zone existence check completed";
+    public static final String DECOMMISSION_STARTED_MSG = "Zone decommission started";
+    public static final String DECOMMISSION_STATUS_MSG = "Zone decommission status retrieved";
+
+    public static final String ZONE_NAME_UNIQUE_CONSTRAINT = "uk_zone_name";
 
     public static final String DUPLICATE_ZONE_MSG = "Zone with name '%s' already exists.";
     public static final String ZONE_NOT_FOUND_MSG = "Zone with ID %s not found.";
     public static final String NO_CHANGES_MSG = "No changes in the zone details detected for zone ID %s";
+    public static final String CONCURRENT_UPDATE_MSG = "The zone was changed by another request; reload it and retry.";
+    public static final String DECOMMISSION_NOT_FOUND_MSG = "No decommission job found for zone %s.";
     public static final String ZONE_DELETION_MSG = "Cannot delete zone %s because it has assigned routes: %s";
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.wastewise.zoneservice.constant.ZoneConstants;
 import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
@@ -23,6 +24,7 @@ import com.wastewise.zoneservice.dto.ZoneUpdateRequestDTO;
 import com.wastewise.zoneservice.entity.Zone;
 import com.wastewise.zoneservice.payload.RestResponse;
 import com.wastewise.zoneservice.service.ZoneService;
+import com.wastewise.zoneservice.util.ResourceVersion;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -103,12 +105,18 @@ public class ZoneController {
 
     /**
      * Get list of all zones.
+     * Answers 304 without loading zones when If-None-Match carries the current ETag.
      *
-     * @return List of zones
+     * @param webRequest current request, for the conditional headers
+     * @return List of zones, or null once a 304 has been set
      */
     @GetMapping("/list")
-    public ResponseEntity<RestResponse<Object>> getAllZones() {
+    public ResponseEntity<RestResponse<Object>> getAllZones(WebRequest webRequest) {
         logger.info("Received request to fetch all zones");
+        if (isNotModified(webRequest)) {
+            logger.info("Zone list not modified");
+            return null;
+        }
         List<Zone> zones = zoneService.getAllZones();
         logger.info("Returning {} zones", zones.size());
         return ResponseEntity.ok(
@@ -157,12 +165,18 @@ public class ZoneController {
     }
     /**
      * Get all zone IDs and names only.
+     * Answers 304 without loading zones when If-None-Match carries the current ETag.
      *
-     * @return List of ZoneNameAndIdResponse
+     * @param webRequest current request, for the conditional headers
+     * @return List of ZoneNameAndIdResponse, or null once a 304 has been set
      */
     @GetMapping("/namesandids")
-    public ResponseEntity<RestResponse<Object>> getAllZoneNamesAndIds() {
+    public ResponseEntity<RestResponse<Object>> getAllZoneNamesAndIds(WebRequest webRequest) {
         logger.info("Received request for all zone names and IDs");
+        if (isNotModified(webRequest)) {
+            logger.info("Zone names and IDs not modified");
+            return null;
+        }
         List<ZoneNameAndIdResponse> zones = zoneService.getAllZoneNamesAndIds();
         return ResponseEntity.ok(
                 RestResponse.builder()
@@ -171,4 +185,14 @@ public class ZoneController {
                         .build()
         );
     }
+
+    /**
+     * Compares the conditional headers with the zone table version and sets
+     * ETag and Last-Modified. The version is read before the data, so a 200
+     * never carries a newer tag than its body.
+     */
+    private boolean isNotModified(WebRequest webRequest) {
+        ResourceVersion version = zoneService.getZonesVersion();
+        return webRequest.checkNotModified(version.eTag(), version.lastModified());
+    }
 }
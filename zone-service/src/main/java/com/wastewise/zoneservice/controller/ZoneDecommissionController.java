@@ -0,0 +1,65 @@
+package com.wastewise.zoneservice.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wastewise.zoneservice.constant.ZoneConstants;
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import com.wastewise.zoneservice.payload.RestResponse;
+import com.wastewise.zoneservice.service.ZoneDecommissionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for decommissioning a zone together with its routes.
+ */
+@RestController
+@RequestMapping(ZoneConstants.BASE_ZONE_API)
+@RequiredArgsConstructor
+public class ZoneDecommissionController {
+
+    private final ZoneDecommissionService decommissionService;
+    private static final Logger logger = LoggerFactory.getLogger(ZoneDecommissionController.class);
+
+    /**
+     * Start (or resume) decommissioning a zone in the background.
+     *
+     * @param zoneId ID of zone to decommission
+     * @return 202 with the job status; poll the GET endpoint for progress
+     */
+    @PostMapping("/{zoneId}/decommission")
+    public ResponseEntity<RestResponse<Object>> startDecommission(@PathVariable String zoneId) {
+        logger.info("Received request to decommission zone with ID: {}", zoneId);
+        ZoneDecommission job = decommissionService.startDecommission(zoneId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                RestResponse.builder()
+                        .message(ZoneConstants.DECOMMISSION_STARTED_MSG)
+                        .data(job)
+                        .build()
+        );
+    }
+
+    /**
+     * Get the progress of a zone decommission.
+     *
+     * @param zoneId zone ID
+     * @return job status, routes deleted so far and the last error if it failed
+     */
+    @GetMapping("/{zoneId}/decommission")
+    public ResponseEntity<RestResponse<Object>> getDecommission(@PathVariable String zoneId) {
+        logger.info("Received request for decommission status of zone with ID: {}", zoneId);
+        return ResponseEntity.ok(
+                RestResponse.builder()
+                        .message(ZoneConstants.DECOMMISSION_STATUS_MSG)
+                        .data(decommissionService.getDecommission(zoneId))
+                        .build()
+        );
+    }
+}
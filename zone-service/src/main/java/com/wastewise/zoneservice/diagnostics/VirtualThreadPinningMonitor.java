@@ -0,0 +1,178 @@
+package com.wastewise.zoneservice.diagnostics;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR event jdk.VirtualThreadPinned and counts pinned virtual threads
+ * per site (first frame outside the JDK, and the first application frame below it).
+ * Reported at /actuator/pinning and as the jvm.threads.virtual.pinned timer.
+ */
+@Component
+@Endpoint(id = "pinning")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.wastewise.";
+    private static final int MAX_SITES = 100;
+    private static final int REPORTED_SITES = 20;
+
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Counter droppedSites;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${zone.pinning-monitor.enabled:true}") boolean enabled,
+                                       @Value("${zone.pinning-monitor.threshold:20ms}") Duration threshold,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.virtualThreads = virtualThreads;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.droppedSites = Counter.builder("jvm.threads.virtual.pinned.sites.dropped")
+                .description("Pinning events whose site was not tracked because the site table was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            logger.info("Virtual thread pinning monitor disabled");
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::record);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Virtual thread pinning monitor started (threshold {}, virtual request threads {})",
+                    threshold, virtualThreads);
+        } catch (RuntimeException ex) {
+            // JFR can be unavailable (e.g. -XX:-FlightRecorder); the service runs without the monitor
+            logger.warn("Virtual thread pinning monitor not started: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinnedTimer.record(duration);
+        String key = siteOf(event.getStackTrace());
+        Site site = sites.get(key);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                droppedSites.increment();
+                return;
+            }
+            site = sites.computeIfAbsent(key, k -> new Site());
+        }
+        site.maxNanos.accumulate(duration.toNanos());
+        if (site.count.incrementAndGet() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}", duration.toMillis(), key);
+        }
+    }
+
+    /**
+     * Pinning report for the actuator: the mode, totals and the most frequent sites.
+     */
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualRequestThreads", virtualThreads);
+        report.put("monitoring", stream != null);
+        report.put("threshold", threshold.toString());
+        report.put("pinnedEvents", pinnedTimer.count());
+        report.put("pinnedMillis", (long) pinnedTimer.totalTime(TimeUnit.MILLISECONDS));
+        report.put("sites", topSites());
+        return report;
+    }
+
+    List<Map<String, Object>> topSites() {
+        return sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Site> e) -> e.getValue().count.get()).reversed())
+                .limit(REPORTED_SITES)
+                .map(e -> {
+                    Map<String, Object> site = new LinkedHashMap<>();
+                    site.put("site", e.getKey());
+                    site.put("count", e.getValue().count.get());
+                    site.put("maxMillis", Duration.ofNanos(e.getValue().maxNanos.get()).toMillis());
+                    return site;
+                })
+                .toList();
+    }
+
+    private static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String top = describe(frames.stream().filter(f -> !isJdk(f)).findFirst().orElse(frames.get(0)));
+        for (RecordedFrame frame : frames) {
+            if (typeOf(frame).startsWith(APPLICATION_PACKAGE)) {
+                String application = describe(frame);
+                return application.equals(top) ? top : top + " <- " + application;
+            }
+        }
+        return top;
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        String type = typeOf(frame);
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String typeOf(RecordedFrame frame) {
+        return frame.getMethod().getType().getName();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return typeOf(frame) + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static final class Site {
+        private final AtomicLong count = new AtomicLong();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
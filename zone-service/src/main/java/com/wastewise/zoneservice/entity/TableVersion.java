@@ -0,0 +1,31 @@
+package com.wastewise.zoneservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a change counter per table. It is incremented in the same
+ * transaction as every write to the table, so list endpoints can derive
+ * their ETag and Last-Modified without reading the table itself.
+ */
+@Entity
+@Table(name = "table_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", nullable = false)
+    private String tableName;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+}
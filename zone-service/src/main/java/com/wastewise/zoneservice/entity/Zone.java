@@ -1,5 +1,6 @@
 package com.wastewise.zoneservice.entity;
 
+import com.wastewise.zoneservice.constant.ZoneConstants;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -12,7 +13,8 @@ import java.time.LocalDateTime;
  * Entity representing a Zone.
  */
 @Entity
-@Table(name = "zone")
+@Table(name = "zone", uniqueConstraints = @UniqueConstraint(
+        name = ZoneConstants.ZONE_NAME_UNIQUE_CONSTRAINT, columnNames = "zone_name"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -25,7 +27,7 @@ public class Zone {
     @Column(name = "zone_id", nullable = false, unique = true)
     private String zoneId;
 
-    @Column(name = "zone_name", nullable = false, unique = true)
+    @Column(name = "zone_name", nullable = false)
     private String zoneName;
 
     @Column(name = "area_coverage", nullable = false)
@@ -38,4 +40,11 @@ public class Zone {
     @LastModifiedDate
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic-locking version; a concurrent update fails instead of being overwritten.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
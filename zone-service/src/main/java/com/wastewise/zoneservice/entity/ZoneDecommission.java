@@ -0,0 +1,60 @@
+package com.wastewise.zoneservice.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a zone decommission job. The row is written after every batch,
+ * so a job interrupted by a restart resumes where it stopped and the status
+ * endpoint can report how far it got. updatedAt doubles as the runner's
+ * heartbeat.
+ */
+@Entity
+@Table(name = "zone_decommission")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneDecommission {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @Column(name = "zone_id", nullable = false)
+    private String zoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "routes_deleted", nullable = false)
+    private long routesDeleted;
+
+    @Column(name = "batches", nullable = false)
+    private int batches;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * Bumped on every write. Taking over a job bumps it too, so a runner that
+     * lost the job fails its next progress save instead of carrying on.
+     */
+    @Version
+    @JsonIgnore
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
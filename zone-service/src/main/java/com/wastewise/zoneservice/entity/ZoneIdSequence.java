@@ -0,0 +1,26 @@
+package com.wastewise.zoneservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity holding the cluster-wide high-water mark of zone numbers.
+ * Instances lease blocks of numbers by advancing it, so no two instances
+ * ever hand out the same zone ID.
+ */
+@Entity
+@Table(name = "zone_id_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ZoneIdSequence {
+
+    @Id
+    @Column(name = "sequence_name", nullable = false)
+    private String sequenceName;
+
+    @Column(name = "last_zone_number", nullable = false)
+    private long lastZoneNumber;
+}
@@ -1,11 +1,13 @@
 package com.wastewise.zoneservice.exception;
 
+import com.wastewise.zoneservice.constant.ZoneConstants;
 import com.wastewise.zoneservice.exception.custom.*;
 import com.wastewise.zoneservice.payload.RestResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -27,6 +29,31 @@ public class GlobalExceptionHandler {
                 .body(new RestResponse<>(ex.getMessage(), null));
     }
 
+    /**
+     * Handles DecommissionNotFoundException with HTTP 404.
+     */
+    @ExceptionHandler(DecommissionNotFoundException.class)
+    public ResponseEntity<RestResponse<Object>> handleDecommissionNotFound(DecommissionNotFoundException ex) {
+        logger.warn("Decommission not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new RestResponse<>(ex.getMessage(), null));
+    }
+
+    /**
+     * Handles a concurrent update detected by the @Version check with HTTP 409.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<RestResponse<Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        // Raised from a plain StaleStateException (e.g. a batched statement), it names no entity
+        if (ex.getIdentifier() != null) {
+            logger.warn("Concurrent update of zone {}", ex.getIdentifier());
+        } else {
+            logger.warn("Concurrent update: {}", ex.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new RestResponse<>(ZoneConstants.CONCURRENT_UPDATE_MSG, null));
+    }
+
     /**
      * Handles DuplicateZoneNameException with HTTP 409.
      */
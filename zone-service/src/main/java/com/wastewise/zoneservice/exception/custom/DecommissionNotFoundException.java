@@ -0,0 +1,12 @@
+package com.wastewise.zoneservice.exception.custom;
+
+import static com.wastewise.zoneservice.constant.ZoneConstants.DECOMMISSION_NOT_FOUND_MSG;
+
+/**
+ * Exception thrown when no decommission job exists for a zone.
+ */
+public class DecommissionNotFoundException extends RuntimeException {
+    public DecommissionNotFoundException(String zoneId) {
+        super(String.format(DECOMMISSION_NOT_FOUND_MSG, zoneId));
+    }
+}
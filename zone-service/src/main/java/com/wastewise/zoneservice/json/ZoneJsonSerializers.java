@@ -0,0 +1,215 @@
+package com.wastewise.zoneservice.json;
+
+import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.payload.RestResponse;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written Jackson serializers for the payloads of the zone list, by-ID
+ * and names-and-IDs endpoints, registered with Spring Boot's ObjectMapper.
+ * They call the getters directly instead of through reflection and write
+ * pre-encoded field names; the output is the same as the default bean
+ * serializers'. Timestamps are written as ISO-8601 digits without going
+ * through DateTimeFormatter, which allocated most of a zone list response;
+ * when dates are configured as timestamps the configured serializer is used.
+ */
+@JsonComponent
+public class ZoneJsonSerializers {
+
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString ZONE_ID = new SerializedString("zoneId");
+    private static final SerializableString ZONE_NAME = new SerializedString("zoneName");
+    private static final SerializableString AREA_COVERAGE = new SerializedString("areaCoverage");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+    /** Longest ISO_LOCAL_DATE_TIME text for years 0 to 9999. */
+    private static final int DATE_TIME_LENGTH = 29;
+
+    /**
+     * The serializers as a module, for an ObjectMapper built outside Spring.
+     */
+    public static SimpleModule module() {
+        return new SimpleModule("ZoneJsonSerializers")
+                .addSerializer(new RestResponseSerializer())
+                .addSerializer(new ZoneSerializer())
+                .addSerializer(new ZoneNameAndIdSerializer());
+    }
+
+    /**
+     * Writes the response envelope; zones and lists of zones are written
+     * directly, any other data through the mapper's own serializer.
+     */
+    @SuppressWarnings("rawtypes")
+    public static class RestResponseSerializer extends StdSerializer<RestResponse> {
+
+        public RestResponseSerializer() {
+            super(RestResponse.class);
+        }
+
+        @Override
+        public void serialize(RestResponse response, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(MESSAGE);
+            writeString(gen, response.getMessage());
+            gen.writeFieldName(DATA);
+            Object data = response.getData();
+            if (data instanceof Zone zone) {
+                writeZone(gen, zone, provider, new char[DATE_TIME_LENGTH]);
+            } else if (data instanceof List<?> list && isListOf(list, Zone.class)) {
+                char[] dateBuffer = new char[DATE_TIME_LENGTH];
+                gen.writeStartArray(list, list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    writeZone(gen, (Zone) list.get(i), provider, dateBuffer);
+                }
+                gen.writeEndArray();
+            } else if (data instanceof List<?> list && isListOf(list, ZoneNameAndIdResponse.class)) {
+                gen.writeStartArray(list, list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    writeNameAndId(gen, (ZoneNameAndIdResponse) list.get(i));
+                }
+                gen.writeEndArray();
+            } else {
+                provider.defaultSerializeValue(data, gen);
+            }
+            gen.writeEndObject();
+        }
+
+        private static boolean isListOf(List<?> list, Class<?> type) {
+            for (int i = 0; i < list.size(); i++) {
+                if (!type.isInstance(list.get(i))) {
+                    return false;
+                }
+            }
+            return !list.isEmpty();
+        }
+    }
+
+    public static class ZoneSerializer extends StdSerializer<Zone> {
+
+        public ZoneSerializer() {
+            super(Zone.class);
+        }
+
+        @Override
+        public void serialize(Zone zone, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeZone(gen, zone, provider, new char[DATE_TIME_LENGTH]);
+        }
+    }
+
+    public static class ZoneNameAndIdSerializer extends StdSerializer<ZoneNameAndIdResponse> {
+
+        public ZoneNameAndIdSerializer() {
+            super(ZoneNameAndIdResponse.class);
+        }
+
+        @Override
+        public void serialize(ZoneNameAndIdResponse zone, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            writeNameAndId(gen, zone);
+        }
+    }
+
+    private static void writeZone(JsonGenerator gen, Zone zone, SerializerProvider provider, char[] dateBuffer)
+            throws IOException {
+        gen.writeStartObject(zone);
+        gen.writeFieldName(ZONE_ID);
+        writeString(gen, zone.getZoneId());
+        gen.writeFieldName(ZONE_NAME);
+        writeString(gen, zone.getZoneName());
+        gen.writeFieldName(AREA_COVERAGE);
+        writeLong(gen, zone.getAreaCoverage());
+        gen.writeFieldName(CREATED_AT);
+        writeDateTime(gen, zone.getCreatedAt(), provider, dateBuffer);
+        gen.writeFieldName(UPDATED_AT);
+        writeDateTime(gen, zone.getUpdatedAt(), provider, dateBuffer);
+        gen.writeFieldName(VERSION);
+        writeLong(gen, zone.getVersion());
+        gen.writeEndObject();
+    }
+
+    private static void writeNameAndId(JsonGenerator gen, ZoneNameAndIdResponse zone) throws IOException {
+        gen.writeStartObject(zone);
+        gen.writeFieldName(ZONE_ID);
+        writeString(gen, zone.getZoneId());
+        gen.writeFieldName(ZONE_NAME);
+        writeString(gen, zone.getZoneName());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the value as DateTimeFormatter.ISO_LOCAL_DATE_TIME would: seconds
+     * always, the fraction without trailing zeros. The buffer is reused for
+     * every timestamp of a response.
+     */
+    private static void writeDateTime(JsonGenerator gen, LocalDateTime value, SerializerProvider provider,
+                                      char[] text) throws IOException {
+        if (value == null || value.getYear() < 0 || value.getYear() > 9999
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        int length = digits(text, 0, value.getYear(), 4);
+        text[length++] = '-';
+        length = digits(text, length, value.getMonthValue(), 2);
+        text[length++] = '-';
+        length = digits(text, length, value.getDayOfMonth(), 2);
+        text[length++] = 'T';
+        length = digits(text, length, value.getHour(), 2);
+        text[length++] = ':';
+        length = digits(text, length, value.getMinute(), 2);
+        text[length++] = ':';
+        length = digits(text, length, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano > 0) {
+            text[length++] = '.';
+            int fractionDigits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                fractionDigits--;
+            }
+            length = digits(text, length, nano, fractionDigits);
+        }
+        gen.writeString(text, 0, length);
+    }
+
+    private static int digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+
+    private static void writeString(JsonGenerator gen, String value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeLong(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
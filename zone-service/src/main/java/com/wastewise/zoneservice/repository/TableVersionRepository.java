@@ -0,0 +1,33 @@
+package com.wastewise.zoneservice.repository;
+
+import com.wastewise.zoneservice.entity.TableVersion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for the per-table change counters.
+ */
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+
+    /**
+     * Atomically increments the counter; the row stays locked until commit.
+     *
+     * @return number of updated rows, 0 if the counter does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TableVersion v set v.version = v.version + 1, v.lastModified = :modifiedAt "
+            + "where v.tableName = :name")
+    int increment(@Param("name") String tableName, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    /**
+     * Plain INSERT (never a merge), so a concurrent insert fails with a key violation.
+     */
+    @Modifying
+    @Query(value = "insert into table_version (table_name, version) values (:name, 0)", nativeQuery = true)
+    void insert(@Param("name") String tableName);
+}
@@ -0,0 +1,32 @@
+package com.wastewise.zoneservice.repository;
+
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for zone decommission jobs.
+ */
+public interface ZoneDecommissionRepository extends JpaRepository<ZoneDecommission, String> {
+
+    List<ZoneDecommission> findByStatus(ZoneDecommission.Status status);
+
+    /**
+     * Takes over a RUNNING job if nobody wrote it since it was read at the given version.
+     *
+     * @return 1 if the caller now owns the job, 0 if another instance claimed, saved or finished it
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ZoneDecommission d set d.updatedAt = :claimedAt, d.version = d.version + 1 "
+            + "where d.zoneId = :zoneId and d.version = :version "
+            + "and d.status = com.wastewise.zoneservice.entity.ZoneDecommission$Status.RUNNING")
+    int claim(@Param("zoneId") String zoneId, @Param("version") long version,
+              @Param("claimedAt") LocalDateTime claimedAt);
+}
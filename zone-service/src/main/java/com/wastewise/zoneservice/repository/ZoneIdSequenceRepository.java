@@ -0,0 +1,34 @@
+package com.wastewise.zoneservice.repository;
+
+import com.wastewise.zoneservice.entity.ZoneIdSequence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository for the zone number counter.
+ */
+public interface ZoneIdSequenceRepository extends JpaRepository<ZoneIdSequence, String> {
+
+    /**
+     * Atomically advances the counter; the row stays locked until commit.
+     *
+     * @return number of updated rows, 0 if the counter does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ZoneIdSequence s set s.lastZoneNumber = s.lastZoneNumber + :count where s.sequenceName = :name")
+    int advance(@Param("name") String sequenceName, @Param("count") long count);
+
+    @Query("select s.lastZoneNumber from ZoneIdSequence s where s.sequenceName = :name")
+    long findLastZoneNumber(@Param("name") String sequenceName);
+
+    /**
+     * Plain INSERT (never a merge), so a concurrent insert fails with a key violation.
+     */
+    @Modifying
+    @Query(value = "insert into zone_id_sequence (sequence_name, last_zone_number) values (:name, :lastZoneNumber)",
+            nativeQuery = true)
+    void insert(@Param("name") String sequenceName, @Param("lastZoneNumber") long lastZoneNumber);
+}
@@ -1,9 +1,12 @@
 package com.wastewise.zoneservice.repository;
 
+import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
 import com.wastewise.zoneservice.entity.Zone;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +17,18 @@ public interface ZoneRepository extends JpaRepository<Zone, String> {
     Optional<Zone> findByZoneName(String zoneName);
 
     boolean existsByZoneId(String zoneId);
+
+    /**
+     * Highest zone number in use (e.g. 1000 for Z1000), or 0 if there are no zones.
+     * Compares numerically in SQL, so Z1000 ranks above Z999.
+     */
+    @Query("select coalesce(max(cast(substring(z.zoneId, 2) as Long)), 0) from Zone z")
+    long findMaxZoneNumber();
+
+    /**
+     * ID and name of every zone, read as two columns instead of whole entities.
+     */
+    @Query("select new com.wastewise.zoneservice.dto.ZoneNameAndIdResponse(z.zoneId, z.zoneName) "
+            + "from Zone z order by z.zoneId")
+    List<ZoneNameAndIdResponse> findAllNamesAndIds();
 }
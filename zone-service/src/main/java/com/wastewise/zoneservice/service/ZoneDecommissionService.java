@@ -0,0 +1,17 @@
+package com.wastewise.zoneservice.service;
+
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+
+/**
+ * Service interface for decommissioning a zone together with all its routes.
+ */
+public interface ZoneDecommissionService {
+
+    /**
+     * Starts deleting the zone's routes in batches in the background, then the zone itself.
+     * Returns the existing job if one is running or done; restarts a failed one.
+     */
+    ZoneDecommission startDecommission(String zoneId);
+
+    ZoneDecommission getDecommission(String zoneId);
+}
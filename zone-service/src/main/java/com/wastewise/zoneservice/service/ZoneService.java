@@ -6,6 +6,7 @@ import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
 import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
 import com.wastewise.zoneservice.dto.ZoneUpdateRequestDTO;
 import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.util.ResourceVersion;
 
 /**
  * Service interface for Zone management.
@@ -20,6 +21,12 @@ public interface ZoneService {
 
     List<Zone> getAllZones();
 
+    /**
+     * Version of the zone table, read without loading any zone.
+     * Changes whenever a zone is created, updated or deleted.
+     */
+    ResourceVersion getZonesVersion();
+
     Zone getZoneById(String zoneId);
 
     boolean existsByZoneId(String zoneId);
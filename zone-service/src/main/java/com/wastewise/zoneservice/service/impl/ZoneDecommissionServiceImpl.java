@@ -0,0 +1,228 @@
+package com.wastewise.zoneservice.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.wastewise.zoneservice.client.RouteClient;
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import com.wastewise.zoneservice.entity.ZoneDecommission.Status;
+import com.wastewise.zoneservice.exception.custom.DecommissionNotFoundException;
+import com.wastewise.zoneservice.exception.custom.ZoneNotFoundException;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import com.wastewise.zoneservice.service.ZoneDecommissionService;
+import com.wastewise.zoneservice.service.ZoneService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Service Implementation: ZoneDecommissionServiceImpl
+ * ------------------------------------------------------------------------------
+ * Deletes a zone's routes through Route Service one batch at a time, then the
+ * zone itself. Each batch is its own short transaction in Route Service, and
+ * progress is saved after every batch, so no lock is held across the zone.
+ * Batches are idempotent: a job left RUNNING by a restart is simply resumed.
+ * A job's row is its lease: progress saves keep it fresh, and a job whose row
+ * went stale is claimed with a conditional update before any instance resumes it.
+ * ------------------------------------------------------------------------------
+ */
+@Service
+public class ZoneDecommissionServiceImpl implements ZoneDecommissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZoneDecommissionServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ZoneDecommissionRepository decommissionRepository;
+    private final ZoneRepository zoneRepository;
+    private final ZoneService zoneService;
+    private final RouteClient routeClient;
+    private final Executor executor;
+    private final int batchSize;
+    private final Duration staleAfter;
+
+    @Autowired
+    public ZoneDecommissionServiceImpl(ZoneDecommissionRepository decommissionRepository,
+                                       ZoneRepository zoneRepository,
+                                       ZoneService zoneService,
+                                       RouteClient routeClient,
+                                       @Value("${zone.decommission.batch-size:500}") int batchSize,
+                                       @Value("${zone.decommission.stale-after:2m}") Duration staleAfter,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // One job at a time keeps the extra load on Route Service bounded
+        this(decommissionRepository, zoneRepository, zoneService, routeClient,
+                Executors.newSingleThreadExecutor(virtualThreads
+                        ? Thread.ofVirtual().name("zone-decommission").factory()
+                        : Thread.ofPlatform().name("zone-decommission").factory()), batchSize, staleAfter);
+    }
+
+    ZoneDecommissionServiceImpl(ZoneDecommissionRepository decommissionRepository, ZoneRepository zoneRepository,
+                                ZoneService zoneService, RouteClient routeClient, Executor executor, int batchSize,
+                                Duration staleAfter) {
+        this.decommissionRepository = decommissionRepository;
+        this.zoneRepository = zoneRepository;
+        this.zoneService = zoneService;
+        this.routeClient = routeClient;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public ZoneDecommission startDecommission(String zoneId) {
+        logger.info("Starting decommission of zone {}", zoneId);
+        ZoneDecommission job = decommissionRepository.findById(zoneId).orElse(null);
+        if (job != null && job.getStatus() != Status.FAILED) {
+            logger.info("Decommission of zone {} is already {}", zoneId, job.getStatus());
+            return job;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (job == null) {
+            if (!zoneRepository.existsByZoneId(zoneId)) {
+                throw new ZoneNotFoundException(zoneId);
+            }
+            job = ZoneDecommission.builder()
+                    .zoneId(zoneId)
+                    .status(Status.RUNNING)
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build();
+        } else {
+            logger.info("Resuming failed decommission of zone {} after {} routes", zoneId, job.getRoutesDeleted());
+            job.setStatus(Status.RUNNING);
+            job.setLastError(null);
+            job.setUpdatedAt(now);
+        }
+
+        try {
+            job = decommissionRepository.saveAndFlush(job);
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException ex) {
+            // Another request started or restarted the same job a moment earlier
+            return decommissionRepository.findById(zoneId).orElseThrow(() -> ex);
+        }
+
+        // The zone now reports as non-existent; make Route Service stop accepting routes for it
+        evictRouteServiceZoneCache(zoneId);
+        executor.execute(() -> runDecommission(zoneId));
+        return job;
+    }
+
+    @Override
+    public ZoneDecommission getDecommission(String zoneId) {
+        return decommissionRepository.findById(zoneId)
+                .orElseThrow(() -> new DecommissionNotFoundException(zoneId));
+    }
+
+    /**
+     * Resumes RUNNING jobs whose runner has saved no progress for staleAfter,
+     * such as jobs of an instance that stopped. Each job is claimed first, so
+     * with several instances only one of them resumes it. Runs at startup and
+     * then periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${zone.decommission.resume-interval-ms:60000}",
+            initialDelayString = "${zone.decommission.resume-interval-ms:60000}")
+    public void resumeInterrupted() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        for (ZoneDecommission job : decommissionRepository.findByStatus(Status.RUNNING)) {
+            if (job.getUpdatedAt().isAfter(staleBefore)) {
+                // Its runner is still saving progress
+                continue;
+            }
+            if (decommissionRepository.claim(job.getZoneId(), job.getVersion(), now) == 0) {
+                logger.debug("Decommission of zone {} was taken over by another instance", job.getZoneId());
+                continue;
+            }
+            logger.info("Resuming decommission of zone {} after {} routes", job.getZoneId(), job.getRoutesDeleted());
+            executor.execute(() -> runDecommission(job.getZoneId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Deletes batches until Route Service reports none left, then removes the zone.
+     * Zone deletion re-checks that no routes remain, so a route created meanwhile
+     * fails the job instead of being orphaned.
+     */
+    void runDecommission(String zoneId) {
+        ZoneDecommission job = decommissionRepository.findById(zoneId).orElse(null);
+        if (job == null || job.getStatus() != Status.RUNNING) {
+            return;
+        }
+        try {
+            int deleted;
+            do {
+                Integer count = routeClient.deleteRoutesBatch(zoneId, batchSize).getData();
+                if (count == null) {
+                    throw new IllegalStateException("Route service did not report deleted routes");
+                }
+                deleted = count;
+                if (deleted > 0) {
+                    job.setRoutesDeleted(job.getRoutesDeleted() + deleted);
+                    job.setBatches(job.getBatches() + 1);
+                    job.setUpdatedAt(LocalDateTime.now());
+                    job = decommissionRepository.save(job);
+                    logger.debug("Zone {}: {} routes deleted so far", zoneId, job.getRoutesDeleted());
+                }
+            } while (deleted > 0);
+
+            try {
+                zoneService.deleteZone(zoneId);
+            } catch (ZoneNotFoundException ex) {
+                // Removed before a restart interrupted the job
+                logger.info("Zone {} was already deleted", zoneId);
+            }
+            finish(job, Status.COMPLETED, null);
+            logger.info("Decommission of zone {} completed, {} routes deleted", zoneId, job.getRoutesDeleted());
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // Another instance claimed the job after this runner went quiet; it carries on from the saved progress
+            logger.warn("Decommission of zone {} was taken over by another instance; stopping here", zoneId);
+        } catch (RuntimeException ex) {
+            logger.error("Decommission of zone {} failed after {} routes: {}", zoneId, job.getRoutesDeleted(), ex.getMessage());
+            String message = String.valueOf(ex.getMessage());
+            finish(job, Status.FAILED, message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH)));
+        }
+    }
+
+    private void finish(ZoneDecommission job, Status status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setLastError(error);
+        job.setUpdatedAt(now);
+        job.setFinishedAt(status == Status.COMPLETED ? now : null);
+        decommissionRepository.save(job);
+    }
+
+    /**
+     * Best-effort eviction; a failure only delays visibility until the cache TTL expires.
+     */
+    private void evictRouteServiceZoneCache(String zoneId) {
+        try {
+            routeClient.evictZoneCache(zoneId);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not evict zone {} from route service cache: {}", zoneId, ex.getMessage());
+        }
+    }
+}
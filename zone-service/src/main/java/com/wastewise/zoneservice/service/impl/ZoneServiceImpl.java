@@ -4,8 +4,11 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.wastewise.zoneservice.client.RouteClient;
 import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
@@ -16,27 +19,40 @@ import com.wastewise.zoneservice.exception.custom.DuplicateZoneNameException;
 import com.wastewise.zoneservice.exception.custom.NoZoneChangesDetectedException;
 import com.wastewise.zoneservice.exception.custom.ZoneDeletionException;
 import com.wastewise.zoneservice.exception.custom.ZoneNotFoundException;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
 import com.wastewise.zoneservice.repository.ZoneRepository;
 import com.wastewise.zoneservice.service.ZoneService;
+import com.wastewise.zoneservice.util.ResourceVersion;
+import com.wastewise.zoneservice.util.TableVersionTracker;
+import com.wastewise.zoneservice.util.UniqueConstraints;
 import com.wastewise.zoneservice.util.ZoneIdGenerator;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
+import static com.wastewise.zoneservice.constant.ZoneConstants.ZONE_NAME_UNIQUE_CONSTRAINT;
+
 /**
  * ------------------------------------------------------------------------------
  * Service Implementation: ZoneServiceImpl
  * ------------------------------------------------------------------------------
  * Handles business logic for Zone operations.
- * Validates name uniqueness, prevents deletion with routes, and logs actions.
+ * Relies on the unique index for name uniqueness, prevents deletion with routes, and logs actions.
+ * Bumps the zone table version with every write, for conditional GETs.
+ * Every public method is timed as zone.service, tagged with method and exception.
  * ------------------------------------------------------------------------------
  */
 @Service
+@Timed(value = "zone.service", description = "ZoneService method calls")
 @RequiredArgsConstructor
 public class ZoneServiceImpl implements ZoneService {
 
     private final ZoneRepository zoneRepository;
     private final ZoneIdGenerator idGenerator;
     private final RouteClient routeClient;
+    private final TableVersionTracker tableVersions;
+    private final ZoneDecommissionRepository decommissionRepository;
+    private static final String ZONE_TABLE = "zone";
     private static final Logger logger = LoggerFactory.getLogger(ZoneServiceImpl.class);
 
     @Override
@@ -44,12 +60,6 @@ public class ZoneServiceImpl implements ZoneService {
     public Zone createZone(ZoneCreationRequestDTO request) {
         logger.info("Creating zone with name: {}", request.getZoneName());
 
-        zoneRepository.findByZoneName(request.getZoneName())
-                .ifPresent(z -> {
-                    logger.error("Duplicate zone name: {}", request.getZoneName());
-                    throw new DuplicateZoneNameException(request.getZoneName());
-                });
-
         String zoneId = idGenerator.generateZoneId();
 
         Zone zone = Zone.builder()
@@ -58,7 +68,9 @@ public class ZoneServiceImpl implements ZoneService {
                 .areaCoverage(request.getAreaCoverage())
                 .build();
 
-        Zone createdZone = zoneRepository.save(zone);
+        // No pre-check: the unique index decides, also between concurrent requests
+        Zone createdZone = saveCheckingName(zone);
+        tableVersions.bump(ZONE_TABLE);
         logger.info("Zone created successfully with ID: {}", createdZone.getZoneId());
         return createdZone;
     }
@@ -74,9 +86,6 @@ public class ZoneServiceImpl implements ZoneService {
         boolean changed = false;
 
         if (!existing.getZoneName().equals(request.getZoneName())) {
-            zoneRepository.findByZoneName(request.getZoneName()).ifPresent(z -> {
-                throw new DuplicateZoneNameException(request.getZoneName());
-            });
             existing.setZoneName(request.getZoneName());
             changed = true;
         }
@@ -90,11 +99,28 @@ public class ZoneServiceImpl implements ZoneService {
             throw new NoZoneChangesDetectedException(zoneId);
         }
 
-        Zone updatedZone = zoneRepository.save(existing);
+        Zone updatedZone = saveCheckingName(existing);
+        tableVersions.bump(ZONE_TABLE);
         logger.info("Zone updated successfully with ID: {}", updatedZone.getZoneId());
         return updatedZone;
     }
 
+    /**
+     * Flushes the zone so a name taken by another zone surfaces here, and
+     * translates the unique index violation into DuplicateZoneNameException.
+     */
+    private Zone saveCheckingName(Zone zone) {
+        try {
+            return zoneRepository.saveAndFlush(zone);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraints.isViolated(ex, ZONE_NAME_UNIQUE_CONSTRAINT)) {
+                logger.error("Duplicate zone name: {}", zone.getZoneName());
+                throw new DuplicateZoneNameException(zone.getZoneName());
+            }
+            throw ex;
+        }
+    }
+
     @Override
     @Transactional
     public void deleteZone(String zoneId) {
@@ -115,7 +141,31 @@ public class ZoneServiceImpl implements ZoneService {
         }
 
         zoneRepository.delete(zone);
+        tableVersions.bump(ZONE_TABLE);
         logger.info("Zone deleted successfully with ID: {}", zoneId);
+
+        // Evict only after commit, so Route Service cannot re-cache the zone as existing
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictRouteServiceZoneCache(zoneId);
+                }
+            });
+        } else {
+            evictRouteServiceZoneCache(zoneId);
+        }
+    }
+
+    /**
+     * Best-effort eviction; a failure only delays visibility until the cache TTL expires.
+     */
+    private void evictRouteServiceZoneCache(String zoneId) {
+        try {
+            routeClient.evictZoneCache(zoneId);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not evict zone {} from route service cache: {}", zoneId, ex.getMessage());
+        }
     }
 
 
@@ -126,6 +176,11 @@ public class ZoneServiceImpl implements ZoneService {
         return zoneRepository.findAll();
     }
 
+    @Override
+    public ResourceVersion getZonesVersion() {
+        return tableVersions.current(ZONE_TABLE, "zones");
+    }
+
     @Override
     public Zone getZoneById(String zoneId) {
         logger.info("Fetching zone with ID: {}", zoneId);
@@ -136,14 +191,13 @@ public class ZoneServiceImpl implements ZoneService {
     @Override
     public boolean existsByZoneId(String zoneId) {
         logger.info("Checking existence of zone with ID: {}", zoneId);
-        return zoneRepository.existsByZoneId(zoneId);
+        // A zone being decommissioned no longer accepts routes
+        return zoneRepository.existsByZoneId(zoneId) && !decommissionRepository.existsById(zoneId);
     }
     
     @Override
     public List<ZoneNameAndIdResponse> getAllZoneNamesAndIds() {
         logger.info("Fetching all zone IDs and names only");
-        return zoneRepository.findAll().stream()
-                .map(zone -> new ZoneNameAndIdResponse(zone.getZoneId(), zone.getZoneName()))
-                .toList();
+        return zoneRepository.findAllNamesAndIds();
     }
 }
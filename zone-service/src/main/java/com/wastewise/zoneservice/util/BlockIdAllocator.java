@@ -0,0 +1,103 @@
+package com.wastewise.zoneservice.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out sequential numbers per key from blocks leased from a shared store (hi/lo).
+ * Numbers inside a leased block are taken with a single atomic increment; the store
+ * is only contacted, under a per-key lock, when a block runs out.
+ * Numbers of a block that is not used up before shutdown are skipped, never reused.
+ * The lock is a ReentrantLock rather than a monitor so that a virtual thread waiting
+ * on a lease unmounts instead of pinning its carrier thread.
+ */
+public class BlockIdAllocator {
+
+    /**
+     * Leases a block of numbers from the shared store.
+     */
+    @FunctionalInterface
+    public interface BlockLeaser {
+
+        /**
+         * @param key  counter key
+         * @param size number of consecutive numbers to lease
+         * @return the first number of the leased block
+         */
+        long lease(String key, int size);
+    }
+
+    private final BlockLeaser leaser;
+    private final int blockSize;
+    private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> leaseLocks = new ConcurrentHashMap<>();
+
+    public BlockIdAllocator(BlockLeaser leaser, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1");
+        }
+        this.leaser = leaser;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next number for the key.
+     *
+     * @param key counter key
+     * @return a number no other caller, in this or any other instance, receives
+     */
+    public long next(String key) {
+        while (true) {
+            IdBlock block = blocks.get(key);
+            if (block != null) {
+                long number = block.tryNext();
+                if (number > 0) {
+                    return number;
+                }
+            }
+            ReentrantLock leaseLock = leaseLocks.computeIfAbsent(key, k -> new ReentrantLock());
+            leaseLock.lock();
+            try {
+                // Another thread may have leased a fresh block while we waited
+                if (blocks.get(key) == block) {
+                    long first = leaser.lease(key, blockSize);
+                    blocks.put(key, new IdBlock(first, first + blockSize - 1));
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Leases a dedicated block of consecutive numbers, bypassing the cached block.
+     *
+     * @param key   counter key
+     * @param count number of numbers needed
+     * @return the first number of the block
+     */
+    public long nextBlock(String key, int count) {
+        return leaser.lease(key, count);
+    }
+
+    private static final class IdBlock {
+
+        private final AtomicLong next;
+        private final long last;
+
+        private IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        /**
+         * @return the next number of this block, or -1 when exhausted
+         */
+        private long tryNext() {
+            long number = next.getAndIncrement();
+            return number <= last ? number : -1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wastewise.zoneservice.util;
+
+import com.wastewise.zoneservice.entity.TableVersion;
+import com.wastewise.zoneservice.repository.TableVersionRepository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps a change counter per table in the table_version table.
+ * Writers bump it inside their own transaction, so the version commits or
+ * rolls back with the change and is identical on every service instance.
+ */
+@Component
+public class TableVersionTracker {
+
+    private final TableVersionRepository versionRepository;
+    private final TransactionTemplate insertTransaction;
+
+    public TableVersionTracker(TableVersionRepository versionRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records a change to the table in the caller's transaction.
+     *
+     * @param tableName counter key
+     */
+    @Transactional
+    public void bump(String tableName) {
+        LocalDateTime now = LocalDateTime.now();
+        if (versionRepository.increment(tableName, now) == 0) {
+            try {
+                insertTransaction.executeWithoutResult(status -> versionRepository.insert(tableName));
+            } catch (DataIntegrityViolationException ex) {
+                // Another transaction created the counter first, which is all we need
+            }
+            versionRepository.increment(tableName, now);
+        }
+    }
+
+    /**
+     * @param tableName counter key
+     * @param tagPrefix prefix of the ETag, e.g. "zones"
+     * @return ETag and last modification for the table's current state
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion current(String tableName, String tagPrefix) {
+        TableVersion version = versionRepository.findById(tableName)
+                .orElseGet(() -> new TableVersion(tableName, 0, null));
+        return ResourceVersion.of(tagPrefix + "." + version.getVersion(), version.getLastModified());
+    }
+}
@@ -1,40 +1,41 @@
 package com.wastewise.zoneservice.util;
 
+import com.wastewise.zoneservice.repository.ZoneIdSequenceRepository;
 import com.wastewise.zoneservice.repository.ZoneRepository;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
-
-import jakarta.annotation.PostConstruct;
-import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Utility class to generate unique Zone IDs in the format Z001, Z002, ...
- * Uses AtomicInteger to avoid reuse of IDs after deletion.
+ * Zone numbers are leased in blocks from the zone_id_sequence table, so IDs stay
+ * unique across service instances and are never reused, even after deletion.
+ * Numbers wider than three digits are supported (Z999 is followed by Z1000).
  */
 @Component
-@RequiredArgsConstructor
 public class ZoneIdGenerator {
 
-    private final ZoneRepository zoneRepository;
+    private static final String SEQUENCE_NAME = "zone";
+    private static final int MAX_LEASE_ATTEMPTS = 3;
 
-    // Atomic counter to hold the highest numeric ID part used so far
-    private AtomicInteger counter;
+    private final ZoneRepository zoneRepository;
+    private final ZoneIdSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final BlockIdAllocator allocator;
 
-    /**
-     * Initialize the counter with the max existing Zone ID numeric part from DB.
-     * This ensures new IDs are always incremented beyond existing ones.
-     */
-    @PostConstruct
-    public void init() {
-        // Fetch the max zoneId from DB, parse numeric part, set as initial counter
-        String maxZoneId = zoneRepository.findAll().stream()
-                .map(zone -> zone.getZoneId().substring(1)) // remove 'Z'
-                .max(String::compareTo)
-                .orElse("000");
-
-        int maxId = Integer.parseInt(maxZoneId);
-        counter = new AtomicInteger(maxId);
+    public ZoneIdGenerator(ZoneRepository zoneRepository,
+                           ZoneIdSequenceRepository sequenceRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${zone.id-block-size:20}") int blockSize) {
+        this.zoneRepository = zoneRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.allocator = new BlockIdAllocator(this::leaseBlock, blockSize);
     }
 
     /**
@@ -42,7 +43,32 @@ public class ZoneIdGenerator {
      * @return the new Zone ID string (e.g., Z001)
      */
     public String generateZoneId() {
-        int newId = counter.incrementAndGet();
-        return String.format("Z%03d", newId);
+        return String.format("Z%03d", allocator.next(SEQUENCE_NAME));
+    }
+
+    /**
+     * Advances the counter in its own short transaction and returns the first
+     * number of the leased block. The counter row is created on first use,
+     * seeded from the highest zone number already stored.
+     */
+    private long leaseBlock(String sequenceName, int size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long first = leaseTransaction.execute(status -> {
+                    if (sequenceRepository.advance(sequenceName, size) > 0) {
+                        return sequenceRepository.findLastZoneNumber(sequenceName) - size + 1;
+                    }
+                    long seed = zoneRepository.findMaxZoneNumber();
+                    sequenceRepository.insert(sequenceName, seed + size);
+                    return seed + 1;
+                });
+                return first;
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance created the counter row first; advance it instead
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
     }
 }
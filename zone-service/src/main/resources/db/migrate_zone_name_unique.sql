@@ -0,0 +1,16 @@
+-- One-off migration (MySQL 8) adding the named unique index on zone(zone_name).
+-- Zone names compare case-insensitively but accent-sensitively ("Café" and "Cafe" differ),
+-- so the column is pinned to the _as_ci collation.
+-- Run once before starting the new version.
+
+-- The ALTER fails while duplicates exist; rename or delete the zones this lists first.
+SELECT MIN(zone_name) AS zone_name, COUNT(*) AS duplicates, GROUP_CONCAT(zone_id) AS zone_ids
+FROM zone
+GROUP BY zone_name COLLATE utf8mb4_0900_as_ci
+HAVING COUNT(*) > 1;
+
+-- Databases created by ddl-auto may also carry an unnamed Hibernate key on zone_name;
+-- find it with SHOW INDEX FROM zone and drop it once uk_zone_name exists.
+ALTER TABLE zone
+    MODIFY zone_name VARCHAR(100) COLLATE utf8mb4_0900_as_ci NOT NULL,
+    ADD CONSTRAINT uk_zone_name UNIQUE (zone_name);
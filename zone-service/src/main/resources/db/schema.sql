@@ -1,7 +1,33 @@
 CREATE TABLE zone (
     zone_id VARCHAR(10) PRIMARY KEY,
-    zone_name VARCHAR(100) NOT NULL,
+    zone_name VARCHAR(100) COLLATE utf8mb4_0900_as_ci NOT NULL,
     area_coverage INT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_zone_name UNIQUE (zone_name)
+);
+
+CREATE TABLE zone_id_sequence (
+    sequence_name VARCHAR(50) PRIMARY KEY,
+    last_zone_number BIGINT NOT NULL
+);
+
+CREATE TABLE table_version (
+    table_name VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    last_modified TIMESTAMP(6) NULL
+);
+
+CREATE TABLE zone_decommission (
+    zone_id VARCHAR(10) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    routes_deleted BIGINT NOT NULL,
+    batches INT NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6) NULL,
+    last_error VARCHAR(500),
+    version BIGINT NOT NULL,
+    INDEX idx_zone_decommission_status (status)
 );
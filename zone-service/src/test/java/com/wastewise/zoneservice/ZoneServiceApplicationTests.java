@@ -1,20 +1,78 @@
 package com.wastewise.zoneservice;
 
 import com.wastewise.zoneservice.controller.ZoneController;
+import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.service.ZoneService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest
+/**
+ * Spring Boot tests disable metrics export unless asked to keep it; the
+ * properties repeat the metrics settings of the main application.properties.
+ */
+@AutoConfigureObservability
+@SpringBootTest(properties = {
+        "management.observations.annotations.enabled=true",
+        "management.metrics.distribution.percentiles-histogram.zone.service=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true",
+        "management.metrics.distribution.percentiles-histogram.http.client.requests=true"
+})
 class ZoneServiceApplicationTests {
 
     @Autowired
     private ZoneController zoneController;
 
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusRegistry;
+
     @Test
     void contextLoads() {
         assertThat(zoneController).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAndDelete_recordServiceRepositoryFeignAndPoolMetrics() {
+        Zone zone = zoneService.createZone(new ZoneCreationRequestDTO("Metrics Zone", 100L));
+        // No Route Service instance is registered, so the load balancer answers 503
+        assertThatThrownBy(() -> zoneService.deleteZone(zone.getZoneId()));
+
+        Timer create = meterRegistry.find("zone.service").tag("method", "createZone").tag("exception", "none").timer();
+        assertThat(create).isNotNull();
+        assertThat(create.count()).isEqualTo(1);
+        assertThat(meterRegistry.find("zone.service").tag("method", "deleteZone").timer()).isNotNull();
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "ZoneRepository").timers()).isNotEmpty();
+        Timer routesCall = meterRegistry.find("http.client.requests")
+                .tag("http.url", "/wastewise/admin/routes/zone/{zoneId}")
+                .tag("http.status_code", "503")
+                .timer();
+        assertThat(routesCall).isNotNull();
+        assertThat(routesCall.count()).isEqualTo(1);
+
+        // Histogram buckets rather than client-side quantiles, so replicas can be aggregated
+        String scrape = prometheusRegistry.scrape();
+        assertThat(scrape)
+                .contains("# TYPE zone_service_seconds histogram")
+                .contains("zone_service_seconds_count{class=\"com.wastewise.zoneservice.service.impl.ZoneServiceImpl\","
+                        + "exception=\"none\",method=\"createZone\",} 1.0")
+                .doesNotContain("quantile=")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .containsPattern("http_client_requests_seconds_bucket\\{.*http_url=\"/wastewise/admin/routes/zone/\\{zoneId}\"")
+                .contains("# TYPE hikaricp_connections_active gauge");
+    }
+}
@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -19,6 +20,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -33,6 +35,7 @@ import com.wastewise.zoneservice.exception.custom.NoZoneChangesDetectedException
 import com.wastewise.zoneservice.exception.custom.ZoneDeletionException;
 import com.wastewise.zoneservice.exception.custom.ZoneNotFoundException;
 import com.wastewise.zoneservice.service.ZoneService;
+import com.wastewise.zoneservice.util.ResourceVersion;
 
 /**
  * ------------------------------------------------------------------------------
@@ -122,6 +125,18 @@ public class ZoneControllerTest {
                 .andExpect(jsonPath("$.data.areaCoverage").value(200));
     }
 
+    @Test
+    void updateZone_concurrentUpdate_throwsConflict() throws Exception {
+        Mockito.when(zoneService.updateZone(eq("Z001"), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Zone.class, "Z001"));
+
+        mockMvc.perform(put("/wastewise/admin/zones/update/Z001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ZoneUpdateRequestDTO("ZoneB", 200L))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("The zone was changed by another request; reload it and retry."));
+    }
+
     @Test
     void getZoneById_success() throws Exception {
         Mockito.when(zoneService.getZoneById("Z001")).thenReturn(mockZone);
@@ -174,10 +189,13 @@ public class ZoneControllerTest {
 
     @Test
     void getAllZones_success() throws Exception {
+        Mockito.when(zoneService.getZonesVersion()).thenReturn(new ResourceVersion("\"zones.4\"", 1_714_557_600_000L));
         Mockito.when(zoneService.getAllZones()).thenReturn(List.of(mockZone));
 
         mockMvc.perform(get("/wastewise/admin/zones/list"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"zones.4\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.message").value("Zones retrieved successfully"))
                 .andExpect(jsonPath("$.data[0].zoneId").value("Z001"));
     }
@@ -188,6 +206,7 @@ public class ZoneControllerTest {
     void getAllZoneIdsAndNames_success() throws Exception {
         var response = new ZoneNameAndIdResponse("Z001", "ZoneA");
 
+        Mockito.when(zoneService.getZonesVersion()).thenReturn(new ResourceVersion("\"zones.4\"", -1));
         Mockito.when(zoneService.getAllZoneNamesAndIds())
                 .thenReturn(List.of(response));
 
@@ -197,5 +216,21 @@ public class ZoneControllerTest {
                 .andExpect(jsonPath("$.data[0].zoneName").value("ZoneA"))
                 .andExpect(jsonPath("$.message").value("Zone names and IDs retrieved successfully"));
     }
+
+    /**
+     * Test: a matching If-None-Match is answered with 304 without loading zones.
+     */
+    @Test
+    void getAllZones_matchingETag_returnsNotModified() throws Exception {
+        Mockito.when(zoneService.getZonesVersion()).thenReturn(new ResourceVersion("\"zones.4\"", -1));
+
+        mockMvc.perform(get("/wastewise/admin/zones/list").header("If-None-Match", "\"zones.4\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/wastewise/admin/zones/namesandids").header("If-None-Match", "\"zones.4\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(zoneService, Mockito.never()).getAllZones();
+        Mockito.verify(zoneService, Mockito.never()).getAllZoneNamesAndIds();
+    }
 	
 }
@@ -0,0 +1,73 @@
+package com.wastewise.zoneservice.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import com.wastewise.zoneservice.exception.GlobalExceptionHandler;
+import com.wastewise.zoneservice.exception.custom.DecommissionNotFoundException;
+import com.wastewise.zoneservice.service.ZoneDecommissionService;
+
+/**
+ * Unit tests for ZoneDecommissionController using @WebMvcTest and MockMvc.
+ */
+@WebMvcTest(ZoneDecommissionController.class)
+@ContextConfiguration(classes = {ZoneDecommissionController.class, GlobalExceptionHandler.class})
+@Import(GlobalExceptionHandler.class)
+class ZoneDecommissionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ZoneDecommissionService decommissionService;
+
+    @Test
+    void startDecommission_returnsAccepted() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(decommissionService.startDecommission("Z001")).thenReturn(ZoneDecommission.builder()
+                .zoneId("Z001").status(ZoneDecommission.Status.RUNNING).startedAt(now).updatedAt(now).build());
+
+        mockMvc.perform(post("/wastewise/admin/zones/Z001/decommission"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("Zone decommission started"))
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andExpect(jsonPath("$.data.routesDeleted").value(0));
+    }
+
+    @Test
+    void getDecommission_returnsProgress() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(decommissionService.getDecommission("Z001")).thenReturn(ZoneDecommission.builder()
+                .zoneId("Z001").status(ZoneDecommission.Status.FAILED).routesDeleted(1500).batches(3)
+                .startedAt(now).updatedAt(now).lastError("Read timed out").build());
+
+        mockMvc.perform(get("/wastewise/admin/zones/Z001/decommission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("FAILED"))
+                .andExpect(jsonPath("$.data.routesDeleted").value(1500))
+                .andExpect(jsonPath("$.data.lastError").value("Read timed out"));
+    }
+
+    @Test
+    void getDecommission_unknownZone_returnsNotFound() throws Exception {
+        Mockito.when(decommissionService.getDecommission("Z999")).thenThrow(new DecommissionNotFoundException("Z999"));
+
+        mockMvc.perform(get("/wastewise/admin/zones/Z999/decommission"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No decommission job found for zone Z999."));
+    }
+}
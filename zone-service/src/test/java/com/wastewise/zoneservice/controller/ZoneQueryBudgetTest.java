@@ -0,0 +1,196 @@
+package com.wastewise.zoneservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wastewise.zoneservice.client.RouteClient;
+import com.wastewise.zoneservice.constant.ZoneConstants;
+import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
+import com.wastewise.zoneservice.dto.ZoneUpdateRequestDTO;
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import com.wastewise.zoneservice.payload.RestResponse;
+import com.wastewise.zoneservice.querycount.MaxQueries;
+import com.wastewise.zoneservice.querycount.QueryBudgetExtension;
+import com.wastewise.zoneservice.querycount.QueryCountingConfig;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import com.wastewise.zoneservice.service.ZoneService;
+
+/**
+ * ------------------------------------------------------------------------------
+ * Calls every Zone Service endpoint against H2 and fails when a request executes
+ * more SQL statements than its @MaxQueries budget, listing the statements.
+ * Zones are seeded through ZoneService before each test, outside any request.
+ * ------------------------------------------------------------------------------
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:zone_query_budget;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@Import(QueryCountingConfig.class)
+@ExtendWith(QueryBudgetExtension.class)
+class ZoneQueryBudgetTest {
+
+    private static final String BASE = ZoneConstants.BASE_ZONE_API;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private ZoneDecommissionRepository decommissionRepository;
+
+    @MockBean
+    private RouteClient routeClient;
+
+    private Zone zone;
+
+    @BeforeEach
+    void seedZones() {
+        when(routeClient.getRoutesByZoneId(anyString())).thenReturn(new RestResponse<>("ok", List.of()));
+        when(routeClient.deleteRoutesBatch(anyString(), anyInt())).thenReturn(new RestResponse<>("ok", 0));
+        zone = zoneService.createZone(new ZoneCreationRequestDTO("North", 100L));
+        zoneService.createZone(new ZoneCreationRequestDTO("East", 200L));
+        zoneService.createZone(new ZoneCreationRequestDTO("South", 300L));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        decommissionRepository.deleteAllInBatch();
+        zoneRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @MaxQueries(2)
+    void createZone() throws Exception {
+        mockMvc.perform(post(BASE + "/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ZoneCreationRequestDTO("West", 400L))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @MaxQueries(3)
+    void updateZone() throws Exception {
+        mockMvc.perform(put(BASE + "/update/" + zone.getZoneId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ZoneUpdateRequestDTO("North", 150L))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(3)
+    void deleteZone() throws Exception {
+        mockMvc.perform(delete(BASE + "/delete/" + zone.getZoneId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(2)
+    void getAllZones() throws Exception {
+        mockMvc.perform(get(BASE + "/list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getAllZones_notModified() throws Exception {
+        String eTag = zoneService.getZonesVersion().eTag();
+        mockMvc.perform(get(BASE + "/list").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getZoneById() throws Exception {
+        mockMvc.perform(get(BASE + "/" + zone.getZoneId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaxQueries(2)
+    void zoneExists() throws Exception {
+        mockMvc.perform(get(BASE + "/" + zone.getZoneId() + "/exists"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(true));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void getAllZoneNamesAndIds() throws Exception {
+        mockMvc.perform(get(BASE + "/namesandids"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    @MaxQueries(4)
+    void startDecommission() throws Exception {
+        mockMvc.perform(post(BASE + "/" + zone.getZoneId() + "/decommission"))
+                .andExpect(status().isAccepted());
+        awaitDecommissionFinished(zone.getZoneId());
+    }
+
+    @Test
+    @MaxQueries(1)
+    void getDecommission() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        decommissionRepository.save(ZoneDecommission.builder()
+                .zoneId(zone.getZoneId())
+                .status(ZoneDecommission.Status.FAILED)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+        mockMvc.perform(get(BASE + "/" + zone.getZoneId() + "/decommission"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("FAILED"));
+    }
+
+    /**
+     * Waits for the background job, so it cannot race the cleanup of the next test.
+     */
+    private void awaitDecommissionFinished(String zoneId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ZoneDecommission job = decommissionRepository.findById(zoneId).orElseThrow();
+            if (job.getStatus() != ZoneDecommission.Status.RUNNING) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(decommissionRepository.findById(zoneId).orElseThrow().getStatus())
+                .isNotEqualTo(ZoneDecommission.Status.RUNNING);
+    }
+}
@@ -0,0 +1,116 @@
+package com.wastewise.zoneservice.json;
+
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.payload.RestResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the response body of GET /zones/list (100 zones) and
+ * GET /zones/{zoneId}, with the default bean serializers (reflective) and with
+ * ZoneJsonSerializers (handWritten). Bodies are written through a generator
+ * per request, as Spring's Jackson message converter does; the benchmarks
+ * profile adds the GC profiler, whose gc.alloc.rate.norm is the allocation per
+ * request. Not part of the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=ZoneJsonSerializersBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneJsonSerializersBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    private final OutputStream response = new DiscardingStream();
+    private ObjectMapper reflective;
+    private ObjectMapper handWritten;
+    private RestResponse<List<Zone>> list;
+    private RestResponse<Zone> byId;
+
+    @Setup
+    public void createZones() {
+        // Spring Boot writes dates as ISO strings
+        reflective = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        handWritten = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(ZoneJsonSerializers.module())
+                .build();
+
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+        List<Zone> zones = new ArrayList<>(LIST_SIZE);
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            zones.add(new Zone(String.format("Z%03d", i), "Zone " + i, 1000L + i,
+                    created.plusDays(i), created.plusDays(i).plusHours(5), 2L));
+        }
+        list = RestResponse.<List<Zone>>builder().message("Zones fetched successfully").data(zones).build();
+        byId = RestResponse.<Zone>builder().message("Zone fetched successfully").data(zones.get(0)).build();
+    }
+
+    @Benchmark
+    public void listReflective() throws IOException {
+        write(reflective, list);
+    }
+
+    @Benchmark
+    public void listHandWritten() throws IOException {
+        write(handWritten, list);
+    }
+
+    @Benchmark
+    public void byIdReflective() throws IOException {
+        write(reflective, byId);
+    }
+
+    @Benchmark
+    public void byIdHandWritten() throws IOException {
+        write(handWritten, byId);
+    }
+
+    private void write(ObjectMapper mapper, Object value) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(response, JsonEncoding.UTF8)) {
+            mapper.writeValue(generator, value);
+        }
+    }
+
+    /**
+     * Discards the output and, unlike OutputStream.nullOutputStream(), stays open.
+     */
+    private static final class DiscardingStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ZoneJsonSerializersBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.wastewise.zoneservice.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.payload.RestResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares Spring Boot's ObjectMapper, which picks up ZoneJsonSerializers,
+ * with a mapper using the default bean serializers.
+ */
+class ZoneJsonSerializersTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class));
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflective;
+
+    @BeforeEach
+    void setUp() {
+        contextRunner.withUserConfiguration(ZoneJsonSerializers.class)
+                .run(context -> objectMapper = context.getBean(ObjectMapper.class));
+        contextRunner.run(context -> reflective = context.getBean(ObjectMapper.class));
+    }
+
+    @Test
+    void objectMapperUsesHandWrittenSerializers() throws Exception {
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(Zone.class))
+                .isInstanceOf(ZoneJsonSerializers.ZoneSerializer.class);
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(RestResponse.class))
+                .isInstanceOf(ZoneJsonSerializers.RestResponseSerializer.class);
+    }
+
+    @Test
+    void zonePayloadsMatchDefaultOutput() throws Exception {
+        Zone full = new Zone("Z001", "North \"Ward\" é", 1200L,
+                LocalDateTime.of(2024, 3, 1, 9, 30), LocalDateTime.of(2024, 3, 2, 17, 45, 12, 345_000_000), 2L);
+        Zone sparse = new Zone("Z002", null, null, null, null, null);
+
+        assertSameJson(RestResponse.builder().message("Zones fetched successfully").data(List.of(full, sparse)).build());
+        assertSameJson(RestResponse.builder().message("Zone fetched successfully").data(full).build());
+        assertSameJson(RestResponse.builder().message("Zone names and IDs retrieved successfully")
+                .data(List.of(new ZoneNameAndIdResponse("Z001", "North"), new ZoneNameAndIdResponse("Z002", null)))
+                .build());
+    }
+
+    @Test
+    void timestampsMatchDefaultOutput() throws Exception {
+        for (LocalDateTime time : List.of(LocalDateTime.of(2024, 1, 5, 0, 0),
+                LocalDateTime.of(999, 12, 31, 23, 59, 59, 1),
+                LocalDateTime.of(2024, 7, 9, 8, 7, 6, 120_000),
+                LocalDateTime.of(2024, 7, 9, 8, 7, 6, 999_999_999),
+                LocalDateTime.of(12024, 7, 9, 8, 7, 6))) {
+            assertSameJson(new Zone("Z001", "North", 1L, time, time, 0L));
+        }
+    }
+
+    @Test
+    void otherPayloadsMatchDefaultOutput() throws Exception {
+        assertSameJson(RestResponse.builder().message("Zones fetched successfully").data(List.of()).build());
+        assertSameJson(RestResponse.builder().message(null).data(true).build());
+        assertSameJson(RestResponse.builder().message("Created").data(Map.of("zoneId", "Z001")).build());
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertThat(objectMapper.writeValueAsString(value)).isEqualTo(reflective.writeValueAsString(value));
+    }
+}
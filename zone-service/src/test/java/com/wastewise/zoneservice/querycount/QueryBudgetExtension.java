@@ -0,0 +1,45 @@
+package com.wastewise.zoneservice.querycount;
+
+import java.util.List;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Enforces @MaxQueries: after a budgeted test, every request it sent must be within the
+ * budget, and a failure lists the statements of each offending request. A budgeted test
+ * that sent no counted request fails too. Tests that already failed are not checked.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryCounter.reset();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        MaxQueries budget = context.getRequiredTestMethod().getAnnotation(MaxQueries.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        List<QueryCounter.Scope> requests = QueryCounter.completed();
+        if (requests.isEmpty()) {
+            throw new AssertionError("@MaxQueries(" + budget.value() + ") on "
+                    + context.getRequiredTestMethod().getName() + " but no request was counted");
+        }
+        StringBuilder failures = new StringBuilder();
+        for (QueryCounter.Scope request : requests) {
+            if (request.count() > budget.value()) {
+                failures.append(request.request()).append(" executed ").append(request.count())
+                        .append(" statements, budget is ").append(budget.value()).append(':');
+                request.statements().forEach(sql -> failures.append("\n    ").append(sql));
+                failures.append('\n');
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.toString());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.wastewise.zoneservice.querycount;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects the SQL statements executed while serving one HTTP request. A scope is opened
+ * per request and bound to the threads working on it; statements on threads without a
+ * scope (test setup, the decommission worker) are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final List<Scope> COMPLETED = new CopyOnWriteArrayList<>();
+
+    private QueryCounter() {
+    }
+
+    static Scope open(String request) {
+        return new Scope(request, new CopyOnWriteArrayList<>());
+    }
+
+    static void bind(Scope scope) {
+        CURRENT.set(scope);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static void complete(Scope scope) {
+        COMPLETED.add(scope);
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements().add(sql);
+        }
+    }
+
+    public static void reset() {
+        COMPLETED.clear();
+    }
+
+    public static List<Scope> completed() {
+        return List.copyOf(COMPLETED);
+    }
+
+    /**
+     * The statements of one request, in execution order.
+     */
+    public record Scope(String request, List<String> statements) {
+
+        public int count() {
+            return statements.size();
+        }
+    }
+}
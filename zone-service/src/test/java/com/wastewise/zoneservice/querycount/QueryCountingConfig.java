@@ -0,0 +1,57 @@
+package com.wastewise.zoneservice.querycount;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Test configuration that counts SQL statements per HTTP request: the DataSource is
+ * wrapped in CountingDataSource and a filter opens a QueryCounter scope around each
+ * request. Use with QueryBudgetExtension and @MaxQueries.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountingConfig {
+
+    private static final String SCOPE_ATTRIBUTE = QueryCounter.Scope.class.getName();
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? CountingDataSource.wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<Filter> queryCountingFilter() {
+        Filter filter = (request, response, chain) -> {
+            QueryCounter.Scope scope = (QueryCounter.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+            if (scope == null) {
+                HttpServletRequest http = (HttpServletRequest) request;
+                scope = QueryCounter.open(http.getMethod() + " " + http.getRequestURI());
+                request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            }
+            QueryCounter.bind(scope);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                QueryCounter.unbind();
+                if (!request.isAsyncStarted()) {
+                    QueryCounter.complete(scope);
+                }
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+}
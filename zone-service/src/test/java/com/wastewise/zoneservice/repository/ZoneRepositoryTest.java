@@ -1,21 +1,25 @@
 package com.wastewise.zoneservice.repository;
 
+import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
 import com.wastewise.zoneservice.entity.Zone;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * -----------------------------------------------------------------------------
  * ZoneRepositoryTest
  * -----------------------------------------------------------------------------
  * Verifies core database operations using an in-memory H2 database.
- * Focuses on: save, findByZoneName, existsByZoneId
+ * Focuses on: save, findByZoneName, existsByZoneId, findAllNamesAndIds
  * -----------------------------------------------------------------------------
  */
 @DataJpaTest
@@ -99,4 +103,37 @@ class ZoneRepositoryTest {
         Optional<Zone> result = zoneRepository.findByZoneName("UnknownZone");
         assertThat(result).isNotPresent();
     }
+
+    /**
+     * Saving a copy read before a concurrent update must fail instead of overwriting it.
+     */
+    @Test
+    @DisplayName("Stale zone version is rejected on save")
+    void save_staleVersion_shouldFail() {
+        Zone zone = zoneRepository.saveAndFlush(Zone.builder()
+                .zoneId("Z300").zoneName("Zone Gamma").areaCoverage(300L).build());
+        Zone stale = Zone.builder()
+                .zoneId("Z300").zoneName("Zone Delta").areaCoverage(300L).version(zone.getVersion()).build();
+
+        zone.setAreaCoverage(350L);
+        zoneRepository.saveAndFlush(zone);
+        assertThat(zone.getVersion()).isEqualTo(stale.getVersion() + 1);
+
+        assertThatThrownBy(() -> zoneRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    /**
+     * Names and IDs are read as a projection, ordered by zone ID.
+     */
+    @Test
+    @DisplayName("findAllNamesAndIds returns every zone's ID and name")
+    void findAllNamesAndIds_shouldReturnProjection() {
+        zoneRepository.save(Zone.builder().zoneId("Z402").zoneName("Zone North").areaCoverage(80L).build());
+        zoneRepository.save(Zone.builder().zoneId("Z401").zoneName("Zone South").areaCoverage(90L).build());
+
+        assertThat(zoneRepository.findAllNamesAndIds())
+                .extracting(ZoneNameAndIdResponse::getZoneId, ZoneNameAndIdResponse::getZoneName)
+                .containsExactly(tuple("Z401", "Zone South"), tuple("Z402", "Zone North"));
+    }
 }
@@ -0,0 +1,243 @@
+package com.wastewise.zoneservice.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import com.wastewise.zoneservice.client.RouteClient;
+import com.wastewise.zoneservice.entity.ZoneDecommission;
+import com.wastewise.zoneservice.entity.ZoneDecommission.Status;
+import com.wastewise.zoneservice.exception.custom.DecommissionNotFoundException;
+import com.wastewise.zoneservice.exception.custom.ZoneNotFoundException;
+import com.wastewise.zoneservice.payload.RestResponse;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import com.wastewise.zoneservice.service.ZoneService;
+
+/**
+ * Unit tests for ZoneDecommissionServiceImpl. Jobs run on the calling thread,
+ * and the repository keeps the last saved job like a single table row.
+ */
+class ZoneDecommissionServiceImplTest {
+
+    private static final int BATCH_SIZE = 500;
+    private static final Duration STALE_AFTER = Duration.ofMinutes(2);
+
+    @Mock private ZoneDecommissionRepository decommissionRepository;
+    @Mock private ZoneRepository zoneRepository;
+    @Mock private ZoneService zoneService;
+    @Mock private RouteClient routeClient;
+
+    private final AtomicReference<ZoneDecommission> row = new AtomicReference<>();
+    private final List<Runnable> submitted = new ArrayList<>();
+    private ZoneDecommissionServiceImpl decommissionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(decommissionRepository.findById("Z001")).thenAnswer(call -> Optional.ofNullable(row.get()));
+        when(decommissionRepository.save(any())).thenAnswer(call -> store(call.getArgument(0)));
+        when(decommissionRepository.saveAndFlush(any())).thenAnswer(call -> store(call.getArgument(0)));
+        decommissionService = new ZoneDecommissionServiceImpl(decommissionRepository, zoneRepository,
+                zoneService, routeClient, submitted::add, BATCH_SIZE, STALE_AFTER);
+    }
+
+    @Test
+    void startDecommission_deletesRoutesInBatchesThenZone() {
+        when(zoneRepository.existsByZoneId("Z001")).thenReturn(true);
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE))
+                .thenReturn(deleted(500))
+                .thenReturn(deleted(500))
+                .thenReturn(deleted(120))
+                .thenReturn(deleted(0));
+
+        ZoneDecommission started = decommissionService.startDecommission("Z001");
+        assertThat(started.getStatus()).isEqualTo(Status.RUNNING);
+        verify(routeClient).evictZoneCache("Z001");
+
+        runSubmitted();
+
+        ZoneDecommission job = row.get();
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getRoutesDeleted()).isEqualTo(1120);
+        assertThat(job.getBatches()).isEqualTo(3);
+        assertThat(job.getFinishedAt()).isNotNull();
+        verify(zoneService).deleteZone("Z001");
+    }
+
+    @Test
+    void startDecommission_unknownZone_throwsException() {
+        when(zoneRepository.existsByZoneId("Z001")).thenReturn(false);
+
+        assertThatThrownBy(() -> decommissionService.startDecommission("Z001"))
+                .isInstanceOf(ZoneNotFoundException.class);
+        assertThat(submitted).isEmpty();
+    }
+
+    @Test
+    void startDecommission_alreadyRunning_returnsExistingJob() {
+        row.set(job(Status.RUNNING, 700));
+
+        ZoneDecommission job = decommissionService.startDecommission("Z001");
+
+        assertThat(job.getRoutesDeleted()).isEqualTo(700);
+        assertThat(submitted).isEmpty();
+        verify(decommissionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void runDecommission_batchFails_marksJobFailedAndKeepsZone() {
+        when(zoneRepository.existsByZoneId("Z001")).thenReturn(true);
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE))
+                .thenReturn(deleted(500))
+                .thenThrow(new IllegalStateException("Read timed out"));
+
+        decommissionService.startDecommission("Z001");
+        runSubmitted();
+
+        ZoneDecommission job = row.get();
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getRoutesDeleted()).isEqualTo(500);
+        assertThat(job.getLastError()).isEqualTo("Read timed out");
+        verify(zoneService, never()).deleteZone(any());
+    }
+
+    @Test
+    void runDecommission_routeServiceUnavailable_marksJobFailed() {
+        when(zoneRepository.existsByZoneId("Z001")).thenReturn(true);
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE)).thenReturn(RestResponse.<Integer>builder().build());
+
+        decommissionService.startDecommission("Z001");
+        runSubmitted();
+
+        assertThat(row.get().getStatus()).isEqualTo(Status.FAILED);
+        verify(zoneService, never()).deleteZone(any());
+    }
+
+    @Test
+    void startDecommission_failedJob_resumesWithProgress() {
+        ZoneDecommission failed = job(Status.FAILED, 500);
+        failed.setLastError("Read timed out");
+        row.set(failed);
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE)).thenReturn(deleted(80)).thenReturn(deleted(0));
+        // The zone itself was removed just before the previous run stopped
+        doThrow(new ZoneNotFoundException("Z001")).when(zoneService).deleteZone("Z001");
+
+        decommissionService.startDecommission("Z001");
+        assertThat(row.get().getLastError()).isNull();
+        runSubmitted();
+
+        assertThat(row.get().getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(row.get().getRoutesDeleted()).isEqualTo(580);
+        verify(zoneRepository, never()).existsByZoneId(any());
+    }
+
+    @Test
+    void resumeInterrupted_claimsAndRestartsStaleJobs() {
+        row.set(staleJob());
+        when(decommissionRepository.findByStatus(Status.RUNNING)).thenReturn(List.of(row.get()));
+        when(decommissionRepository.claim(eq("Z001"), eq(4L), any())).thenReturn(1);
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE)).thenReturn(deleted(0));
+
+        decommissionService.resumeInterrupted();
+        runSubmitted();
+
+        assertThat(row.get().getStatus()).isEqualTo(Status.COMPLETED);
+        verify(routeClient, never()).evictZoneCache(any());
+        verify(routeClient).deleteRoutesBatch(any(), anyInt());
+    }
+
+    @Test
+    void resumeInterrupted_claimLost_leavesJobToOtherInstance() {
+        row.set(staleJob());
+        when(decommissionRepository.findByStatus(Status.RUNNING)).thenReturn(List.of(row.get()));
+        when(decommissionRepository.claim(eq("Z001"), eq(4L), any())).thenReturn(0);
+
+        decommissionService.resumeInterrupted();
+
+        assertThat(submitted).isEmpty();
+    }
+
+    @Test
+    void resumeInterrupted_jobStillSavingProgress_isLeftAlone() {
+        row.set(job(Status.RUNNING, 1000));
+        when(decommissionRepository.findByStatus(Status.RUNNING)).thenReturn(List.of(row.get()));
+
+        decommissionService.resumeInterrupted();
+
+        assertThat(submitted).isEmpty();
+        verify(decommissionRepository, never()).claim(any(), anyLong(), any());
+    }
+
+    @Test
+    void runDecommission_jobTakenOver_stopsWithoutFailingIt() {
+        row.set(job(Status.RUNNING, 500));
+        when(routeClient.deleteRoutesBatch("Z001", BATCH_SIZE)).thenReturn(deleted(500));
+        doThrow(new ObjectOptimisticLockingFailureException(ZoneDecommission.class, "Z001"))
+                .when(decommissionRepository).save(any());
+
+        decommissionService.runDecommission("Z001");
+
+        assertThat(row.get().getStatus()).isEqualTo(Status.RUNNING);
+        verify(routeClient).deleteRoutesBatch(any(), anyInt());
+        verify(zoneService, never()).deleteZone(any());
+    }
+
+    @Test
+    void getDecommission_unknownZone_throwsException() {
+        assertThatThrownBy(() -> decommissionService.getDecommission("Z001"))
+                .isInstanceOf(DecommissionNotFoundException.class);
+    }
+
+    private ZoneDecommission store(ZoneDecommission job) {
+        row.set(job);
+        return job;
+    }
+
+    private void runSubmitted() {
+        List<Runnable> tasks = new ArrayList<>(submitted);
+        submitted.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static ZoneDecommission job(Status status, long routesDeleted) {
+        LocalDateTime now = LocalDateTime.now();
+        return ZoneDecommission.builder()
+                .zoneId("Z001").status(status).routesDeleted(routesDeleted).batches(2)
+                .startedAt(now).updatedAt(now).build();
+    }
+
+    /**
+     * A RUNNING job whose runner saved no progress for longer than STALE_AFTER.
+     */
+    private static ZoneDecommission staleJob() {
+        ZoneDecommission job = job(Status.RUNNING, 1000);
+        job.setUpdatedAt(LocalDateTime.now().minus(STALE_AFTER).minusSeconds(1));
+        job.setVersion(4L);
+        return job;
+    }
+
+    private static RestResponse<Integer> deleted(int count) {
+        return RestResponse.<Integer>builder().data(count).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.wastewise.zoneservice.service.impl;
+
+import com.wastewise.zoneservice.client.RouteClient;
+import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
+import com.wastewise.zoneservice.dto.ZoneUpdateRequestDTO;
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.exception.custom.DuplicateZoneNameException;
+import com.wastewise.zoneservice.repository.TableVersionRepository;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import com.wastewise.zoneservice.util.TableVersionTracker;
+import com.wastewise.zoneservice.util.ZoneIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs ZoneServiceImpl against the H2 database to show that the unique index
+ * on zone_name, not a pre-check, decides duplicates. Tests run without a
+ * surrounding transaction so every request commits on its own; committed
+ * rows are removed afterwards.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ZoneNameUniquenessTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private TableVersionRepository versionRepository;
+
+    @Autowired
+    private ZoneDecommissionRepository decommissionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ZoneServiceImpl zoneService;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger zoneNumber = new AtomicInteger();
+        ZoneIdGenerator idGenerator = mock(ZoneIdGenerator.class);
+        when(idGenerator.generateZoneId()).thenAnswer(call -> String.format("Z%03d", zoneNumber.incrementAndGet()));
+
+        zoneService = new ZoneServiceImpl(zoneRepository, idGenerator, mock(RouteClient.class),
+                new TableVersionTracker(versionRepository, transactionManager), decommissionRepository);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        zoneRepository.deleteAll();
+        versionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent creates of the same zone name store exactly one zone")
+    void createZone_concurrentSameName_storesOneZone() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Zone>> outcomes = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                long coverage = 100L + i;
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    return transaction.execute(status ->
+                            zoneService.createZone(new ZoneCreationRequestDTO("Riverside", coverage)));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int duplicates = 0;
+            for (Future<Zone> outcome : outcomes) {
+                try {
+                    outcome.get();
+                    created++;
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(DuplicateZoneNameException.class);
+                    duplicates++;
+                }
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(duplicates).isEqualTo(CONCURRENT_REQUESTS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(zoneRepository.findAll()).extracting(Zone::getZoneName).containsExactly("Riverside");
+    }
+
+    @Test
+    @DisplayName("Renaming a zone onto a taken name fails and keeps the old name")
+    void updateZone_nameTaken_throwsDuplicate() {
+        transaction.execute(status -> zoneService.createZone(new ZoneCreationRequestDTO("North", 10L)));
+        String southId = transaction.execute(status ->
+                zoneService.createZone(new ZoneCreationRequestDTO("South", 20L))).getZoneId();
+
+        assertThatThrownBy(() -> transaction.execute(status ->
+                zoneService.updateZone(southId, new ZoneUpdateRequestDTO("North", 20L))))
+                .isInstanceOf(DuplicateZoneNameException.class)
+                .hasMessageContaining("North");
+
+        assertThat(zoneRepository.findById(southId).orElseThrow().getZoneName()).isEqualTo("South");
+    }
+}
@@ -3,9 +3,11 @@ package com.wastewise.zoneservice.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -17,9 +19,12 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.wastewise.zoneservice.client.RouteClient;
 import com.wastewise.zoneservice.dto.ZoneCreationRequestDTO;
+import com.wastewise.zoneservice.dto.ZoneNameAndIdResponse;
 import com.wastewise.zoneservice.dto.ZoneUpdateRequestDTO;
 import com.wastewise.zoneservice.entity.Zone;
 import com.wastewise.zoneservice.exception.custom.DuplicateZoneNameException;
@@ -27,7 +32,9 @@ import com.wastewise.zoneservice.exception.custom.NoZoneChangesDetectedException
 import com.wastewise.zoneservice.exception.custom.ZoneDeletionException;
 import com.wastewise.zoneservice.exception.custom.ZoneNotFoundException;
 import com.wastewise.zoneservice.payload.RestResponse;
+import com.wastewise.zoneservice.repository.ZoneDecommissionRepository;
 import com.wastewise.zoneservice.repository.ZoneRepository;
+import com.wastewise.zoneservice.util.TableVersionTracker;
 import com.wastewise.zoneservice.util.ZoneIdGenerator;
 
 /**
@@ -38,6 +45,8 @@ class ZoneServiceImplTest {
     @Mock private ZoneRepository zoneRepository;
     @Mock private RouteClient routeClient;
     @Mock private ZoneIdGenerator zoneIdGenerator;
+    @Mock private TableVersionTracker tableVersions;
+    @Mock private ZoneDecommissionRepository decommissionRepository;
 
     @InjectMocks private ZoneServiceImpl zoneService;
 
@@ -51,40 +60,53 @@ class ZoneServiceImplTest {
     @Test
     void createZone_success() {
         ZoneCreationRequestDTO request = new ZoneCreationRequestDTO("ZoneA", 100L);
-        when(zoneRepository.findByZoneName("ZoneA")).thenReturn(Optional.empty());
         when(zoneIdGenerator.generateZoneId()).thenReturn("Z001");
 
         Zone savedZone = Zone.builder().zoneId("Z001").zoneName("ZoneA").areaCoverage(100L).build();
-        when(zoneRepository.save(any())).thenReturn(savedZone);
+        when(zoneRepository.saveAndFlush(any())).thenReturn(savedZone);
 
         Zone result = zoneService.createZone(request);
         assertThat(result.getZoneId()).isEqualTo("Z001");
+        verify(tableVersions).bump("zone");
     }
 
     @Test
     void createZone_duplicate_throwsException() {
-        when(zoneRepository.findByZoneName("ZoneA")).thenReturn(Optional.of(new Zone()));
+        when(zoneIdGenerator.generateZoneId()).thenReturn("Z002");
+        when(zoneRepository.saveAndFlush(any())).thenThrow(uniqueViolation("uk_zone_name"));
 
         assertThatThrownBy(() -> zoneService.createZone(new ZoneCreationRequestDTO("ZoneA", 100L)))
-                .isInstanceOf(DuplicateZoneNameException.class);
+                .isInstanceOf(DuplicateZoneNameException.class)
+                .hasMessageContaining("ZoneA");
+        verify(tableVersions, never()).bump(any());
+    }
+
+    @Test
+    void createZone_otherIntegrityViolation_isRethrown() {
+        when(zoneIdGenerator.generateZoneId()).thenReturn("Z002");
+        DataIntegrityViolationException violation = uniqueViolation("PRIMARY");
+        when(zoneRepository.saveAndFlush(any())).thenThrow(violation);
+
+        assertThatThrownBy(() -> zoneService.createZone(new ZoneCreationRequestDTO("ZoneA", 100L)))
+                .isSameAs(violation);
     }
 
     @Test
     void updateZone_success() {
         Zone existing = Zone.builder().zoneId("Z001").zoneName("Old").areaCoverage(50L).build();
         when(zoneRepository.findById("Z001")).thenReturn(Optional.of(existing));
-        when(zoneRepository.findByZoneName("New")).thenReturn(Optional.empty());
 
         Zone updatedZone = Zone.builder().zoneId("Z001").zoneName("New").areaCoverage(100L).build();
-        when(zoneRepository.save(any())).thenReturn(updatedZone);
+        when(zoneRepository.saveAndFlush(any())).thenReturn(updatedZone);
 
         Zone result = zoneService.updateZone("Z001", new ZoneUpdateRequestDTO("New", 100L));
         assertThat(result.getZoneName()).isEqualTo("New");
+        verify(tableVersions).bump("zone");
     }
 
     @Test
     void updateZone_noChange_throwsException() {
-        Zone existing = new Zone("Z001", "ZoneX", 100L, null, null);
+        Zone existing = new Zone("Z001", "ZoneX", 100L, null, null, 0L);
         when(zoneRepository.findById("Z001")).thenReturn(Optional.of(existing));
 
         assertThatThrownBy(() ->
@@ -96,7 +118,7 @@ class ZoneServiceImplTest {
     void updateZone_duplicateName_throwsException() {
         Zone existing = Zone.builder().zoneId("Z001").zoneName("Old").areaCoverage(50L).build();
         when(zoneRepository.findById("Z001")).thenReturn(Optional.of(existing));
-        when(zoneRepository.findByZoneName("New")).thenReturn(Optional.of(new Zone()));
+        when(zoneRepository.saveAndFlush(any())).thenThrow(uniqueViolation("zone.uk_zone_name"));
 
         assertThatThrownBy(() ->
                 zoneService.updateZone("Z001", new ZoneUpdateRequestDTO("New", 100L)))
@@ -114,7 +136,7 @@ class ZoneServiceImplTest {
 
     @Test
     void deleteZone_success() {
-        Zone zone = new Zone("Z001", "ZoneX", 100L, null, null);
+        Zone zone = new Zone("Z001", "ZoneX", 100L, null, null, 0L);
         when(zoneRepository.findById("Z001")).thenReturn(Optional.of(zone));
 
         RestResponse<List<String>> mockResponse = RestResponse.<List<String>>builder()
@@ -125,6 +147,22 @@ class ZoneServiceImplTest {
 
         zoneService.deleteZone("Z001");
 
+        verify(zoneRepository).delete(zone);
+        verify(tableVersions).bump("zone");
+        verify(routeClient).evictZoneCache("Z001");
+    }
+
+    @Test
+    void deleteZone_cacheEvictionFailure_stillDeletes() {
+        Zone zone = new Zone("Z001", "ZoneX", 100L, null, null, 0L);
+        when(zoneRepository.findById("Z001")).thenReturn(Optional.of(zone));
+        when(routeClient.getRoutesByZoneId("Z001")).thenReturn(RestResponse.<List<String>>builder()
+                .data(Collections.emptyList())
+                .build());
+        when(routeClient.evictZoneCache("Z001")).thenThrow(new IllegalStateException("route service down"));
+
+        zoneService.deleteZone("Z001");
+
         verify(zoneRepository).delete(zone);
     }
 
@@ -188,6 +226,14 @@ class ZoneServiceImplTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    void existsByZoneId_decommissioning_returnsFalse() {
+        when(zoneRepository.existsByZoneId("Z001")).thenReturn(true);
+        when(decommissionRepository.existsById("Z001")).thenReturn(true);
+
+        assertThat(zoneService.existsByZoneId("Z001")).isFalse();
+    }
+
     @Test
     void existsByZoneId_invalid() {
         when(zoneRepository.existsByZoneId("Z999")).thenReturn(false);
@@ -201,8 +247,7 @@ class ZoneServiceImplTest {
      */
     @Test
     void getAllZoneIdsAndNames_returnsZoneIdAndName() {
-        Zone zone = Zone.builder().zoneId("Z001").zoneName("ZoneA").areaCoverage(100L).build();
-        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+        when(zoneRepository.findAllNamesAndIds()).thenReturn(List.of(new ZoneNameAndIdResponse("Z001", "ZoneA")));
 
         var result = zoneService.getAllZoneNamesAndIds();
 
@@ -211,4 +256,12 @@ class ZoneServiceImplTest {
         assertThat(result.get(0).getZoneName()).isEqualTo("ZoneA");
     }
 
+
+    /**
+     * Builds the exception Spring Data throws when the named constraint rejects a flush.
+     */
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"), constraintName));
+    }
 }
@@ -0,0 +1,68 @@
+package com.wastewise.zoneservice.util;
+
+import com.wastewise.zoneservice.repository.TableVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the per-table change counter against the H2 database.
+ * Tests run without a surrounding transaction so bumps commit as in
+ * production; committed rows are removed afterwards.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TableVersionTrackerTest {
+
+    @Autowired
+    private TableVersionRepository versionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        versionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Version starts at 0 and advances with every committed bump")
+    void bump_advancesVersionAndETag() {
+        TableVersionTracker tracker = new TableVersionTracker(versionRepository, transactionManager);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ResourceVersion initial = tracker.current("zone", "zones");
+        assertThat(initial.eTag()).isEqualTo("\"zones.0\"");
+        assertThat(initial.lastModified()).isEqualTo(-1);
+
+        transaction.executeWithoutResult(status -> tracker.bump("zone"));
+        transaction.executeWithoutResult(status -> tracker.bump("zone"));
+
+        ResourceVersion current = tracker.current("zone", "zones");
+        assertThat(current.eTag()).isEqualTo("\"zones.2\"");
+        assertThat(current.lastModified()).isPositive();
+    }
+
+    @Test
+    @DisplayName("A rolled-back write leaves the version unchanged")
+    void bump_rolledBack_keepsVersion() {
+        TableVersionTracker tracker = new TableVersionTracker(versionRepository, transactionManager);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> tracker.bump("zone"));
+
+        transaction.executeWithoutResult(status -> {
+            tracker.bump("zone");
+            status.setRollbackOnly();
+        });
+
+        assertThat(tracker.current("zone", "zones").eTag()).isEqualTo("\"zones.1\"");
+    }
+}
@@ -0,0 +1,76 @@
+package com.wastewise.zoneservice.util;
+
+import com.wastewise.zoneservice.repository.ZoneIdSequenceRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * JMH benchmark of ZoneIdGenerator.generateZoneId with 8 threads sharing the
+ * single zone counter, which is replaced by an in-memory counter. formatZoneId
+ * alone isolates the String.format cost. Not part of the unit test run; start it with
+ *
+ *   mvn -P benchmarks test -Djmh.include=ZoneIdGeneratorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ZoneIdGeneratorBenchmark {
+
+    @Param({"20"})
+    private int blockSize;
+
+    private ZoneIdGenerator generator;
+
+    @Setup
+    public void createGenerator() {
+        // stubOnly: the mocks are called once per block and must not record every call
+        AtomicLong counter = new AtomicLong();
+        ZoneIdSequenceRepository sequenceRepository = mock(ZoneIdSequenceRepository.class, withSettings().stubOnly());
+        when(sequenceRepository.advance(anyString(), anyLong())).thenAnswer(call -> {
+            counter.addAndGet(call.<Long>getArgument(1));
+            return 1;
+        });
+        when(sequenceRepository.findLastZoneNumber(anyString())).thenAnswer(call -> counter.get());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        generator = new ZoneIdGenerator(mock(ZoneRepository.class, withSettings().stubOnly()),
+                sequenceRepository, transactionManager, blockSize);
+    }
+
+    @Benchmark
+    public String generateZoneId() {
+        return generator.generateZoneId();
+    }
+
+    @Benchmark
+    public String formatZoneId() {
+        return String.format("Z%03d", ThreadLocalRandom.current().nextInt(1, 100_000));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ZoneIdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
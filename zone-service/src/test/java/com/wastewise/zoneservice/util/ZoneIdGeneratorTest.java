@@ -0,0 +1,103 @@
+package com.wastewise.zoneservice.util;
+
+import com.wastewise.zoneservice.entity.Zone;
+import com.wastewise.zoneservice.repository.ZoneIdSequenceRepository;
+import com.wastewise.zoneservice.repository.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies block-leased zone ID allocation against the H2 database.
+ * Several generator instances stand in for several service replicas and share
+ * only the zone_id_sequence table. Tests run without a surrounding transaction
+ * so leases commit as in production; committed rows are removed afterwards.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ZoneIdGeneratorTest {
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private ZoneIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        zoneRepository.deleteAll();
+        sequenceRepository.deleteAll();
+    }
+
+    private ZoneIdGenerator newInstance(int blockSize) {
+        return new ZoneIdGenerator(zoneRepository, sequenceRepository, transactionManager, blockSize);
+    }
+
+    @Test
+    @DisplayName("IDs are unique across threads and instances under contention")
+    void generateZoneId_isUniqueAcrossInstancesUnderContention() throws Exception {
+        List<ZoneIdGenerator> instances = List.of(newInstance(5), newInstance(5), newInstance(5));
+        int threads = 12;
+        int idsPerThread = 100;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                ZoneIdGenerator generator = instances.get(t % instances.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        assertThat(ids.add(generator.generateZoneId())).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * idsPerThread);
+        assertThat(ids).contains("Z999", "Z1000");
+    }
+
+    @Test
+    @DisplayName("Counter is seeded numerically from existing zones past Z999")
+    void generateZoneId_seedsNumericallyBeyondThreeDigits() {
+        LocalDateTime now = LocalDateTime.now();
+        zoneRepository.save(Zone.builder()
+                .zoneId("Z999").zoneName("Old").areaCoverage(10L).createdAt(now).updatedAt(now).build());
+        zoneRepository.save(Zone.builder()
+                .zoneId("Z1000").zoneName("New").areaCoverage(10L).createdAt(now).updatedAt(now).build());
+
+        ZoneIdGenerator generator = newInstance(20);
+
+        assertThat(generator.generateZoneId()).isEqualTo("Z1001");
+        assertThat(generator.generateZoneId()).isEqualTo("Z1002");
+    }
+}